@@ -0,0 +1,128 @@
+package uz.jalyuziepr.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import uz.jalyuziepr.api.dto.schema.*;
+import uz.jalyuziepr.api.entity.AttributeFamily;
+import uz.jalyuziepr.api.service.AttributeSchemaResolver;
+import uz.jalyuziepr.api.service.AttributeValueValidator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AttributeSchemaResolver.resolveEffective chuqur oila daraxtida va
+ * AttributeValueValidator.validate hal qilingan sxema ustida.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeSchemaBenchmark {
+
+    private static final int ATTRIBUTES_PER_NODE = 8;
+
+    @Param({"3", "12"})
+    private int depth;
+
+    private AttributeSchemaResolver resolver;
+    private AttributeValueValidator validator;
+    private AttributeFamily leaf;
+    private ResolvedAttributeSchema resolved;
+    private Map<String, Object> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        resolver = new AttributeSchemaResolver(new ObjectMapper());
+        validator = new AttributeValueValidator("LENIENT");
+
+        AttributeFamily parent = null;
+        for (int level = 0; level < depth; level++) {
+            AttributeFamily node = AttributeFamily.builder()
+                    .code("family-" + level)
+                    .name("Oila " + level)
+                    .parent(parent)
+                    .depth(level)
+                    .attributeSchema(schemaFor(level))
+                    .overrides(overridesFor(level))
+                    .build();
+            node.setId((long) level + 1);
+            parent = node;
+        }
+        leaf = parent;
+        resolved = resolver.resolveEffective(leaf);
+
+        values = new LinkedHashMap<>();
+        for (ResolvedAttributeDefinition attr : resolved.getAttributes()) {
+            values.put(attr.getKey(), sampleValue(attr));
+        }
+    }
+
+    @Benchmark
+    public ResolvedAttributeSchema resolveEffective() {
+        return resolver.resolveEffective(leaf);
+    }
+
+    @Benchmark
+    public Map<String, Object> validate() {
+        validator.validate(resolved, values);
+        return values;
+    }
+
+    private static AttributeSchema schemaFor(int level) {
+        List<AttributeDefinition> attributes = new ArrayList<>();
+        for (int i = 0; i < ATTRIBUTES_PER_NODE; i++) {
+            String key = "attr" + level + "_" + i;
+            AttributeDefinition.AttributeDefinitionBuilder def = AttributeDefinition.builder()
+                    .key(key)
+                    .label("Atribut " + key)
+                    .group("group" + level)
+                    .order(i)
+                    .required(i == 0);
+            switch (i % 4) {
+                case 0 -> def.dataType("number")
+                        .validation(ValidationRules.builder().min(100.0).max(5000.0).build());
+                case 1 -> def.dataType("select").options(List.of(
+                        SelectOption.builder().value("A").label("A").build(),
+                        SelectOption.builder().value("B").label("B").build(),
+                        SelectOption.builder().value("C").label("C").build()));
+                case 2 -> def.dataType("boolean");
+                default -> def.dataType("text")
+                        .validation(ValidationRules.builder().maxLength(100).build());
+            }
+            attributes.add(def.build());
+        }
+        return AttributeSchema.builder()
+                .groups(List.of(AttributeGroup.builder().key("group" + level).label("Guruh " + level).order(level).build()))
+                .attributes(attributes)
+                .build();
+    }
+
+    private static List<AttributeOverride> overridesFor(int level) {
+        if (level == 0) {
+            return new ArrayList<>();
+        }
+        // Har bir tugun ota tugunning ikkita atributini qisman o'zgartiradi
+        Map<String, Object> labelChange = new LinkedHashMap<>();
+        labelChange.put("label", "Override " + level);
+        Map<String, Object> requiredChange = new LinkedHashMap<>();
+        requiredChange.put("required", true);
+        return new ArrayList<>(List.of(
+                AttributeOverride.builder().key("attr" + (level - 1) + "_1").changedProps(labelChange).build(),
+                AttributeOverride.builder().key("attr" + (level - 1) + "_2").changedProps(requiredChange).build()));
+    }
+
+    private static Object sampleValue(ResolvedAttributeDefinition attr) {
+        return switch (attr.getDataType()) {
+            case "number" -> 1200;
+            case "select" -> "B";
+            case "boolean" -> true;
+            default -> "Qiymat";
+        };
+    }
+}
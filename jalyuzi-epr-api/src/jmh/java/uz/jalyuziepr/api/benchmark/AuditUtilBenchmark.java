@@ -0,0 +1,61 @@
+package uz.jalyuziepr.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uz.jalyuziepr.api.audit.SensitiveDataMasker;
+import uz.jalyuziepr.api.util.UserAgentParser;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Har bir audit/login yozuvida chaqiriladigan yordamchilar:
+ * SensitiveDataMasker.mask va UserAgentParser.parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditUtilBenchmark {
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.5 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; SM-A546E) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36 Edg/126.0.0.0"
+    };
+
+    private SensitiveDataMasker masker;
+    private UserAgentParser userAgentParser;
+    private Map<String, Object> auditMap;
+    private Set<String> sensitiveFields;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        masker = new SensitiveDataMasker();
+        userAgentParser = new UserAgentParser();
+        auditMap = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            auditMap.put("field" + i, "qiymat-" + i);
+        }
+        auditMap.put("password", "$2a$10$abcdefghijklmnopqrstuv");
+        auditMap.put("pinHash", "$2a$10$zyxwvutsrqponmlkjihgfe");
+        sensitiveFields = Set.of("password", "pinHash", "refreshTokenHash");
+    }
+
+    @Benchmark
+    public Map<String, Object> mask() {
+        return masker.mask(auditMap, sensitiveFields);
+    }
+
+    @Benchmark
+    public void parseUserAgents(Blackhole bh) {
+        for (String userAgent : USER_AGENTS) {
+            bh.consume(userAgentParser.parse(userAgent));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package uz.jalyuziepr.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uz.jalyuziepr.api.dto.response.ProductResponse;
+import uz.jalyuziepr.api.enums.BlindType;
+import uz.jalyuziepr.api.service.export.ExportColumnConfig;
+import uz.jalyuziepr.api.service.export.ExportDataExtractor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExportDataExtractor — @ExportColumn ustunlari bo'yicha qator qiymatlarini ajratish
+ * (Excel/PDF eksportning CPU qismi), 1000 qatorlik mahsulot ro'yxati ustida.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportExtractionBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ExportDataExtractor extractor;
+    private List<ExportColumnConfig> columns;
+    private List<ProductResponse> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        extractor = new ExportDataExtractor();
+        columns = extractor.extractColumns(ProductResponse.class);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(ProductResponse.builder()
+                    .id((long) i)
+                    .sku("SKU-" + i)
+                    .name("Rulonli jalyuzi " + i)
+                    .brandName("Brend " + (i % 10))
+                    .categoryName("Kategoriya " + (i % 5))
+                    .blindType(BlindType.values()[i % BlindType.values().length])
+                    .color("Oq")
+                    .minWidth(300)
+                    .maxWidth(3000)
+                    .sellingPrice(BigDecimal.valueOf(150_000 + i))
+                    .pricePerSquareMeter(BigDecimal.valueOf(120_000))
+                    .quantity(BigDecimal.valueOf(i % 40))
+                    .minStockLevel(BigDecimal.TEN)
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ExportColumnConfig> extractColumnsCached() {
+        return extractor.extractColumns(ProductResponse.class);
+    }
+
+    @Benchmark
+    public void extractRowValues(Blackhole bh) {
+        for (ProductResponse row : rows) {
+            for (ExportColumnConfig column : columns) {
+                bh.consume(column.getValueExtractor().apply(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package uz.jalyuziepr.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uz.jalyuziepr.api.entity.OrderItem;
+import uz.jalyuziepr.api.entity.Product;
+import uz.jalyuziepr.api.service.OrderPriceCalculationService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderPriceCalculationService — katta buyurtmalarda item narxi va jami hisob-kitobi.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPriceBenchmark {
+
+    @Param({"10", "200"})
+    private int itemCount;
+
+    private OrderPriceCalculationService priceService;
+    private List<Product> products;
+    private List<OrderItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        priceService = new OrderPriceCalculationService();
+        Random random = new Random(42);
+
+        products = new ArrayList<>(itemCount);
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = Product.builder()
+                    .pricePerSquareMeter(BigDecimal.valueOf(85_000 + random.nextInt(200_000)))
+                    .installationPrice(BigDecimal.valueOf(30_000))
+                    .sellingPrice(BigDecimal.valueOf(250_000))
+                    .purchasePrice(BigDecimal.valueOf(60_000))
+                    .build();
+            OrderItem item = OrderItem.builder()
+                    .widthMm(400 + random.nextInt(2600))
+                    .heightMm(500 + random.nextInt(2500))
+                    .quantity(1 + random.nextInt(3))
+                    .installationIncluded(random.nextBoolean())
+                    .discount(BigDecimal.valueOf(random.nextInt(5) * 1_000L))
+                    .build();
+            products.add(product);
+            items.add(item);
+        }
+        for (int i = 0; i < itemCount; i++) {
+            priceService.calculateItemPrice(items.get(i), products.get(i));
+        }
+    }
+
+    @Benchmark
+    public void calculateItemPrices(Blackhole bh) {
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = items.get(i);
+            priceService.calculateItemPrice(item, products.get(i));
+            bh.consume(item.getTotalPrice());
+        }
+    }
+
+    @Benchmark
+    public OrderPriceCalculationService.OrderTotals calculateOrderTotals() {
+        return priceService.calculateOrderTotals(items, BigDecimal.ZERO, BigDecimal.valueOf(7.5));
+    }
+}
@@ -0,0 +1,104 @@
+package uz.jalyuziepr.api.benchmark;
+
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import org.openjdk.jmh.annotations.*;
+import uz.jalyuziepr.api.dto.response.AuditLogResponse;
+import uz.jalyuziepr.api.service.export.PdfExportService;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit loglar PDF eksporti, 1000 qator:
+ *  - legacyInMemory   : avvalgi usul — Helvetica, har katak noldan, butun jadval Document'da
+ *  - templateInMemory : shablon + oqimli yozuvchi, natija baytlari massivga (exportAuditLogs)
+ *  - templateStreamed : shablon + oqimli yozuvchi, natija to'g'ridan-to'g'ri oqimga (HTTP javob kabi)
+ *
+ * Ajratilgan xotira (B/op) uchun: {@code java -jar target/benchmarks.jar PdfExportBenchmark -prof gc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfExportBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, Color.WHITE);
+    private static final Font DATA_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
+
+    private PdfExportService service;
+    private List<AuditLogResponse> logs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new PdfExportService();
+        logs = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            logs.add(AuditLogResponse.builder()
+                    .id((long) i)
+                    .entityType("Order")
+                    .entityId((long) (i % 200))
+                    .action(i % 3 == 0 ? "UPDATE" : "CREATE")
+                    .oldValue(Map.of("status", "NEW", "totalAmount", 1_200_000))
+                    .newValue(Map.of("status", "CONFIRMED", "totalAmount", 1_250_000 + i))
+                    .userId(1L)
+                    .username("operator")
+                    .ipAddress("10.0.0." + (i % 250))
+                    .createdAt(now.minusMinutes(i))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public int legacyInMemory() throws DocumentException {
+        Document document = new Document(PageSize.A4.rotate());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfWriter.getInstance(document, out);
+        document.open();
+        PdfPTable table = new PdfPTable(8);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{1f, 1.5f, 1.5f, 1f, 1.5f, 2f, 1.5f, 5f});
+        for (String header : new String[]{"ID", "Harakat", "Obyekt turi", "Obyekt ID",
+                "Foydalanuvchi", "Sana", "IP manzil", "O'zgarishlar"}) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+            cell.setBackgroundColor(new Color(0, 51, 102));
+            cell.setPadding(8);
+            table.addCell(cell);
+        }
+        for (AuditLogResponse log : logs) {
+            for (String text : new String[]{String.valueOf(log.getId()), log.getAction(), log.getEntityType(),
+                    String.valueOf(log.getEntityId()), log.getUsername(), log.getCreatedAt().toString(),
+                    log.getIpAddress(), String.valueOf(log.getNewValue())}) {
+                PdfPCell cell = new PdfPCell(new Phrase(text, DATA_FONT));
+                cell.setPadding(5);
+                table.addCell(cell);
+            }
+        }
+        document.add(table);
+        document.close();
+        return out.size();
+    }
+
+    @Benchmark
+    public int templateInMemory() throws DocumentException {
+        return service.exportAuditLogs(logs, "Benchmark").size();
+    }
+
+    @Benchmark
+    public int templateStreamed() throws DocumentException {
+        return service.writeAuditLogs(logs.iterator(), "Benchmark", OutputStream.nullOutputStream());
+    }
+}
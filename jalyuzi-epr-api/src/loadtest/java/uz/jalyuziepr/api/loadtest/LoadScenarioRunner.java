@@ -0,0 +1,214 @@
+package uz.jalyuziepr.api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP yuklama ssenariylari - ishlab turgan API'ga (odatda "dev,loadtest" profili bilan)
+ * parallel so'rovlar yuboradi va har bir ssenariy uchun p50/p95/p99 hamda throughput chiqaradi.
+ *
+ * Tashqi kutubxonalarsiz (faqat JDK), to'g'ridan-to'g'ri ishga tushiriladi:
+ * <pre>
+ * java src/loadtest/java/uz/jalyuziepr/api/loadtest/LoadScenarioRunner.java \
+ *      --base-url=http://localhost:8170/api --threads=16 --duration=60 --warmup=10
+ * </pre>
+ * Ssenariylarni tanlash: {@code --scenarios=orders-search,tracking}.
+ * Kuzatuv kodlari {@link LoadTestDataGenerator} formatida ("LT" + 10 raqam) tanlanadi.
+ * Barcha so'rovlar bitta IP'dan ketadi: loadtest profili {@code app.rate-limit} ni o'chiradi
+ * ({@code RATE_LIMIT_ENABLED=false}), aks holda shop-catalogue/tracking ssenariylari 429 oladi.
+ */
+public final class LoadScenarioRunner {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] SEARCH_TERMS = {"LT Mijoz 1", "LT-ORD-00", "Chilonzor", "+9987700"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final int orderCount;
+    private String token;
+
+    private LoadScenarioRunner(String baseUrl, int orderCount) {
+        this.baseUrl = baseUrl;
+        this.orderCount = orderCount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        String baseUrl = opts.getOrDefault("base-url", "http://localhost:8170/api");
+        int threads = Integer.parseInt(opts.getOrDefault("threads", "16"));
+        int durationSec = Integer.parseInt(opts.getOrDefault("duration", "60"));
+        int warmupSec = Integer.parseInt(opts.getOrDefault("warmup", "10"));
+        int orderCount = Integer.parseInt(opts.getOrDefault("orders", "100000"));
+        List<String> selected = opts.containsKey("scenarios")
+                ? Arrays.asList(opts.get("scenarios").split(","))
+                : null;
+
+        LoadScenarioRunner runner = new LoadScenarioRunner(baseUrl, orderCount);
+        runner.login(opts.getOrDefault("username", "admin"), opts.getOrDefault("password", "admin123"));
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, IntFunction<HttpRequest>> scenario : runner.scenarios().entrySet()) {
+            if (selected != null && !selected.contains(scenario.getKey())) {
+                continue;
+            }
+            runner.run(scenario.getKey(), scenario.getValue(), threads, warmupSec);
+            results.add(runner.run(scenario.getKey(), scenario.getValue(), threads, durationSec));
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-18s %8s %6s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%-18s %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    r.name, r.count, r.errors, r.throughput(),
+                    r.percentile(50), r.percentile(95), r.percentile(99), r.percentile(100));
+        }
+    }
+
+    // ==================== SSENARIYLAR ====================
+
+    private Map<String, IntFunction<HttpRequest>> scenarios() {
+        Map<String, IntFunction<HttpRequest>> map = new LinkedHashMap<>();
+        map.put("orders-list", i -> get("/v1/orders?page=" + (i % 50) + "&size=20", true));
+        map.put("orders-search", i -> get("/v1/orders?size=20&search="
+                + SEARCH_TERMS[i % SEARCH_TERMS.length].replace("+", "%2B").replace(" ", "%20"), true));
+        map.put("dashboard", i -> get(i % 2 == 0 ? "/v1/dashboard/stats" : "/v1/dashboard/charts", true));
+        map.put("shop-catalogue", i -> get("/v1/shop/products?page=" + (i % 20) + "&size=12", false));
+        map.put("products-export", i -> get("/v1/products/export?format=excel&maxRecords=2000", true));
+        map.put("customers-export", i -> get("/v1/customers/export?format=excel", true));
+        map.put("tracking", i -> get("/v1/track/" + trackingCode(), false));
+        return map;
+    }
+
+    private String trackingCode() {
+        int g = 1 + ThreadLocalRandom.current().nextInt(orderCount);
+        return "LT" + String.format(Locale.ROOT, "%010d", g);
+    }
+
+    private HttpRequest get(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET();
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    // ==================== ISHGA TUSHIRISH ====================
+
+    private void login(String username, String password) throws Exception {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login muvaffaqiyatsiz: HTTP " + response.statusCode());
+        }
+        token = matcher.group(1);
+    }
+
+    private Result run(String name, IntFunction<HttpRequest> scenario, int threads, int seconds)
+            throws InterruptedException {
+        Result result = new Result(name);
+        if (seconds <= 0) {
+            return result;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = scenario.apply(sequence.getAndIncrement());
+                    long begin = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    result.record(System.nanoTime() - begin, ok);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+        result.elapsedNanos = System.nanoTime() - started;
+        return result;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return opts;
+    }
+
+    // ==================== NATIJA ====================
+
+    /** Ssenariy natijasi - kechikishlar nanosekundda, xatolar (HTTP >= 400 yoki exception) alohida */
+    private static final class Result {
+        private final String name;
+        private long[] latencies = new long[4096];
+        private int count;
+        private int errors;
+        private long elapsedNanos;
+
+        private Result(String name) {
+            this.name = name;
+        }
+
+        private synchronized void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        private double percentile(int p) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))] / 1_000_000.0;
+        }
+
+        private double throughput() {
+            return elapsedNanos == 0 ? 0 : count / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
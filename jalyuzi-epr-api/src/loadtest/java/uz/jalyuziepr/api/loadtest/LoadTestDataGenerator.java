@@ -0,0 +1,316 @@
+package uz.jalyuziepr.api.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.enums.OrderStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Yuklama testi uchun realistik hajmdagi ma'lumotlarni generatsiya qiladi.
+ *
+ * Qatorlar Java'da emas, Postgres ichida {@code INSERT ... SELECT generate_series} bilan
+ * yaratiladi — 10^6 audit yozuvi bir necha soniyada tushadi. Sxema Flyway migratsiyalaridan
+ * olinadi, shuning uchun entity'lar bilan mos (version=0, NOT NULL ustunlar to'ldirilgan).
+ *
+ * Barcha generatsiya qilingan yozuvlar "LT" prefiksi bilan belgilanadi:
+ * mahsulot SKU "LT-000001", buyurtma "LT-ORD-0000001", kuzatuv kodi "LT0000000001".
+ * Agar LT mahsulotlari allaqachon mavjud bo'lsa generatsiya o'tkazib yuboriladi.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestDataGenerator implements CommandLineRunner {
+
+    private static final String MARKER_SKU = "LT-000001";
+    private static final String CUSTOMER_PHONE_PREFIX = "+99877";
+    private static final List<String> USER_AGENTS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/126.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 Mobile/15E148",
+            "Mozilla/5.0 (Linux; Android 14; SM-A546E) AppleWebKit/537.36 Chrome/125.0 Mobile Safari/537.36");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestProperties properties;
+
+    @Override
+    public void run(String... args) {
+        LoadTestProperties.Seed seed = properties.getSeed();
+        if (!seed.isEnabled()) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE sku = ?", Integer.class, MARKER_SKU);
+        if (existing != null && existing > 0) {
+            log.info("Yuklama testi ma'lumotlari allaqachon mavjud — generatsiya o'tkazib yuborildi");
+            return;
+        }
+
+        Long userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        if (userId == null) {
+            throw new IllegalStateException("users jadvali bo'sh — V2 seed migratsiyasi qo'llanmagan");
+        }
+
+        long started = System.currentTimeMillis();
+        int customers = scaled(seed.getCustomers());
+        int products = scaled(seed.getProducts());
+        int orders = scaled(seed.getOrders());
+        int sales = scaled(seed.getSales());
+
+        insertCustomers(customers, userId);
+        insertProducts(products, userId);
+        insertOrders(orders, userId);
+        insertSales(sales, userId);
+        insertStockMovements(scaled(seed.getStockMovements()), userId);
+        insertAuditLogs(scaled(seed.getAuditLogs()), userId);
+
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Yuklama testi ma'lumotlari tayyor: {} ms", System.currentTimeMillis() - started);
+    }
+
+    // ==================== MIJOZLAR / MAHSULOTLAR ====================
+
+    private void insertCustomers(int count, Long userId) {
+        chunked("customers", count, (from, to) -> jdbcTemplate.update("""
+                INSERT INTO customers (full_name, phone, customer_type, balance, active, source,
+                                       created_by, created_at, version)
+                SELECT 'LT Mijoz ' || g,
+                       ? || lpad(g::text, 7, '0'),
+                       CASE WHEN g % 10 = 0 THEN 'BUSINESS' ELSE 'INDIVIDUAL' END,
+                       0, true, NULL, ?,
+                       now() - (g % 730) * interval '1 day', 0
+                FROM generate_series(?, ?) g
+                """, CUSTOMER_PHONE_PREFIX, userId, from, to));
+    }
+
+    private void insertProducts(int count, Long userId) {
+        chunked("products", count, (from, to) -> jdbcTemplate.update("""
+                INSERT INTO products (sku, name, product_type, unit_type, blind_type, material, color,
+                                      control_type, min_width, max_width, min_height, max_height,
+                                      price_per_sqm, installation_price, purchase_price, selling_price,
+                                      quantity, min_stock_level, custom_attributes, image_urls,
+                                      active, created_by, created_at, version)
+                SELECT 'LT-' || lpad(g::text, 6, '0'),
+                       'LT jalyuzi ' || g,
+                       (ARRAY['FINISHED_PRODUCT','RAW_MATERIAL','ACCESSORY'])[1 + g % 3],
+                       (ARRAY['PIECE','SQUARE_METER','METER'])[1 + g % 3],
+                       (ARRAY['ROLLER','VERTICAL','HORIZONTAL','ROMAN','ZEBRA','DAY_NIGHT','PLEATED',
+                              'CELLULAR','MOTORIZED','SHUTTERS'])[1 + g % 10],
+                       (ARRAY['FABRIC','POLYESTER','ALUMINUM','WOOD','BAMBOO','PVC','BLACKOUT',
+                              'DIMOUT','SCREEN','FAUX_WOOD'])[1 + (g / 10) % 10],
+                       (ARRAY['Oq','Kulrang','Bej','Jigarrang','Qora','Ko''k'])[1 + g % 6],
+                       (ARRAY['CHAIN','CORD','MOTORIZED','REMOTE','SMART'])[1 + g % 5],
+                       300, 3000, 300, 3500,
+                       80000 + (g % 40) * 5000, 50000,
+                       40000 + (g % 40) * 2500, 90000 + (g % 40) * 5000,
+                       100 + g % 500, 10,
+                       jsonb_build_object('color', (ARRAY['Oq','Kulrang','Bej'])[1 + g % 3],
+                                          'lamellaWidthMm', 25 + (g % 4) * 25,
+                                          'fireproof', g % 7 = 0,
+                                          'warrantyMonths', 6 + (g % 4) * 6),
+                       '[]'::jsonb,
+                       g % 20 <> 0, ?, now() - (g % 365) * interval '1 day', 0
+                FROM generate_series(?, ?) g
+                """, userId, from, to));
+    }
+
+    // ==================== BUYURTMALAR ====================
+
+    private void insertOrders(int count, Long userId) {
+        String lifecycle = Arrays.stream(OrderStatus.values())
+                .map(s -> "'" + s.name() + "'")
+                .collect(Collectors.joining(","));
+
+        // Har bir buyurtma statuslar bo'ylab tekis taqsimlanadi (g % statuslar soni)
+        chunked("orders", count, (from, to) -> jdbcTemplate.update("""
+                WITH c AS (
+                    SELECT id, row_number() OVER (ORDER BY id) AS rn, count(*) OVER () AS n
+                    FROM customers WHERE phone LIKE ? || '%%'
+                )
+                INSERT INTO orders (order_number, tracking_code, customer_id, status, installation_address,
+                                    subtotal, discount_amount, discount_percent, total_amount,
+                                    paid_amount, remaining_amount, cost_total, created_by, created_at, version)
+                SELECT 'LT-ORD-' || lpad(g::text, 7, '0'),
+                       'LT' || lpad(g::text, 10, '0'),
+                       c.id,
+                       (ARRAY[%s])[1 + g %% %d],
+                       'Toshkent, Chilonzor ' || (g %% 25) || '-kvartal',
+                       500000 + (g %% 50) * 100000, 0, 0,
+                       500000 + (g %% 50) * 100000,
+                       (500000 + (g %% 50) * 100000) * (g %% 3) / 2,
+                       (500000 + (g %% 50) * 100000) - (500000 + (g %% 50) * 100000) * (g %% 3) / 2,
+                       300000 + (g %% 50) * 60000,
+                       ?, now() - (g %% 540) * interval '1 day', 0
+                FROM generate_series(?, ?) g
+                JOIN c ON c.rn = 1 + g %% c.n
+                """.formatted(lifecycle, OrderStatus.values().length),
+                CUSTOMER_PHONE_PREFIX, userId, from, to));
+
+        jdbcTemplate.update("""
+                WITH p AS (
+                    SELECT id, row_number() OVER (ORDER BY id) AS rn, count(*) OVER () AS n
+                    FROM products WHERE sku LIKE 'LT-%'
+                )
+                INSERT INTO order_items (order_id, product_id, room_name, width_mm, height_mm, calculated_sqm,
+                                         quantity, unit_price, installation_price, total_price, cost_price,
+                                         installation_included, created_at, version)
+                SELECT o.id, p.id,
+                       (ARRAY['Mehmonxona','Yotoqxona','Oshxona','Bolalar xonasi'])[k],
+                       800 + k * 200, 1200 + k * 150,
+                       ((800 + k * 200) * (1200 + k * 150)) / 1000000.0,
+                       1, o.total_amount / 3, 50000, o.total_amount / 3, o.cost_total / 3,
+                       k = 1, o.created_at, 0
+                FROM orders o
+                CROSS JOIN generate_series(1, 3) k
+                JOIN p ON p.rn = 1 + (o.id * 7 + k) % p.n
+                WHERE o.order_number LIKE 'LT-ORD-%'
+                """);
+
+        // Statuslar tarixi: YANGI dan joriy statusgacha to'liq hayot sikli
+        jdbcTemplate.update("""
+                INSERT INTO order_status_history (order_id, from_status, to_status, changed_by, notes, created_at)
+                SELECT o.id,
+                       CASE WHEN s.i = 1 THEN NULL ELSE (ARRAY[%s])[s.i - 1] END,
+                       (ARRAY[%s])[s.i],
+                       ?, 'loadtest',
+                       o.created_at + s.i * interval '6 hours'
+                FROM orders o
+                CROSS JOIN LATERAL generate_series(1, array_position(ARRAY[%s]::varchar[], o.status::varchar)) AS s(i)
+                WHERE o.order_number LIKE 'LT-ORD-%%'
+                """.formatted(lifecycle, lifecycle, lifecycle), userId);
+        log.info("order_items va order_status_history generatsiya qilindi");
+    }
+
+    // ==================== SOTUVLAR / OMBOR ====================
+
+    private void insertSales(int count, Long userId) {
+        chunked("sales", count, (from, to) -> jdbcTemplate.update("""
+                WITH c AS (
+                    SELECT id, row_number() OVER (ORDER BY id) AS rn, count(*) OVER () AS n
+                    FROM customers WHERE phone LIKE ? || '%'
+                )
+                INSERT INTO sales (invoice_number, customer_id, sale_date, subtotal, discount_amount, discount_percent,
+                                   total_amount, paid_amount, debt_amount, payment_method, payment_status, status,
+                                   created_by, created_at, version)
+                SELECT 'LT-INV-' || lpad(g::text, 7, '0'),
+                       CASE WHEN g % 4 = 0 THEN NULL ELSE c.id END,
+                       now() - (g % 365) * interval '1 day' - (g % 600) * interval '1 minute',
+                       200000 + (g % 30) * 50000, 0, 0,
+                       200000 + (g % 30) * 50000,
+                       CASE WHEN g % 10 = 0 THEN 0 ELSE 200000 + (g % 30) * 50000 END,
+                       CASE WHEN g % 10 = 0 THEN 200000 + (g % 30) * 50000 ELSE 0 END,
+                       CASE WHEN g % 10 = 0 THEN 'DEBT' ELSE (ARRAY['CASH','CARD','TRANSFER','MIXED'])[1 + g % 4] END,
+                       CASE WHEN g % 10 = 0 THEN 'UNPAID' ELSE 'PAID' END,
+                       CASE WHEN g % 50 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END,
+                       ?, now() - (g % 365) * interval '1 day', 0
+                FROM generate_series(?, ?) g
+                JOIN c ON c.rn = 1 + g % c.n
+                """, CUSTOMER_PHONE_PREFIX, userId, from, to));
+
+        jdbcTemplate.update("""
+                WITH p AS (
+                    SELECT id, row_number() OVER (ORDER BY id) AS rn, count(*) OVER () AS n
+                    FROM products WHERE sku LIKE 'LT-%'
+                )
+                INSERT INTO sale_items (sale_id, product_id, quantity, unit_price, discount, total_price,
+                                        created_at, version)
+                SELECT s.id, p.id, 1, s.total_amount / 2, 0, s.total_amount / 2, s.created_at, 0
+                FROM sales s
+                CROSS JOIN generate_series(1, 2) k
+                JOIN p ON p.rn = 1 + (s.id * 13 + k) % p.n
+                WHERE s.invoice_number LIKE 'LT-INV-%'
+                """);
+        log.info("sale_items generatsiya qilindi");
+    }
+
+    private void insertStockMovements(int count, Long userId) {
+        chunked("stock_movements", count, (from, to) -> jdbcTemplate.update("""
+                WITH p AS (
+                    SELECT id, row_number() OVER (ORDER BY id) AS rn, count(*) OVER () AS n
+                    FROM products WHERE sku LIKE 'LT-%'
+                )
+                INSERT INTO stock_movements (product_id, movement_type, quantity, previous_stock, new_stock,
+                                             reference_type, reference_id, notes, created_by, created_at, version)
+                SELECT p.id,
+                       CASE WHEN g % 3 = 0 THEN 'IN' ELSE 'OUT' END,
+                       1 + g % 20,
+                       500,
+                       CASE WHEN g % 3 = 0 THEN 500 + 1 + g % 20 ELSE 500 - 1 - g % 20 END,
+                       'LOADTEST', g, NULL, ?,
+                       now() - (g % 365) * interval '1 day', 0
+                FROM generate_series(?, ?) g
+                JOIN p ON p.rn = 1 + g % p.n
+                """, userId, from, to));
+    }
+
+    // ==================== AUDIT ====================
+
+    private void insertAuditLogs(int count, Long userId) {
+        // audit_logs oylik partitsiyalangan (V63), DEFAULT partitsiya yo'q — generatsiya qilinadigan
+        // 730 kunlik oraliqning har bir oyi uchun partitsiya oldindan yaratiladi
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT audit_logs_ensure_partition(m::date)
+                FROM generate_series(date_trunc('month', now() - interval '731 days'),
+                                     date_trunc('month', now()), interval '1 month') m
+                """, String.class);
+        log.info("audit_logs: {} ta oylik partitsiya tayyor", partitions.size());
+
+        // Satrlar user_agents lug'atiga (V64) — audit_logs ularga user_agent_id orqali bog'lanadi;
+        // tahlil ustunlarini UserAgentDictionary birinchi murojaatda to'ldiradi
+        Long[] userAgentIds = USER_AGENTS.stream()
+                .map(ua -> jdbcTemplate.queryForObject("""
+                        INSERT INTO user_agents (ua_hash, user_agent)
+                        VALUES (encode(sha256(convert_to(?, 'UTF8')), 'hex'), ?)
+                        ON CONFLICT (ua_hash) DO UPDATE SET ua_hash = EXCLUDED.ua_hash
+                        RETURNING id
+                        """, Long.class, ua, ua))
+                .toArray(Long[]::new);
+
+        chunked("audit_logs", count, (from, to) -> jdbcTemplate.update("""
+                INSERT INTO audit_logs (entity_type, entity_id, action, old_value, new_value, user_id, username,
+                                        ip_address, user_agent_id, correlation_id, created_at)
+                SELECT (ARRAY['Order','Sale','Product','Customer','StockMovement'])[1 + g % 5],
+                       1 + g % 100000,
+                       (ARRAY['CREATE','UPDATE','UPDATE','UPDATE','DELETE'])[1 + (g / 5) % 5],
+                       CASE WHEN (g / 5) % 5 = 0 THEN NULL
+                            ELSE jsonb_build_object('status', 'YANGI', 'totalAmount', 500000 + g % 1000) END,
+                       jsonb_build_object('status', 'TAYYOR', 'totalAmount', 600000 + g % 1000,
+                                          'notes', 'loadtest ' || g),
+                       ?, 'admin',
+                       '10.0.' || (g % 256) || '.' || (g / 256 % 256),
+                       (?::bigint[])[1 + g % 3],
+                       gen_random_uuid(),
+                       now() - (g % 730) * interval '1 day' - (g % 1440) * interval '1 minute'
+                FROM generate_series(?, ?) g
+                """, userId, userAgentIds, from, to));
+    }
+
+    // ==================== YORDAMCHI ====================
+
+    @FunctionalInterface
+    private interface ChunkInsert {
+        int insert(int from, int to);
+    }
+
+    /** Katta jadvallarni chunkSize bo'laklarda yozadi — uzun tranzaksiya va WAL o'sishidan saqlaydi */
+    private void chunked(String table, int total, ChunkInsert insert) {
+        int chunk = Math.max(1, properties.getSeed().getChunkSize());
+        long started = System.currentTimeMillis();
+        int inserted = 0;
+        for (int from = 1; from <= total; from += chunk) {
+            int to = Math.min(total, from + chunk - 1);
+            inserted += insert.insert(from, to);
+        }
+        log.info("{}: {} qator, {} ms", table, inserted, System.currentTimeMillis() - started);
+    }
+
+    private int scaled(int base) {
+        return Math.max(1, (int) Math.round(base * properties.getSeed().getScale()));
+    }
+}
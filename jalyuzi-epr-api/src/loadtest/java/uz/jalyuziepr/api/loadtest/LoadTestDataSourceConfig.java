@@ -0,0 +1,57 @@
+package uz.jalyuziepr.api.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Docker/Testcontainers'siz embedded Postgres. Flyway odatdagidek shu DataSource'ga
+ * barcha migratsiyalarni qo'llaydi, shuning uchun sxema prod bilan bir xil.
+ */
+@Slf4j
+@Configuration
+@Profile("loadtest")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.loadtest.embedded-postgres", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadTestDataSourceConfig {
+
+    private final LoadTestProperties properties;
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres() throws IOException {
+        LoadTestProperties.EmbeddedPostgres cfg = properties.getEmbeddedPostgres();
+        EmbeddedPostgres pg = EmbeddedPostgres.builder()
+                .setPort(cfg.getPort())
+                .setDataDirectory(Path.of(cfg.getDataDirectory()))
+                .setCleanDataDirectory(false)
+                .setServerConfig("shared_buffers", "256MB")
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+        log.info("Embedded Postgres ishga tushdi: port={}, dir={}", cfg.getPort(), cfg.getDataDirectory());
+        return pg;
+    }
+
+    /**
+     * Prod bilan solishtirish mumkin bo'lishi uchun odatdagi Hikari pul orqali ulanamiz
+     * (getPostgresDatabase() pul'siz DataSource qaytaradi).
+     */
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl(embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+        ds.setUsername("postgres");
+        ds.setPoolName("loadtest-pg");
+        return ds;
+    }
+}
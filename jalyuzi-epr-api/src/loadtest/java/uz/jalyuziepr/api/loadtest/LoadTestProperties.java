@@ -0,0 +1,43 @@
+package uz.jalyuziepr.api.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Yuklama testi konfiguratsiyasi ("loadtest" profili).
+ * Hajmlar {@code scale} koeffitsiyentiga ko'paytiriladi — scale=1 da audit_logs ~10^6 qator.
+ */
+@Data
+@Configuration
+@Profile("loadtest")
+@ConfigurationProperties(prefix = "app.loadtest")
+public class LoadTestProperties {
+
+    private EmbeddedPostgres embeddedPostgres = new EmbeddedPostgres();
+    private Seed seed = new Seed();
+
+    @Data
+    public static class EmbeddedPostgres {
+        /** false bo'lsa dev profilidagi lokal Postgres ishlatiladi */
+        private boolean enabled = true;
+        private int port = 54329;
+        /** Ma'lumotlar katalogi saqlanadi — qayta ishga tushirishda generatsiya takrorlanmaydi */
+        private String dataDirectory = "target/loadtest-pg";
+    }
+
+    @Data
+    public static class Seed {
+        private boolean enabled = true;
+        private double scale = 1.0;
+        private int customers = 20_000;
+        private int products = 2_000;
+        private int orders = 100_000;
+        private int sales = 100_000;
+        private int stockMovements = 300_000;
+        private int auditLogs = 1_000_000;
+        /** Bitta INSERT ... SELECT generate_series bloki hajmi */
+        private int chunkSize = 100_000;
+    }
+}
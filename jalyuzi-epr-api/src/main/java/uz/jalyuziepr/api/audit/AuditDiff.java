@@ -0,0 +1,139 @@
+package uz.jalyuziepr.api.audit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Field-level diff of two audit maps.
+ *
+ * <p>UPDATE audit rows store only the changed fields: {@code old_value} holds the previous
+ * values and {@code new_value} the new values of the same keys. Older rows hold full
+ * snapshots of both states; every reader goes through {@link #changes} so both formats
+ * produce the same field list.</p>
+ */
+public final class AuditDiff {
+
+    /** A single changed field */
+    public record Change(String field, Object oldValue, Object newValue) {
+    }
+
+    /** Changed-fields-only payload of an UPDATE */
+    public record Compact(Map<String, Object> oldValue, Map<String, Object> newValue) {
+    }
+
+    private static final int SUMMARY_VALUE_MAX = 60;
+
+    private AuditDiff() {
+    }
+
+    /**
+     * Changed fields in key order (old keys first, then keys only present in the new map).
+     * Either map may be null (CREATE / DELETE).
+     *
+     * <p>A sensitive field is masked to the same placeholder on both sides, so it cannot be
+     * compared. In a changed-fields-only row every key is a change, so such a field is reported
+     * as changed with the redacted value. In an older full-snapshot row (it also carries
+     * unchanged fields) it is skipped, since whether it changed is unknown.</p>
+     */
+    public static List<Change> changes(Map<String, Object> oldMap, Map<String, Object> newMap) {
+        Set<String> fields = new LinkedHashSet<>();
+        if (oldMap != null) fields.addAll(oldMap.keySet());
+        if (newMap != null) fields.addAll(newMap.keySet());
+
+        List<Change> changes = new ArrayList<>();
+        boolean hasUnchanged = false;
+        for (String field : fields) {
+            Object oldVal = oldMap != null ? oldMap.get(field) : null;
+            Object newVal = newMap != null ? newMap.get(field) : null;
+            if (!sameValue(oldVal, newVal) || isMasked(oldVal)) {
+                changes.add(new Change(field, oldVal, newVal));
+            } else {
+                hasUnchanged = true;
+            }
+        }
+        if (hasUnchanged || oldMap == null || newMap == null) {
+            changes.removeIf(change -> isMasked(change.oldValue()) && isMasked(change.newValue()));
+        }
+        return changes;
+    }
+
+    /**
+     * Reduces two full snapshots to the changed fields only.
+     *
+     * @return the compact payload, or null when nothing changed (no-op update)
+     */
+    public static Compact compact(Map<String, Object> oldMap, Map<String, Object> newMap) {
+        List<Change> changes = changes(oldMap, newMap);
+        if (changes.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        for (Change change : changes) {
+            oldValues.put(change.field(), change.oldValue());
+            newValues.put(change.field(), change.newValue());
+        }
+        return new Compact(oldValues, newValues);
+    }
+
+    /**
+     * One-line summary for exports: {@code price: 100 → 120; status: NEW → DONE}
+     */
+    public static String summarize(Map<String, Object> oldMap, Map<String, Object> newMap) {
+        StringBuilder sb = new StringBuilder();
+        for (Change change : changes(oldMap, newMap)) {
+            if (!sb.isEmpty()) {
+                sb.append("; ");
+            }
+            sb.append(change.field()).append(": ");
+            if (oldMap != null && newMap != null) {
+                sb.append(shorten(change.oldValue())).append(" → ").append(shorten(change.newValue()));
+            } else {
+                sb.append(shorten(newMap != null ? change.newValue() : change.oldValue()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Export column value: the {@link #summarize} line for an UPDATE, {@code "-"} for CREATE / DELETE
+     * or when nothing changed
+     */
+    public static String exportSummary(String action, Map<String, Object> oldMap, Map<String, Object> newMap) {
+        if (!"UPDATE".equals(action)) {
+            return "-";
+        }
+        String summary = summarize(oldMap, newMap);
+        return summary.isEmpty() ? "-" : summary;
+    }
+
+    /** Numbers compare by value (10.0 and 10.00 are equal), everything else by equals */
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof Number na && b instanceof Number nb) {
+            try {
+                return new BigDecimal(na.toString()).compareTo(new BigDecimal(nb.toString())) == 0;
+            } catch (NumberFormatException e) {
+                return Objects.equals(a, b);
+            }
+        }
+        return Objects.equals(a, b);
+    }
+
+    private static boolean isMasked(Object value) {
+        return SensitiveDataMasker.MASK.equals(value);
+    }
+
+    private static String shorten(Object value) {
+        if (value == null) {
+            return "-";
+        }
+        String s = String.valueOf(value);
+        return s.length() > SUMMARY_VALUE_MAX ? s.substring(0, SUMMARY_VALUE_MAX) + "…" : s;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import uz.jalyuziepr.api.security.CustomUserDetails;
@@ -96,6 +97,13 @@ public class AuditEntityListener {
         if (!(entity instanceof Auditable auditable)) {
             return;
         }
+        // Read-only transactions never flush, so @PreUpdate cannot follow. Skipping the snapshot
+        // keeps reads from initializing lazy state (User.roles, Order.items) and from leaving
+        // entries in originalStateCache that nothing removes.
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
 
         try {
             // Force initialize lazy collections for User entity (for role audit)
@@ -162,8 +170,8 @@ public class AuditEntityListener {
 
     /**
      * Called before an entity is updated (UPDATE operation).
-     * Uses the cached original state and logs an UPDATE action
-     * with both old and new values.
+     * Diffs the cached original state against the current state and logs an UPDATE
+     * with the changed fields only; an update that changed no audited field is not logged.
      *
      * @param entity the entity being updated
      */
@@ -185,27 +193,26 @@ public class AuditEntityListener {
                 return;
             }
 
+            // Diff before masking: a changed secret masks to the same placeholder on both sides
+            AuditDiff.Compact diff = AuditDiff.compact(originalData, auditable.toAuditMap());
+            if (diff == null) {
+                log.debug("No audited field changed for {} with id {}. Skipping audit log.",
+                        auditable.getEntityName(), auditable.getId());
+                return;
+            }
+
             Long userId = getCurrentUserId();
             String ipAddress = getClientIpAddress();
             String userAgent = getUserAgent();
 
-            // Mask sensitive fields in old data
-            Map<String, Object> oldData = sensitiveDataMasker.mask(
-                    originalData,
-                    auditable.getSensitiveFields()
-            );
-
-            // Get new data and mask sensitive fields
-            Map<String, Object> newData = sensitiveDataMasker.mask(
-                    auditable.toAuditMap(),
-                    auditable.getSensitiveFields()
-            );
+            Map<String, Object> oldData = sensitiveDataMasker.mask(diff.oldValue(), auditable.getSensitiveFields());
+            Map<String, Object> newData = sensitiveDataMasker.mask(diff.newValue(), auditable.getSensitiveFields());
 
+            // Already compacted — stored as is (a masked secret would compact away)
             auditLogService.logUpdateWithContext(
                     auditable.getEntityName(),
                     auditable.getId(),
-                    oldData,
-                    newData,
+                    new AuditDiff.Compact(oldData, newData),
                     userId,
                     ipAddress,
                     userAgent,
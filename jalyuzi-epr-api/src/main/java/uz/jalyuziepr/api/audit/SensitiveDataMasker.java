@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -28,7 +29,7 @@ public class SensitiveDataMasker {
     /**
      * The value used to replace sensitive data in audit logs.
      */
-    private static final String MASK = "***MASKED***";
+    static final String MASK = "***MASKED***";
 
     /**
      * Mask sensitive fields in the provided data map.
@@ -48,7 +49,7 @@ public class SensitiveDataMasker {
         }
 
         // Create a new map to avoid modifying the original
-        Map<String, Object> maskedData = new HashMap<>(data);
+        Map<String, Object> maskedData = new LinkedHashMap<>(data);
 
         for (String field : sensitiveFields) {
             if (maskedData.containsKey(field)) {
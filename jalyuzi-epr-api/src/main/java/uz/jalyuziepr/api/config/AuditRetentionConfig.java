@@ -0,0 +1,22 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Audit loglarni saqlash muddati va oylik partitsiyalarni boshqarish (AuditPartitionService)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditRetentionConfig {
+
+    /** Shuncha oydan eski partitsiyalar butunlay olib tashlanadi (0 — hech qachon) */
+    private int retentionMonths = 24;
+    /** Joriy oydan keyin oldindan yaratiladigan partitsiyalar soni */
+    private int premakeMonths = 3;
+    /** Olib tashlashdan oldin partitsiya siqilgan JSON Lines (.jsonl.gz) faylga yoziladi */
+    private boolean archiveEnabled = true;
+    private String archiveDir = "./archive/audit-logs";
+}
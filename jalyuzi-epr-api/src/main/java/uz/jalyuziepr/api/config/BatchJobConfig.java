@@ -0,0 +1,25 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Kunlik fon vazifalari (batch job) va @Scheduled thread pool konfiguratsiyasi
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.batch")
+public class BatchJobConfig {
+
+    /** @Scheduled vazifalar uchun thread'lar soni — bitta sekin vazifa boshqalarini kutdirmasin */
+    private int schedulerPoolSize = 4;
+    /** Bitta tranzaksiyada o'qiladigan va qayta ishlanadigan yozuvlar */
+    private int chunkSize = 200;
+    /** Replikalararo lock lease muddati; har chunk'dan keyin uzaytiriladi */
+    private int lockLeaseSeconds = 300;
+    /** Uzilgan/xato bilan to'xtagan bugungi ishlarni tekshirish oralig'i */
+    private long recoveryIntervalMs = 300_000;
+    /** Bir ish kuni uchun maksimal urinishlar (boshlash + davom ettirishlar) */
+    private int maxAttempts = 3;
+}
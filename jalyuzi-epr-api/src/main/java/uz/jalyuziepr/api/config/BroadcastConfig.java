@@ -0,0 +1,30 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ommaviy tarqatish (kampaniyalar) konfiguratsiyasi. Provayder tezligi
+ * {@code app.outbox.<kanal>.rate-per-second} bilan umumiy — bu yerda faqat ishchilar.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.broadcast")
+public class BroadcastConfig {
+
+    private boolean enabled = true;
+    /** Parallel yuboruvchi ishchilar soni */
+    private int workers = 8;
+    /** Navbatni to'ldirish oralig'i */
+    private long pollIntervalMs = 1_000;
+    /** Xotiradagi navbat hajmi (qulflangan, lekin hali yuborilmagan qabul qiluvchilar) */
+    private int queueCapacity = 200;
+    /** Qulflangan yozuv lease muddati — navbat shu vaqt ichida bo'shashi kerak */
+    private int leaseSeconds = 300;
+    private int maxAttempts = 3;
+    /** Qayta urinish kechikishi: retryDelay × urinish */
+    private int retryDelaySeconds = 60;
+    /** Bitta kampaniya auditoriyasining maksimal hajmi */
+    private int maxAudienceSize = 100_000;
+}
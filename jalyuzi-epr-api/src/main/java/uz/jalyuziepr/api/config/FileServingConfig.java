@@ -0,0 +1,27 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * /files/** — saqlangan fayllarni berish konfiguratsiyasi (FileController)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.storage.serving")
+public class FileServingConfig {
+
+    /** Cache-Control max-age. Fayl nomlari noyob va qayta yozilmaydi, shuning uchun uzoq muddat xavfsiz */
+    private Duration cacheMaxAge = Duration.ofDays(365);
+    /** Cache-Control: immutable — brauzer qayta tekshiruv (304) so'rovini ham yubormaydi */
+    private boolean immutable = true;
+    /**
+     * Shu hajmdan katta javoblar Tomcat sendfile orqali yuboriladi (nol nusxa, so'rov oqimi
+     * darhol bo'shaydi). Kichik fayllar uchun oddiy yozish arzonroq.
+     */
+    private DataSize sendfileMinSize = DataSize.ofKilobytes(48);
+}
@@ -0,0 +1,33 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Yuklangan rasmlar uchun variantlar (thumbnail, medium) va keshlash konfiguratsiyasi
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.storage.images")
+public class ImagePipelineConfig {
+
+    /** false bo'lsa yuklashda variantlar yaratilmaydi (so'ralganda baribir yaratiladi) */
+    private boolean enabled = true;
+    /** Thumbnail — ro'yxat va grid ko'rinishlari uchun, uzun tomoni (px) */
+    private int thumbnailSize = 320;
+    /** Medium — mahsulot sahifasi va galereya uchun, uzun tomoni (px) */
+    private int mediumSize = 1280;
+    /** JPEG sifati (0..1) */
+    private float quality = 0.82f;
+    /** Fonda variant yaratuvchi oqimlar */
+    private int workerThreads = 2;
+    /** Navbat to'lsa yangi vazifa tashlab yuboriladi (variant birinchi so'rovda yaratiladi) */
+    private int queueCapacity = 200;
+    /**
+     * Eng katta rasm (megapiksel, sarlavhadan o'qiladi). Dekodlangan rasm ~4 bayt/piksel egallaydi:
+     * kichik fayl ichida 50k×50k deb e'lon qilingan "decompression bomb" heap'ni to'ldirmasligi uchun
+     * bundan kattasi yuklashda rad etiladi va variant yaratilmaydi.
+     */
+    private int maxMegapixels = 40;
+}
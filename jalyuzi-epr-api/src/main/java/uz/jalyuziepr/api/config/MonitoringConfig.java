@@ -0,0 +1,28 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * So'rov darajasidagi SQL/DB metrikalari konfiguratsiyasi
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.monitoring")
+public class MonitoringConfig {
+
+    private Sql sql = new Sql();
+
+    @Data
+    public static class Sql {
+        /** Har bir HTTP so'rov uchun SQL soni, DB vaqti va entity yuklanishlarini yig'ish */
+        private boolean enabled = true;
+
+        /** Shundan uzoq davom etgan so'rov WARN darajada "sekin" deb loglanadi (ms) */
+        private long slowRequestThresholdMs = 1000;
+
+        /** Shundan ko'p SQL yuborgan so'rov ham "sekin" hisoblanadi (N+1 belgisi) */
+        private int slowStatementThreshold = 50;
+    }
+}
@@ -0,0 +1,23 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Xodimlar bildirishnomalarini yig'ib yuborish (fan-out) konfiguratsiyasi
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.notifications.fanout")
+public class NotificationFanoutConfig {
+
+    /** false bo'lsa har bir bildirishnoma commit'dan keyin darhol alohida yuboriladi */
+    private boolean enabled = true;
+    /** Yig'ish oynasi — shu oraliqda commit bo'lgan bildirishnomalar bitta paketda yuboriladi */
+    private long windowMs = 500;
+    /** Bir oynada bir xil tur/qabul qiluvchi uchun shuncha va undan ko'p bo'lsa — bitta digest xabar */
+    private int digestThreshold = 3;
+    /** Digest ichida ko'rsatiladigan bildirishnomalar soni */
+    private int digestPreviewSize = 5;
+}
@@ -0,0 +1,68 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+
+/**
+ * Transactional outbox dispetcheri konfiguratsiyasi (Telegram/SMS)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxConfig {
+
+    private boolean enabled = true;
+    /** Navbatni tekshirish oralig'i */
+    private long pollIntervalMs = 2_000;
+    /** Bitta so'rovda kanal bo'yicha olinadigan maksimal yozuvlar */
+    private int batchSize = 50;
+    /** SENDING yozuvi lease muddati — shundan keyin boshqa dispetcher qayta oladi */
+    private int leaseSeconds = 120;
+    private int maxAttempts = 8;
+    /** Backoff: base × 2^(urinish-1), maxBackoff bilan cheklangan (±20% jitter) */
+    private int baseBackoffSeconds = 30;
+    private int maxBackoffSeconds = 3_600;
+    /** SENT yozuvlar necha kundan keyin tozalanadi */
+    private int retentionDays = 30;
+    /** Lokal/test muhit: haqiqiy API o'rniga xabarlarni logga yozuvchi stub provayder */
+    private boolean stubProvider = false;
+    /** Stub provayderda sun'iy xatolik ulushi (0..1) — retry/DEAD oqimini sinash uchun */
+    private double stubFailureRate = 0.0;
+    /** Rate limiter ruxsatini kutishning maksimal vaqti — oshsa urinish qayta rejalashtiriladi */
+    private long rateLimitWaitMs = 30_000;
+
+    /** Telegram: umumiy ~30 xabar/s, bitta chatga ~1 xabar/s */
+    private Channel telegram = new Channel(4, 25, 25, 1_000);
+    /** Eskiz: tarifga qarab — standart ehtiyotkor qiymat */
+    private Channel sms = new Channel(2, 5, 5, 0);
+
+    public Channel channel(OutboxChannel channel) {
+        return switch (channel) {
+            case TELEGRAM -> telegram;
+            case SMS -> sms;
+        };
+    }
+
+    @Data
+    public static class Channel {
+        /** Kanal bo'yicha bir vaqtda yuborilayotgan xabarlar chegarasi */
+        private int concurrency;
+        /** Provayderga umumiy yuborish tezligi (token bucket) */
+        private double ratePerSecond;
+        private int burst;
+        /** Bitta qabul qiluvchiga xabarlar orasidagi minimal interval (0 — cheklovsiz) */
+        private long perRecipientIntervalMs;
+
+        public Channel() {
+        }
+
+        public Channel(int concurrency, double ratePerSecond, int burst, long perRecipientIntervalMs) {
+            this.concurrency = concurrency;
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.perRecipientIntervalMs = perRecipientIntervalMs;
+        }
+    }
+}
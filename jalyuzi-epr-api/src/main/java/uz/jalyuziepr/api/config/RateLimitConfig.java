@@ -0,0 +1,88 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ommaviy endpoint'lar uchun so'rovlar cheklovi (token bucket) konfiguratsiyasi
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+    /**
+     * {@code shared: true} limitlar uchun backend: NONE — hammasi replika xotirasida;
+     * JDBC — Postgres (rate_limit_buckets), replikalar bo'yicha umumiy
+     */
+    private SharedBackend sharedBackend = SharedBackend.NONE;
+    /** Xotiradagi bucket'lar soni chegarasi (IP/telefon bo'yicha kalitlar) */
+    private int maxLocalKeys = 100_000;
+    /**
+     * Byudjet bucket'laridan to'lganlarini tozalash davri (RateLimitCleanupScheduler). Xarita
+     * {@code maxLocalKeys} ga yetsa, tozalashgacha yangi kalitlar shu muddatga rad etiladi
+     */
+    private long localSweepIntervalMs = 60_000;
+    /**
+     * X-Real-IP / X-Forwarded-For faqat ulanish shu tarmoqlardan (CIDR) kelganda o'qiladi.
+     * Standart — loopback va xususiy tarmoqlar (docker-compose'dagi nginx shu yerda)
+     */
+    private List<String> trustedProxies = new ArrayList<>(List.of(
+            "127.0.0.0/8", "::1/128", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "fc00::/7"));
+
+    /** Marshrut guruhlari: nom → yo'l shablonlari va limitlar (RateLimitInterceptor) */
+    private Map<String, RouteGroup> groups = new LinkedHashMap<>();
+
+    /** Tasdiqlash kodi: bitta telefonga (SmsService.sendVerificationCode) */
+    private Limit smsPerPhone = new Limit(3, Duration.ofHours(1), true);
+    /** Tasdiqlash kodi: barcha telefonlarga jami SMS (Eskiz pullik) */
+    private Limit smsGlobal = new Limit(300, Duration.ofHours(1), true);
+
+    public enum SharedBackend {
+        NONE,
+        JDBC
+    }
+
+    @Data
+    public static class RouteGroup {
+        /** Context-path'siz Ant shablonlari, masalan /v1/shop/products/** */
+        private List<String> patterns = new ArrayList<>();
+        /** HTTP metodlar; bo'sh — hammasi */
+        private List<String> methods = new ArrayList<>();
+        /** Bitta IP'ga */
+        private Limit perIp;
+        /** Guruhga jami (barcha IP'lar) */
+        private Limit total;
+    }
+
+    @Data
+    public static class Limit {
+        /** Ketma-ket ruxsat etilgan so'rovlar (bucket sig'imi) */
+        private int capacity;
+        /** Sig'im to'liq tiklanadigan davr */
+        private Duration period;
+        /** Shared backend yoqilgan bo'lsa replikalar bo'yicha umumiy hisoblanadi */
+        private boolean shared;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, Duration period, boolean shared) {
+            this.capacity = capacity;
+            this.period = period;
+            this.shared = shared;
+        }
+
+        public double ratePerSecond() {
+            return capacity / (period.toMillis() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * @Scheduled vazifalar uchun alohida thread pool.
+ *
+ * Standart holatda barcha @Scheduled metodlar bitta thread'da navbat bilan ishlaydi (WebSocket
+ * broker o'z scheduler'ini e'lon qilgani uchun Boot'ning spring.task.scheduling sozlamalari ham
+ * qo'llanmaydi). Pool bean sifatida e'lon qilinmaydi — aks holda u @Async executor'ini almashtirardi.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class SchedulingConfig implements SchedulingConfigurer, DisposableBean {
+
+    private final BatchJobConfig batchJobConfig;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, batchJobConfig.getSchedulerPoolSize()));
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.setErrorHandler(e -> log.error("Rejalashtirilgan vazifa xatosi: {}", e.getMessage(), e));
+        scheduler.initialize();
+        registrar.setTaskScheduler(scheduler);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import uz.jalyuziepr.api.enums.PermissionCode;
 import uz.jalyuziepr.api.security.CustomUserDetailsService;
 import uz.jalyuziepr.api.security.JwtAuthenticationEntryPoint;
 import uz.jalyuziepr.api.security.JwtAuthenticationFilter;
@@ -47,7 +48,12 @@ public class SecurityConfig {
                         .requestMatchers("/v1/auth/**").permitAll()
                         .requestMatchers("/v1/customer-auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // L2 kesh regionlarini tozalash — faqat sozlamalarni o'zgartira oladiganlar
+                        .requestMatchers(HttpMethod.DELETE, "/actuator/l2cache", "/actuator/l2cache/**")
+                                .hasAuthority("PERM_" + PermissionCode.SETTINGS_UPDATE.getCode())
+                        // Metrikalar va kesh holati — faqat sozlamalarni ko'ra oladiganlar
+                        .requestMatchers("/actuator/**").hasAuthority("PERM_" + PermissionCode.SETTINGS_VIEW.getCode())
                         // Static fayllar (yuklangan rasmlar) — public
                         .requestMatchers("/files/**").permitAll()
                         // WebSocket endpoint (JWT token interceptor'da tekshiriladi)
@@ -64,6 +70,7 @@ public class SecurityConfig {
                         .requestMatchers("/v1/shop/materials").permitAll()
                         .requestMatchers("/v1/shop/payment-methods").permitAll()
                         .requestMatchers("/v1/shop/calculate-price").permitAll()
+                        .requestMatchers("/v1/shop/calculate-prices").permitAll()
                         .requestMatchers("/v1/shop/auth/**").permitAll()
 
                         // Telegram bot webhook (Telegram server tomonidan chaqiriladi)
@@ -9,7 +9,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import uz.jalyuziepr.api.entity.Customer;
 import uz.jalyuziepr.api.enums.CustomerType;
+import uz.jalyuziepr.api.enums.LedgerEntryType;
 import uz.jalyuziepr.api.repository.CustomerRepository;
+import uz.jalyuziepr.api.service.CustomerLedgerService;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,9 +28,11 @@ public class TestDataInitializer implements CommandLineRunner {
 
     private final CustomerRepository customerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomerLedgerService customerLedgerService;
 
     private static final String TEST_PHONE = "+998901234567";
     private static final String TEST_PIN = "1234";
+    private static final BigDecimal TEST_OPENING_BALANCE = BigDecimal.valueOf(100000);
 
     @Override
     @Transactional
@@ -37,17 +41,17 @@ public class TestDataInitializer implements CommandLineRunner {
     }
 
     private void setupTestCustomer() {
-        Customer customer = customerRepository.findByPhone(TEST_PHONE)
-                .orElseGet(() -> {
-                    log.info("Creating test customer with phone: {}", TEST_PHONE);
-                    return Customer.builder()
-                            .fullName("Test Mijoz")
-                            .phone(TEST_PHONE)
-                            .customerType(CustomerType.INDIVIDUAL)
-                            .balance(BigDecimal.valueOf(100000))
-                            .active(true)
-                            .build();
-                });
+        Customer customer = customerRepository.findByPhone(TEST_PHONE).orElse(null);
+        boolean created = customer == null;
+        if (created) {
+            log.info("Creating test customer with phone: {}", TEST_PHONE);
+            customer = Customer.builder()
+                    .fullName("Test Mijoz")
+                    .phone(TEST_PHONE)
+                    .customerType(CustomerType.INDIVIDUAL)
+                    .active(true)
+                    .build();
+        }
 
         // Portal kirishini yoqish va PIN o'rnatish
         customer.setPortalEnabled(true);
@@ -57,7 +61,13 @@ public class TestDataInitializer implements CommandLineRunner {
         customer.setPinLockedUntil(null);
         customer.setPreferredLanguage("uz");
 
-        customerRepository.save(customer);
+        customer = customerRepository.save(customer);
+
+        // Boshlang'ich balans daftar orqali — balans ledger yig'indisiga teng bo'lib qoladi
+        if (created) {
+            customerLedgerService.post(customer, null, LedgerEntryType.OPENING, TEST_OPENING_BALANCE,
+                    null, null, "Test mijoz boshlang'ich balansi");
+        }
         log.info("Test customer portal enabled - Phone: {}, PIN: {}", TEST_PHONE, TEST_PIN);
     }
 }
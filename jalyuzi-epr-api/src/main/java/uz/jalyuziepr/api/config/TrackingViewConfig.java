@@ -0,0 +1,24 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Ommaviy kuzatuv sahifasi (/v1/track/{code}) keshi konfiguratsiyasi
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.tracking.view")
+public class TrackingViewConfig {
+
+    /**
+     * Tayyor javobning yashash muddati. Status o'zgarishi keshni darhol tozalaydi; bu muddat
+     * statusdan tashqari o'zgarishlar (to'lov, sanalar, rasmlar) va boshqa replikalar uchun chegara.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+    /** Keshdagi kodlar soni chegarasi */
+    private int maxEntries = 10_000;
+}
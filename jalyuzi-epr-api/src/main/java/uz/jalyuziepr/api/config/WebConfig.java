@@ -8,11 +8,11 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import uz.jalyuziepr.api.audit.AuditCorrelationInterceptor;
+import uz.jalyuziepr.api.monitoring.RequestSqlMetricsInterceptor;
+import uz.jalyuziepr.api.ratelimit.RateLimitInterceptor;
 
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -22,30 +22,23 @@ import java.util.List;
 public class WebConfig implements WebMvcConfigurer {
 
     private final AuditCorrelationInterceptor auditCorrelationInterceptor;
+    private final RequestSqlMetricsInterceptor requestSqlMetricsInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
 
     @Value("${app.cors.allowed-origins:http://localhost:5175,http://localhost:3000,http://127.0.0.1:5175,http://192.168.1.33:5175,https://kanjaltib.uz,https://www.kanjaltib.uz,https://localhost,capacitor://localhost,http://localhost}")
     private String[] allowedOrigins;
 
-    @Value("${app.storage.upload-dir:./uploads}")
-    private String uploadDir;
-
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // Birinchi: rad etilgan so'rov boshqa interceptor va controller'ga yetib bormaydi
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/v1/**");
         registry.addInterceptor(auditCorrelationInterceptor)
                 .addPathPatterns("/v1/**")  // Apply to all API endpoints
                 .excludePathPatterns("/v1/auth/**");  // Exclude auth endpoints
-    }
-
-    /**
-     * Yuklangan fayllarni public URL orqali xizmat ko'rsatish.
-     * /api/files/orders/2026-05-21/uuid.jpg → ./uploads/orders/2026-05-21/uuid.jpg
-     */
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String location = Paths.get(uploadDir).toAbsolutePath().normalize().toUri().toString();
-        registry.addResourceHandler("/files/**")
-                .addResourceLocations(location)
-                .setCachePeriod(3600);
+        // Correlation interceptor'dan keyin: metrika logi audit correlationId'ni ko'radi
+        registry.addInterceptor(requestSqlMetricsInterceptor)
+                .addPathPatterns("/v1/**");
     }
 
     private static final List<String> CAPACITOR_ORIGINS = List.of(
@@ -1,33 +1,74 @@
 package uz.jalyuziepr.api.config;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import uz.jalyuziepr.api.security.JwtChannelInterceptor;
 
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final WebSocketProperties properties;
 
     @Value("${app.cors.allowed-origins:http://localhost:5175,http://localhost:3000,http://127.0.0.1:5175,http://192.168.1.33:5175,https://kanjaltib.uz,https://www.kanjaltib.uz}")
     private String[] allowedOrigins;
 
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // Simple broker heartbeat'i uchun — WebSocket konfiguratsiyasining o'z scheduler'i (aylanma bog'liqlik bo'lmasligi uchun @Lazy)
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
+        long[] heartbeat = {properties.getHeartbeatSendMs(), properties.getHeartbeatReceiveMs()};
+
         // Server -> Client uchun prefix'lar
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (properties.getBroker() == WebSocketProperties.BrokerMode.RELAY) {
+            // Tashqi STOMP broker: /topic va /queue obunalari barcha replikalar uchun umumiy;
+            // user-destination'lar (convertAndSendToUser) boshqa replikadagi sessiyaga ham yetadi.
+            WebSocketProperties.Relay relay = properties.getRelay();
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setVirtualHost(StringUtils.hasText(relay.getVirtualHost()) ? relay.getVirtualHost() : null)
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(relay.getSystemHeartbeatSendMs())
+                    .setSystemHeartbeatReceiveInterval(relay.getSystemHeartbeatReceiveMs())
+                    .setUserDestinationBroadcast(relay.getUserDestinationBroadcast())
+                    .setUserRegistryBroadcast(relay.getUserRegistryBroadcast());
+            log.info("STOMP broker relay: {}:{}", relay.getHost(), relay.getPort());
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(heartbeat)
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         // Client -> Server uchun prefix
         registry.setApplicationDestinationPrefixes("/app");
         // User-specific xabarlar uchun prefix
         registry.setUserDestinationPrefix("/user");
+        registry.setPreservePublishOrder(properties.isPreservePublishOrder());
     }
 
     @Override
@@ -42,5 +83,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // JWT token tekshirish uchun interceptor
         registration.interceptors(jwtChannelInterceptor);
+        applyPool(registration, properties.getInbound());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        applyPool(registration, properties.getOutbound());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = properties.getTransport();
+        registration.setMessageSizeLimit(transport.getMessageSizeLimit())
+                .setSendBufferSizeLimit(transport.getSendBufferSizeLimit())
+                .setSendTimeLimit(transport.getSendTimeLimitMs());
+    }
+
+    private void applyPool(ChannelRegistration registration, WebSocketProperties.ChannelPool pool) {
+        registration.taskExecutor()
+                .corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaxPoolSize())
+                .queueCapacity(pool.getQueueCapacity());
     }
 }
@@ -0,0 +1,69 @@
+package uz.jalyuziepr.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * STOMP broker konfiguratsiyasi.
+ * SIMPLE — xotiradagi broker (bitta replika); RELAY — tashqi STOMP broker (RabbitMQ/ActiveMQ),
+ * obunalar va user-destination'lar barcha replikalar orasida umumiy bo'ladi.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketProperties {
+
+    public enum BrokerMode { SIMPLE, RELAY }
+
+    private BrokerMode broker = BrokerMode.SIMPLE;
+
+    /** Klient bilan heartbeat (ms): [server yuboradi, server kutadi]. 0 — o'chirilgan */
+    private long heartbeatSendMs = 10_000;
+    private long heartbeatReceiveMs = 10_000;
+
+    /** Yagona nashr tartibini saqlash (bitta sessiyaga xabarlar yuborilgan tartibda boradi) */
+    private boolean preservePublishOrder = false;
+
+    private Relay relay = new Relay();
+    private ChannelPool inbound = new ChannelPool();
+    private ChannelPool outbound = new ChannelPool();
+    private Transport transport = new Transport();
+
+    @Data
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        /** Klient sessiyalari uchun login (brokerga har bir WebSocket sessiyasi alohida ulanadi) */
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        /** Server ichki "system" ulanishi — SimpMessagingTemplate shu orqali yuboradi */
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private long systemHeartbeatSendMs = 10_000;
+        private long systemHeartbeatReceiveMs = 10_000;
+        /** Boshqa replikadagi foydalanuvchiga yuborish uchun umumiy topic */
+        private String userDestinationBroadcast = "/topic/unresolved-user-destination";
+        /** Replikalar o'rtasida foydalanuvchi sessiyalari registrini almashish */
+        private String userRegistryBroadcast = "/topic/simp-user-registry";
+    }
+
+    /** Standart qiymatlar Spring'nikiga teng (ChannelRegistration / WebSocketTransportRegistration) */
+    @Data
+    public static class ChannelPool {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Integer.MAX_VALUE;
+        private int queueCapacity = Integer.MAX_VALUE;
+    }
+
+    @Data
+    public static class Transport {
+        /** Bitta kiruvchi STOMP xabarining maksimal hajmi */
+        private int messageSizeLimit = 64 * 1024;
+        /** Sekin klient uchun buferlangan chiquvchi ma'lumot chegarasi */
+        private int sendBufferSizeLimit = 512 * 1024;
+        /** Sekin klientga yuborish vaqti chegarasi — oshsa sessiya yopiladi */
+        private int sendTimeLimitMs = 10_000;
+    }
+}
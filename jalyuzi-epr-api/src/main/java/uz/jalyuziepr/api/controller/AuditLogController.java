@@ -1,10 +1,9 @@
 package uz.jalyuziepr.api.controller;
 
+import com.lowagie.text.DocumentException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,17 +14,21 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
 import uz.jalyuziepr.api.dto.response.AuditLogDetailResponse;
 import uz.jalyuziepr.api.dto.response.AuditLogGroupResponse;
 import uz.jalyuziepr.api.dto.response.AuditLogResponse;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.enums.PermissionCode;
 import uz.jalyuziepr.api.security.RequiresPermission;
 import uz.jalyuziepr.api.service.AuditLogService;
 import uz.jalyuziepr.api.service.export.ExcelExportService;
 import uz.jalyuziepr.api.service.export.PdfExportService;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,6 +39,9 @@ import java.util.List;
 @Tag(name = "Audit Logs", description = "Audit loglar API")
 public class AuditLogController {
 
+    /** Eksport qilinadigan yozuvlarning yuqori chegarasi (so'rovdagi maxRecords shu bilan qisiladi) */
+    private static final int MAX_EXPORT_RECORDS = 50_000;
+
     private final AuditLogService auditLogService;
     private final ExcelExportService excelExportService;
     private final PdfExportService pdfExportService;
@@ -48,13 +54,33 @@ public class AuditLogController {
             @RequestParam(required = false) String action,
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
     ) {
         return ResponseEntity.ok(ApiResponse.success(
-                auditLogService.searchAuditLogs(entityType, action, userId, search, pageable)
+                auditLogService.searchAuditLogs(entityType, action, userId, search, from, to, pageable)
         ));
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Search audit logs (cursor)", description = "Audit loglar — keyset sahifalash, COUNT ixtiyoriy")
+    @RequiresPermission(PermissionCode.SETTINGS_VIEW)
+    public ResponseEntity<ApiResponse<CursorPagedResponse<AuditLogResponse>>> searchAuditLogsCursor(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(auditLogService.searchAuditLogsCursor(
+                entityType, action, userId, search, from, to, cursor, KeysetCursor.limit(size), withTotal)));
+    }
+
     @GetMapping("/grouped")
     @Operation(summary = "Search grouped audit logs", description = "Guruhlangan audit loglarni qidirish")
     @RequiresPermission(PermissionCode.SETTINGS_VIEW)
@@ -63,10 +89,12 @@ public class AuditLogController {
             @RequestParam(required = false) String action,
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
     ) {
         return ResponseEntity.ok(ApiResponse.success(
-                auditLogService.searchGroupedAuditLogs(entityType, action, userId, search, pageable)
+                auditLogService.searchGroupedAuditLogs(entityType, action, userId, search, from, to, pageable)
         ));
     }
 
@@ -133,43 +161,51 @@ public class AuditLogController {
     @GetMapping("/export")
     @Operation(summary = "Export audit logs", description = "Audit loglarni Excel yoki PDF formatida eksport qilish")
     @RequiresPermission(PermissionCode.REPORTS_EXPORT)
-    public ResponseEntity<Resource> exportAuditLogs(
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
             @RequestParam(required = false) String entityType,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @RequestParam(defaultValue = "excel") String format,
             @RequestParam(defaultValue = "10000") int maxRecords
     ) {
+        int limit = Math.min(Math.max(maxRecords, 1), MAX_EXPORT_RECORDS);
         try {
+            if ("pdf".equalsIgnoreCase(format)) {
+                // PDF oqim bilan yoziladi: loglar partiyalab o'qiladi, sahifalar darhol mijozga ketadi
+                StreamingResponseBody body = out -> {
+                    try {
+                        pdfExportService.writeAuditLogs(
+                                auditLogService.iterateAuditLogs(entityType, action, userId, search, from, to, limit),
+                                "Tizim Auditlari Hisoboti", out);
+                    } catch (DocumentException e) {
+                        throw new IOException("Eksport qilishda xatolik: " + e.getMessage(), e);
+                    }
+                };
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"audit_logs_" + LocalDate.now() + ".pdf\"")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .body(body);
+            }
+
             // Fetch audit logs with filters (limit to maxRecords for safety)
-            Pageable pageable = PageRequest.of(0, maxRecords, Sort.by(Sort.Direction.DESC, "createdAt"));
+            Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
             Page<AuditLogResponse> auditLogsPage = auditLogService.searchAuditLogs(
-                    entityType, action, userId, search, pageable
+                    entityType, action, userId, search, from, to, pageable
             );
             List<AuditLogResponse> auditLogs = auditLogsPage.getContent();
 
-            ByteArrayOutputStream outputStream;
-            String contentType;
-            String filename;
-
-            if ("pdf".equalsIgnoreCase(format)) {
-                outputStream = pdfExportService.exportAuditLogs(auditLogs, "Tizim Auditlari Hisoboti");
-                contentType = "application/pdf";
-                filename = "audit_logs_" + LocalDate.now() + ".pdf";
-            } else {
-                outputStream = excelExportService.exportAuditLogs(auditLogs, "Tizim Auditlari Hisoboti");
-                contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-                filename = "audit_logs_" + LocalDate.now() + ".xlsx";
-            }
-
-            ByteArrayResource resource = new ByteArrayResource(outputStream.toByteArray());
+            ByteArrayOutputStream outputStream = excelExportService.exportAuditLogs(auditLogs, "Tizim Auditlari Hisoboti");
+            String filename = "audit_logs_" + LocalDate.now() + ".xlsx";
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .contentLength(resource.contentLength())
-                    .body(resource);
+                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                    .contentLength(outputStream.size())
+                    .body(outputStream::writeTo);
         } catch (Exception e) {
             throw new RuntimeException("Eksport qilishda xatolik: " + e.getMessage(), e);
         }
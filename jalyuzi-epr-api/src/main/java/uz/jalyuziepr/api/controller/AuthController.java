@@ -18,6 +18,7 @@ import uz.jalyuziepr.api.security.CustomUserDetails;
 import uz.jalyuziepr.api.service.AuthService;
 import uz.jalyuziepr.api.service.SessionService;
 import uz.jalyuziepr.api.service.UserService;
+import uz.jalyuziepr.api.util.ClientIp;
 
 @RestController
 @RequestMapping("/v1/auth")
@@ -35,7 +36,7 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest) {
 
-        String ipAddress = getClientIpAddress(httpRequest);
+        String ipAddress = ClientIp.of(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
         JwtResponse response = authService.login(request, ipAddress, userAgent);
@@ -47,7 +48,7 @@ public class AuthController {
     public ResponseEntity<ApiResponse<JwtResponse>> refreshToken(
             @RequestParam String refreshToken,
             HttpServletRequest httpRequest) {
-        String ipAddress = getClientIpAddress(httpRequest);
+        String ipAddress = ClientIp.of(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
         JwtResponse response = authService.refreshToken(refreshToken, ipAddress, userAgent);
         return ResponseEntity.ok(ApiResponse.success(response));
@@ -105,16 +106,4 @@ public class AuthController {
 
         return ResponseEntity.ok(ApiResponse.success("Parol muvaffaqiyatli o'zgartirildi"));
     }
-
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        return request.getRemoteAddr();
-    }
 }
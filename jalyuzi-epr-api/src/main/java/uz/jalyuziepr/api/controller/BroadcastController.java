@@ -0,0 +1,107 @@
+package uz.jalyuziepr.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.jalyuziepr.api.dto.request.BroadcastCampaignRequest;
+import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.BroadcastCampaignResponse;
+import uz.jalyuziepr.api.dto.response.BroadcastReportResponse;
+import uz.jalyuziepr.api.dto.response.PagedResponse;
+import uz.jalyuziepr.api.enums.BroadcastAudience;
+import uz.jalyuziepr.api.enums.BroadcastStatus;
+import uz.jalyuziepr.api.enums.PermissionCode;
+import uz.jalyuziepr.api.security.RequiresPermission;
+import uz.jalyuziepr.api.service.broadcast.BroadcastService;
+
+import java.util.Map;
+
+/**
+ * Ommaviy tarqatish (Telegram/SMS kampaniyalari).
+ */
+@RestController
+@RequestMapping("/v1/broadcasts")
+@RequiredArgsConstructor
+@Tag(name = "Broadcasts", description = "Ommaviy tarqatish kampaniyalari")
+public class BroadcastController {
+
+    private final BroadcastService broadcastService;
+
+    @GetMapping
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Kampaniyalar ro'yxati", description = "Progress bilan")
+    public ResponseEntity<ApiResponse<PagedResponse<BroadcastCampaignResponse>>> list(
+            @RequestParam(required = false) BroadcastStatus status,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(broadcastService.list(status, pageable))));
+    }
+
+    @GetMapping("/audience-preview")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Auditoriya hajmi", description = "Kampaniya yaratishdan oldin mijozlar sonini ko'rish")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> previewAudience(
+            @RequestParam BroadcastAudience audience,
+            @RequestParam(required = false) String segment,
+            @RequestParam(required = false) Integer dueWithinDays) {
+        int count = broadcastService.previewAudience(audience, segment, dueWithinDays);
+        return ResponseEntity.ok(ApiResponse.success(Map.of("count", count)));
+    }
+
+    @PostMapping
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_MANAGE)
+    @Operation(summary = "Kampaniya yaratish", description = "Auditoriya yoziladi; startImmediately=true bo'lsa darhol boshlanadi")
+    public ResponseEntity<ApiResponse<BroadcastCampaignResponse>> create(
+            @Valid @RequestBody BroadcastCampaignRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Kampaniya yaratildi", broadcastService.create(request)));
+    }
+
+    @GetMapping("/{id}")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Kampaniya", description = "Kampaniya va progress")
+    public ResponseEntity<ApiResponse<BroadcastCampaignResponse>> get(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(broadcastService.get(id)));
+    }
+
+    @GetMapping("/{id}/report")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Throughput hisoboti", description = "Daqiqalar bo'yicha yuborilganlar, o'rtacha va eng yuqori tezlik")
+    public ResponseEntity<ApiResponse<BroadcastReportResponse>> report(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(broadcastService.report(id)));
+    }
+
+    @PostMapping("/{id}/start")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_MANAGE)
+    @Operation(summary = "Boshlash")
+    public ResponseEntity<ApiResponse<BroadcastCampaignResponse>> start(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Kampaniya boshlandi", broadcastService.start(id)));
+    }
+
+    @PostMapping("/{id}/pause")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_MANAGE)
+    @Operation(summary = "To'xtatish")
+    public ResponseEntity<ApiResponse<BroadcastCampaignResponse>> pause(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Kampaniya to'xtatildi", broadcastService.pause(id)));
+    }
+
+    @PostMapping("/{id}/resume")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_MANAGE)
+    @Operation(summary = "Davom ettirish")
+    public ResponseEntity<ApiResponse<BroadcastCampaignResponse>> resume(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Kampaniya davom ettirildi", broadcastService.resume(id)));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_MANAGE)
+    @Operation(summary = "Bekor qilish", description = "Yuborilmagan qabul qiluvchilar o'tkazib yuboriladi")
+    public ResponseEntity<ApiResponse<BroadcastCampaignResponse>> cancel(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Kampaniya bekor qilindi", broadcastService.cancel(id)));
+    }
+}
@@ -88,6 +88,25 @@ public class CustomerController {
         return ResponseEntity.ok(ApiResponse.success(customerInsightsService.getRfmInsights()));
     }
 
+    @GetMapping("/rfm-insights/segments")
+    @RequiresPermission(PermissionCode.CUSTOMERS_VIEW)
+    @Operation(summary = "RFM segmentlari", description = "Segmentlar bo'yicha mijozlar soni va to'langan summa")
+    public ResponseEntity<ApiResponse<List<CustomerRfmResponse.SegmentSummary>>> rfmSegments() {
+        return ResponseEntity.ok(ApiResponse.success(customerInsightsService.getSegmentSummaries()));
+    }
+
+    @GetMapping("/rfm-insights/customers")
+    @RequiresPermission(PermissionCode.CUSTOMERS_VIEW)
+    @Operation(summary = "RFM mijozlari", description = "Segment bo'yicha filtrlangan, to'langan summa bo'yicha saralangan mijozlar")
+    public ResponseEntity<ApiResponse<PagedResponse<CustomerRfmResponse.CustomerRfm>>> rfmCustomers(
+            @RequestParam(required = false) String segment,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<CustomerRfmResponse.CustomerRfm> customers = customerInsightsService.getCustomers(
+                segment, PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200)));
+        return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(customers)));
+    }
+
     @PostMapping
     @RequiresPermission(PermissionCode.CUSTOMERS_CREATE)
     @Operation(summary = "Create customer", description = "Yangi mijoz yaratish")
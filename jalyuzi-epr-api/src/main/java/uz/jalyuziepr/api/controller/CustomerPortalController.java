@@ -6,16 +6,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import uz.jalyuziepr.api.dto.response.*;
 import uz.jalyuziepr.api.security.CustomerUserDetails;
 import uz.jalyuziepr.api.dto.request.WarrantyClaimRequest;
+import uz.jalyuziepr.api.enums.OrderDocumentType;
 import uz.jalyuziepr.api.service.CustomerPortalService;
 import uz.jalyuziepr.api.service.NotificationService;
 import uz.jalyuziepr.api.service.OrderService;
 import uz.jalyuziepr.api.service.WarrantyService;
+import uz.jalyuziepr.api.service.export.OrderDocumentCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PageableDefault;
 import jakarta.validation.Valid;
@@ -104,6 +108,18 @@ public class CustomerPortalController {
         return ResponseEntity.ok(ApiResponse.success(order));
     }
 
+    @GetMapping("/orders/{id}/documents/{type}")
+    @Operation(summary = "Buyurtma hujjati PDF", description = "invoice, act yoki warranty (keshdagi fayl)")
+    public ResponseEntity<Resource> getOrderDocument(
+            @AuthenticationPrincipal CustomerUserDetails customerDetails,
+            @PathVariable Long id,
+            @PathVariable String type,
+            WebRequest request) {
+        OrderDocumentCache.CachedDocument document =
+                orderService.getDocumentForCustomer(id, customerDetails.getId(), type);
+        return OrderDocumentController.pdfResponse(document, id, OrderDocumentType.fromCode(type), request);
+    }
+
     // ==================== WARRANTY CLAIMS ====================
 
     @GetMapping("/warranty/claims")
@@ -0,0 +1,202 @@
+package uz.jalyuziepr.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import uz.jalyuziepr.api.config.FileServingConfig;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.service.FileStorageService;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Yuklangan fayllarni berish: /api/files/orders/2026-05-21/3f2a...c1.jpg → {upload-dir}/orders/...
+ *
+ * - Range (bitta diapazon) → 206; bir nechta diapazon so'ralsa butun fayl (RFC 9110 ruxsat beradi)
+ * - ETag (noyob 32 hex nomlar uchun nomning o'zi) va Last-Modified bo'yicha 304
+ * - Katta javoblar Tomcat sendfile bilan yuboriladi: fayl yadro ichida soketga ko'chiriladi va
+ *   so'rov oqimi sekin mobil mijozni kutib turmaydi; sendfile yo'q bo'lsa FileChannel.transferTo
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Files", description = "Yuklangan fayllarni berish")
+public class FileController {
+
+    // Tomcat NIO konnektori sendfile atributlari (org.apache.tomcat.util.net.Constants / Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Noyob, qayta yozilmaydigan 32 hex nom (ixtiyoriy variant qo'shimchasi bilan)
+    private static final Pattern HASHED_NAME = Pattern.compile("[0-9a-f]{32}(_[a-z]+)?");
+
+    // Saqlanadigan turlar uchun oldindan tayyor; boshqalari birinchi so'rovda aniqlanib keshlanadi
+    private static final Map<String, MediaType> CONTENT_TYPES = new ConcurrentHashMap<>(Map.of(
+            "jpg", MediaType.IMAGE_JPEG,
+            "jpeg", MediaType.IMAGE_JPEG,
+            "png", MediaType.IMAGE_PNG,
+            "webp", MediaType.parseMediaType("image/webp"),
+            "heic", MediaType.parseMediaType("image/heic"),
+            "heif", MediaType.parseMediaType("image/heif"),
+            "pdf", MediaType.APPLICATION_PDF
+    ));
+
+    // Variant o'rniga berilgan asl fayl: qisqa muddat, keyin variant tayyor bo'lishi mumkin
+    private static final String FALLBACK_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic().getHeaderValue();
+
+    private final FileStorageService fileStorageService;
+    private final FileServingConfig config;
+
+    @GetMapping("/files/{*path}")
+    @Operation(summary = "Saqlangan faylni berish (Range, ETag, uzoq kesh)")
+    public void serve(@PathVariable String path, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        Path file = fileStorageService.resolveForServing(relative);
+        if (file == null) {
+            throw new ResourceNotFoundException("Fayl", "yo'l", relative);
+        }
+
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = etagOf(file, length, lastModified);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isFallback(relative, file) ? FALLBACK_CACHE_CONTROL : cacheControl());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(contentTypeOf(file).toString());
+
+        long start = 0;
+        long end = length; // eksklyuziv
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            if (ranges.size() == 1) {
+                long first = ranges.get(0).getRangeStart(length);
+                long last = ranges.get(0).getRangeEnd(length);
+                if (first >= length || first > last) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = first;
+                end = last + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + first + "-" + last + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || end == start) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                && end - start >= config.getSendfileMinSize().toBytes()) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long written = channel.transferTo(position, end - position, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+    }
+
+    /**
+     * Variant so'ralgan, lekin asl fayl berilmoqda (variant hali yaratilmagan yoki format
+     * qo'llab-quvvatlanmaydi) — bunday javob variant URL ostida bir yilga qotib qolmasligi kerak
+     */
+    private static boolean isFallback(String relative, Path file) {
+        String requested = relative.substring(relative.lastIndexOf('/') + 1);
+        return !requested.equals(file.getFileName().toString());
+    }
+
+    private String cacheControl() {
+        CacheControl cacheControl = CacheControl.maxAge(config.getCacheMaxAge()).cachePublic();
+        return (config.isImmutable() ? cacheControl.immutable() : cacheControl).getHeaderValue();
+    }
+
+    /** 32 hex nom — kuchli ETag (fayl o'zgarmaydi); eski (UUID) nomlar uchun hajm va vaqtdan kuchsiz ETag */
+    private static String etagOf(Path file, long length, long lastModified) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        if (HASHED_NAME.matcher(stem).matches()) {
+            return "\"" + stem + "\"";
+        }
+        return "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static MediaType contentTypeOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String ext = dot >= 0 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return CONTENT_TYPES.computeIfAbsent(ext, e -> MediaTypeFactory.getMediaType(name)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    /** If-Range mos kelmasa (fayl o'zgargan) diapazon e'tiborsiz — butun fayl beriladi */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Diapazon uchun faqat kuchli solishtirish
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        try {
+            long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return since >= 0 && lastModified / 1000 <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** Sintaksisi buzilgan Range sarlavhasi e'tiborsiz qoldiriladi */
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
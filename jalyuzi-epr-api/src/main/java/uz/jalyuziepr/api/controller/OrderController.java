@@ -13,6 +13,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import uz.jalyuziepr.api.dto.request.*;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.OrderResponse;
 import uz.jalyuziepr.api.dto.response.OrderStatsResponse;
 import uz.jalyuziepr.api.dto.response.PagedResponse;
@@ -21,6 +22,7 @@ import uz.jalyuziepr.api.enums.PermissionCode;
 import uz.jalyuziepr.api.security.CustomUserDetails;
 import uz.jalyuziepr.api.security.RequiresPermission;
 import uz.jalyuziepr.api.service.OrderService;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.util.List;
 
@@ -45,6 +47,20 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(orders)));
     }
 
+    @GetMapping(params = "cursor")
+    @RequiresPermission(PermissionCode.ORDERS_VIEW)
+    @Operation(summary = "Barcha buyurtmalar (cursor)",
+            description = "Keyset sahifalash: birinchi sahifa uchun bo'sh cursor, keyingisi uchun nextCursor")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<OrderResponse>>> getOrdersCursor(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(ApiResponse.success(
+                orderService.getOrdersCursor(status, search, cursor, KeysetCursor.limit(size), withTotal)));
+    }
+
     @GetMapping("/{id}")
     @RequiresPermission(PermissionCode.ORDERS_VIEW)
     @Operation(summary = "Buyurtma tafsiloti", description = "ID bo'yicha buyurtmani olish")
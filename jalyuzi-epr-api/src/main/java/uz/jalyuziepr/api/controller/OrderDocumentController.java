@@ -3,16 +3,22 @@ package uz.jalyuziepr.api.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import uz.jalyuziepr.api.enums.OrderDocumentType;
 import uz.jalyuziepr.api.enums.PermissionCode;
 import uz.jalyuziepr.api.security.RequiresPermission;
-import uz.jalyuziepr.api.service.export.OrderDocumentService;
+import uz.jalyuziepr.api.service.export.OrderDocumentCache;
 
 /**
  * Buyurtmaga tegishli rasmiy hujjatlar PDF eksporti.
+ * Hujjatlar OrderDocumentCache'dagi fayldan oqim bilan beriladi; ETag = buyurtma versiyasi.
  */
 @RestController
 @RequestMapping("/v1/orders/{orderId}/documents")
@@ -20,37 +26,46 @@ import uz.jalyuziepr.api.service.export.OrderDocumentService;
 @Tag(name = "Order Documents", description = "Faktura, akt, garantiya talonchi PDF")
 public class OrderDocumentController {
 
-    private final OrderDocumentService documentService;
+    private final OrderDocumentCache documentCache;
 
     @GetMapping("/invoice")
     @RequiresPermission(PermissionCode.ORDERS_VIEW)
     @Operation(summary = "Faktura PDF")
-    public ResponseEntity<byte[]> invoice(@PathVariable Long orderId) {
-        byte[] pdf = documentService.generateInvoice(orderId);
-        return pdfResponse(pdf, "faktura-" + orderId + ".pdf");
+    public ResponseEntity<Resource> invoice(@PathVariable Long orderId, WebRequest request) {
+        return pdfResponse(documentCache.get(orderId, OrderDocumentType.INVOICE), orderId, OrderDocumentType.INVOICE, request);
     }
 
     @GetMapping("/act")
     @RequiresPermission(PermissionCode.ORDERS_VIEW)
     @Operation(summary = "O'rnatish akti PDF")
-    public ResponseEntity<byte[]> act(@PathVariable Long orderId) {
-        byte[] pdf = documentService.generateInstallationAct(orderId);
-        return pdfResponse(pdf, "akt-" + orderId + ".pdf");
+    public ResponseEntity<Resource> act(@PathVariable Long orderId, WebRequest request) {
+        return pdfResponse(documentCache.get(orderId, OrderDocumentType.ACT), orderId, OrderDocumentType.ACT, request);
     }
 
     @GetMapping("/warranty")
     @RequiresPermission(PermissionCode.ORDERS_VIEW)
     @Operation(summary = "Garantiya talonchi PDF")
-    public ResponseEntity<byte[]> warranty(@PathVariable Long orderId) {
-        byte[] pdf = documentService.generateWarranty(orderId);
-        return pdfResponse(pdf, "garantiya-" + orderId + ".pdf");
+    public ResponseEntity<Resource> warranty(@PathVariable Long orderId, WebRequest request) {
+        return pdfResponse(documentCache.get(orderId, OrderDocumentType.WARRANTY), orderId, OrderDocumentType.WARRANTY, request);
     }
 
-    private ResponseEntity<byte[]> pdfResponse(byte[] pdf, String filename) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setContentLength(pdf.length);
-        return new ResponseEntity<>(pdf, headers, org.springframework.http.HttpStatus.OK);
+    /**
+     * Keshdagi hujjat javobi (mijoz portali ham ishlatadi). Shaxsiy ma'lumot — faqat brauzer
+     * keshi (private), har safar ETag bilan tekshiriladi: o'zgarmagan bo'lsa 304.
+     */
+    static ResponseEntity<Resource> pdfResponse(OrderDocumentCache.CachedDocument document, Long orderId,
+                                                OrderDocumentType type, WebRequest request) {
+        String etag = "\"" + type.getCode() + "-" + orderId + "-" + document.version() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(document.size())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header("Content-Disposition", ContentDisposition.attachment()
+                        .filename(type.getFilePrefix() + "-" + orderId + ".pdf").build().toString())
+                .body(new FileSystemResource(document.path()));
     }
 }
@@ -2,12 +2,16 @@ package uz.jalyuziepr.api.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import uz.jalyuziepr.api.dto.request.BulkRemeasureRequest;
 import uz.jalyuziepr.api.dto.request.RemeasureRequest;
+import uz.jalyuziepr.api.dto.request.RevisionBatchDecisionRequest;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.BulkRemeasureQuoteResponse;
 import uz.jalyuziepr.api.dto.response.OrderItemRevisionResponse;
 import uz.jalyuziepr.api.dto.response.RemeasureQuoteResponse;
 import uz.jalyuziepr.api.enums.PermissionCode;
@@ -51,6 +55,29 @@ public class OrderItemRevisionController {
                 .body(ApiResponse.success("Qayta o'lchov so'rovi menejerga yuborildi", resp));
     }
 
+    @PostMapping("/v1/orders/{orderId}/remeasure-quote")
+    @RequiresPermission(PermissionCode.ORDERS_INSTALL)
+    @Operation(summary = "Ko'p mahsulotli qayta o'lchov kotirovkasi",
+            description = "Bir nechta qator uchun yangi narx va buyurtma jamisini hisoblaydi (saqlamaydi)")
+    public ResponseEntity<ApiResponse<BulkRemeasureQuoteResponse>> quoteBatch(
+            @PathVariable Long orderId,
+            @Valid @RequestBody BulkRemeasureRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(
+                revisionService.quoteBatch(orderId, request.getItems())));
+    }
+
+    @PostMapping("/v1/orders/{orderId}/remeasure")
+    @RequiresPermission(PermissionCode.ORDERS_INSTALL)
+    @Operation(summary = "Ko'p mahsulotli qayta o'lchov so'rovi", description = "Barcha qatorlarni bitta so'rovda menejerga yuborish")
+    public ResponseEntity<ApiResponse<List<OrderItemRevisionResponse>>> requestBatch(
+            @PathVariable Long orderId,
+            @Valid @RequestBody BulkRemeasureRequest request) {
+        List<OrderItemRevisionResponse> resp = revisionService.requestRevisionBatch(
+                orderId, request.getItems(), request.getNote());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Qayta o'lchov so'rovlari menejerga yuborildi", resp));
+    }
+
     @GetMapping("/v1/orders/{orderId}/revisions")
     @RequiresPermission(PermissionCode.ORDERS_VIEW)
     @Operation(summary = "Buyurtma qayta o'lchovlari")
@@ -81,6 +108,15 @@ public class OrderItemRevisionController {
         return ResponseEntity.ok(ApiResponse.success("Tasdiqlandi", revisionService.approve(id, note)));
     }
 
+    @PostMapping("/v1/order-revisions/approve")
+    @RequiresPermission(PermissionCode.ORDERS_UPDATE)
+    @Operation(summary = "Bir nechta qayta o'lchovni tasdiqlash", description = "Buyurtma jamilari bir marta qayta hisoblanadi")
+    public ResponseEntity<ApiResponse<List<OrderItemRevisionResponse>>> approveBatch(
+            @Valid @RequestBody RevisionBatchDecisionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Tasdiqlandi",
+                revisionService.approveBatch(request.getRevisionIds(), request.getNote())));
+    }
+
     @PostMapping("/v1/order-revisions/{id}/reject")
     @RequiresPermission(PermissionCode.ORDERS_UPDATE)
     @Operation(summary = "Qayta o'lchovni rad etish")
@@ -0,0 +1,68 @@
+package uz.jalyuziepr.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.OutboxMessageResponse;
+import uz.jalyuziepr.api.dto.response.PagedResponse;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.enums.OutboxStatus;
+import uz.jalyuziepr.api.enums.PermissionCode;
+import uz.jalyuziepr.api.security.RequiresPermission;
+import uz.jalyuziepr.api.service.outbox.OutboxService;
+
+import java.util.Map;
+
+/**
+ * Mijozga yuboriladigan Telegram/SMS xabarlari navbati — yetkazilmaganlarni ko'rish va qayta yuborish.
+ */
+@RestController
+@RequestMapping("/v1/outbox")
+@RequiredArgsConstructor
+@Tag(name = "Outbox", description = "Mijoz xabarlari navbati (Telegram/SMS)")
+public class OutboxController {
+
+    private final OutboxService outboxService;
+
+    @GetMapping
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Navbatdagi xabarlar", description = "Status bo'yicha (standart: DEAD — yetkazilmaganlar)")
+    public ResponseEntity<ApiResponse<PagedResponse<OutboxMessageResponse>>> getMessages(
+            @RequestParam(required = false) OutboxStatus status,
+            @RequestParam(required = false) OutboxChannel channel,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(
+                PagedResponse.from(outboxService.getMessages(status, channel, pageable))));
+    }
+
+    @GetMapping("/entity/{entityType}/{entityId}")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Obyekt xabarlari", description = "Masalan, buyurtma bo'yicha yuborilgan barcha xabarlar")
+    public ResponseEntity<ApiResponse<PagedResponse<OutboxMessageResponse>>> getEntityMessages(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(
+                PagedResponse.from(outboxService.getEntityMessages(entityType, entityId, pageable))));
+    }
+
+    @GetMapping("/stats")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_VIEW)
+    @Operation(summary = "Navbat statistikasi", description = "Kanal va status bo'yicha xabarlar soni")
+    public ResponseEntity<ApiResponse<Map<OutboxChannel, Map<OutboxStatus, Long>>>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success(outboxService.getStats()));
+    }
+
+    @PostMapping("/{id}/retry")
+    @RequiresPermission(PermissionCode.NOTIFICATIONS_MANAGE)
+    @Operation(summary = "Qayta yuborish", description = "Yetkazilmagan (DEAD) xabarni navbatga qaytarish")
+    public ResponseEntity<ApiResponse<OutboxMessageResponse>> retry(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Xabar qayta navbatga qo'yildi", outboxService.retry(id)));
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import uz.jalyuziepr.api.dto.request.SaleRequest;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.OrderResponse;
 import uz.jalyuziepr.api.dto.response.PagedResponse;
 import uz.jalyuziepr.api.dto.response.SaleResponse;
@@ -25,6 +26,7 @@ import uz.jalyuziepr.api.security.RequiresPermission;
 import uz.jalyuziepr.api.service.OrderService;
 import uz.jalyuziepr.api.service.SaleService;
 import uz.jalyuziepr.api.service.export.GenericExportService;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
@@ -51,6 +53,19 @@ public class SaleController {
         return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(sales)));
     }
 
+    @GetMapping(params = "cursor")
+    @RequiresPermission(PermissionCode.SALES_VIEW)
+    @Operation(summary = "Get all sales (cursor)", description = "Sotuvlar — keyset sahifalash, COUNT ixtiyoriy")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<SaleResponse>>> getSalesCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(ApiResponse.success(
+                saleService.getSalesCursor(startDate, endDate, cursor, KeysetCursor.limit(size), withTotal)));
+    }
+
     @GetMapping("/{id}")
     @RequiresPermission(PermissionCode.SALES_VIEW)
     @Operation(summary = "Get sale by ID", description = "ID bo'yicha sotuvni olish")
@@ -121,6 +121,13 @@ public class ShopController {
         return ResponseEntity.ok(ApiResponse.success(shopService.calculatePrice(request)));
     }
 
+    @PostMapping("/calculate-prices")
+    @Operation(summary = "Narxlarni hisoblash (batch)", description = "Bir nechta o'lcham/mahsulot uchun narxlarni bitta so'rovda hisoblash")
+    public ResponseEntity<ApiResponse<List<ShopPriceCalculateResponse>>> calculatePrices(
+            @Valid @RequestBody ShopBatchPriceRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(shopService.calculatePrices(request.getItems())));
+    }
+
     // ==================== AUTENTIFIKATSIYA (PUBLIC) ====================
 
     @PostMapping("/auth/send-code")
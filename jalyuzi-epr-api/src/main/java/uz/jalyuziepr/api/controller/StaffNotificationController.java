@@ -10,11 +10,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.PagedResponse;
 import uz.jalyuziepr.api.dto.response.StaffNotificationResponse;
 import uz.jalyuziepr.api.enums.StaffNotificationType;
 import uz.jalyuziepr.api.security.CustomUserDetails;
 import uz.jalyuziepr.api.service.StaffNotificationService;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.util.List;
 
@@ -43,6 +45,18 @@ public class StaffNotificationController {
         return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(notifications)));
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get notifications (cursor)", description = "Bildirishnomalar — keyset sahifalash, COUNT ixtiyoriy")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<StaffNotificationResponse>>> getNotificationsCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) StaffNotificationType type,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getNotificationsCursor(
+                userDetails.getId(), type, cursor, KeysetCursor.limit(size), withTotal)));
+    }
+
     @GetMapping("/unread")
     @Operation(summary = "Get unread notifications", description = "O'qilmagan bildirishnomalar (dropdown uchun)")
     public ResponseEntity<ApiResponse<List<StaffNotificationResponse>>> getUnreadNotifications(
@@ -2,7 +2,11 @@ package uz.jalyuziepr.api.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,16 +14,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import uz.jalyuziepr.api.dto.request.TrackingReviewRequest;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
 import uz.jalyuziepr.api.dto.response.OrderTrackingResponse;
 import uz.jalyuziepr.api.service.OrderTrackingService;
+import uz.jalyuziepr.api.service.TrackingViewCache;
 
 /**
  * "Jalyuzimni kuzat" — ommaviy buyurtma kuzatuvi.
  * Auth TALAB QILINMAYDI (SecurityConfig'da /v1/track/** permitAll).
  * Kod taxmin qilib bo'lmaydigan maxfiy kalit vazifasini bajaradi; faqat
  * mijozga ko'rsatish xavfsiz bo'lgan maydonlar qaytariladi (OrderTrackingResponse).
+ * Ko'rishlar keshdan (TrackingViewCache) ETag bilan beriladi; IP bo'yicha cheklov —
+ * app.rate-limit.groups (tracking, tracking-review).
  */
 @RestController
 @RequestMapping("/v1/track")
@@ -28,11 +36,21 @@ import uz.jalyuziepr.api.service.OrderTrackingService;
 public class TrackingController {
 
     private final OrderTrackingService trackingService;
+    private final TrackingViewCache trackingViewCache;
 
     @GetMapping("/{code}")
     @Operation(summary = "Buyurtmani kuzatish", description = "Kuzatuv kodi bo'yicha buyurtma holatini olish")
-    public ResponseEntity<ApiResponse<OrderTrackingResponse>> track(@PathVariable String code) {
-        return ResponseEntity.ok(ApiResponse.success(trackingService.getByCode(code)));
+    public ResponseEntity<ApiResponse<OrderTrackingResponse>> track(
+            @PathVariable String code,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        TrackingViewCache.View view = trackingViewCache.get(code, trackingService::getByCode);
+        // Brauzer har safar qayta tekshiradi; o'zgarmagan bo'lsa 304 — tana yuborilmaydi
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (view.etag() != null && new ServletWebRequest(request, response).checkNotModified(view.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok(ApiResponse.success(view.response()));
     }
 
     @PostMapping("/{code}/review")
@@ -16,6 +16,7 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import uz.jalyuziepr.api.dto.request.StockAdjustmentRequest;
 import uz.jalyuziepr.api.dto.response.ApiResponse;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.PagedResponse;
 import uz.jalyuziepr.api.dto.response.ProductResponse;
 import uz.jalyuziepr.api.dto.response.StockMovementResponse;
@@ -25,6 +26,7 @@ import uz.jalyuziepr.api.security.RequiresPermission;
 import uz.jalyuziepr.api.service.ProductService;
 import uz.jalyuziepr.api.service.StockMovementService;
 import uz.jalyuziepr.api.service.export.GenericExportService;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
@@ -67,6 +69,20 @@ public class WarehouseController {
         return ResponseEntity.ok(ApiResponse.success(PagedResponse.from(movements)));
     }
 
+    @GetMapping(value = "/movements", params = "cursor")
+    @Operation(summary = "Get stock movements (cursor)", description = "Zaxira harakatlari — keyset sahifalash, COUNT ixtiyoriy")
+    @RequiresPermission(PermissionCode.WAREHOUSE_VIEW)
+    public ResponseEntity<ApiResponse<CursorPagedResponse<StockMovementResponse>>> getMovementsCursor(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) MovementType movementType,
+            @RequestParam(required = false) String referenceType,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(ApiResponse.success(stockMovementService.getMovementsCursor(
+                productId, movementType, referenceType, cursor, KeysetCursor.limit(size), withTotal)));
+    }
+
     @GetMapping("/movements/export")
     @RequiresPermission(PermissionCode.REPORTS_EXPORT)
     @Operation(summary = "Export stock movements", description = "Zaxira harakatlarini eksport qilish")
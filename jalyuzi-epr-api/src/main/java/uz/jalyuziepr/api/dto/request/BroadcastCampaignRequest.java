@@ -0,0 +1,54 @@
+package uz.jalyuziepr.api.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uz.jalyuziepr.api.enums.BroadcastAudience;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastCampaignRequest {
+
+    @NotBlank(message = "Kampaniya nomi kiritilishi shart")
+    @Size(max = 200)
+    private String name;
+
+    @NotNull(message = "Auditoriya tanlanishi shart")
+    private BroadcastAudience audience;
+
+    /** RFM_SEGMENT uchun: CHAMPION, LOYAL, NEW, AT_RISK, DORMANT, LOST, REGULAR */
+    private String segment;
+
+    /** DUE_SCHEDULES uchun: bugundan necha kun ichida muddati keladigan bo'laklar (standart 0) */
+    @Min(0)
+    @Max(90)
+    private Integer dueWithinDays;
+
+    @NotBlank(message = "Xabar matni kiritilishi shart")
+    @Size(max = 4000, message = "Telegram xabari 4000 belgidan oshmasligi kerak")
+    private String telegramText;
+
+    @Size(max = 500)
+    private String smsText;
+
+    @Size(max = 100)
+    private String buttonText;
+
+    @Size(max = 500)
+    private String buttonUrl;
+
+    @Builder.Default
+    private Boolean smsFallback = false;
+
+    /** true — yaratilishi bilan yuborish boshlanadi, aks holda DRAFT */
+    @Builder.Default
+    private Boolean startImmediately = false;
+}
@@ -0,0 +1,30 @@
+package uz.jalyuziepr.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bir buyurtmaning bir nechta mahsulotini birdaniga qayta o'lchash
+ * (kotirovka va revision yaratish uchun).
+ */
+@Data
+public class BulkRemeasureRequest {
+
+    @NotEmpty(message = "Kamida bitta o'lchov bo'lishi kerak")
+    @Valid
+    private List<Item> items;
+
+    private String note;
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Mahsulot qatori tanlanishi shart")
+        private Long itemId;
+        private Integer widthMm;
+        private Integer heightMm;
+    }
+}
@@ -0,0 +1,18 @@
+package uz.jalyuziepr.api.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bir nechta qayta o'lchov so'rovini bitta qaror bilan ko'rib chiqish.
+ */
+@Data
+public class RevisionBatchDecisionRequest {
+
+    @NotEmpty(message = "Kamida bitta so'rov tanlanishi kerak")
+    private List<Long> revisionIds;
+
+    private String note;
+}
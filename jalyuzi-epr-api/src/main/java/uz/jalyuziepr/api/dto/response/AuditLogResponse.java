@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import uz.jalyuziepr.api.audit.AuditDiff;
 import uz.jalyuziepr.api.entity.AuditLog;
 
 import java.time.LocalDateTime;
@@ -28,14 +29,27 @@ public class AuditLogResponse {
     private UUID correlationId;
     private LocalDateTime createdAt;
 
+    /**
+     * UPDATE yozuvlari faqat o'zgargan maydonlar bilan qaytariladi — eski (to'liq snapshot)
+     * yozuvlar ham shu ko'rinishga keltiriladi, ro'yxat va guruhlangan javoblar ixcham bo'ladi.
+     * Faqat maxfiy maydoni o'zgargan yozuv bo'sh chiqmaydi: bu maydon maskalangan qiymati bilan
+     * o'zgargan deb ko'rsatiladi ({@link AuditDiff#changes}).
+     */
     public static AuditLogResponse from(AuditLog auditLog) {
+        Map<String, Object> oldValue = auditLog.getOldValue();
+        Map<String, Object> newValue = auditLog.getNewValue();
+        if ("UPDATE".equals(auditLog.getAction()) && oldValue != null && newValue != null) {
+            AuditDiff.Compact compact = AuditDiff.compact(oldValue, newValue);
+            oldValue = compact != null ? compact.oldValue() : Map.of();
+            newValue = compact != null ? compact.newValue() : Map.of();
+        }
         return AuditLogResponse.builder()
                 .id(auditLog.getId())
                 .entityType(auditLog.getEntityType())
                 .entityId(auditLog.getEntityId())
                 .action(auditLog.getAction())
-                .oldValue(auditLog.getOldValue())
-                .newValue(auditLog.getNewValue())
+                .oldValue(oldValue)
+                .newValue(newValue)
                 .userId(auditLog.getUserId())
                 .username(auditLog.getUsername())
                 .ipAddress(auditLog.getIpAddress())
@@ -0,0 +1,77 @@
+package uz.jalyuziepr.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import uz.jalyuziepr.api.entity.BroadcastCampaign;
+import uz.jalyuziepr.api.enums.BroadcastRecipientStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Kampaniya va uning progressi (qabul qiluvchilar statuslari bo'yicha).
+ */
+@Data
+@Builder
+public class BroadcastCampaignResponse {
+
+    private Long id;
+    private String name;
+    private String audience;        // enum nomi
+    private String audienceLabel;   // o'zbekcha yorliq
+    private String segment;
+    private Integer dueWithinDays;
+    private String telegramText;
+    private String smsText;
+    private String buttonText;
+    private String buttonUrl;
+    private Boolean smsFallback;
+    private String status;          // DRAFT | RUNNING | PAUSED | COMPLETED | CANCELLED
+    private Integer totalRecipients;
+    private long pending;
+    private long sending;
+    private long sent;
+    private long failed;
+    private long skipped;
+    private int progressPercent;    // qayta ishlanganlar (SENT + FAILED + SKIPPED) ulushi
+    private String createdByName;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime pausedAt;
+    private LocalDateTime completedAt;
+
+    public static BroadcastCampaignResponse from(BroadcastCampaign c, Map<BroadcastRecipientStatus, Long> counts) {
+        long pending = counts.getOrDefault(BroadcastRecipientStatus.PENDING, 0L);
+        long sending = counts.getOrDefault(BroadcastRecipientStatus.SENDING, 0L);
+        long sent = counts.getOrDefault(BroadcastRecipientStatus.SENT, 0L);
+        long failed = counts.getOrDefault(BroadcastRecipientStatus.FAILED, 0L);
+        long skipped = counts.getOrDefault(BroadcastRecipientStatus.SKIPPED, 0L);
+        long total = pending + sending + sent + failed + skipped;
+        return BroadcastCampaignResponse.builder()
+                .id(c.getId())
+                .name(c.getName())
+                .audience(c.getAudience() != null ? c.getAudience().name() : null)
+                .audienceLabel(c.getAudience() != null ? c.getAudience().getLabel() : null)
+                .segment(c.getSegment())
+                .dueWithinDays(c.getDueWithinDays())
+                .telegramText(c.getTelegramText())
+                .smsText(c.getSmsText())
+                .buttonText(c.getButtonText())
+                .buttonUrl(c.getButtonUrl())
+                .smsFallback(c.getSmsFallback())
+                .status(c.getStatus() != null ? c.getStatus().name() : null)
+                .totalRecipients(c.getTotalRecipients())
+                .pending(pending)
+                .sending(sending)
+                .sent(sent)
+                .failed(failed)
+                .skipped(skipped)
+                .progressPercent(total == 0 ? 0 : (int) ((sent + failed + skipped) * 100 / total))
+                .createdByName(c.getCreatedByName())
+                .createdAt(c.getCreatedAt())
+                .startedAt(c.getStartedAt())
+                .pausedAt(c.getPausedAt())
+                .completedAt(c.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package uz.jalyuziepr.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kampaniya throughput hisoboti: daqiqalar bo'yicha yuborilganlar, o'rtacha va eng yuqori tezlik,
+ * kanal bo'yicha natijalar.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastReportResponse {
+
+    private Long campaignId;
+    private String name;
+    private String status;
+    private Integer totalRecipients;
+    private Map<String, Long> byStatus;
+    private Map<String, Map<String, Long>> byChannel;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime firstProcessedAt;
+    private LocalDateTime lastProcessedAt;
+    /** Birinchi va oxirgi qayta ishlangan xabar orasidagi vaqt */
+    private long elapsedSeconds;
+    /** (SENT + FAILED) / elapsedSeconds */
+    private double averagePerSecond;
+    private long peakPerMinute;
+    /** SENT / (SENT + FAILED), foizda */
+    private double successRate;
+    private List<MinuteBucket> perMinute;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MinuteBucket {
+        private LocalDateTime minute;
+        private long sent;
+        private long failed;
+    }
+}
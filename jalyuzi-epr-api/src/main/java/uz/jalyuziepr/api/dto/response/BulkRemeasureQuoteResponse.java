@@ -0,0 +1,21 @@
+package uz.jalyuziepr.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Ko'p mahsulotli qayta o'lchov kotirovkasi — har bir qator va buyurtma jamisi
+ * (chegirma bilan) o'zgarishlar qo'llansa qanday bo'lishi. Saqlanmaydi.
+ */
+@Data
+@Builder
+public class BulkRemeasureQuoteResponse {
+    private Long orderId;
+    private List<RemeasureQuoteResponse> items;
+    private BigDecimal oldTotalAmount;
+    private BigDecimal newTotalAmount;
+    private BigDecimal delta; // newTotalAmount - oldTotalAmount
+}
@@ -0,0 +1,45 @@
+package uz.jalyuziepr.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uz.jalyuziepr.api.util.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor rejimidagi sahifa. {@code totalElements} faqat {@code withTotal=true} so'ralganda
+ * hisoblanadi, aks holda null (COUNT(*) bajarilmaydi).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+
+    /**
+     * {@code limit + 1} ta o'qilgan qatordan sahifa yig'adi: ortiqcha qator faqat keyingi sahifa
+     * borligini bildiradi va javobga kirmaydi (mapper'ga ham berilmaydi).
+     */
+    public static <R, T> CursorPagedResponse<T> of(List<R> rows, int limit,
+                                                   Function<R, KeysetCursor> keyOf,
+                                                   Function<List<R>, List<T>> mapper,
+                                                   Long totalElements) {
+        boolean hasNext = rows.size() > limit;
+        List<R> page = hasNext ? rows.subList(0, limit) : rows;
+        return CursorPagedResponse.<T>builder()
+                .content(mapper.apply(page))
+                .size(limit)
+                .nextCursor(hasNext ? keyOf.apply(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .totalElements(totalElements)
+                .build();
+    }
+}
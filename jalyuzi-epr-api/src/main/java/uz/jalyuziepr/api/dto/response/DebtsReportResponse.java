@@ -35,6 +35,7 @@ public class DebtsReportResponse {
         private Long customerId;
         private String customerName;
         private String customerPhone;
+        /** Mijoz balansining manfiy qismi (-customers.balance): qarzlardan oldindan to'lovlar ayirilgan */
         private BigDecimal totalDebt;
         private int debtsCount;
         private int overdueCount;
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import uz.jalyuziepr.api.entity.Order;
 import uz.jalyuziepr.api.enums.OrderStatus;
+import uz.jalyuziepr.api.repository.projection.OrderListView;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -176,4 +177,27 @@ public class OrderResponse {
                 .createdByName(order.getCreatedBy() != null ? order.getCreatedBy().getFullName() : null)
                 .build();
     }
+
+    /**
+     * Ro'yxat proyeksiyasidan — fromList(Order) bilan bir xil maydonlar, entity yuklanmaydi
+     */
+    public static OrderResponse fromList(OrderListView view) {
+        return OrderResponse.builder()
+                .id(view.getId())
+                .orderNumber(view.getOrderNumber())
+                .status(view.getStatus())
+                .statusDisplayName(view.getStatus().getDisplayName())
+                .customerId(view.getCustomerId())
+                .customerName(view.getCustomerName())
+                .customerPhone(view.getCustomerPhone())
+                .installationAddress(view.getInstallationAddress())
+                .installerName(view.getInstallerName())
+                .totalAmount(view.getTotalAmount())
+                .paidAmount(view.getPaidAmount())
+                .remainingAmount(view.getRemainingAmount())
+                .installationDate(view.getInstallationDate())
+                .createdAt(view.getCreatedAt())
+                .createdByName(view.getCreatedByName())
+                .build();
+    }
 }
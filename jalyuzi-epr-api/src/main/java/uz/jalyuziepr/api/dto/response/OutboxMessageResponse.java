@@ -0,0 +1,54 @@
+package uz.jalyuziepr.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Outbox xabari — xodimlar paneli (yetkazilmagan xabarlarni ko'rish va qayta yuborish) uchun.
+ */
+@Data
+@Builder
+public class OutboxMessageResponse {
+
+    private Long id;
+    private String idempotencyKey;
+    private String channel;            // TELEGRAM | SMS
+    private String messageType;        // enum nomi
+    private String messageTypeLabel;   // o'zbekcha yorliq
+    private String status;             // PENDING | SENDING | SENT | DEAD
+    private String entityType;
+    private Long entityId;
+    private Integer attempts;
+    private Integer maxAttempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private Map<String, Object> payload;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+    private LocalDateTime deadAt;
+
+    public static OutboxMessageResponse from(OutboxMessage m) {
+        return OutboxMessageResponse.builder()
+                .id(m.getId())
+                .idempotencyKey(m.getIdempotencyKey())
+                .channel(m.getChannel() != null ? m.getChannel().name() : null)
+                .messageType(m.getMessageType() != null ? m.getMessageType().name() : null)
+                .messageTypeLabel(m.getMessageType() != null ? m.getMessageType().getLabel() : null)
+                .status(m.getStatus() != null ? m.getStatus().name() : null)
+                .entityType(m.getEntityType())
+                .entityId(m.getEntityId())
+                .attempts(m.getAttempts())
+                .maxAttempts(m.getMaxAttempts())
+                .nextAttemptAt(m.getNextAttemptAt())
+                .lastError(m.getLastError())
+                .payload(m.getPayload())
+                .createdAt(m.getCreatedAt())
+                .sentAt(m.getSentAt())
+                .deadAt(m.getDeadAt())
+                .build();
+    }
+}
@@ -13,6 +13,7 @@ import uz.jalyuziepr.api.enums.BlindType;
 import uz.jalyuziepr.api.enums.ControlType;
 import uz.jalyuziepr.api.enums.ProductType;
 import uz.jalyuziepr.api.enums.UnitType;
+import uz.jalyuziepr.api.util.ImageVariants;
 
 import java.math.BigDecimal;
 import java.util.Map;
@@ -137,6 +138,10 @@ public class ProductResponse {
     private String description;
     private String imageUrl;
     private java.util.List<String> imageUrls;
+    // Ro'yxat/katak ko'rinishlari uchun kichraytirilgan variantlar
+    private String thumbnailUrl;
+    private String mediumUrl;
+    private java.util.List<String> imageThumbnailUrls;
 
     @ExportColumn(header = "Faol", order = 29, type = ColumnType.BOOLEAN)
     private Boolean active;
@@ -183,6 +188,9 @@ public class ProductResponse {
                 .description(product.getDescription())
                 .imageUrl(product.getImageUrl())
                 .imageUrls(product.getImageUrls())
+                .thumbnailUrl(ImageVariants.thumbnailUrl(product.getImageUrl()))
+                .mediumUrl(ImageVariants.mediumUrl(product.getImageUrl()))
+                .imageThumbnailUrls(ImageVariants.thumbnailUrls(product.getImageUrls()))
                 .active(product.getActive())
                 .build();
     }
@@ -11,6 +11,7 @@ import java.math.BigDecimal;
 @Data
 @Builder
 public class RemeasureQuoteResponse {
+    private Long orderItemId;
     private Integer oldWidthMm;
     private Integer oldHeightMm;
     private BigDecimal oldTotalPrice;
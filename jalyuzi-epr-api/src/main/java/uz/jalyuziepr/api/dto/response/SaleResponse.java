@@ -11,6 +11,7 @@ import uz.jalyuziepr.api.entity.Sale;
 import uz.jalyuziepr.api.enums.PaymentMethod;
 import uz.jalyuziepr.api.enums.PaymentStatus;
 import uz.jalyuziepr.api.enums.SaleStatus;
+import uz.jalyuziepr.api.repository.projection.SaleListView;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -107,4 +108,30 @@ public class SaleResponse {
                                 .collect(Collectors.toList()) : null)
                 .build();
     }
+
+    /**
+     * Ro'yxat proyeksiyasidan — elementlar chaqiruvchi tomonidan oldindan yig'ilgan holda beriladi
+     */
+    public static SaleResponse fromList(SaleListView view, List<SaleItemResponse> items) {
+        return SaleResponse.builder()
+                .id(view.getId())
+                .invoiceNumber(view.getInvoiceNumber())
+                .customerId(view.getCustomerId())
+                .customerName(view.getCustomerId() != null ? view.getCustomerName() : "Noma'lum")
+                .customerPhone(view.getCustomerPhone())
+                .saleDate(view.getSaleDate())
+                .subtotal(view.getSubtotal())
+                .discountAmount(view.getDiscountAmount())
+                .discountPercent(view.getDiscountPercent())
+                .totalAmount(view.getTotalAmount())
+                .paidAmount(view.getPaidAmount())
+                .debtAmount(view.getDebtAmount())
+                .paymentMethod(view.getPaymentMethod())
+                .paymentStatus(view.getPaymentStatus())
+                .status(view.getStatus())
+                .notes(view.getNotes())
+                .createdByName(view.getCreatedByName())
+                .items(items)
+                .build();
+    }
 }
@@ -0,0 +1,26 @@
+package uz.jalyuziepr.api.dto.shop;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bir nechta o'lcham/mahsulot uchun narx hisoblash so'rovi
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShopBatchPriceRequest {
+
+    @NotEmpty(message = "Hisoblash uchun kamida bitta element bo'lishi kerak")
+    @Size(max = 200, message = "Bir so'rovda 200 tadan ortiq element bo'lmasligi kerak")
+    @Valid
+    private List<ShopPriceCalculateRequest> items;
+}
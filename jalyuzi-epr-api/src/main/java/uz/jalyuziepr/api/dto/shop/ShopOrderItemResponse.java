@@ -41,4 +41,5 @@ public class ShopOrderItemResponse {
 
     private String notes;
     private String imageUrl;
+    private String thumbnailUrl;
 }
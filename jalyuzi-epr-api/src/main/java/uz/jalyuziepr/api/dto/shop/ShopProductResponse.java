@@ -8,6 +8,7 @@ import uz.jalyuziepr.api.entity.Product;
 import uz.jalyuziepr.api.enums.BlindMaterial;
 import uz.jalyuziepr.api.enums.BlindType;
 import uz.jalyuziepr.api.enums.ControlType;
+import uz.jalyuziepr.api.util.ImageVariants;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -64,6 +65,9 @@ public class ShopProductResponse {
     // Rasmlar
     private String imageUrl;
     private List<String> galleryImages;
+    private String thumbnailUrl;
+    private String mediumUrl;
+    private List<String> galleryThumbnails;
 
     // Mavjudlik
     private boolean inStock;
@@ -101,6 +105,9 @@ public class ShopProductResponse {
                 .basePrice(product.getSellingPrice())
                 .imageUrl(product.getImageUrl())
                 .galleryImages(product.getImageUrls())
+                .thumbnailUrl(ImageVariants.thumbnailUrl(product.getImageUrl()))
+                .mediumUrl(ImageVariants.mediumUrl(product.getImageUrl()))
+                .galleryThumbnails(ImageVariants.thumbnailUrls(product.getImageUrls()))
                 .inStock(product.getQuantity() != null && product.getQuantity().compareTo(BigDecimal.ZERO) > 0)
                 .collection(product.getCustomAttribute("collection"))
                 .build();
@@ -0,0 +1,44 @@
+package uz.jalyuziepr.api.dto.websocket;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uz.jalyuziepr.api.dto.response.StaffNotificationResponse;
+import uz.jalyuziepr.api.enums.StaffNotificationType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir oynada yig'ilgan bir turdagi bildirishnomalar uchun bitta WebSocket xabari.
+ * Klient ro'yxatga {@code items} ni qo'shadi va o'qilmaganlar sonini {@code unreadDelta} ga oshiradi —
+ * unread-count'ni qayta so'rash shart emas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffNotificationDigestMessage {
+
+    /** Klient oddiy bildirishnomadan ajratishi uchun har doim true */
+    @Builder.Default
+    private boolean digest = true;
+
+    private StaffNotificationType type;
+
+    /** Digest'dagi bildirishnomalar soni */
+    private int count;
+
+    private String title;
+
+    private String message;
+
+    /** O'qilmaganlar soniga qo'shiladigan qiymat */
+    private long unreadDelta;
+
+    /** Eng so'nggi bildirishnomalar (digestPreviewSize tagacha) */
+    private List<StaffNotificationResponse> items;
+
+    private LocalDateTime createdAt;
+}
@@ -10,6 +10,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import uz.jalyuziepr.api.audit.Auditable;
 import uz.jalyuziepr.api.audit.AuditEntityListener;
@@ -22,6 +24,7 @@ import java.util.Set;
 @Entity
 @Table(name = "app_settings")
 @EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.app-setting")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -48,15 +48,26 @@ public class AuditLog {
     @Column(name = "ip_address", length = 50)
     private String ipAddress;
 
+    // V64 gacha yozilgan loglar satrni o'zida saqlaydi; yangilari lug'atga bog'lanadi
     @Column(name = "user_agent", length = 500)
     private String userAgent;
 
+    // LAZY: ro'yxat/eksport so'rovlari uni @EntityGraph bilan bitta JOIN'da oladi (AuditLogRepository)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_agent_id")
+    private UserAgent userAgentRef;
+
     @Column(name = "correlation_id")
     private UUID correlationId;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** Lug'atdagi satr, eski loglar uchun o'z ustuni */
+    public String getUserAgent() {
+        return userAgentRef != null ? userAgentRef.getUserAgent() : userAgent;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
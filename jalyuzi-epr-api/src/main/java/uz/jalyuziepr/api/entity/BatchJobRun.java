@@ -0,0 +1,72 @@
+package uz.jalyuziepr.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import uz.jalyuziepr.api.enums.BatchJobRunStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fon vazifasining bir ish kunidagi checkpoint'i. {@code lastId} — keyset kursori:
+ * keyingi chunk {@code id > lastId} dan o'qiladi, shuning uchun uzilgan ish qayta
+ * ishlangan yozuvlarni takrorlamaydi.
+ */
+@Entity
+@Table(name = "batch_job_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BatchJobRunStatus status = BatchJobRunStatus.RUNNING;
+
+    @Column(name = "last_id", nullable = false)
+    @Builder.Default
+    private Long lastId = 0L;
+
+    @Column(name = "processed_count", nullable = false)
+    @Builder.Default
+    private Integer processedCount = 0;
+
+    @Column(name = "failed_count", nullable = false)
+    @Builder.Default
+    private Integer failedCount = 0;
+
+    /** Necha marta boshlangan/davom ettirilgan */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 1;
+
+    @Column(length = 150)
+    private String owner;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,88 @@
+package uz.jalyuziepr.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import uz.jalyuziepr.api.enums.BroadcastAudience;
+import uz.jalyuziepr.api.enums.BroadcastStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ommaviy tarqatish kampaniyasi (aksiya, eslatma) — Telegram, zaxira sifatida SMS.
+ * Qabul qiluvchilar {@link BroadcastRecipient} jadvalida.
+ */
+@Entity
+@Table(name = "broadcast_campaigns")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BroadcastCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private BroadcastAudience audience;
+
+    /** RFM_SEGMENT auditoriyasi uchun (CHAMPION, AT_RISK, ...) */
+    @Column(length = 30)
+    private String segment;
+
+    /** DUE_SCHEDULES auditoriyasi uchun: bugundan necha kun ichida muddati keladigan bo'laklar */
+    @Column(name = "due_within_days")
+    private Integer dueWithinDays;
+
+    /** Telegram matni (HTML) */
+    @Column(name = "telegram_text", nullable = false, columnDefinition = "text")
+    private String telegramText;
+
+    /** SMS matni (oddiy matn); bo'sh bo'lsa Telegram matnidan HTML teglarsiz olinadi */
+    @Column(name = "sms_text", length = 500)
+    private String smsText;
+
+    @Column(name = "button_text", length = 100)
+    private String buttonText;
+
+    @Column(name = "button_url", length = 500)
+    private String buttonUrl;
+
+    /** Telegram'ga ulanmagan mijozlarga SMS yuborilsinmi (Eskiz pullik) */
+    @Column(name = "sms_fallback", nullable = false)
+    @Builder.Default
+    private Boolean smsFallback = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BroadcastStatus status = BroadcastStatus.DRAFT;
+
+    @Column(name = "total_recipients", nullable = false)
+    @Builder.Default
+    private Integer totalRecipients = 0;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_by_name", length = 150)
+    private String createdByName;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "paused_at")
+    private LocalDateTime pausedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,67 @@
+package uz.jalyuziepr.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import uz.jalyuziepr.api.enums.BroadcastRecipientStatus;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kampaniya qabul qiluvchisi. Kanal, chatId va telefon kampaniya yaratilganda
+ * aniqlanadi — ishchi mijoz jadvaliga qayta murojaat qilmaydi.
+ * Yozuvlar ommaviy (native INSERT ... SELECT) yaratiladi, shuning uchun kampaniyaga
+ * munosabat o'rniga oddiy campaignId ishlatiladi.
+ */
+@Entity
+@Table(name = "broadcast_recipients")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BroadcastRecipient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    /** null — yetkazish kanali yo'q (SKIPPED) */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OutboxChannel channel;
+
+    @Column(name = "chat_id")
+    private Long chatId;
+
+    @Column(length = 20)
+    private String phone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BroadcastRecipientStatus status = BroadcastRecipientStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /** SENT yoki FAILED bo'lgan vaqt — throughput hisoboti shu ustun bo'yicha */
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -3,6 +3,8 @@ package uz.jalyuziepr.api.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import uz.jalyuziepr.api.audit.Auditable;
 import uz.jalyuziepr.api.audit.AuditEntityListener;
@@ -17,6 +19,7 @@ import java.util.Set;
 @Entity
 @Table(name = "categories")
 @EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.category")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,7 +37,9 @@ public class Category extends BaseEntity implements Auditable {
     @JoinColumn(name = "parent_id")
     private Category parent;
 
+    // Teskari tomon: parent o'zgarganda Hibernate bu keshni o'zi tozalamaydi (ReferenceCacheEvictor)
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.category.children")
     @Builder.Default
     private List<Category> children = new ArrayList<>();
 
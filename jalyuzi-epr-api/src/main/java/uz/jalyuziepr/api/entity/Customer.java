@@ -47,7 +47,11 @@ public class Customer extends BaseEntity implements Auditable {
     private CustomerType customerType = CustomerType.INDIVIDUAL;
 
     // Ijobiy = kredit, salbiy = qarz
-    @Column(nullable = false, precision = 15, scale = 2)
+    /**
+     * Materiallashtirilgan balans — customer_ledger_entries yig'indisi. Entity orqali yozilmaydi
+     * (updatable = false): o'zgarishlar faqat CustomerLedgerService atomar delta'si bilan.
+     */
+    @Column(nullable = false, precision = 15, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal balance = BigDecimal.ZERO;
 
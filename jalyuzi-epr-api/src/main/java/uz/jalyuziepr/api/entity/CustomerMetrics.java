@@ -0,0 +1,47 @@
+package uz.jalyuziepr.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Mijozning RFM ko'rsatkichlari — bekor qilinmagan buyurtmalar bo'yicha.
+ * Yozish CustomerInsightsService orqali (native upsert), o'qish — segment/sahifa bo'yicha.
+ */
+@Entity
+@Table(name = "customer_metrics")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerMetrics {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", insertable = false, updatable = false)
+    private Customer customer;
+
+    /** Frequency */
+    @Column(name = "order_count", nullable = false)
+    private Integer orderCount;
+
+    /** Monetary — to'langan summa */
+    @Column(name = "total_spent", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSpent;
+
+    /** Recency shu sanadan o'qish paytida hisoblanadi */
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Column(nullable = false, length = 20)
+    private String segment;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
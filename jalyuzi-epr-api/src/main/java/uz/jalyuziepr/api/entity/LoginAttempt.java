@@ -48,8 +48,8 @@ public class LoginAttempt implements Auditable {
     @Column(name = "ip_address", nullable = false, length = 50)
     private String ipAddress;
 
-    @Column(name = "user_agent", length = 1000)
-    private String userAgent;
+    @Column(name = "user_agent_id")
+    private Long userAgentId; // user_agents lug'atidagi satr (UserAgentDictionary)
 
     @Column(name = "device_type", length = 50)
     private String deviceType; // Mobile, Desktop, Tablet
@@ -99,7 +99,7 @@ public class LoginAttempt implements Auditable {
         map.put("id", getId());
         map.put("username", this.username);
         map.put("ipAddress", this.ipAddress);
-        map.put("userAgent", this.userAgent);
+        map.put("userAgentId", this.userAgentId);
         map.put("deviceType", this.deviceType);
         map.put("browser", this.browser);
         map.put("os", this.os);
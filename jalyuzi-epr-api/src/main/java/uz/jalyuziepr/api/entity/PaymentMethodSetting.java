@@ -3,6 +3,8 @@ package uz.jalyuziepr.api.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import uz.jalyuziepr.api.audit.Auditable;
 import uz.jalyuziepr.api.audit.AuditEntityListener;
@@ -21,6 +23,7 @@ import java.util.Set;
 @Entity
 @Table(name = "payment_method_settings")
 @EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.payment-method")
 @Getter
 @Setter
 @NoArgsConstructor
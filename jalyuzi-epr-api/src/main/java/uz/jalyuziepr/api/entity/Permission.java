@@ -3,6 +3,8 @@ package uz.jalyuziepr.api.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import uz.jalyuziepr.api.audit.Auditable;
 import uz.jalyuziepr.api.audit.AuditEntityListener;
 
@@ -15,6 +17,7 @@ import java.util.Set;
 @Entity
 @Table(name = "permissions")
 @EntityListeners({AuditEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "security.permission")
 @Getter
 @Setter
 @NoArgsConstructor
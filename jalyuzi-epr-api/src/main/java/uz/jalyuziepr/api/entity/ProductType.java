@@ -3,6 +3,8 @@ package uz.jalyuziepr.api.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -31,6 +33,7 @@ import java.util.Set;
         @Index(name = "idx_product_types_active", columnList = "is_active")
 })
 @EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.product-type")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,8 @@ package uz.jalyuziepr.api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import uz.jalyuziepr.api.entity.base.BaseEntity;
 
 /**
@@ -10,6 +12,7 @@ import uz.jalyuziepr.api.entity.base.BaseEntity;
  */
 @Entity
 @Table(name = "production_stages")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.production-stage")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -3,6 +3,8 @@ package uz.jalyuziepr.api.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import uz.jalyuziepr.api.audit.Auditable;
 import uz.jalyuziepr.api.audit.AuditEntityListener;
@@ -16,6 +18,7 @@ import java.util.Set;
 @Entity
 @Table(name = "roles")
 @EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "security.role")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -46,6 +49,7 @@ public class RoleEntity extends BaseEntity implements Auditable {
         joinColumns = @JoinColumn(name = "role_id"),
         inverseJoinColumns = @JoinColumn(name = "permission_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "security.role.permissions")
     @Builder.Default
     private Set<Permission> permissions = new HashSet<>();
 
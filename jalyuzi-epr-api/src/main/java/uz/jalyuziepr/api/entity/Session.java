@@ -45,8 +45,8 @@ public class Session extends BaseEntity implements Auditable {
     @Column(name = "ip_address", length = 50)
     private String ipAddress;
 
-    @Column(name = "user_agent", length = 1000)
-    private String userAgent; // Full User-Agent string
+    @Column(name = "user_agent_id")
+    private Long userAgentId; // user_agents lug'atidagi satr (UserAgentDictionary)
 
     @Column(name = "device_type", length = 50)
     private String deviceType; // Mobile, Desktop, Tablet
@@ -96,7 +96,7 @@ public class Session extends BaseEntity implements Auditable {
         map.put("tokenHash", this.tokenHash); // Will be masked
         map.put("refreshTokenHash", this.refreshTokenHash); // Will be masked
         map.put("ipAddress", this.ipAddress);
-        map.put("userAgent", this.userAgent);
+        map.put("userAgentId", this.userAgentId);
         map.put("deviceType", this.deviceType);
         map.put("browser", this.browser);
         map.put("os", this.os);
@@ -9,6 +9,7 @@ import uz.jalyuziepr.api.audit.Auditable;
 import uz.jalyuziepr.api.audit.AuditEntityListener;
 import uz.jalyuziepr.api.entity.base.BaseEntity;
 import uz.jalyuziepr.api.enums.Role;
+import uz.jalyuziepr.api.service.UsernameCache;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -19,7 +20,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
-@EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
+@EntityListeners({AuditingEntityListener.class, AuditEntityListener.class, UsernameCache.Listener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,45 @@
+package uz.jalyuziepr.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * User-Agent lug'ati: har bir satr bir marta saqlanadi, audit_logs / login_attempts / sessions
+ * unga user_agent_id orqali bog'lanadi. Yozish faqat UserAgentDictionary orqali.
+ */
+@Entity
+@Table(name = "user_agents")
+@Immutable
+@BatchSize(size = 50)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserAgent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ua_hash", nullable = false, unique = true, length = 64)
+    private String uaHash; // UTF-8 satrning SHA-256 (hex)
+
+    @Column(name = "user_agent", nullable = false, length = 1000)
+    private String userAgent;
+
+    @Column(name = "device_type", length = 50)
+    private String deviceType;
+
+    @Column(name = "browser", length = 50)
+    private String browser;
+
+    @Column(name = "os", length = 50)
+    private String os;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
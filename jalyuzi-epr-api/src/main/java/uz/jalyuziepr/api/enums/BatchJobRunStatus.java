@@ -0,0 +1,10 @@
+package uz.jalyuziepr.api.enums;
+
+/**
+ * Fon vazifasi (batch job) ishining holati
+ */
+public enum BatchJobRunStatus {
+    RUNNING,    // Ishlamoqda yoki uzilgan (lease tugagan bo'lsa davom ettiriladi)
+    COMPLETED,  // Barcha chunk'lar qayta ishlandi
+    FAILED      // Xato bilan to'xtadi — tiklash vazifasi davom ettiradi
+}
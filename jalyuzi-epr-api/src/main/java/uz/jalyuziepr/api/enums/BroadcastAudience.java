@@ -0,0 +1,18 @@
+package uz.jalyuziepr.api.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ommaviy tarqatish auditoriyasi
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BroadcastAudience {
+    RFM_SEGMENT("RFM segmenti"),             // CustomerInsightsService segmenti (segment maydoni bilan)
+    DEBTORS("Qarzdorlar"),                   // Faol qarzi bor mijozlar
+    DUE_SCHEDULES("To'lov muddati kelganlar"), // To'lov rejasi bo'lagi muddati kelgan/o'tgan
+    ALL_CUSTOMERS("Barcha faol mijozlar");
+
+    private final String label;
+}
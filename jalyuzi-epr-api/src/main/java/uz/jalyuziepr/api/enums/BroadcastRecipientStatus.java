@@ -0,0 +1,9 @@
+package uz.jalyuziepr.api.enums;
+
+public enum BroadcastRecipientStatus {
+    PENDING,    // Navbatda (yoki qayta urinishni kutmoqda)
+    SENDING,    // Ishchi olgan (lease muddati bilan)
+    SENT,       // Yetkazildi
+    FAILED,     // Urinishlar tugadi yoki qaytarib bo'lmas xato
+    SKIPPED     // Kanal yo'q (Telegram ulanmagan, SMS o'chirilgan) yoki kampaniya bekor qilingan
+}
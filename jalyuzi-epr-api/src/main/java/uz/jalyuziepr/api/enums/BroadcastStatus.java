@@ -0,0 +1,9 @@
+package uz.jalyuziepr.api.enums;
+
+public enum BroadcastStatus {
+    DRAFT,      // Yaratilgan, auditoriya yozilgan — hali boshlanmagan
+    RUNNING,    // Yuborilmoqda
+    PAUSED,     // To'xtatilgan (davom ettirish mumkin)
+    COMPLETED,  // Barcha qabul qiluvchilar qayta ishlandi
+    CANCELLED   // Bekor qilindi — qolgan qabul qiluvchilar SKIPPED
+}
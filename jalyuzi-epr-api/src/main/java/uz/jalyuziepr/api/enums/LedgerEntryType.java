@@ -0,0 +1,12 @@
+package uz.jalyuziepr.api.enums;
+
+/**
+ * Mijoz balans daftari yozuvi turi
+ */
+public enum LedgerEntryType {
+    DEBT,         // Qarz ochildi (balans kamayadi)
+    PAYMENT,      // Qarzga to'lov (balans oshadi)
+    SALE_CANCEL,  // Qarzga sotuv bekor qilindi (balans tiklanadi)
+    ADJUSTMENT,   // Qo'lda tuzatish
+    OPENING       // Daftar joriy etilgandagi boshlang'ich qoldiq
+}
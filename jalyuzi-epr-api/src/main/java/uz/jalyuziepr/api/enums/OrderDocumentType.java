@@ -0,0 +1,40 @@
+package uz.jalyuziepr.api.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderDocumentType {
+    INVOICE("invoice", "faktura"),
+    ACT("act", "akt"),
+    WARRANTY("warranty", "garantiya");
+
+    /** Kesh fayli nomi qismi */
+    private final String code;
+    /** Yuklab olinadigan fayl nomi prefiksi */
+    private final String filePrefix;
+
+    /** URL'dagi kod bo'yicha (invoice / act / warranty); noma'lum bo'lsa null */
+    public static OrderDocumentType fromCode(String code) {
+        for (OrderDocumentType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Buyurtma shu statusga o'tganda fonda oldindan tayyorlanadigan hujjatlar
+     */
+    public static List<OrderDocumentType> prerenderedOn(OrderStatus status) {
+        return switch (status) {
+            case NARX_TASDIQLANDI, YAKUNLANDI -> List.of(INVOICE);
+            case ORNATISH_BAJARILDI -> List.of(ACT, WARRANTY);
+            default -> List.of();
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package uz.jalyuziepr.api.enums;
+
+/**
+ * Outbox xabari yetkaziladigan kanal
+ */
+public enum OutboxChannel {
+    TELEGRAM,   // Telegram bot (bepul, asosiy kanal)
+    SMS         // Eskiz.uz SMS (pullik, zaxira)
+}
@@ -0,0 +1,18 @@
+package uz.jalyuziepr.api.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Outbox xabar turlari (xodimlar paneli uchun yorliq bilan)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OutboxMessageType {
+    TRACKING_LINK("Kuzatuv havolasi"),
+    QUOTE_FOLLOWUP("Zaklad eslatmasi"),
+    INSTALLATION_ACT("O'rnatish akti"),
+    BROADCAST("Ommaviy xabar");
+
+    private final String label;
+}
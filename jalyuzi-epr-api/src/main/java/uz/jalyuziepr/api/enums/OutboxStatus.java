@@ -0,0 +1,8 @@
+package uz.jalyuziepr.api.enums;
+
+public enum OutboxStatus {
+    PENDING,    // Navbatda (yoki keyingi urinishni kutmoqda)
+    SENDING,    // Dispetcher olgan (lease muddati bilan)
+    SENT,       // Yetkazildi
+    DEAD        // Urinishlar tugadi — xodim ko'rib chiqishi kerak
+}
@@ -6,5 +6,6 @@ package uz.jalyuziepr.api.enums;
 public enum RevisionStatus {
     PENDING,   // Menejer tasdig'ini kutmoqda
     APPROVED,  // Tasdiqlandi va qo'llandi
-    REJECTED   // Rad etildi
+    REJECTED,  // Rad etildi
+    SUPERSEDED // Shu qator uchun keyingi so'rov bilan birga tasdiqlandi — qo'llanmadi
 }
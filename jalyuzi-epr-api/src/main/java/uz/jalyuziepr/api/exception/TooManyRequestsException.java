@@ -0,0 +1,18 @@
+package uz.jalyuziepr.api.exception;
+
+import lombok.Getter;
+
+/**
+ * So'rovlar chegarasi oshdi — 429 va Retry-After bilan javob beriladi
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /** Necha soniyadan keyin qayta urinish mumkin */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,40 @@
+package uz.jalyuziepr.api.monitoring;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.WebSocketProperties;
+
+/**
+ * RELAY rejimida tashqi STOMP broker bilan "system" ulanishi holati (/actuator/health).
+ * Ulanish uzilsa bu replika boshqa replikalardagi klientlarga xabar yetkaza olmaydi.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.websocket", name = "broker", havingValue = "relay")
+public class BrokerRelayHealthIndicator implements HealthIndicator {
+
+    private final AbstractBrokerMessageHandler brokerRelay;
+    private final WebSocketProperties properties;
+
+    // Bean fabrika metodi AbstractBrokerMessageHandler qaytaradi — nomi bo'yicha olamiz
+    public BrokerRelayHealthIndicator(
+            @Qualifier("stompBrokerRelayMessageHandler") AbstractBrokerMessageHandler brokerRelay,
+            WebSocketProperties properties) {
+        this.brokerRelay = brokerRelay;
+        this.properties = properties;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = brokerRelay.isBrokerAvailable() ? Health.up() : Health.down();
+        builder.withDetail("relay", properties.getRelay().getHost() + ":" + properties.getRelay().getPort());
+        if (brokerRelay instanceof StompBrokerRelayMessageHandler relay) {
+            builder.withDetail("connections", relay.getConnectionCount());
+        }
+        return builder.build();
+    }
+}
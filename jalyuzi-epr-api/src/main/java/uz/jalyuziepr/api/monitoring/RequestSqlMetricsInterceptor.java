@@ -0,0 +1,115 @@
+package uz.jalyuziepr.api.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import uz.jalyuziepr.api.audit.AuditCorrelationContext;
+import uz.jalyuziepr.api.config.MonitoringConfig;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Har bir API so'rov uchun SQL soni, DB vaqti va entity yuklanishlarini yig'adi.
+ * Natija structured log maydonlari (audit correlationId bilan) va controller metodi
+ * bo'yicha teglangan Micrometer metrikalari sifatida chiqariladi:
+ * <ul>
+ *   <li>{@code app.request.db.time} — so'rovdagi jami JDBC vaqti</li>
+ *   <li>{@code app.request.sql.statements} — yuborilgan SQL so'rovlar soni</li>
+ *   <li>{@code app.request.entity.loads} — hydrate qilingan entity'lar soni</li>
+ *   <li>{@code app.request.slow} — chegaradan oshgan so'rovlar</li>
+ * </ul>
+ * afterCompletion javob serializatsiyasidan keyin chaqiriladi, shuning uchun
+ * Jackson paytidagi lazy yuklanishlar ham hisobga kiradi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RequestSqlMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestSqlMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final MonitoringConfig monitoringConfig;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!monitoringConfig.getSql().isEnabled() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        RequestSqlStats.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        RequestSqlStats stats = RequestSqlStats.end();
+        if (stats == null) {
+            return;
+        }
+        long statements = stats.getStatements();
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (Long) start);
+        long dbTimeMs = TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos());
+        String handlerName = handlerName((HandlerMethod) handler);
+
+        Timer.builder("app.request.db.time")
+                .description("Jami JDBC bajarilish vaqti (so'rov bo'yicha)")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(stats.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.request.sql.statements")
+                .description("So'rov davomida yuborilgan SQL soni")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(statements);
+        DistributionSummary.builder("app.request.entity.loads")
+                .description("So'rov davomida yuklangan entity'lar soni")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(stats.getEntityLoads());
+
+        MonitoringConfig.Sql config = monitoringConfig.getSql();
+        boolean slow = durationMs >= config.getSlowRequestThresholdMs()
+                || statements >= config.getSlowStatementThreshold();
+        UUID correlationId = AuditCorrelationContext.get();
+
+        if (slow) {
+            Counter.builder("app.request.slow")
+                    .tag("handler", handlerName)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Sekin so'rov: {} {} {} {} {} {} {} {} {}",
+                    kv("handler", handlerName), kv("method", request.getMethod()),
+                    kv("uri", request.getRequestURI()), kv("status", response.getStatus()),
+                    kv("durationMs", durationMs), kv("sqlStatements", statements),
+                    kv("dbTimeMs", dbTimeMs), kv("entityLoads", stats.getEntityLoads()),
+                    kv("correlationId", correlationId));
+        } else if (log.isDebugEnabled()) {
+            log.debug("So'rov SQL metrikasi: {} {} {} {} {} {}",
+                    kv("handler", handlerName), kv("durationMs", durationMs),
+                    kv("sqlStatements", statements), kv("dbTimeMs", dbTimeMs),
+                    kv("entityLoads", stats.getEntityLoads()), kv("correlationId", correlationId));
+        }
+    }
+
+    private String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
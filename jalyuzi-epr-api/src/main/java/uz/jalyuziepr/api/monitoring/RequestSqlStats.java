@@ -0,0 +1,66 @@
+package uz.jalyuziepr.api.monitoring;
+
+/**
+ * Joriy HTTP so'rov davomidagi SQL soni, DB vaqti va yuklangan entity'lar soni (ThreadLocal).
+ * SQL soni va vaqtini {@link SqlTimingSessionListener}, entity'larni {@link EntityLoadCounter} yozadi.
+ *
+ * <p>{@link RequestSqlMetricsInterceptor} so'rov boshida {@link #begin()},
+ * oxirida {@link #end()} chaqiradi. Boshqa thread'larda (scheduler, @Async)
+ * yig'ish o'chiq bo'ladi.</p>
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long dbTimeNanos;
+    private long entityLoads;
+
+    private RequestSqlStats() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestSqlStats());
+    }
+
+    /**
+     * @return joriy so'rov statistikasi yoki null (yig'ish yoqilmagan)
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static RequestSqlStats end() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /** Bajarilgan SQL (JDBC batch bitta deb hisoblanadi) va uning vaqti */
+    static void addStatement(long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.dbTimeNanos += nanos;
+        }
+    }
+
+    static void incrementEntityLoads() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+}
@@ -0,0 +1,81 @@
+package uz.jalyuziepr.api.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.ReferenceCacheEvictor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Hibernate ikkinchi darajali keshi regionlari bo'yicha statistika (/actuator/l2cache).
+ *
+ * GET — har bir region uchun hit/miss/put va xotiradagi elementlar soni;
+ * DELETE /actuator/l2cache/{region} — bitta regionni, DELETE /actuator/l2cache — butun keshni
+ * tozalaydi (bazaga Hibernate'dan tashqarida yozilganda). DELETE uchun SETTINGS_UPDATE
+ * huquqi kerak (SecurityConfig), GET uchun SETTINGS_VIEW yetarli.
+ */
+@Component
+@Endpoint(id = "l2cache")
+@RequiredArgsConstructor
+public class SecondLevelCacheEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReferenceCacheEvictor referenceCacheEvictor;
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, describe(stats));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("hits", statistics.getSecondLevelCacheHitCount());
+        result.put("misses", statistics.getSecondLevelCacheMissCount());
+        result.put("puts", statistics.getSecondLevelCachePutCount());
+        result.put("queryHits", statistics.getQueryCacheHitCount());
+        result.put("queryMisses", statistics.getQueryCacheMissCount());
+        result.put("regions", regions);
+        return result;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> evictAll() {
+        referenceCacheEvictor.evictAll();
+        return Map.of("evicted", "*");
+    }
+
+    @DeleteOperation
+    public Map<String, Object> evictRegion(@Selector String region) {
+        boolean evicted = referenceCacheEvictor.evictRegion(region);
+        return Map.of("region", region, "evicted", evicted);
+    }
+
+    private static Map<String, Object> describe(CacheRegionStatistics stats) {
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("hits", hits);
+        map.put("misses", misses);
+        map.put("puts", stats.getPutCount());
+        map.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        map.put("elementsInMemory", stats.getElementCountInMemory());
+        return map;
+    }
+}
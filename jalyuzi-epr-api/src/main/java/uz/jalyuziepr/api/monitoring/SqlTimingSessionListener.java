@@ -0,0 +1,34 @@
+package uz.jalyuziepr.api.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Bajarilgan SQL soni va JDBC vaqtini {@link RequestSqlStats} ga qo'shuvchi Hibernate session listener.
+ * {@code hibernate.session.events.auto} orqali har bir session uchun yaratiladi —
+ * session bitta thread'da ishlagani uchun boshlanish vaqti instance maydonida saqlanadi.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestSqlStats.addStatement(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestSqlStats.addStatement(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,61 @@
+package uz.jalyuziepr.api.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.config.RateLimitConfig;
+
+/**
+ * Replikalar uchun umumiy bucket'lar (rate_limit_buckets). Har tekshiruv — bitta UPSERT:
+ * to'ldirish, token olish va natija qator qulfi ostida atomar hisoblanadi. Alohida
+ * tranzaksiyada bajariladi — chaqiruvchi tranzaksiya bekor qilinsa ham sarflangan token
+ * qaytarilmaydi va qator qulfi uzoq ushlab turilmaydi.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "shared-backend", havingValue = "jdbc")
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final String CONSUME = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, allowed, updated_at)
+            VALUES (?, ? - 1, TRUE, now())
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                (tokens, allowed) = (
+                    SELECT r.tokens - CASE WHEN r.tokens >= 1 THEN 1 ELSE 0 END, r.tokens >= 1
+                    FROM (SELECT LEAST(?, b.tokens + EXTRACT(EPOCH FROM now() - b.updated_at) * ?) AS tokens) r),
+                updated_at = now()
+            RETURNING allowed, tokens
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public JdbcRateLimitBackend(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitConfig.Limit limit) {
+        double rate = limit.ratePerSecond();
+        Long waitMs = requiresNew.execute(status -> jdbcTemplate.queryForObject(CONSUME, (rs, rowNum) -> {
+            if (rs.getBoolean("allowed")) {
+                return 0L;
+            }
+            double missing = 1 - rs.getDouble("tokens");
+            return Math.max(1L, (long) Math.ceil(missing / rate * 1000));
+        }, key, limit.getCapacity(), limit.getCapacity(), rate));
+        return waitMs != null ? waitMs : 0;
+    }
+
+    /**
+     * Bir kundan beri ishlatilmagan qatorlarni o'chiradi — ular allaqachon to'lgan
+     * (yangi bucket bilan bir xil)
+     */
+    public int purgeIdle() {
+        return jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE updated_at < now() - INTERVAL '1 day'");
+    }
+}
@@ -0,0 +1,81 @@
+package uz.jalyuziepr.api.ratelimit;
+
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.RateLimitConfig;
+import uz.jalyuziepr.api.util.TokenBucket;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replika xotirasidagi bucket'lar, ikki xaritada:
+ *
+ *  - byudjetlar ({@link #tryConsume}: telefon, jami SMS, guruh jami) — hech qachon majburan
+ *    tashlanmaydi, faqat to'lgan bucket'lar (yangi yaratilgani bilan bir xil) davriy
+ *    {@link #sweep()} bilan tozalanadi. Aks holda ko'p IP'dan kelgan hujum xaritani to'ldirib
+ *    pullik SMS limitini "tiklab" yuborardi. {@code max-local-keys} qattiq chegara: xarita to'lsa
+ *    yangi kalit keyingi tozalashgacha rad etiladi (mavjudlari ishlashda davom etadi);
+ *  - mijoz (IP) bucket'lari ({@link #tryConsumeClient}) — {@code max-local-keys} bilan cheklangan
+ *    LRU: to'lsa eng uzoq ishlatilmagan IP tashlanadi.
+ */
+@Component
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private final RateLimitConfig config;
+    private final Map<String, TokenBucket> budgets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> clients;
+
+    public LocalRateLimitBackend(RateLimitConfig config) {
+        this.config = config;
+        this.clients = Collections.synchronizedMap(new LinkedHashMap<String, TokenBucket>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > config.getMaxLocalKeys();
+            }
+        });
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitConfig.Limit limit) {
+        TokenBucket bucket = budgets.get(key);
+        if (bucket == null) {
+            if (budgets.size() >= config.getMaxLocalKeys()) {
+                return Math.max(1, config.getLocalSweepIntervalMs());
+            }
+            bucket = budgets.computeIfAbsent(key, k -> newBucket(limit));
+        }
+        return consume(bucket);
+    }
+
+    /**
+     * To'lgan byudjet bucket'larini tashlaydi — ular yangi yaratilgani bilan bir xil
+     * (RateLimitCleanupScheduler davriy chaqiradi)
+     *
+     * @return tashlangan kalitlar soni
+     */
+    public int sweep() {
+        int before = budgets.size();
+        budgets.values().removeIf(TokenBucket::isFull);
+        return before - budgets.size();
+    }
+
+    /** IP bo'yicha bucket; xarita to'lsa eng uzoq ishlatilmagan kalit tashlanadi */
+    public long tryConsumeClient(String key, RateLimitConfig.Limit limit) {
+        return consume(clients.computeIfAbsent(key, k -> newBucket(limit)));
+    }
+
+    public int size() {
+        return budgets.size() + clients.size();
+    }
+
+    private static TokenBucket newBucket(RateLimitConfig.Limit limit) {
+        return new TokenBucket(limit.ratePerSecond(), limit.getCapacity());
+    }
+
+    private static long consume(TokenBucket bucket) {
+        return TimeUnit.NANOSECONDS.toMillis(bucket.tryAcquireOrWaitNanos());
+    }
+}
@@ -0,0 +1,16 @@
+package uz.jalyuziepr.api.ratelimit;
+
+import uz.jalyuziepr.api.config.RateLimitConfig;
+
+/**
+ * Token bucket saqlash joyi: replika xotirasi yoki replikalar uchun umumiy baza
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Kalit bucket'idan bitta token oladi.
+     *
+     * @return 0 — ruxsat; aks holda keyingi token paydo bo'lguncha millisoniyalar
+     */
+    long tryConsume(String key, RateLimitConfig.Limit limit);
+}
@@ -0,0 +1,76 @@
+package uz.jalyuziepr.api.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+import uz.jalyuziepr.api.config.RateLimitConfig;
+import uz.jalyuziepr.api.util.ClientIp;
+import uz.jalyuziepr.api.util.IpRange;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code app.rate-limit.groups} bo'yicha marshrut guruhlarini cheklaydi: mos kelgan har bir
+ * guruhning IP va jami limitlaridan token olinadi. Oshsa TooManyRequestsException —
+ * GlobalExceptionHandler 429 va Retry-After qaytaradi; controller va bazaga yetib borilmaydi.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimitConfig config;
+    private final RateLimiter rateLimiter;
+
+    private List<IpRange> trustedProxies = List.of();
+
+    @PostConstruct
+    void init() {
+        trustedProxies = config.getTrustedProxies().stream().map(IpRange::parse).toList();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!config.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        String ip = null;
+        for (Map.Entry<String, RateLimitConfig.RouteGroup> entry : config.getGroups().entrySet()) {
+            RateLimitConfig.RouteGroup group = entry.getValue();
+            if (!matches(group, request.getMethod(), path)) {
+                continue;
+            }
+            if (group.getPerIp() != null) {
+                if (ip == null) {
+                    ip = ClientIp.forRateLimit(request, trustedProxies);
+                }
+                rateLimiter.checkClient(entry.getKey() + ":ip", ip, group.getPerIp());
+            }
+            if (group.getTotal() != null) {
+                rateLimiter.check(entry.getKey() + ":total", "*", group.getTotal());
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(RateLimitConfig.RouteGroup group, String method, String path) {
+        if (!group.getMethods().isEmpty() && group.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+            return false;
+        }
+        for (String pattern : group.getPatterns()) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package uz.jalyuziepr.api.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.RateLimitConfig;
+import uz.jalyuziepr.api.exception.TooManyRequestsException;
+import uz.jalyuziepr.api.util.ClientIp;
+
+/**
+ * So'rovlar cheklovi: {@code scope} (guruh/limit nomi) va kalit (IP, telefon, "*") bo'yicha
+ * token bucket. {@code shared: true} limitlar shared backend (JDBC) yoqilgan bo'lsa replikalar
+ * bo'yicha umumiy, qolganlari — replika xotirasida. Shared backend ishlamay qolsa shu replikaning
+ * lokal bucket'iga o'tiladi: cheklov yumshaydi, lekin butunlay o'chmaydi.
+ *
+ * Metrikalar: {@code app.rate_limit.rejected{scope}} — rad etilgan so'rovlar,
+ * {@code app.rate_limit.backend_errors} — shared backend xatolari,
+ * {@code app.rate_limit.local_keys} — xotiradagi bucket'lar soni.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String MESSAGE = "So'rovlar juda ko'p, birozdan keyin qayta urinib ko'ring";
+
+    private final RateLimitConfig config;
+    private final LocalRateLimitBackend localBackend;
+    private final RateLimitBackend sharedBackend;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiter(RateLimitConfig config,
+                       LocalRateLimitBackend localBackend,
+                       ObjectProvider<JdbcRateLimitBackend> jdbcBackend,
+                       MeterRegistry meterRegistry) {
+        this.config = config;
+        this.localBackend = localBackend;
+        this.sharedBackend = jdbcBackend.getIfAvailable();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("app.rate_limit.local_keys", localBackend, LocalRateLimitBackend::size)
+                .description("Xotiradagi rate limit bucket'lari")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Byudjetdan (telefon, jami SMS, guruh jami) token oladi — lokal bucket'lar majburan tashlanmaydi.
+     *
+     * @throws TooManyRequestsException limit oshgan bo'lsa (429, Retry-After)
+     */
+    public void check(String scope, String key, RateLimitConfig.Limit limit) {
+        consume(scope, key, limit, false);
+    }
+
+    /**
+     * Mijoz IP'si bo'yicha token oladi. IPv6 manzillar /64 tarmoq bo'yicha hisoblanadi — bitta
+     * mijozga odatda butun /64 beriladi va manzil almashtirib limitdan qochish arzon.
+     *
+     * @throws TooManyRequestsException limit oshgan bo'lsa (429, Retry-After)
+     */
+    public void checkClient(String scope, String ip, RateLimitConfig.Limit limit) {
+        consume(scope, ClientIp.rateLimitKey(ip), limit, true);
+    }
+
+    private void consume(String scope, String key, RateLimitConfig.Limit limit, boolean client) {
+        if (!config.isEnabled() || limit == null || limit.getCapacity() <= 0 || key == null || key.isBlank()) {
+            return;
+        }
+        String bucketKey = scope + ":" + key;
+        long waitMs;
+        if (limit.isShared() && sharedBackend != null) {
+            waitMs = consumeShared(bucketKey, limit, client);
+        } else {
+            waitMs = consumeLocal(bucketKey, limit, client);
+        }
+        if (waitMs > 0) {
+            meterRegistry.counter("app.rate_limit.rejected", "scope", scope).increment();
+            log.debug("Rate limit: {} ({} ms)", bucketKey, waitMs);
+            throw new TooManyRequestsException(MESSAGE, (waitMs + 999) / 1000);
+        }
+    }
+
+    private long consumeLocal(String bucketKey, RateLimitConfig.Limit limit, boolean client) {
+        return client
+                ? localBackend.tryConsumeClient(bucketKey, limit)
+                : localBackend.tryConsume(bucketKey, limit);
+    }
+
+    private long consumeShared(String bucketKey, RateLimitConfig.Limit limit, boolean client) {
+        try {
+            return sharedBackend.tryConsume(bucketKey, limit);
+        } catch (DataAccessException e) {
+            meterRegistry.counter("app.rate_limit.backend_errors").increment();
+            log.warn("Umumiy rate limit backend xatosi, lokal bucket ishlatiladi: {}", e.getMessage());
+            return consumeLocal(bucketKey, limit, client);
+        }
+    }
+}
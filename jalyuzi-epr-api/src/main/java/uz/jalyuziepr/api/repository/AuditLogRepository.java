@@ -2,6 +2,7 @@ package uz.jalyuziepr.api.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,18 +11,35 @@ import uz.jalyuziepr.api.entity.AuditLog;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
+    // AuditLog'ni qaytaruvchi barcha so'rovlar userAgentRef'ni LEFT JOIN bilan oladi —
+    // aks holda sahifadagi har bir yangi user agent uchun alohida SELECT ketadi.
+
+    @Override
+    @EntityGraph(attributePaths = "userAgentRef")
+    Optional<AuditLog> findById(Long id);
+
+    @EntityGraph(attributePaths = "userAgentRef")
     List<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, Long entityId);
 
+    @EntityGraph(attributePaths = "userAgentRef")
     Page<AuditLog> findByEntityType(String entityType, Pageable pageable);
 
+    @EntityGraph(attributePaths = "userAgentRef")
     Page<AuditLog> findByUserId(Long userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "userAgentRef")
     Page<AuditLog> findByAction(String action, Pageable pageable);
 
+    /**
+     * created_at sharti partitsiyalarni kesadi (partition pruning) — faqat oraliqdagi oylar o'qiladi.
+     * Qolgan ro'yxat so'rovlari ham shu sababli har doim fromDate/toDate oladi (null o'rniga keng oraliq).
+     */
+    @EntityGraph(attributePaths = "userAgentRef")
     @Query("""
         SELECT a FROM AuditLog a
         WHERE a.createdAt BETWEEN :startDate AND :endDate
@@ -33,6 +51,7 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         Pageable pageable
     );
 
+    @EntityGraph(attributePaths = "userAgentRef")
     @Query("""
         SELECT a FROM AuditLog a
         WHERE a.userId = :userId
@@ -46,11 +65,13 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         Pageable pageable
     );
 
+    @EntityGraph(attributePaths = "userAgentRef")
     @Query("""
         SELECT a FROM AuditLog a
         WHERE (:entityType IS NULL OR a.entityType = :entityType)
         AND (:action IS NULL OR a.action = :action)
         AND (:userId IS NULL OR a.userId = :userId)
+        AND a.createdAt >= :fromDate AND a.createdAt < :toDate
         AND (:search IS NULL OR LOWER(a.username) LIKE LOWER(CONCAT('%', :search, '%')))
         ORDER BY a.createdAt DESC
         """)
@@ -58,32 +79,79 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         @Param("entityType") String entityType,
         @Param("action") String action,
         @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate,
         @Param("search") String search,
         Pageable pageable
     );
 
+    @EntityGraph(attributePaths = "userAgentRef")
     @Query("""
         SELECT a FROM AuditLog a
         WHERE (:entityType IS NULL OR a.entityType = :entityType)
         AND (:action IS NULL OR a.action = :action)
         AND (:userId IS NULL OR a.userId = :userId)
+        AND a.createdAt >= :fromDate AND a.createdAt < :toDate
         ORDER BY a.createdAt DESC
         """)
     Page<AuditLog> filterAuditLogs(
         @Param("entityType") String entityType,
         @Param("action") String action,
         @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate,
         Pageable pageable
     );
 
+    /**
+     * Keyset (cursor) sahifalash: (createdAt DESC, id DESC), OFFSET va COUNT(*)'siz
+     */
+    @EntityGraph(attributePaths = "userAgentRef")
+    @Query("""
+        SELECT a FROM AuditLog a
+        WHERE (:entityType IS NULL OR a.entityType = :entityType)
+        AND (:action IS NULL OR a.action = :action)
+        AND (:userId IS NULL OR a.userId = :userId)
+        AND a.createdAt >= :fromDate AND a.createdAt < :toDate
+        AND (:search IS NULL OR LOWER(a.username) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND a.createdAt <= :cursorAt AND (a.createdAt < :cursorAt OR a.id < :cursorId)
+        ORDER BY a.createdAt DESC, a.id DESC
+        """)
+    List<AuditLog> searchAuditLogsAfter(
+        @Param("entityType") String entityType,
+        @Param("action") String action,
+        @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate,
+        @Param("search") String search,
+        @Param("cursorAt") LocalDateTime cursorAt,
+        @Param("cursorId") Long cursorId,
+        Pageable limit
+    );
+
+    @Query("""
+        SELECT COUNT(a) FROM AuditLog a
+        WHERE (:entityType IS NULL OR a.entityType = :entityType)
+        AND (:action IS NULL OR a.action = :action)
+        AND (:userId IS NULL OR a.userId = :userId)
+        AND a.createdAt >= :fromDate AND a.createdAt < :toDate
+        AND (:search IS NULL OR LOWER(a.username) LIKE LOWER(CONCAT('%', :search, '%')))
+        """)
+    long countAuditLogs(
+        @Param("entityType") String entityType,
+        @Param("action") String action,
+        @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate,
+        @Param("search") String search
+    );
+
     @Query("SELECT DISTINCT a.entityType FROM AuditLog a ORDER BY a.entityType")
     List<String> findAllEntityTypes();
 
     @Query("SELECT DISTINCT a.action FROM AuditLog a ORDER BY a.action")
     List<String> findAllActions();
 
-    void deleteByCreatedAtBefore(LocalDateTime date);
-
     // ==================== GROUPED PAGINATION QUERIES ====================
 
     /**
@@ -97,13 +165,16 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         AND (:entityType IS NULL OR entity_type = :entityType)
         AND (:action IS NULL OR action = :action)
         AND (:userId IS NULL OR user_id = :userId)
+        AND created_at >= :fromDate AND created_at < :toDate
         GROUP BY correlation_id
         ORDER BY max_time DESC
         """, nativeQuery = true)
     List<Object[]> findDistinctCorrelationIds(
         @Param("entityType") String entityType,
         @Param("action") String action,
-        @Param("userId") Long userId
+        @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate
     );
 
     /**
@@ -116,16 +187,20 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         AND (:entityType IS NULL OR entity_type = :entityType)
         AND (:action IS NULL OR action = :action)
         AND (:userId IS NULL OR user_id = :userId)
+        AND created_at >= :fromDate AND created_at < :toDate
         """, nativeQuery = true)
     long countDistinctCorrelationIds(
         @Param("entityType") String entityType,
         @Param("action") String action,
-        @Param("userId") Long userId
+        @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate
     );
 
     /**
      * Get logs by correlation IDs
      */
+    @EntityGraph(attributePaths = "userAgentRef")
     @Query("""
         SELECT a FROM AuditLog a
         WHERE a.correlationId IN :correlationIds
@@ -136,18 +211,22 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     /**
      * Get logs without correlation_id (for time-based grouping)
      */
+    @EntityGraph(attributePaths = "userAgentRef")
     @Query("""
         SELECT a FROM AuditLog a
         WHERE a.correlationId IS NULL
         AND (:entityType IS NULL OR a.entityType = :entityType)
         AND (:action IS NULL OR a.action = :action)
         AND (:userId IS NULL OR a.userId = :userId)
+        AND a.createdAt >= :fromDate AND a.createdAt < :toDate
         ORDER BY a.createdAt DESC
         """)
     List<AuditLog> findUncorrelatedLogs(
         @Param("entityType") String entityType,
         @Param("action") String action,
         @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate,
         Pageable pageable
     );
 
@@ -160,10 +239,13 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         AND (:entityType IS NULL OR a.entityType = :entityType)
         AND (:action IS NULL OR a.action = :action)
         AND (:userId IS NULL OR a.userId = :userId)
+        AND a.createdAt >= :fromDate AND a.createdAt < :toDate
         """)
     long countUncorrelatedLogs(
         @Param("entityType") String entityType,
         @Param("action") String action,
-        @Param("userId") Long userId
+        @Param("userId") Long userId,
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate
     );
 }
@@ -0,0 +1,60 @@
+package uz.jalyuziepr.api.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.BatchJobRun;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BatchJobRunRepository extends JpaRepository<BatchJobRun, Long> {
+
+    Optional<BatchJobRun> findByJobNameAndRunDate(String jobName, LocalDate runDate);
+
+    /**
+     * Tugallanmagan (uzilgan yoki xato bilan to'xtagan) ishlar — tiklash uchun. Sana bo'yicha
+     * cheklanmaydi: yarim tunda uzilgan kechagi ish ham davom ettiriladi. Urinishlar limiti
+     * tugaganlari qaytarilmaydi.
+     */
+    @Query("SELECT r FROM BatchJobRun r WHERE r.status <> 'COMPLETED' AND r.attempts < :maxAttempts " +
+            "AND r.updatedAt < :staleBefore ORDER BY r.runDate, r.startedAt")
+    List<BatchJobRun> findUnfinished(@Param("staleBefore") LocalDateTime staleBefore,
+                                     @Param("maxAttempts") int maxAttempts);
+
+    // ==================== TAQSIMLANGAN LOCK (batch_job_locks) ====================
+
+    /**
+     * Lock'ni oladi yoki uzaytiradi: yozuv yo'q, muddati o'tgan yoki allaqachon shu egasida bo'lsa.
+     * 1 — lock olindi, 0 — boshqa replika ushlab turibdi.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "batch_job_locks"))
+    @Query(value = """
+            INSERT INTO batch_job_locks (job_name, locked_by, locked_until)
+            VALUES (:jobName, :owner, :until)
+            ON CONFLICT (job_name) DO UPDATE
+               SET locked_by = EXCLUDED.locked_by, locked_until = EXCLUDED.locked_until
+             WHERE batch_job_locks.locked_until < :now OR batch_job_locks.locked_by = EXCLUDED.locked_by
+            """, nativeQuery = true)
+    int tryLock(@Param("jobName") String jobName,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "batch_job_locks"))
+    @Query(value = "UPDATE batch_job_locks SET locked_until = :now WHERE job_name = :jobName AND locked_by = :owner",
+            nativeQuery = true)
+    int unlock(@Param("jobName") String jobName,
+               @Param("owner") String owner,
+               @Param("now") LocalDateTime now);
+}
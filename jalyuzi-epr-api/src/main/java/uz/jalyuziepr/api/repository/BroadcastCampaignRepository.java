@@ -0,0 +1,19 @@
+package uz.jalyuziepr.api.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.BroadcastCampaign;
+import uz.jalyuziepr.api.enums.BroadcastStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastCampaignRepository extends JpaRepository<BroadcastCampaign, Long> {
+
+    List<BroadcastCampaign> findByStatusInOrderByStartedAtAsc(Collection<BroadcastStatus> statuses);
+
+    Page<BroadcastCampaign> findByStatus(BroadcastStatus status, Pageable pageable);
+}
@@ -0,0 +1,131 @@
+package uz.jalyuziepr.api.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.BroadcastRecipient;
+import uz.jalyuziepr.api.enums.BroadcastRecipientStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastRecipientRepository extends JpaRepository<BroadcastRecipient, Long> {
+
+    /**
+     * Auditoriyani bitta so'rov bilan yozadi: chatId (mijoz yozuvi yoki telegram_phone_links),
+     * telefon va kanal shu yerda aniqlanadi. Kanal topilmagan mijozlar SKIPPED bo'ladi.
+     * Takroriy mijozlar (campaign_id, customer_id) unikal indeksi bilan o'tkazib yuboriladi.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "broadcast_recipients"))
+    @Query(value = """
+            INSERT INTO broadcast_recipients (campaign_id, customer_id, channel, chat_id, phone, status, next_attempt_at)
+            SELECT :campaignId, x.id, x.channel, x.chat_id, x.phone,
+                   CASE WHEN x.channel IS NULL THEN 'SKIPPED' ELSE 'PENDING' END, now()
+            FROM (
+                SELECT c.id, c.phone, COALESCE(c.telegram_chat_id, l.chat_id) AS chat_id,
+                       CASE WHEN :telegramEnabled AND COALESCE(c.telegram_chat_id, l.chat_id) IS NOT NULL THEN 'TELEGRAM'
+                            WHEN :smsFallback AND COALESCE(c.phone, '') <> '' THEN 'SMS'
+                       END AS channel
+                FROM customers c
+                LEFT JOIN telegram_phone_links l ON l.phone = c.phone
+                WHERE c.id IN (:customerIds) AND c.active = true
+            ) x
+            ON CONFLICT (campaign_id, customer_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertAudience(@Param("campaignId") Long campaignId,
+                       @Param("customerIds") Collection<Long> customerIds,
+                       @Param("telegramEnabled") boolean telegramEnabled,
+                       @Param("smsFallback") boolean smsFallback);
+
+    /**
+     * Kampaniya bo'yicha navbatdagi yozuvlarni qulflab oladi (PENDING va lease muddati o'tgan SENDING).
+     * SKIP LOCKED — bir nechta replika bir xil qabul qiluvchini olmaydi.
+     */
+    @Query(value = """
+            SELECT * FROM broadcast_recipients
+            WHERE campaign_id = :campaignId
+              AND ((status = 'PENDING' AND next_attempt_at <= :now)
+                OR (status = 'SENDING' AND locked_until < :now))
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<BroadcastRecipient> lockDueBatch(@Param("campaignId") Long campaignId,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("limit") int limit);
+
+    /** Yuborish natijasi — faqat hali SENDING bo'lgan (lease boshqa ishchiga o'tmagan) yozuv uchun */
+    @Modifying
+    @Query("UPDATE BroadcastRecipient r SET r.status = :status, r.nextAttemptAt = :nextAttemptAt, " +
+            "r.lockedUntil = NULL, r.lastError = :error, r.processedAt = :processedAt " +
+            "WHERE r.id = :id AND r.status = 'SENDING'")
+    int recordResult(@Param("id") Long id,
+                     @Param("status") BroadcastRecipientStatus status,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                     @Param("error") String error,
+                     @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Pauza: olingan, lekin yuborilmagan yozuvni navbatga qaytaradi (urinish hisoblanmaydi).
+     * Kampaniya shu orada bekor qilingan bo'lsa — SKIPPED.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "broadcast_recipients"))
+    @Query(value = """
+            UPDATE broadcast_recipients r
+            SET status = CASE WHEN c.status = 'CANCELLED' THEN 'SKIPPED' ELSE 'PENDING' END,
+                locked_until = NULL,
+                attempts = r.attempts - 1
+            FROM broadcast_campaigns c
+            WHERE r.id = :id AND r.status = 'SENDING' AND c.id = r.campaign_id
+            """, nativeQuery = true)
+    int release(@Param("id") Long id);
+
+    /** Bekor qilish: navbatdagilar va lease'i o'tib ketgan (yiqilgan ishchi) yozuvlar SKIPPED */
+    @Modifying
+    @Query("UPDATE BroadcastRecipient r SET r.status = 'SKIPPED', r.lockedUntil = NULL, r.lastError = :reason " +
+            "WHERE r.campaignId = :campaignId " +
+            "AND (r.status = 'PENDING' OR (r.status = 'SENDING' AND r.lockedUntil < :now))")
+    int skipRemaining(@Param("campaignId") Long campaignId,
+                      @Param("reason") String reason,
+                      @Param("now") LocalDateTime now);
+
+    boolean existsByCampaignIdAndStatusIn(Long campaignId, Collection<BroadcastRecipientStatus> statuses);
+
+    @Query("SELECT r.status, COUNT(r) FROM BroadcastRecipient r WHERE r.campaignId = :campaignId GROUP BY r.status")
+    List<Object[]> countByStatus(@Param("campaignId") Long campaignId);
+
+    /** [campaignId, status, count] — ro'yxat sahifasi uchun bitta so'rov */
+    @Query("SELECT r.campaignId, r.status, COUNT(r) FROM BroadcastRecipient r " +
+            "WHERE r.campaignId IN :campaignIds GROUP BY r.campaignId, r.status")
+    List<Object[]> countByCampaignAndStatus(@Param("campaignIds") Collection<Long> campaignIds);
+
+    @Query("SELECT r.channel, r.status, COUNT(r) FROM BroadcastRecipient r " +
+            "WHERE r.campaignId = :campaignId AND r.channel IS NOT NULL GROUP BY r.channel, r.status")
+    List<Object[]> countByChannelAndStatus(@Param("campaignId") Long campaignId);
+
+    /** [minute, sent, failed] — throughput hisoboti */
+    @Query(value = """
+            SELECT date_trunc('minute', processed_at) AS minute,
+                   COUNT(*) FILTER (WHERE status = 'SENT')   AS sent,
+                   COUNT(*) FILTER (WHERE status = 'FAILED') AS failed
+            FROM broadcast_recipients
+            WHERE campaign_id = :campaignId AND processed_at IS NOT NULL
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Object[]> throughputByMinute(@Param("campaignId") Long campaignId);
+
+    /** [min(processedAt), max(processedAt)] */
+    @Query("SELECT MIN(r.processedAt), MAX(r.processedAt) FROM BroadcastRecipient r " +
+            "WHERE r.campaignId = :campaignId AND r.processedAt IS NOT NULL")
+    List<Object[]> processedRange(@Param("campaignId") Long campaignId);
+}
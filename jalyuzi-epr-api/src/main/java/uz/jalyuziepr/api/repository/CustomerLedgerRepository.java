@@ -0,0 +1,45 @@
+package uz.jalyuziepr.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.CustomerLedgerEntry;
+import uz.jalyuziepr.api.repository.projection.LedgerCheckView;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CustomerLedgerRepository extends JpaRepository<CustomerLedgerEntry, Long> {
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM CustomerLedgerEntry e WHERE e.customerId = :customerId")
+    BigDecimal sumByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Keyset chunk — mijozlar bo'yicha balans va qarz qoldiqlarini daftar yig'indilari bilan solishtiradi.
+     * Yig'indilar idx_customer_ledger_customer / idx_customer_ledger_debt bo'yicha hisoblanadi.
+     */
+    @Query(value = """
+            SELECT c.id AS customerId, c.full_name AS customerName, c.balance AS balance,
+                   COALESCE((SELECT SUM(e.amount) FROM customer_ledger_entries e
+                             WHERE e.customer_id = c.id), 0) AS ledgerBalance,
+                   COALESCE(dd.drifted, 0) AS driftedDebts,
+                   COALESCE(dd.drift, 0) AS debtDrift
+            FROM customers c
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) AS drifted, SUM(ABS(x.diff)) AS drift
+                FROM (
+                    SELECT d.remaining_amount + COALESCE((SELECT SUM(e.amount) FROM customer_ledger_entries e
+                                                          WHERE e.debt_id = d.id), 0) AS diff
+                    FROM debts d
+                    WHERE d.customer_id = c.id
+                ) x
+                WHERE x.diff <> 0
+            ) dd ON true
+            WHERE c.id > :afterId
+            ORDER BY c.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<LedgerCheckView> findCheckChunk(@Param("afterId") long afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,99 @@
+package uz.jalyuziepr.api.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.CustomerMetrics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CustomerMetricsRepository extends JpaRepository<CustomerMetrics, Long> {
+
+    // Eng qimmatli mijozlar tepada (ix_customer_metrics_spent / ix_customer_metrics_segment)
+    @Query(value = "SELECT m FROM CustomerMetrics m JOIN FETCH m.customer " +
+            "ORDER BY m.totalSpent DESC, m.customerId",
+            countQuery = "SELECT COUNT(m) FROM CustomerMetrics m")
+    Page<CustomerMetrics> findRanked(Pageable pageable);
+
+    @Query(value = "SELECT m FROM CustomerMetrics m JOIN FETCH m.customer WHERE m.segment = :segment " +
+            "ORDER BY m.totalSpent DESC, m.customerId",
+            countQuery = "SELECT COUNT(m) FROM CustomerMetrics m WHERE m.segment = :segment")
+    Page<CustomerMetrics> findRankedBySegment(@Param("segment") String segment, Pageable pageable);
+
+    // [segment, count, totalSpent]
+    @Query("SELECT m.segment, COUNT(m), COALESCE(SUM(m.totalSpent), 0) FROM CustomerMetrics m GROUP BY m.segment")
+    List<Object[]> summarizeBySegment();
+
+    @Query("SELECT m.customerId FROM CustomerMetrics m WHERE m.segment = :segment")
+    List<Long> findCustomerIdsBySegment(@Param("segment") String segment);
+
+    /** Keyset chunk — kunlik segment qayta hisoblash uchun */
+    @Query("SELECT m FROM CustomerMetrics m WHERE m.customerId > :afterId ORDER BY m.customerId")
+    List<CustomerMetrics> findChunk(@Param("afterId") long afterId, Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_metrics"))
+    @Query(value = """
+            INSERT INTO customer_metrics (customer_id, order_count, total_spent, last_order_at, segment, updated_at)
+            VALUES (:customerId, :orderCount, :totalSpent, :lastOrderAt, :segment, :now)
+            ON CONFLICT (customer_id) DO UPDATE
+               SET order_count = EXCLUDED.order_count,
+                   total_spent = EXCLUDED.total_spent,
+                   last_order_at = EXCLUDED.last_order_at,
+                   segment = EXCLUDED.segment,
+                   updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int upsert(@Param("customerId") Long customerId,
+               @Param("orderCount") int orderCount,
+               @Param("totalSpent") BigDecimal totalSpent,
+               @Param("lastOrderAt") LocalDateTime lastOrderAt,
+               @Param("segment") String segment,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM CustomerMetrics m WHERE m.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Barcha mijozlar agregatini buyurtmalardan qayta yozadi (o'zgarmagan qatorlarga tegmaydi).
+     * Yangi qatorlar vaqtincha REGULAR segmentida — segmentni kunlik vazifa chunk'lari hisoblaydi.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_metrics"))
+    @Query(value = """
+            INSERT INTO customer_metrics (customer_id, order_count, total_spent, last_order_at, segment, updated_at)
+            SELECT o.customer_id, COUNT(*), COALESCE(SUM(o.paid_amount), 0), MAX(o.created_at), 'REGULAR', :now
+              FROM orders o
+             WHERE o.status <> 'BEKOR_QILINDI'
+             GROUP BY o.customer_id
+            ON CONFLICT (customer_id) DO UPDATE
+               SET order_count = EXCLUDED.order_count,
+                   total_spent = EXCLUDED.total_spent,
+                   last_order_at = EXCLUDED.last_order_at,
+                   updated_at = EXCLUDED.updated_at
+             WHERE customer_metrics.order_count <> EXCLUDED.order_count
+                OR customer_metrics.total_spent <> EXCLUDED.total_spent
+                OR customer_metrics.last_order_at IS DISTINCT FROM EXCLUDED.last_order_at
+            """, nativeQuery = true)
+    int rebuildAggregates(@Param("now") LocalDateTime now);
+
+    /** Bekor qilinmagan buyurtmasi qolmagan mijozlar qatorlari */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer_metrics"))
+    @Query(value = """
+            DELETE FROM customer_metrics m
+             WHERE NOT EXISTS (SELECT 1 FROM orders o
+                                WHERE o.customer_id = m.customer_id AND o.status <> 'BEKOR_QILINDI')
+            """, nativeQuery = true)
+    int deleteWithoutOrders();
+}
@@ -1,13 +1,18 @@
 package uz.jalyuziepr.api.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.Customer;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,13 +32,30 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
             "c.phone LIKE CONCAT('%', :search, '%'))")
     Page<Customer> searchCustomers(@Param("search") String search, Pageable pageable);
 
-    // Qarzli mijozlar
-    @Query("SELECT c FROM Customer c WHERE c.active = true AND c.balance < 0")
+    // Qarzli mijozlar (materiallashtirilgan balans, idx_customers_debtors)
+    @Query("SELECT c FROM Customer c WHERE c.active = true AND c.balance < 0 ORDER BY c.balance")
     List<Customer> findCustomersWithDebt();
 
+    // Eng katta qarzdorlar — faol mijozlar, balans bo'yicha (hisobot uchun)
+    @Query("SELECT c FROM Customer c WHERE c.active = true AND c.balance < 0 ORDER BY c.balance, c.id")
+    List<Customer> findTopDebtors(Pageable pageable);
+
+    /**
+     * Balansni atomar delta bilan o'zgartiradi (read-modify-write o'rniga). Faqat CustomerLedgerService
+     * chaqiradi — har bir delta daftar yozuvi bilan bir tranzaksiyada.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customers"))
+    @Query(value = "UPDATE customers SET balance = balance + :delta WHERE id = :id", nativeQuery = true)
+    int applyBalanceDelta(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
     @Query("SELECT COUNT(c) FROM Customer c WHERE c.active = true")
     long countActiveCustomers();
 
     @Query("SELECT SUM(c.balance) FROM Customer c WHERE c.active = true AND c.balance < 0")
     java.math.BigDecimal getTotalDebt();
+
+    // Ommaviy tarqatish auditoriyasi
+    @Query("SELECT c.id FROM Customer c WHERE c.active = true")
+    List<Long> findActiveIds();
 }
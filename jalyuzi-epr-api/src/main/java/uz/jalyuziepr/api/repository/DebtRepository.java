@@ -35,6 +35,23 @@ public interface DebtRepository extends JpaRepository<Debt, Long> {
     /**
      * Muddati yaqinlashgan qarzlar (3 kun ichida)
      */
-    @Query("SELECT d FROM Debt d WHERE d.status = 'ACTIVE' AND d.dueDate BETWEEN :today AND :endDate")
-    List<Debt> findDebtsWithUpcomingDueDate(@Param("today") LocalDate today, @Param("endDate") LocalDate endDate);
+    @Query("SELECT d FROM Debt d JOIN FETCH d.customer " +
+            "WHERE d.status = 'ACTIVE' AND d.dueDate BETWEEN :today AND :endDate AND d.id > :afterId ORDER BY d.id")
+    List<Debt> findUpcomingDueChunk(@Param("today") LocalDate today,
+                                    @Param("endDate") LocalDate endDate,
+                                    @Param("afterId") long afterId,
+                                    Pageable pageable);
+
+    /**
+     * Muddati o'tgan qarzlar — keyset chunk (kunlik ogohlantirish vazifasi uchun)
+     */
+    @Query("SELECT d FROM Debt d JOIN FETCH d.customer " +
+            "WHERE d.status = 'ACTIVE' AND d.dueDate < :today AND d.id > :afterId ORDER BY d.id")
+    List<Debt> findOverdueChunk(@Param("today") LocalDate today,
+                                @Param("afterId") long afterId,
+                                Pageable pageable);
+
+    // Ommaviy tarqatish auditoriyasi — faol qarzi bor mijozlar
+    @Query("SELECT DISTINCT d.customer.id FROM Debt d WHERE d.status = 'ACTIVE'")
+    List<Long> findActiveDebtorCustomerIds();
 }
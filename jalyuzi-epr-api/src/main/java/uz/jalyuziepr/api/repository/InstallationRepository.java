@@ -2,6 +2,7 @@ package uz.jalyuziepr.api.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,21 +16,31 @@ import java.util.List;
 @Repository
 public interface InstallationRepository extends JpaRepository<Installation, Long> {
 
+    // Ro'yxatlar InstallationResponse.from'da sale/customer/technician/createdBy'ga tegadi —
+    // entity graph bilan bitta SELECT'da olinadi (har qatorga 4 ta lazy SELECT o'rniga)
+    @Override
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
+    Page<Installation> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
     List<Installation> findBySaleId(Long saleId);
 
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
     List<Installation> findByTechnicianId(Long technicianId);
 
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
     List<Installation> findByScheduledDate(LocalDate date);
 
     List<Installation> findByTechnicianIdAndScheduledDate(Long technicianId, LocalDate date);
 
     List<Installation> findByStatus(InstallationStatus status);
 
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
     @Query("SELECT i FROM Installation i " +
             "WHERE (:technicianId IS NULL OR i.technician.id = :technicianId) " +
             "AND (:status IS NULL OR i.status = :status) " +
-            "AND (:startDate IS NULL OR i.scheduledDate >= :startDate) " +
-            "AND (:endDate IS NULL OR i.scheduledDate <= :endDate)")
+            "AND (CAST(:startDate AS date) IS NULL OR i.scheduledDate >= :startDate) " +
+            "AND (CAST(:endDate AS date) IS NULL OR i.scheduledDate <= :endDate)")
     Page<Installation> findWithFilters(
             @Param("technicianId") Long technicianId,
             @Param("status") InstallationStatus status,
@@ -38,6 +49,7 @@ public interface InstallationRepository extends JpaRepository<Installation, Long
             Pageable pageable
     );
 
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
     @Query("SELECT i FROM Installation i " +
             "WHERE i.scheduledDate BETWEEN :startDate AND :endDate " +
             "ORDER BY i.scheduledDate, i.scheduledTimeStart")
@@ -46,6 +58,7 @@ public interface InstallationRepository extends JpaRepository<Installation, Long
             @Param("endDate") LocalDate endDate
     );
 
+    @EntityGraph(attributePaths = {"sale", "sale.customer", "technician", "createdBy"})
     @Query("SELECT i FROM Installation i " +
             "WHERE i.technician.id = :technicianId " +
             "AND i.scheduledDate BETWEEN :startDate AND :endDate " +
@@ -8,33 +8,132 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.Order;
 import uz.jalyuziepr.api.enums.OrderStatus;
+import uz.jalyuziepr.api.repository.projection.OrderListView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    // Ro'yxat proyeksiyasi — faqat OrderResponse.fromList ustunlari, bog'lanishlar bitta SELECT'da
+    String ORDER_LIST_SELECT = "SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, " +
+            "c.id AS customerId, c.fullName AS customerName, c.phone AS customerPhone, " +
+            "o.installationAddress AS installationAddress, i.fullName AS installerName, " +
+            "o.totalAmount AS totalAmount, o.paidAmount AS paidAmount, o.remainingAmount AS remainingAmount, " +
+            "o.installationDate AS installationDate, o.createdAt AS createdAt, u.fullName AS createdByName " +
+            "FROM Order o LEFT JOIN o.customer c LEFT JOIN o.installer i LEFT JOIN o.createdBy u ";
+
+    String ORDER_SEARCH_WHERE = "WHERE LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(c.fullName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))";
+
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.createdBy " +
             "LEFT JOIN FETCH o.manager LEFT JOIN FETCH o.installer WHERE o.id = :id")
     Optional<Order> findByIdWithDetails(@Param("id") Long id);
 
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.createdBy " +
-            "LEFT JOIN FETCH o.items LEFT JOIN FETCH o.payments LEFT JOIN FETCH o.statusHistory " +
-            "LEFT JOIN FETCH o.manager LEFT JOIN FETCH o.measurer LEFT JOIN FETCH o.installer WHERE o.id = :id")
-    Optional<Order> findByIdWithAllDetails(@Param("id") Long id);
+    // ===== Buyurtma agregati (OrderAggregateLoader) =====
+    // Ildiz faqat to-one bog'lanishlar bilan; har bir kolleksiya alohida so'rovda shu Order'lar
+    // ustiga yuklanadi — bir nechta bag/set JOIN FETCH'ning dekart ko'paytmasi bo'lmaydi.
 
-    // Ommaviy kuzatuv ("Jalyuzimni kuzat") uchun — kod bo'yicha, kerakli bog'lanishlar bilan
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer " +
-            "LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product " +
-            "LEFT JOIN FETCH o.statusHistory " +
-            "LEFT JOIN FETCH o.measurer LEFT JOIN FETCH o.installer " +
-            "WHERE o.trackingCode = :code")
-    Optional<Order> findByTrackingCodeWithDetails(@Param("code") String code);
+    String ORDER_ROOT_SELECT = "SELECT o FROM Order o LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.createdBy " +
+            "LEFT JOIN FETCH o.manager LEFT JOIN FETCH o.measurer LEFT JOIN FETCH o.installer ";
+
+    @Query(ORDER_ROOT_SELECT + "WHERE o.id = :id")
+    Optional<Order> findRootById(@Param("id") Long id);
+
+    @Query(ORDER_ROOT_SELECT + "WHERE o.trackingCode = :code")
+    Optional<Order> findRootByTrackingCode(@Param("code") String code);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product WHERE o.id IN :ids")
+    List<Order> fetchItems(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.payments p LEFT JOIN FETCH p.collectedBy " +
+            "LEFT JOIN FETCH p.confirmedBy WHERE o.id IN :ids")
+    List<Order> fetchPayments(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.statusHistory h LEFT JOIN FETCH h.changedBy WHERE o.id IN :ids")
+    List<Order> fetchStatusHistory(@Param("ids") Collection<Long> ids);
 
     boolean existsByTrackingCode(String code);
 
+    boolean existsByIdAndCustomerId(Long id, Long customerId);
+
+    /**
+     * Hujjat keshi kaliti: buyurtma versiyasi va pozitsiyalar, to'lovlar (id:version ro'yxati) hamda
+     * PDF'da chiqadigan mijoz va ustaning optimistik versiyalaridan olingan md5. Status, imzo, summa
+     * o'zgarishi orders.version'ni oshiradi; pozitsiya/to'lov tahriri, qo'shilishi yoki o'chirilishi
+     * ro'yxatni o'zgartiradi (COUNT+SUM'dan farqli o'laroq, bittasini o'chirib boshqasini tahrirlash
+     * bir xil kalit bermaydi); mijoz (ism, telefon) yoki usta ismi tahriri — customers.version /
+     * users.version'ni. Mahsulot versiyasi kirmaydi: u har bir ombor harakatida oshadi va keshni
+     * behuda yangilardi.
+     */
+    @Query(value = "SELECT COALESCE(o.version, 0) || '-' || md5(" +
+            "COALESCE((SELECT string_agg(i.id || ':' || COALESCE(i.version, 0), ',' ORDER BY i.id) " +
+            "FROM order_items i WHERE i.order_id = o.id), '') || '|' " +
+            "|| COALESCE((SELECT string_agg(p.id || ':' || COALESCE(p.version, 0), ',' ORDER BY p.id) " +
+            "FROM order_payments p WHERE p.order_id = o.id), '') || '|' " +
+            "|| COALESCE((SELECT c.version FROM customers c WHERE c.id = o.customer_id), 0) || '|' " +
+            "|| COALESCE((SELECT u.version FROM users u WHERE u.id = o.installer_id), 0)) " +
+            "FROM orders o WHERE o.id = :id", nativeQuery = true)
+    Optional<String> findDocumentVersion(@Param("id") Long id);
+
+    // ── Ro'yxat proyeksiyalari (N+1'siz) ──
+
+    @Query(value = ORDER_LIST_SELECT,
+            countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderListView> findOrderList(Pageable pageable);
+
+    @Query(value = ORDER_LIST_SELECT + "WHERE o.status = :status",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderListView> findOrderListByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query(value = ORDER_LIST_SELECT + "WHERE o.status IN :statuses",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status IN :statuses")
+    Page<OrderListView> findOrderListByStatusIn(@Param("statuses") List<OrderStatus> statuses, Pageable pageable);
+
+    @Query(value = ORDER_LIST_SELECT + ORDER_SEARCH_WHERE,
+            countQuery = "SELECT COUNT(o) FROM Order o LEFT JOIN o.customer c " + ORDER_SEARCH_WHERE)
+    Page<OrderListView> searchOrderList(@Param("search") String search, Pageable pageable);
+
+    // ==================== KEYSET (CURSOR) SAHIFALASH ====================
+    // (createdAt DESC, id DESC) tartibi; Pageable faqat LIMIT uchun (limit + 1), COUNT so'rovi yo'q
+
+    String ORDER_KEYSET = "o.createdAt <= :cursorAt AND (o.createdAt < :cursorAt OR o.id < :cursorId) ";
+    String ORDER_KEYSET_ORDER = "ORDER BY o.createdAt DESC, o.id DESC";
+
+    @Query(ORDER_LIST_SELECT + "WHERE " + ORDER_KEYSET + ORDER_KEYSET_ORDER)
+    List<OrderListView> findOrderListAfter(@Param("cursorAt") LocalDateTime cursorAt,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable limit);
+
+    @Query(ORDER_LIST_SELECT + "WHERE o.status = :status AND " + ORDER_KEYSET + ORDER_KEYSET_ORDER)
+    List<OrderListView> findOrderListByStatusAfter(@Param("status") OrderStatus status,
+                                                   @Param("cursorAt") LocalDateTime cursorAt,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable limit);
+
+    @Query(ORDER_LIST_SELECT + "WHERE (LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(c.fullName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))) AND " + ORDER_KEYSET + ORDER_KEYSET_ORDER)
+    List<OrderListView> searchOrderListAfter(@Param("search") String search,
+                                             @Param("cursorAt") LocalDateTime cursorAt,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable limit);
+
+    @Query("SELECT COUNT(o) FROM Order o LEFT JOIN o.customer c " + ORDER_SEARCH_WHERE)
+    long countSearchOrderList(@Param("search") String search);
+
+    @Query(value = ORDER_LIST_SELECT + "WHERE c.id = :customerId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.customer.id = :customerId")
+    Page<OrderListView> findOrderListByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(ORDER_LIST_SELECT + "WHERE i.id = :installerId AND o.status IN :statuses")
+    List<OrderListView> findOrderListByInstallerIdAndStatusIn(@Param("installerId") Long installerId,
+                                                              @Param("statuses") List<OrderStatus> statuses);
+
     // Onlayn (WEB) sotuv allaqachon buyurtmaga aylantirilganmi — takror aylantirishni bloklash uchun
     Optional<Order> findBySaleId(Long saleId);
 
@@ -74,13 +173,11 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     long countByStatus(OrderStatus status);
 
-    // RFM segmentatsiya uchun — mijoz bo'yicha buyurtmalar agregati
-    // [customerId, fullName, phone, orderCount, totalPaid, lastOrderAt]
-    @Query("SELECT c.id, c.fullName, c.phone, COUNT(o), COALESCE(SUM(o.paidAmount), 0), MAX(o.createdAt) " +
-            "FROM Order o JOIN o.customer c " +
-            "WHERE o.status <> 'BEKOR_QILINDI' " +
-            "GROUP BY c.id, c.fullName, c.phone")
-    List<Object[]> findCustomerOrderAggregates();
+    // RFM (customer_metrics) uchun — bitta mijozning buyurtmalar agregati
+    // [orderCount, totalPaid, lastOrderAt]
+    @Query("SELECT COUNT(o), COALESCE(SUM(o.paidAmount), 0), MAX(o.createdAt) " +
+            "FROM Order o WHERE o.customer.id = :customerId AND o.status <> 'BEKOR_QILINDI'")
+    List<Object[]> findCustomerOrderAggregate(@Param("customerId") Long customerId);
 
     // "O'lchovdan keyin" — narx tasdiqlangan, zaklad to'lanmagan va eslatma hali
     // yuborilmagan buyurtmalar (o'lchovdan beri belgilangan kun o'tgan)
@@ -0,0 +1,77 @@
+package uz.jalyuziepr.api.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Yozuvni faqat shu kalit bilan hali yo'q bo'lsa qo'shadi. Parallel chaqiruvlarda ham
+     * unique xatosi otilmaydi (chaqiruvchi tranzaksiyasi rollback-only bo'lib qolmaydi).
+     *
+     * @return qo'shilgan qatorlar soni: 1 — yangi yozuv, 0 — kalit allaqachon mavjud
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_messages"))
+    @Query(value = """
+            INSERT INTO outbox_messages (idempotency_key, channel, message_type, status, payload,
+                                         entity_type, entity_id, attempts, max_attempts,
+                                         next_attempt_at, created_at)
+            VALUES (:key, :channel, :type, 'PENDING', CAST(:payload AS jsonb),
+                    :entityType, :entityId, 0, :maxAttempts, now(), now())
+            ON CONFLICT (idempotency_key) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("key") String idempotencyKey,
+                       @Param("channel") String channel,
+                       @Param("type") String messageType,
+                       @Param("payload") String payloadJson,
+                       @Param("entityType") String entityType,
+                       @Param("entityId") Long entityId,
+                       @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Kanal bo'yicha yuborishga tayyor yozuvlarni qulflab oladi: navbatdagi PENDING va
+     * lease muddati o'tgan SENDING (dispetcher yiqilgan bo'lsa). SKIP LOCKED — bir nechta
+     * replika bir xil yozuvni olmaydi.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_messages
+            WHERE channel = :channel
+              AND ((status = 'PENDING' AND next_attempt_at <= :now)
+                OR (status = 'SENDING' AND locked_until < :now))
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockDueBatch(@Param("channel") String channel,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("limit") int limit);
+
+    Page<OutboxMessage> findByStatus(OutboxStatus status, Pageable pageable);
+
+    Page<OutboxMessage> findByStatusAndChannel(OutboxStatus status, OutboxChannel channel, Pageable pageable);
+
+    Page<OutboxMessage> findByEntityTypeAndEntityId(String entityType, Long entityId, Pageable pageable);
+
+    @Query("SELECT m.channel, m.status, COUNT(m) FROM OutboxMessage m GROUP BY m.channel, m.status")
+    List<Object[]> countByChannelAndStatus();
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :status AND m.sentAt < :before")
+    int deleteSentBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
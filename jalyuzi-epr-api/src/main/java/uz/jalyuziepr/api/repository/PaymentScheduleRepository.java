@@ -1,5 +1,6 @@
 package uz.jalyuziepr.api.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -26,8 +27,11 @@ public interface PaymentScheduleRepository extends JpaRepository<PaymentSchedule
     @Query("SELECT ps FROM PaymentSchedule ps " +
             "LEFT JOIN FETCH ps.order o " +
             "LEFT JOIN FETCH o.customer " +
-            "WHERE ps.status = 'PENDING' AND ps.dueDate = :date AND ps.reminderSentAt IS NULL")
-    List<PaymentSchedule> findRemindersDueOn(@Param("date") LocalDate date);
+            "WHERE ps.status = 'PENDING' AND ps.dueDate = :date AND ps.reminderSentAt IS NULL " +
+            "AND ps.id > :afterId ORDER BY ps.id")
+    List<PaymentSchedule> findRemindersDueChunk(@Param("date") LocalDate date,
+                                                @Param("afterId") long afterId,
+                                                Pageable pageable);
 
     @Modifying
     @Query("UPDATE PaymentSchedule ps SET ps.status = 'OVERDUE' " +
@@ -40,4 +44,9 @@ public interface PaymentScheduleRepository extends JpaRepository<PaymentSchedule
     @Query("SELECT ps FROM PaymentSchedule ps WHERE ps.order.id = :orderId AND ps.status = :status")
     List<PaymentSchedule> findByOrderAndStatus(@Param("orderId") Long orderId,
                                                 @Param("status") PaymentScheduleStatus status);
+
+    // Ommaviy tarqatish auditoriyasi — to'lanmagan bo'lagi muddati kelgan/keladigan mijozlar
+    @Query("SELECT DISTINCT ps.order.customer.id FROM PaymentSchedule ps " +
+            "WHERE ps.status IN ('PENDING', 'PARTIAL', 'OVERDUE') AND ps.dueDate <= :asOf")
+    List<Long> findCustomerIdsWithOpenItemsDueBy(@Param("asOf") LocalDate asOf);
 }
@@ -1,7 +1,10 @@
 package uz.jalyuziepr.api.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.Permission;
@@ -21,12 +24,18 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
 
     List<Permission> findByModuleOrderByActionAsc(String module);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.permissions")})
     @Query("SELECT DISTINCT p.module FROM Permission p ORDER BY p.module")
     List<String> findAllModules();
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.permissions")})
     @Query("SELECT p FROM Permission p WHERE p.code IN :codes")
     Set<Permission> findByCodeIn(@Param("codes") Set<String> codes);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.permissions")})
     @Query("""
         SELECT DISTINCT p FROM Permission p
         JOIN p.roles r
@@ -35,6 +44,8 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
         """)
     Set<Permission> findByUserId(@Param("userId") Long userId);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.permissions")})
     @Query("SELECT p FROM Permission p ORDER BY p.module, p.action")
     List<Permission> findAllOrderByModuleAndAction();
 }
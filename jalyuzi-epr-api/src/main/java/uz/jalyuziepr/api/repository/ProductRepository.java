@@ -2,6 +2,7 @@ package uz.jalyuziepr.api.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,14 +27,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByActiveTrue();
 
+    // Ro'yxat sahifalari ProductResponse.from'da shu bog'lanishlarga tegadi — bitta SELECT'da olinadi
+    @EntityGraph(attributePaths = {"brand", "category", "productTypeEntity", "attributeFamily"})
     Page<Product> findByActiveTrue(Pageable pageable);
 
+    @EntityGraph(attributePaths = {"brand", "category", "productTypeEntity", "attributeFamily"})
     @Query("SELECT p FROM Product p WHERE p.active = true AND " +
             "(LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(p.brand.name) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Product> searchProducts(@Param("search") String search, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"brand", "category", "productTypeEntity", "attributeFamily"})
     @Query("SELECT p FROM Product p " +
             "LEFT JOIN p.brand b " +
             "LEFT JOIN p.category c " +
@@ -1,6 +1,9 @@
 package uz.jalyuziepr.api.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.ProductionStage;
 
@@ -10,9 +13,15 @@ import java.util.Optional;
 @Repository
 public interface ProductionStageRepository extends JpaRepository<ProductionStage, Long> {
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.production-stages")})
     List<ProductionStage> findAllByIsActiveTrueOrderBySequenceAsc();
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.production-stages")})
     Optional<ProductionStage> findByCode(String code);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.production-stages")})
     Optional<ProductionStage> findFirstByIsActiveTrueOrderBySequenceAsc();
 }
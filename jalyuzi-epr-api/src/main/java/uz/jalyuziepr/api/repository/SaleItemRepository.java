@@ -16,6 +16,10 @@ public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
 
     List<SaleItem> findBySaleId(Long saleId);
 
+    // Ro'yxat sahifasidagi barcha sotuvlar elementlari — bitta so'rov, mahsulot bilan
+    @Query("SELECT si FROM SaleItem si JOIN FETCH si.product WHERE si.sale.id IN :saleIds ORDER BY si.id")
+    List<SaleItem> findBySaleIdInWithProduct(@Param("saleIds") java.util.Collection<Long> saleIds);
+
     @Query("SELECT si.product.id, si.product.name, SUM(si.quantity) as totalQty " +
             "FROM SaleItem si " +
             "WHERE si.sale.saleDate >= :start AND si.sale.saleDate < :end " +
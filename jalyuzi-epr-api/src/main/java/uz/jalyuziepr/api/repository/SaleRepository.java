@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.Sale;
 import uz.jalyuziepr.api.enums.SaleStatus;
+import uz.jalyuziepr.api.repository.projection.SaleListView;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,6 +18,15 @@ import java.util.Optional;
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
 
+    // Ro'yxat proyeksiyasi — mijoz va yaratuvchi ismi bitta SELECT'da
+    String SALE_LIST_SELECT = "SELECT s.id AS id, s.invoiceNumber AS invoiceNumber, " +
+            "c.id AS customerId, c.fullName AS customerName, c.phone AS customerPhone, " +
+            "s.saleDate AS saleDate, s.subtotal AS subtotal, s.discountAmount AS discountAmount, " +
+            "s.discountPercent AS discountPercent, s.totalAmount AS totalAmount, s.paidAmount AS paidAmount, " +
+            "s.debtAmount AS debtAmount, s.paymentMethod AS paymentMethod, s.paymentStatus AS paymentStatus, " +
+            "s.status AS status, s.notes AS notes, u.fullName AS createdByName " +
+            "FROM Sale s LEFT JOIN s.customer c LEFT JOIN s.createdBy u ";
+
     Optional<Sale> findByInvoiceNumber(String invoiceNumber);
 
     Page<Sale> findByStatus(SaleStatus status, Pageable pageable);
@@ -33,6 +43,37 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
 
     Page<Sale> findBySaleDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
 
+    @Query(value = SALE_LIST_SELECT,
+            countQuery = "SELECT COUNT(s) FROM Sale s")
+    Page<SaleListView> findSaleList(Pageable pageable);
+
+    @Query(value = SALE_LIST_SELECT + "WHERE s.saleDate BETWEEN :start AND :end",
+            countQuery = "SELECT COUNT(s) FROM Sale s WHERE s.saleDate BETWEEN :start AND :end")
+    Page<SaleListView> findSaleListBySaleDateBetween(@Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end,
+                                                     Pageable pageable);
+
+    // Keyset (cursor) sahifalash: (saleDate DESC, id DESC), COUNT so'rovisiz
+    String SALE_KEYSET = "s.saleDate <= :cursorAt AND (s.saleDate < :cursorAt OR s.id < :cursorId) " +
+            "ORDER BY s.saleDate DESC, s.id DESC";
+
+    @Query(SALE_LIST_SELECT + "WHERE " + SALE_KEYSET)
+    List<SaleListView> findSaleListAfter(@Param("cursorAt") LocalDateTime cursorAt,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable limit);
+
+    @Query(SALE_LIST_SELECT + "WHERE s.saleDate BETWEEN :start AND :end AND " + SALE_KEYSET)
+    List<SaleListView> findSaleListBySaleDateBetweenAfter(@Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end,
+                                                          @Param("cursorAt") LocalDateTime cursorAt,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable limit);
+
+    long countBySaleDateBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query(SALE_LIST_SELECT + "WHERE s.saleDate >= :start AND s.saleDate < :end AND s.status = 'COMPLETED'")
+    List<SaleListView> findTodaySaleList(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Query("SELECT s FROM Sale s WHERE s.saleDate >= :start AND s.saleDate < :end AND s.status = 'COMPLETED'")
     List<Sale> findTodaySales(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
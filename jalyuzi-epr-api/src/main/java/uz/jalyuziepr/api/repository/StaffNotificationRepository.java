@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.StaffNotification;
 import uz.jalyuziepr.api.enums.StaffNotificationType;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -30,6 +31,42 @@ public interface StaffNotificationRepository extends JpaRepository<StaffNotifica
             @Param("type") StaffNotificationType type,
             Pageable pageable);
 
+    /**
+     * Keyset (cursor) sahifalash: (createdAt DESC, id DESC), tur ixtiyoriy, COUNT so'rovisiz.
+     * "user_id = ? OR user_id IS NULL" bitta indeks diapazoni emas — shaxsiy va umumiy tarmoqlar
+     * alohida (idx_staff_notifications_user_created_at_id bo'yicha tartibli skan, har biri
+     * {@code limit} gacha) o'qiladi va birlashtirilgach yana {@code limit} ta olinadi.
+     */
+    @Query(value = """
+            SELECT * FROM (
+                (SELECT * FROM staff_notifications
+                 WHERE user_id = :userId
+                   AND (:type IS NULL OR notification_type = :type)
+                   AND created_at <= :cursorAt AND (created_at < :cursorAt OR id < :cursorId)
+                 ORDER BY created_at DESC, id DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT * FROM staff_notifications
+                 WHERE user_id IS NULL
+                   AND (:type IS NULL OR notification_type = :type)
+                   AND created_at <= :cursorAt AND (created_at < :cursorAt OR id < :cursorId)
+                 ORDER BY created_at DESC, id DESC
+                 LIMIT :limit)
+            ) n
+            ORDER BY n.created_at DESC, n.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<StaffNotification> findByUserIdOrGlobalAfter(
+            @Param("userId") Long userId,
+            @Param("type") String type,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit);
+
+    @Query("SELECT COUNT(n) FROM StaffNotification n WHERE (n.user.id = :userId OR n.user IS NULL) " +
+            "AND (:type IS NULL OR n.notificationType = :type)")
+    long countByUserIdOrGlobal(@Param("userId") Long userId, @Param("type") StaffNotificationType type);
+
     /**
      * Foydalanuvchi uchun o'qilmagan bildirishnomalar soni
      */
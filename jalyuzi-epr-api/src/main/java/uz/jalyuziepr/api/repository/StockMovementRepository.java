@@ -52,4 +52,33 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, Lo
     Integer getTotalOutgoingToday(@Param("start") LocalDateTime start);
 
     Page<StockMovement> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Keyset (cursor) sahifalash: (createdAt DESC, id DESC), COUNT so'rovisiz.
+     * Mahsulot va yaratuvchi bir SELECT'da yuklanadi (StockMovementResponse ikkalasini ham o'qiydi).
+     */
+    @Query("SELECT sm FROM StockMovement sm JOIN FETCH sm.product JOIN FETCH sm.createdBy " +
+            "WHERE (:productId IS NULL OR sm.product.id = :productId) " +
+            "AND (:movementType IS NULL OR sm.movementType = :movementType) " +
+            "AND (:referenceType IS NULL OR sm.referenceType = :referenceType) " +
+            "AND sm.createdAt <= :cursorAt AND (sm.createdAt < :cursorAt OR sm.id < :cursorId) " +
+            "ORDER BY sm.createdAt DESC, sm.id DESC")
+    List<StockMovement> findWithFiltersAfter(
+            @Param("productId") Long productId,
+            @Param("movementType") MovementType movementType,
+            @Param("referenceType") String referenceType,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable limit
+    );
+
+    @Query("SELECT COUNT(sm) FROM StockMovement sm " +
+            "WHERE (:productId IS NULL OR sm.product.id = :productId) " +
+            "AND (:movementType IS NULL OR sm.movementType = :movementType) " +
+            "AND (:referenceType IS NULL OR sm.referenceType = :referenceType)")
+    long countWithFilters(
+            @Param("productId") Long productId,
+            @Param("movementType") MovementType movementType,
+            @Param("referenceType") String referenceType
+    );
 }
@@ -0,0 +1,9 @@
+package uz.jalyuziepr.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uz.jalyuziepr.api.entity.UserAgent;
+
+@Repository
+public interface UserAgentRepository extends JpaRepository<UserAgent, Long> {
+}
@@ -15,6 +15,11 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // Audit yozuvlari uchun faqat nom (UsernameCache)
+    @Query("SELECT u.username FROM User u WHERE u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     List<User> findByActiveTrue();
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import uz.jalyuziepr.api.entity.WarrantyClaim;
 import uz.jalyuziepr.api.enums.WarrantyClaimStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,22 @@ public interface WarrantyClaimRepository extends JpaRepository<WarrantyClaim, Lo
 
     Page<WarrantyClaim> findByStatus(WarrantyClaimStatus status, Pageable pageable);
 
+    /**
+     * SLA buzilgan shikoyatlar — keyset chunk: NEW holatda {@code newBefore} dan oldin yaratilgan,
+     * yoki IN_PROGRESS holatda {@code inProgressBefore} dan oldin yaratilgan va tashrif belgilanmagan
+     */
+    @Query("SELECT c FROM WarrantyClaim c " +
+            "WHERE c.id > :afterId AND (" +
+            "  (c.status = :newStatus AND c.createdAt <= :newBefore) OR " +
+            "  (c.status = :inProgressStatus AND c.createdAt <= :inProgressBefore AND c.visits IS EMPTY)) " +
+            "ORDER BY c.id")
+    List<WarrantyClaim> findSlaBreachChunk(@Param("newStatus") WarrantyClaimStatus newStatus,
+                                           @Param("newBefore") LocalDateTime newBefore,
+                                           @Param("inProgressStatus") WarrantyClaimStatus inProgressStatus,
+                                           @Param("inProgressBefore") LocalDateTime inProgressBefore,
+                                           @Param("afterId") long afterId,
+                                           Pageable pageable);
+
     Page<WarrantyClaim> findByCustomerId(Long customerId, Pageable pageable);
 
     List<WarrantyClaim> findByOrderId(Long orderId);
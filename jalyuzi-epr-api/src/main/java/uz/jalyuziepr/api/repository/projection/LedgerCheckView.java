@@ -0,0 +1,25 @@
+package uz.jalyuziepr.api.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Mijoz balansi va daftar yig'indilarini solishtirish qatori (LedgerReconciliationJob)
+ */
+public interface LedgerCheckView {
+
+    Long getCustomerId();
+
+    String getCustomerName();
+
+    /** customers.balance — materiallashtirilgan qiymat */
+    BigDecimal getBalance();
+
+    /** Daftardagi barcha yozuvlar yig'indisi */
+    BigDecimal getLedgerBalance();
+
+    /** remaining_amount daftardagi qarz yozuvlariga mos kelmaydigan qarzlar soni */
+    Long getDriftedDebts();
+
+    /** Shu qarzlar bo'yicha farqning mutlaq yig'indisi */
+    BigDecimal getDebtDrift();
+}
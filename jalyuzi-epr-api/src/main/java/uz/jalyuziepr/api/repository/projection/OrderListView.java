@@ -0,0 +1,42 @@
+package uz.jalyuziepr.api.repository.projection;
+
+import uz.jalyuziepr.api.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Buyurtmalar ro'yxati uchun yengil proyeksiya — faqat ro'yxat ustunlari.
+ * Order entity'si va uning lazy bog'lanishlari yuklanmaydi (customer/installer/createdBy
+ * uchun har qatorga alohida SELECT bo'lmaydi).
+ */
+public interface OrderListView {
+
+    Long getId();
+
+    String getOrderNumber();
+
+    OrderStatus getStatus();
+
+    Long getCustomerId();
+
+    String getCustomerName();
+
+    String getCustomerPhone();
+
+    String getInstallationAddress();
+
+    String getInstallerName();
+
+    BigDecimal getTotalAmount();
+
+    BigDecimal getPaidAmount();
+
+    BigDecimal getRemainingAmount();
+
+    LocalDateTime getInstallationDate();
+
+    LocalDateTime getCreatedAt();
+
+    String getCreatedByName();
+}
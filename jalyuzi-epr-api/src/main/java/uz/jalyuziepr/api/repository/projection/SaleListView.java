@@ -0,0 +1,49 @@
+package uz.jalyuziepr.api.repository.projection;
+
+import uz.jalyuziepr.api.enums.PaymentMethod;
+import uz.jalyuziepr.api.enums.PaymentStatus;
+import uz.jalyuziepr.api.enums.SaleStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sotuvlar ro'yxati uchun sarlavha proyeksiyasi. Sotuv elementlari sahifa uchun
+ * bitta IN so'rov bilan alohida yuklanadi (SaleItemRepository.findBySaleIdInWithProduct).
+ */
+public interface SaleListView {
+
+    Long getId();
+
+    String getInvoiceNumber();
+
+    Long getCustomerId();
+
+    String getCustomerName();
+
+    String getCustomerPhone();
+
+    LocalDateTime getSaleDate();
+
+    BigDecimal getSubtotal();
+
+    BigDecimal getDiscountAmount();
+
+    BigDecimal getDiscountPercent();
+
+    BigDecimal getTotalAmount();
+
+    BigDecimal getPaidAmount();
+
+    BigDecimal getDebtAmount();
+
+    PaymentMethod getPaymentMethod();
+
+    PaymentStatus getPaymentStatus();
+
+    SaleStatus getStatus();
+
+    String getNotes();
+
+    String getCreatedByName();
+}
@@ -0,0 +1,44 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.AuditPartitionService;
+
+/**
+ * audit_logs partitsiyalarini parvarishlash: kelgusi oylarni oldindan yaratish va
+ * muddati o'tganlarini olib tashlash. Ishga tushganda ham tekshiriladi — ilova uzoq
+ * to'xtab turgan bo'lsa joriy oy partitsiyasi yo'qligi sababli audit yozuvlari yo'qolmaydi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionScheduler {
+
+    private final AuditPartitionService auditPartitionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            auditPartitionService.ensureFuturePartitions();
+        } catch (Exception e) {
+            log.error("Audit partitsiyalarini yaratish xatosi: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Har kuni 04:15 da (ikkala amal ham idempotent)
+     */
+    @Scheduled(cron = "0 15 4 * * *")
+    public void maintain() {
+        try {
+            auditPartitionService.ensureFuturePartitions();
+            auditPartitionService.dropExpiredPartitions();
+        } catch (Exception e) {
+            log.error("Audit partitsiyalarini parvarishlash xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.batch.BatchJobRunner;
+
+/**
+ * Uzilgan (replika to'xtagan) yoki xato bilan to'xtagan bugungi fon vazifalarini
+ * oxirgi checkpoint'dan davom ettiradi.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchJobRecoveryScheduler {
+
+    private final BatchJobRunner batchJobRunner;
+
+    /** Har {@code app.batch.recovery-interval-ms} da (standart 5 daqiqa) */
+    @Scheduled(fixedDelayString = "${app.batch.recovery-interval-ms:300000}",
+            initialDelayString = "${app.batch.recovery-interval-ms:300000}")
+    public void resume() {
+        batchJobRunner.resumeUnfinished();
+    }
+}
@@ -0,0 +1,33 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.BroadcastConfig;
+import uz.jalyuziepr.api.service.broadcast.BroadcastEngine;
+
+/**
+ * Ommaviy tarqatish navbatini to'ldiradi va yakunlangan kampaniyalarni belgilaydi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BroadcastScheduler {
+
+    private final BroadcastEngine broadcastEngine;
+    private final BroadcastConfig broadcastConfig;
+
+    /** Har {@code app.broadcast.poll-interval-ms} da (standart 1 soniya) */
+    @Scheduled(fixedDelayString = "${app.broadcast.poll-interval-ms:1000}")
+    public void run() {
+        if (!broadcastConfig.isEnabled()) {
+            return;
+        }
+        try {
+            broadcastEngine.tick();
+        } catch (Exception e) {
+            log.error("Broadcast scheduler xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
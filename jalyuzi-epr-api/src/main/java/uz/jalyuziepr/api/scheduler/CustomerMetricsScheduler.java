@@ -0,0 +1,25 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.batch.BatchJobRunner;
+import uz.jalyuziepr.api.service.batch.CustomerMetricsJob;
+
+/**
+ * Mijoz RFM ko'rsatkichlarini kunlik qayta hisoblash (recency bo'yicha segmentlar)
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerMetricsScheduler {
+
+    private final BatchJobRunner batchJobRunner;
+
+    /**
+     * Har kuni tunda 03:00 da ishga tushadi
+     */
+    @Scheduled(cron = "0 0 3 * * *")
+    public void recompute() {
+        batchJobRunner.run(CustomerMetricsJob.NAME);
+    }
+}
@@ -4,13 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import uz.jalyuziepr.api.entity.Debt;
-import uz.jalyuziepr.api.repository.DebtRepository;
 import uz.jalyuziepr.api.service.StaffNotificationService;
-
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
+import uz.jalyuziepr.api.service.batch.BatchJobRunner;
+import uz.jalyuziepr.api.service.batch.DebtDueReminderJob;
+import uz.jalyuziepr.api.service.batch.OverdueDebtWarningJob;
 
 /**
  * Qarz muddati yaqinlashganda avtomatik eslatma yuboradi
@@ -20,7 +17,7 @@ import java.util.List;
 @Slf4j
 public class DebtReminderScheduler {
 
-    private final DebtRepository debtRepository;
+    private final BatchJobRunner batchJobRunner;
     private final StaffNotificationService notificationService;
 
     /**
@@ -29,35 +26,7 @@ public class DebtReminderScheduler {
      */
     @Scheduled(cron = "0 0 9 * * *")
     public void sendDebtReminders() {
-        log.info("Starting debt reminder check...");
-
-        LocalDate today = LocalDate.now();
-        LocalDate endDate = today.plusDays(3);
-
-        List<Debt> upcomingDebts = debtRepository.findDebtsWithUpcomingDueDate(today, endDate);
-
-        log.info("Found {} debts with upcoming due dates", upcomingDebts.size());
-
-        for (Debt debt : upcomingDebts) {
-            try {
-                long daysLeft = ChronoUnit.DAYS.between(today, debt.getDueDate());
-                String formattedAmount = String.format("%,.0f", debt.getRemainingAmount());
-
-                notificationService.notifyDebtReminder(
-                        debt.getCustomer().getFullName(),
-                        formattedAmount,
-                        (int) daysLeft,
-                        debt.getId()
-                );
-
-                log.info("Sent reminder for debt ID: {}, customer: {}, days left: {}",
-                        debt.getId(), debt.getCustomer().getFullName(), daysLeft);
-            } catch (Exception e) {
-                log.error("Failed to send reminder for debt ID: {}", debt.getId(), e);
-            }
-        }
-
-        log.info("Debt reminder check completed");
+        batchJobRunner.run(DebtDueReminderJob.NAME);
     }
 
     /**
@@ -65,35 +34,7 @@ public class DebtReminderScheduler {
      */
     @Scheduled(cron = "0 30 9 * * *")
     public void sendOverdueDebtWarnings() {
-        log.info("Starting overdue debt check...");
-
-        LocalDate today = LocalDate.now();
-        List<Debt> overdueDebts = debtRepository.findOverdueDebts(today);
-
-        log.info("Found {} overdue debts", overdueDebts.size());
-
-        for (Debt debt : overdueDebts) {
-            try {
-                long daysOverdue = ChronoUnit.DAYS.between(debt.getDueDate(), today);
-                String formattedAmount = String.format("%,.0f", debt.getRemainingAmount());
-
-                notificationService.createGlobalNotification(
-                        "Muddati o'tgan qarz!",
-                        String.format("%s ning qarzi %s so'm. Muddati %d kun oldin o'tgan!",
-                                debt.getCustomer().getFullName(), formattedAmount, daysOverdue),
-                        uz.jalyuziepr.api.enums.StaffNotificationType.WARNING,
-                        "DEBT",
-                        debt.getId()
-                );
-
-                log.info("Sent overdue warning for debt ID: {}, customer: {}, days overdue: {}",
-                        debt.getId(), debt.getCustomer().getFullName(), daysOverdue);
-            } catch (Exception e) {
-                log.error("Failed to send overdue warning for debt ID: {}", debt.getId(), e);
-            }
-        }
-
-        log.info("Overdue debt check completed");
+        batchJobRunner.run(OverdueDebtWarningJob.NAME);
     }
 
     /**
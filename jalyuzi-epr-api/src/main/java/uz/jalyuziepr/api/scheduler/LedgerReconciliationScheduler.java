@@ -0,0 +1,25 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.batch.BatchJobRunner;
+import uz.jalyuziepr.api.service.batch.LedgerReconciliationJob;
+
+/**
+ * Mijoz balans daftarini kunlik tekshirish (nomuvofiqliklar metrikalarda)
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerReconciliationScheduler {
+
+    private final BatchJobRunner batchJobRunner;
+
+    /**
+     * Har kuni tunda 03:30 da ishga tushadi
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void reconcile() {
+        batchJobRunner.run(LedgerReconciliationJob.NAME);
+    }
+}
@@ -0,0 +1,22 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.NotificationFanout;
+
+/**
+ * Xodimlar bildirishnomalari navbatini yig'ish oynasi bo'yicha bo'shatadi.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationFanoutScheduler {
+
+    private final NotificationFanout notificationFanout;
+
+    /** Har {@code app.notifications.fanout.window-ms} da (standart 500 ms) */
+    @Scheduled(fixedDelayString = "${app.notifications.fanout.window-ms:500}")
+    public void flush() {
+        notificationFanout.flush();
+    }
+}
@@ -0,0 +1,32 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.export.OrderDocumentCache;
+
+/**
+ * Hujjat keshidagi eski PDF versiyalarini tozalash. Yangi versiya yozilganda eskilari grace
+ * muddati o'tmaguncha qoldiriladi — bu yerda o'sha qoldiqlar yig'ishtiriladi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDocumentSweepScheduler {
+
+    private final OrderDocumentCache orderDocumentCache;
+
+    /** Standart: har soatda */
+    @Scheduled(cron = "${app.storage.document-sweep-cron:0 20 * * * *}")
+    public void run() {
+        try {
+            int deleted = orderDocumentCache.sweepStale();
+            if (deleted > 0) {
+                log.info("Hujjat keshi: {} ta eski versiya o'chirildi", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Hujjat keshini tozalash xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
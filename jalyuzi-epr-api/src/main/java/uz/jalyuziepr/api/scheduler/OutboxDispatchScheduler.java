@@ -0,0 +1,44 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.OutboxConfig;
+import uz.jalyuziepr.api.service.outbox.OutboxDispatcher;
+import uz.jalyuziepr.api.service.outbox.OutboxService;
+
+/**
+ * Outbox navbatini davriy tekshiradi va eski yuborilgan yozuvlarni tozalaydi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatchScheduler {
+
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxService outboxService;
+    private final OutboxConfig outboxConfig;
+
+    /** Har {@code app.outbox.poll-interval-ms} da (standart 2 soniya) */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        if (!outboxConfig.isEnabled()) {
+            return;
+        }
+        outboxDispatcher.dispatchDue();
+    }
+
+    /** Har kuni soat 03:30 da */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purge() {
+        try {
+            int deleted = outboxService.purgeSent();
+            if (deleted > 0) {
+                log.info("Outbox: {} ta eski yuborilgan xabar o'chirildi", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Outbox tozalash xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
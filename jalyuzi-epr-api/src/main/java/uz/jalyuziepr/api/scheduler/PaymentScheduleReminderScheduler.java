@@ -1,10 +1,10 @@
 package uz.jalyuziepr.api.scheduler;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import uz.jalyuziepr.api.service.PaymentScheduleService;
+import uz.jalyuziepr.api.service.batch.BatchJobRunner;
+import uz.jalyuziepr.api.service.batch.PaymentScheduleReminderJob;
 
 /**
  * Har kuni payment schedule uchun:
@@ -13,22 +13,15 @@ import uz.jalyuziepr.api.service.PaymentScheduleService;
  */
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class PaymentScheduleReminderScheduler {
 
-    private final PaymentScheduleService paymentScheduleService;
+    private final BatchJobRunner batchJobRunner;
 
     /**
      * Har kuni ertalab 09:15 da ishga tushadi (DebtReminder dan keyin)
      */
     @Scheduled(cron = "0 15 9 * * *")
     public void checkOverduePaymentSchedules() {
-        log.info("Starting payment schedule overdue check...");
-        try {
-            int marked = paymentScheduleService.markOverdueAndNotify();
-            log.info("Payment schedule check completed. {} items marked overdue", marked);
-        } catch (Exception e) {
-            log.error("Payment schedule overdue check failed", e);
-        }
+        batchJobRunner.run(PaymentScheduleReminderJob.NAME);
     }
 }
@@ -0,0 +1,30 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.ProductPriceTable;
+
+/**
+ * Narx jadvalini davriy to'liq qayta yuklash — ProductService'dan tashqarida
+ * (import, to'g'ridan-to'g'ri SQL) o'zgargan narxlar uchun xavfsizlik to'ri.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductPriceTableScheduler {
+
+    private final ProductPriceTable productPriceTable;
+
+    /** Standart: har 5 daqiqada */
+    @Scheduled(fixedDelayString = "${app.pricing.table-refresh-ms:300000}",
+            initialDelayString = "${app.pricing.table-refresh-ms:300000}")
+    public void run() {
+        try {
+            productPriceTable.reload();
+        } catch (Exception e) {
+            log.error("Narx jadvalini yangilash xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
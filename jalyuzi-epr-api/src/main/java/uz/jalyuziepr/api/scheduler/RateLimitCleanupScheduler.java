@@ -0,0 +1,56 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.ratelimit.JdbcRateLimitBackend;
+import uz.jalyuziepr.api.ratelimit.LocalRateLimitBackend;
+
+/**
+ * Rate limit bucket'larini tozalash: replika xotirasidagi to'lgan byudjetlar (har daqiqada)
+ * va umumiy jadvaldan ishlatilmay qolgan bucket'lar (faqat JDBC backend, har soatda)
+ */
+@Component
+@Slf4j
+public class RateLimitCleanupScheduler {
+
+    private final LocalRateLimitBackend localRateLimitBackend;
+    private final JdbcRateLimitBackend jdbcRateLimitBackend;
+
+    public RateLimitCleanupScheduler(LocalRateLimitBackend localRateLimitBackend,
+                                     ObjectProvider<JdbcRateLimitBackend> jdbcRateLimitBackend) {
+        this.localRateLimitBackend = localRateLimitBackend;
+        this.jdbcRateLimitBackend = jdbcRateLimitBackend.getIfAvailable();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.local-sweep-interval-ms:60000}",
+            initialDelayString = "${app.rate-limit.local-sweep-interval-ms:60000}")
+    public void sweepLocal() {
+        try {
+            int removed = localRateLimitBackend.sweep();
+            if (removed > 0) {
+                log.debug("Rate limit: xotiradan {} ta to'lgan bucket tashlandi", removed);
+            }
+        } catch (Exception e) {
+            log.error("Lokal rate limit bucket'larini tozalash xatosi: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Standart: har soatda */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:3600000}",
+            initialDelayString = "${app.rate-limit.cleanup-interval-ms:3600000}")
+    public void run() {
+        if (jdbcRateLimitBackend == null) {
+            return;
+        }
+        try {
+            int deleted = jdbcRateLimitBackend.purgeIdle();
+            if (deleted > 0) {
+                log.debug("Rate limit: {} ta eski bucket o'chirildi", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Rate limit bucket'larini tozalash xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
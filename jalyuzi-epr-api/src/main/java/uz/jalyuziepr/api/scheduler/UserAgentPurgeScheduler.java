@@ -0,0 +1,41 @@
+package uz.jalyuziepr.api.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.service.UserAgentDictionary;
+
+import java.time.LocalDateTime;
+
+/**
+ * user_agents lug'atidan hech narsa bog'lanmagan eski satrlarni tozalash. Satrlar mijozdan
+ * keladi — aks holda har bir tasodifiy User-Agent jadvalda abadiy qolardi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAgentPurgeScheduler {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserAgentDictionary userAgentDictionary;
+
+    @Value("${app.user-agents.purge-after-days:30}")
+    private int purgeAfterDays;
+
+    /** Standart: har kuni 04:45 da (audit partitsiyalari tozalangandan keyin) */
+    @Scheduled(cron = "${app.user-agents.purge-cron:0 45 4 * * *}")
+    public void run() {
+        try {
+            int deleted = userAgentDictionary.purgeUnreferenced(
+                    LocalDateTime.now().minusDays(purgeAfterDays), BATCH_SIZE);
+            if (deleted > 0) {
+                log.info("User-Agent lug'ati: {} ta bog'lanmagan satr o'chirildi", deleted);
+            }
+        } catch (Exception e) {
+            log.error("User-Agent lug'atini tozalash xatosi: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -13,16 +14,17 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import uz.jalyuziepr.api.audit.AuditDiff;
 import uz.jalyuziepr.api.dto.response.AuditLogDetailResponse;
 import uz.jalyuziepr.api.dto.response.AuditLogGroupResponse;
 import uz.jalyuziepr.api.dto.response.AuditLogResponse;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.UserActivityResponse;
 import uz.jalyuziepr.api.entity.AuditLog;
-import uz.jalyuziepr.api.entity.User;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.AuditLogRepository;
 import uz.jalyuziepr.api.repository.EmployeeRepository;
-import uz.jalyuziepr.api.repository.UserRepository;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,8 +39,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuditLogService {
 
+    private static final LocalDateTime AUDIT_MIN_DATE = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime AUDIT_MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
+    private final UsernameCache usernameCache;
+    private final UserAgentDictionary userAgentDictionary;
     private final EmployeeRepository employeeRepository;
     private final ObjectMapper objectMapper;
     private final FieldLabelService fieldLabelService;
@@ -50,13 +56,14 @@ public class AuditLogService {
     @Transactional
     public void log(String entityType, Long entityId, String action, Object oldValue, Object newValue, Long userId) {
         try {
-            String username = null;
-            if (userId != null) {
-                username = userRepository.findById(userId)
-                        .map(User::getUsername)
-                        .orElse(null);
+            AuditDiff.Compact payload = toPayload(action, oldValue, newValue);
+            if (payload == null) {
+                log.debug("Skipping audit log for no-op UPDATE of {} {}", entityType, entityId);
+                return;
             }
 
+            String username = usernameCache.get(userId);
+
             String ipAddress = getClientIpAddress();
             String userAgent = getUserAgent();
 
@@ -64,12 +71,12 @@ public class AuditLogService {
                     .entityType(entityType)
                     .entityId(entityId)
                     .action(action)
-                    .oldValue(convertToMap(oldValue))
-                    .newValue(convertToMap(newValue))
+                    .oldValue(payload.oldValue())
+                    .newValue(payload.newValue())
                     .userId(userId)
                     .username(username)
                     .ipAddress(ipAddress)
-                    .userAgent(userAgent)
+                    .userAgentRef(userAgentDictionary.reference(userAgentDictionary.resolve(userAgent)))
                     .build();
 
             auditLogRepository.save(auditLog);
@@ -117,13 +124,16 @@ public class AuditLogService {
     }
 
     /**
-     * Log UPDATE operation with explicit IP address and user agent (from entity listener)
+     * Log UPDATE operation with explicit IP address and user agent (from entity listener).
+     * The diff is stored as given: the listener compacts it before masking sensitive fields,
+     * so compacting again here would drop a changed secret (both sides mask to the same value).
      */
     @Async
     @Transactional
-    public void logUpdateWithContext(String entityType, Long entityId, Object oldValue, Object newValue,
+    public void logUpdateWithContext(String entityType, Long entityId, AuditDiff.Compact diff,
                                       Long userId, String ipAddress, String userAgent, UUID correlationId) {
-        logWithContext(entityType, entityId, "UPDATE", oldValue, newValue, userId, ipAddress, userAgent, correlationId);
+        AuditDiff.Compact payload = new AuditDiff.Compact(convertToMap(diff.oldValue()), convertToMap(diff.newValue()));
+        saveWithContext(entityType, entityId, "UPDATE", payload, userId, ipAddress, userAgent, correlationId);
     }
 
     /**
@@ -142,24 +152,35 @@ public class AuditLogService {
     private void logWithContext(String entityType, Long entityId, String action, Object oldValue,
                                  Object newValue, Long userId, String ipAddress, String userAgent,
                                  UUID correlationId) {
+        AuditDiff.Compact payload;
         try {
-            String username = null;
-            if (userId != null) {
-                username = userRepository.findById(userId)
-                        .map(User::getUsername)
-                        .orElse(null);
-            }
+            payload = toPayload(action, oldValue, newValue);
+        } catch (Exception e) {
+            log.error("Failed to create audit log with context: {}", e.getMessage(), e);
+            return;
+        }
+        if (payload == null) {
+            log.debug("Skipping audit log for no-op UPDATE of {} {}", entityType, entityId);
+            return;
+        }
+        saveWithContext(entityType, entityId, action, payload, userId, ipAddress, userAgent, correlationId);
+    }
+
+    private void saveWithContext(String entityType, Long entityId, String action, AuditDiff.Compact payload,
+                                 Long userId, String ipAddress, String userAgent, UUID correlationId) {
+        try {
+            String username = usernameCache.get(userId);
 
             AuditLog auditLog = AuditLog.builder()
                     .entityType(entityType)
                     .entityId(entityId)
                     .action(action)
-                    .oldValue(convertToMap(oldValue))
-                    .newValue(convertToMap(newValue))
+                    .oldValue(payload.oldValue())
+                    .newValue(payload.newValue())
                     .userId(userId)
                     .username(username)
                     .ipAddress(ipAddress)
-                    .userAgent(userAgent)
+                    .userAgentRef(userAgentDictionary.reference(userAgentDictionary.resolve(userAgent)))
                     .correlationId(correlationId)
                     .build();
 
@@ -195,13 +216,14 @@ public class AuditLogService {
     public void logInNewTransaction(String entityType, Long entityId, String action,
                                      Object oldValue, Object newValue, Long userId) {
         try {
-            String username = null;
-            if (userId != null) {
-                username = userRepository.findById(userId)
-                        .map(User::getUsername)
-                        .orElse(null);
+            AuditDiff.Compact payload = toPayload(action, oldValue, newValue);
+            if (payload == null) {
+                log.debug("Skipping audit log for no-op UPDATE of {} {}", entityType, entityId);
+                return;
             }
 
+            String username = usernameCache.get(userId);
+
             String ipAddress = getClientIpAddress();
             String userAgent = getUserAgent();
 
@@ -209,12 +231,12 @@ public class AuditLogService {
                     .entityType(entityType)
                     .entityId(entityId)
                     .action(action)
-                    .oldValue(convertToMap(oldValue))
-                    .newValue(convertToMap(newValue))
+                    .oldValue(payload.oldValue())
+                    .newValue(payload.newValue())
                     .userId(userId)
                     .username(username)
                     .ipAddress(ipAddress)
-                    .userAgent(userAgent)
+                    .userAgentRef(userAgentDictionary.reference(userAgentDictionary.resolve(userAgent)))
                     .build();
 
             auditLogRepository.save(auditLog);
@@ -236,26 +258,108 @@ public class AuditLogService {
     }
 
     /**
-     * Search audit logs with filters
+     * Search audit logs with filters. {@code from} is inclusive, {@code to} exclusive; either may be null.
      */
     public Page<AuditLogResponse> searchAuditLogs(
             String entityType,
             String action,
             Long userId,
             String search,
+            LocalDateTime from,
+            LocalDateTime to,
             Pageable pageable
     ) {
         String trimmedSearch = (search == null || search.trim().isEmpty()) ? null : search.trim();
 
         if (trimmedSearch == null) {
-            return auditLogRepository.filterAuditLogs(entityType, action, userId, pageable)
+            return auditLogRepository.filterAuditLogs(entityType, action, userId,
+                            lowerBound(from), upperBound(to), pageable)
                     .map(AuditLogResponse::from);
         }
 
-        return auditLogRepository.searchAuditLogs(entityType, action, userId, trimmedSearch, pageable)
+        return auditLogRepository.searchAuditLogs(entityType, action, userId,
+                        lowerBound(from), upperBound(to), trimmedSearch, pageable)
                 .map(AuditLogResponse::from);
     }
 
+    /**
+     * Cursor-based search (createdAt DESC, id DESC): no OFFSET scan, total count only when requested.
+     */
+    public CursorPagedResponse<AuditLogResponse> searchAuditLogsCursor(
+            String entityType,
+            String action,
+            Long userId,
+            String search,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            int limit,
+            boolean withTotal
+    ) {
+        String trimmedSearch = (search == null || search.trim().isEmpty()) ? null : search.trim();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<AuditLog> rows = auditLogRepository.searchAuditLogsAfter(
+                entityType, action, userId, lowerBound(from), upperBound(to), trimmedSearch,
+                after.at(), after.id(), PageRequest.ofSize(limit + 1));
+        Long total = withTotal
+                ? auditLogRepository.countAuditLogs(entityType, action, userId, lowerBound(from), upperBound(to), trimmedSearch)
+                : null;
+        return CursorPagedResponse.of(rows, limit,
+                a -> new KeysetCursor(a.getCreatedAt(), a.getId()),
+                page -> page.stream().map(AuditLogResponse::from).toList(),
+                total);
+    }
+
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    /**
+     * Lazily iterates matching logs for export (createdAt DESC, id DESC) in keyset batches of
+     * {@value #EXPORT_BATCH_SIZE}, stopping after {@code maxRecords}. Only the current batch is held
+     * in memory, so the PDF writer can flush pages while later batches are still being fetched.
+     */
+    public Iterator<AuditLogResponse> iterateAuditLogs(
+            String entityType,
+            String action,
+            Long userId,
+            String search,
+            LocalDateTime from,
+            LocalDateTime to,
+            int maxRecords
+    ) {
+        return new Iterator<>() {
+            private Iterator<AuditLogResponse> batch = Collections.emptyIterator();
+            private String cursor;
+            private boolean more = true;
+            private int returned;
+
+            @Override
+            public boolean hasNext() {
+                if (returned >= maxRecords) {
+                    return false;
+                }
+                if (!batch.hasNext() && more) {
+                    int limit = Math.min(EXPORT_BATCH_SIZE, maxRecords - returned);
+                    CursorPagedResponse<AuditLogResponse> page = searchAuditLogsCursor(
+                            entityType, action, userId, search, from, to, cursor, limit, false);
+                    batch = page.getContent().iterator();
+                    cursor = page.getNextCursor();
+                    more = page.isHasNext();
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public AuditLogResponse next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                returned++;
+                return batch.next();
+            }
+        };
+    }
+
     // ==================== GROUPED AUDIT LOGS ====================
 
     /**
@@ -273,17 +377,22 @@ public class AuditLogService {
             String action,
             Long userId,
             String search,
+            LocalDateTime from,
+            LocalDateTime to,
             Pageable pageable
     ) {
         String trimmedSearch = (search == null || search.trim().isEmpty()) ? null : search.trim();
+        LocalDateTime fromDate = lowerBound(from);
+        LocalDateTime toDate = upperBound(to);
 
         // For search queries, fall back to memory-based grouping with reasonable limit
         if (trimmedSearch != null) {
-            return searchGroupedAuditLogsWithSearch(entityType, action, userId, trimmedSearch, pageable);
+            return searchGroupedAuditLogsWithSearch(entityType, action, userId, trimmedSearch, fromDate, toDate, pageable);
         }
 
         // Step 1: Get all distinct correlation IDs ordered by max timestamp
-        List<Object[]> correlationResults = auditLogRepository.findDistinctCorrelationIds(entityType, action, userId);
+        List<Object[]> correlationResults = auditLogRepository.findDistinctCorrelationIds(
+                entityType, action, userId, fromDate, toDate);
         List<UUID> allCorrelationIds = correlationResults.stream()
                 .map(row -> (UUID) row[0])
                 .toList();
@@ -291,7 +400,8 @@ public class AuditLogService {
         // Step 2: Get uncorrelated logs and group them by time window
         // Limit to 5000 for performance, this covers most use cases
         Pageable uncorrelatedPageable = org.springframework.data.domain.PageRequest.of(0, 5000);
-        List<AuditLog> uncorrelatedLogs = auditLogRepository.findUncorrelatedLogs(entityType, action, userId, uncorrelatedPageable);
+        List<AuditLog> uncorrelatedLogs = auditLogRepository.findUncorrelatedLogs(
+                entityType, action, userId, fromDate, toDate, uncorrelatedPageable);
         List<AuditLogGroupResponse> uncorrelatedGroups = groupByTimeWindow(uncorrelatedLogs);
 
         // Step 3: Combine correlated group count + uncorrelated groups count
@@ -364,13 +474,16 @@ public class AuditLogService {
             String action,
             Long userId,
             String search,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
             Pageable pageable
     ) {
         // For search, use memory-based grouping with limit
         int maxFetchSize = 5000;
         Pageable fetchPageable = org.springframework.data.domain.PageRequest.of(0, maxFetchSize, pageable.getSort());
 
-        Page<AuditLog> page = auditLogRepository.searchAuditLogs(entityType, action, userId, search, fetchPageable);
+        Page<AuditLog> page = auditLogRepository.searchAuditLogs(
+                entityType, action, userId, fromDate, toDate, search, fetchPageable);
         List<AuditLog> allLogs = page.getContent();
 
         List<AuditLogGroupResponse> allGroups = groupAuditLogs(allLogs);
@@ -707,7 +820,8 @@ public class AuditLogService {
             );
         } else {
             // Use search method with filters
-            auditLogs = auditLogRepository.filterAuditLogs(entityType, action, userId, pageable);
+            auditLogs = auditLogRepository.filterAuditLogs(
+                    entityType, action, userId, lowerBound(startDate), upperBound(endDate), pageable);
         }
 
         return auditLogs.map(UserActivityResponse::from);
@@ -740,13 +854,28 @@ public class AuditLogService {
     }
 
     /**
-     * Clean up old audit logs
+     * Date filters are always bound (open ends widened) so that every list query carries a
+     * created_at range and PostgreSQL can prune monthly partitions even for generic plans.
      */
-    @Transactional
-    public void cleanupOldLogs(int daysToKeep) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
-        auditLogRepository.deleteByCreatedAtBefore(cutoffDate);
-        log.info("Cleaned up audit logs older than {} days", daysToKeep);
+    private static LocalDateTime lowerBound(LocalDateTime from) {
+        return from != null ? from : AUDIT_MIN_DATE;
+    }
+
+    private static LocalDateTime upperBound(LocalDateTime to) {
+        return to != null ? to : AUDIT_MAX_DATE;
+    }
+
+    /**
+     * Stored payload: UPDATE keeps only the changed fields (old and new values of the same keys),
+     * CREATE/DELETE keep the full snapshot. Returns null for an UPDATE that changed nothing.
+     */
+    private AuditDiff.Compact toPayload(String action, Object oldValue, Object newValue) {
+        Map<String, Object> oldMap = convertToMap(oldValue);
+        Map<String, Object> newMap = convertToMap(newValue);
+        if ("UPDATE".equals(action) && oldMap != null && newMap != null) {
+            return AuditDiff.compact(oldMap, newMap);
+        }
+        return new AuditDiff.Compact(oldMap, newMap);
     }
 
     private Map<String, Object> convertToMap(Object obj) {
@@ -854,23 +983,16 @@ public class AuditLogService {
             Map<String, Object> oldValue,
             Map<String, Object> newValue) {
 
+        // Compact (changed-fields-only) and legacy full-snapshot rows both reduce to the same list
         List<AuditLogDetailResponse.FieldChange> changes = new ArrayList<>();
-        Set<String> allFields = new HashSet<>();
 
-        if (oldValue != null) allFields.addAll(oldValue.keySet());
-        if (newValue != null) allFields.addAll(newValue.keySet());
-
-        for (String fieldName : allFields) {
-            Object oldVal = oldValue != null ? oldValue.get(fieldName) : null;
-            Object newVal = newValue != null ? newValue.get(fieldName) : null;
+        for (AuditDiff.Change diff : AuditDiff.changes(oldValue, newValue)) {
+            String fieldName = diff.field();
+            Object oldVal = diff.oldValue();
+            Object newVal = diff.newValue();
 
             AuditLogDetailResponse.ChangeType changeType = determineChangeType(oldVal, newVal);
 
-            // Skip unchanged fields
-            if (changeType == AuditLogDetailResponse.ChangeType.UNCHANGED) {
-                continue;
-            }
-
             String fieldLabel = fieldLabelService.getFieldLabel(entityType, fieldName);
             AuditLogDetailResponse.FieldType fieldType =
                 fieldLabelService.getFieldType(entityType, fieldName);
@@ -0,0 +1,166 @@
+package uz.jalyuziepr.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.config.AuditRetentionConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * audit_logs oylik partitsiyalarini boshqarish (V63).
+ *
+ * Kelgusi oylar uchun partitsiyalar oldindan yaratiladi — DEFAULT partitsiya yo'q, shuning uchun
+ * partitsiyasi yo'q oyga yozish xato beradi. Saqlash muddati o'tgan oylar DELETE bilan emas,
+ * butun partitsiya bilan olib tashlanadi: ixtiyoriy arxivlash (.jsonl.gz) → DETACH CONCURRENTLY
+ * (asosiy jadvalga yozish to'xtamaydi) → DROP.
+ *
+ * Oldingi urinish yarim yo'lda to'xtagan bo'lsa keyingi ishga tushishda davom ettiriladi:
+ * DETACH CONCURRENTLY uzilsa partitsiya "detach pending" holatida qoladi (pg_inherits.inhdetachpending)
+ * — unga qayta DETACH CONCURRENTLY xato beradi, shuning uchun DETACH ... FINALIZE bajariladi;
+ * DETACH'dan keyin DROP'gacha uzilsa jadval mustaqil bo'lib qoladi — to'g'ridan-to'g'ri DROP.
+ * Saqlash muddati faqat AuditPartitionScheduler orqali qo'llanadi ({@link #dropExpiredPartitions}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditPartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int ARCHIVE_FETCH_SIZE = 1_000;
+
+    /** Oylik partitsiya jadvali va uning audit_logs'ga nisbatan holati */
+    private record Partition(String name, boolean attached, boolean detachPending) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditRetentionConfig config;
+
+    /** Joriy oy va keyingi {@code premake-months} oy uchun partitsiyalar (idempotent) */
+    public void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= Math.max(0, config.getPremakeMonths()); i++) {
+            LocalDate month = current.plusMonths(i).atDay(1);
+            jdbcTemplate.queryForObject("SELECT audit_logs_ensure_partition(?)", String.class, month);
+        }
+    }
+
+    /** Saqlash muddati o'tgan partitsiyalarni olib tashlaydi */
+    public int dropExpiredPartitions() {
+        if (config.getRetentionMonths() <= 0) {
+            return 0;
+        }
+        return dropPartitionsBefore(YearMonth.now().minusMonths(config.getRetentionMonths()).atDay(1));
+    }
+
+    /**
+     * Barcha yozuvlari {@code cutoff} dan oldin bo'lgan (oyi to'liq o'tgan) partitsiyalarni olib tashlaydi.
+     * Qisman muddati o'tgan oy o'sha oy to'liq eskirguncha qoladi.
+     *
+     * @return olib tashlangan partitsiyalar soni
+     */
+    public int dropPartitionsBefore(LocalDate cutoff) {
+        int dropped = 0;
+        for (Partition p : listPartitions()) {
+            String partition = p.name();
+            Matcher m = PARTITION_NAME.matcher(partition);
+            if (!m.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(m.group(1), PARTITION_MONTH);
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+            if (config.isArchiveEnabled()) {
+                archive(partition);
+            }
+            // CONCURRENTLY/FINALIZE tranzaksiyadan tashqarida bo'lishi shart (JdbcTemplate autocommit)
+            if (p.detachPending()) {
+                log.warn("Audit partitsiya oldingi DETACH'dan keyin yakunlanmagan, FINALIZE: {}", partition);
+                jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition + " FINALIZE");
+            } else if (p.attached()) {
+                jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition + " CONCURRENTLY");
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            dropped++;
+            log.info("Audit partitsiya olib tashlandi: {}", partition);
+        }
+        return dropped;
+    }
+
+    /**
+     * Joriy sxemadagi audit_logs_pYYYYMM jadvallari: biriktirilganlari, "detach pending"lari va
+     * DETACH'dan keyin DROP qilinmay qolganlari
+     */
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query("""
+                SELECT c.relname,
+                       i.inhrelid IS NOT NULL AS attached,
+                       COALESCE(i.inhdetachpending, false) AS detach_pending
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace AND n.nspname = current_schema()
+                LEFT JOIN pg_inherits i ON i.inhrelid = c.oid AND i.inhparent = 'audit_logs'::regclass
+                WHERE c.relkind = 'r' AND c.relname ~ '^audit_logs_p[0-9]{6}$'
+                ORDER BY c.relname
+                """, (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2), rs.getBoolean(3)));
+    }
+
+    /**
+     * Partitsiyani qatorma-qator (kursor bilan, xotiraga to'liq yuklamasdan) siqilgan faylga yozadi.
+     * Fayl vaqtinchalik nom bilan yoziladi va tugagach joyiga ko'chiriladi — yarim arxiv qolmaydi.
+     */
+    private void archive(String partition) {
+        Path dir = Paths.get(config.getArchiveDir()).toAbsolutePath().normalize();
+        Path target = dir.resolve(partition + ".jsonl.gz");
+        Path temp = dir.resolve(partition + ".jsonl.gz.tmp");
+        try {
+            Files.createDirectories(dir);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                // PostgreSQL kursor bilan o'qishi uchun autocommit o'chiq bo'lishi kerak
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                    // Arxiv lug'atsiz o'qilishi uchun User-Agent satri yozuvning o'ziga qo'shiladi
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT (to_jsonb(t) || jsonb_build_object('user_agent', COALESCE(t.user_agent, ua.user_agent)))::text"
+                                    + " FROM " + partition + " t LEFT JOIN user_agents ua ON ua.id = t.user_agent_id"
+                                    + " ORDER BY t.id");
+                    ps.setFetchSize(ARCHIVE_FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    try {
+                        out.write(rs.getString(1));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Audit partitsiya arxivlandi: {} → {}", partition, target);
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Audit partitsiyasini arxivlab bo'lmadi: " + partition, e);
+        }
+    }
+}
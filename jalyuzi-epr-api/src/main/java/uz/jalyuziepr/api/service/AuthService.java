@@ -116,6 +116,7 @@ public class AuthService {
                     : LoginAttempt.FailureReason.INVALID_PASSWORD;
 
             loginAttemptService.logFailedAttempt(
+                user,
                 username,
                 ipAddress,
                 userAgent,
@@ -9,6 +9,7 @@ import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.CategoryRepository;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceCacheEvictor referenceCacheEvictor;
 
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findByActiveTrue().stream()
@@ -47,6 +49,7 @@ public class CategoryService {
             Category parent = categoryRepository.findById(parentId)
                     .orElseThrow(() -> new ResourceNotFoundException("Kategoriya", "id", parentId));
             category.setParent(parent);
+            referenceCacheEvictor.evictCategoryChildren(parentId);
         }
 
         return CategoryResponse.from(categoryRepository.save(category));
@@ -59,6 +62,7 @@ public class CategoryService {
 
         category.setName(name);
         category.setDescription(description);
+        Long oldParentId = category.getParent() != null ? category.getParent().getId() : null;
 
         if (parentId != null && !parentId.equals(id)) {
             Category parent = categoryRepository.findById(parentId)
@@ -68,6 +72,12 @@ public class CategoryService {
             category.setParent(null);
         }
 
+        Long newParentId = category.getParent() != null ? category.getParent().getId() : null;
+        if (!Objects.equals(oldParentId, newParentId)) {
+            // Category.children teskari tomon — L2 keshdan qo'lda chiqariladi
+            referenceCacheEvictor.evictCategoryChildren(oldParentId, newParentId);
+        }
+
         return CategoryResponse.from(categoryRepository.save(category));
     }
 
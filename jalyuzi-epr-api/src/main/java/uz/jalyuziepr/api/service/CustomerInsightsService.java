@@ -1,30 +1,42 @@
 package uz.jalyuziepr.api.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uz.jalyuziepr.api.dto.response.CustomerRfmResponse;
+import uz.jalyuziepr.api.entity.CustomerMetrics;
+import uz.jalyuziepr.api.exception.BadRequestException;
+import uz.jalyuziepr.api.repository.CustomerMetricsRepository;
 import uz.jalyuziepr.api.repository.OrderRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * RFM (Recency / Frequency / Monetary) mijoz segmentatsiyasi.
- * Buyurtmalar agregatidan har mijozni segmentga ajratadi (egasi uchun analitika).
- * Read-only — hech narsa o'zgartirmaydi.
+ * RFM (Recency / Frequency / Monetary) mijoz segmentatsiyasi (egasi uchun analitika).
+ *
+ * Ko'rsatkichlar customer_metrics jadvalida saqlanadi: buyurtma yaratilganda, holati yoki
+ * to'lovi o'zgarganda CustomerMetricsTracker shu mijoz qatorini {@link #refresh} bilan qayta
+ * hisoblaydi; vaqt o'tishi bilan o'zgaradigan segmentlarni (recency) kunlik CustomerMetricsJob
+ * yangilaydi. O'qish so'rovlari faqat shu jadvaldan.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerInsightsService {
 
     private final OrderRepository orderRepository;
+    private final CustomerMetricsRepository metricsRepository;
 
     // Segment tartibi + o'zbekcha yorliqlar (ko'rsatish tartibi)
     private static final String[][] SEGMENTS = {
@@ -37,65 +49,145 @@ public class CustomerInsightsService {
             {"REGULAR", "Oddiy"},
     };
 
+    /**
+     * Segment xulosalari va barcha mijozlar (eski to'liq javob). Katta bazalar uchun
+     * {@link #getSegmentSummaries()} va {@link #getCustomers} afzal.
+     */
     @Transactional(readOnly = true)
     public CustomerRfmResponse getRfmInsights() {
         LocalDateTime now = LocalDateTime.now();
-        List<Object[]> rows = orderRepository.findCustomerOrderAggregates();
-
-        List<CustomerRfmResponse.CustomerRfm> customers = new ArrayList<>();
-        for (Object[] r : rows) {
-            long orderCount = ((Number) r[3]).longValue();
-            BigDecimal totalSpent = r[4] != null ? (BigDecimal) r[4] : BigDecimal.ZERO;
-            LocalDateTime lastOrderAt = (LocalDateTime) r[5];
-            Integer recencyDays = lastOrderAt != null
-                    ? (int) ChronoUnit.DAYS.between(lastOrderAt, now)
-                    : null;
-            String segment = segmentOf(orderCount, recencyDays);
-
-            customers.add(CustomerRfmResponse.CustomerRfm.builder()
-                    .customerId(((Number) r[0]).longValue())
-                    .name((String) r[1])
-                    .phone((String) r[2])
-                    .orderCount(orderCount)
-                    .totalSpent(totalSpent)
-                    .lastOrderAt(lastOrderAt)
-                    .recencyDays(recencyDays)
-                    .segment(segment)
-                    .segmentLabel(labelOf(segment))
-                    .build());
-        }
-
-        // Eng qimmatli mijozlar tepada
-        customers.sort(Comparator.comparing(
-                CustomerRfmResponse.CustomerRfm::getTotalSpent,
-                Comparator.nullsLast(Comparator.reverseOrder())));
+        List<CustomerRfmResponse.CustomerRfm> customers = metricsRepository.findRanked(Pageable.unpaged())
+                .map(m -> toRfm(m, now))
+                .getContent();
+        return CustomerRfmResponse.builder()
+                .segments(getSegmentSummaries())
+                .customers(customers)
+                .build();
+    }
 
-        // Segment xulosalari
-        Map<String, long[]> count = new LinkedHashMap<>();
-        Map<String, BigDecimal> money = new LinkedHashMap<>();
-        for (String[] s : SEGMENTS) {
-            count.put(s[0], new long[]{0});
-            money.put(s[0], BigDecimal.ZERO);
-        }
-        for (CustomerRfmResponse.CustomerRfm c : customers) {
-            count.get(c.getSegment())[0]++;
-            money.put(c.getSegment(),
-                    money.get(c.getSegment()).add(c.getTotalSpent() != null ? c.getTotalSpent() : BigDecimal.ZERO));
+    @Transactional(readOnly = true)
+    public List<CustomerRfmResponse.SegmentSummary> getSegmentSummaries() {
+        Map<String, Object[]> bySegment = new HashMap<>();
+        for (Object[] row : metricsRepository.summarizeBySegment()) {
+            bySegment.put((String) row[0], row);
         }
 
         List<CustomerRfmResponse.SegmentSummary> segments = new ArrayList<>();
         for (String[] s : SEGMENTS) {
+            Object[] row = bySegment.get(s[0]);
             segments.add(CustomerRfmResponse.SegmentSummary.builder()
                     .segment(s[0])
                     .label(s[1])
-                    .count(count.get(s[0])[0])
-                    .totalMonetary(money.get(s[0]))
+                    .count(row != null ? ((Number) row[1]).longValue() : 0)
+                    .totalMonetary(row != null ? (BigDecimal) row[2] : BigDecimal.ZERO)
                     .build());
         }
+        return segments;
+    }
+
+    /**
+     * Mijozlar sahifasi (to'langan summa bo'yicha kamayish tartibida), ixtiyoriy segment filtri bilan
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerRfmResponse.CustomerRfm> getCustomers(String segment, Pageable pageable) {
+        if (segment != null && !isKnownSegment(segment)) {
+            throw new BadRequestException("Noma'lum segment: " + segment);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Page<CustomerMetrics> page = segment != null
+                ? metricsRepository.findRankedBySegment(segment, pageable)
+                : metricsRepository.findRanked(pageable);
+        return page.map(m -> toRfm(m, now));
+    }
+
+    /**
+     * Segmentdagi mijozlar ID'lari — ommaviy tarqatish auditoriyasi uchun.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findCustomerIdsBySegment(String segment) {
+        return metricsRepository.findCustomerIdsBySegment(segment);
+    }
+
+    public boolean isKnownSegment(String segment) {
+        for (String[] s : SEGMENTS) {
+            if (s[0].equals(segment)) return true;
+        }
+        return false;
+    }
+
+    // ==================== YANGILASH ====================
+
+    /**
+     * Mijozlar qatorlarini buyurtmalardan qayta hisoblaydi. Commit'dan keyin chaqiriladi,
+     * shuning uchun o'z tranzaksiyasida ishlaydi.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Collection<Long> customerIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long customerId : customerIds) {
+            List<Object[]> rows = orderRepository.findCustomerOrderAggregate(customerId);
+            Object[] r = rows.isEmpty() ? null : rows.get(0);
+            long orderCount = r != null ? ((Number) r[0]).longValue() : 0;
+            if (orderCount == 0) {
+                metricsRepository.deleteByCustomerId(customerId);
+                continue;
+            }
+            BigDecimal totalSpent = r[1] != null ? (BigDecimal) r[1] : BigDecimal.ZERO;
+            LocalDateTime lastOrderAt = (LocalDateTime) r[2];
+            metricsRepository.upsert(customerId, (int) orderCount, totalSpent, lastOrderAt,
+                    segmentOf(orderCount, recencyDays(lastOrderAt, now)), now);
+        }
+    }
+
+    /**
+     * Kunlik vazifaning tayyorlov qadami: agregatlarni buyurtmalardan to'liq qayta yozadi
+     * (o'tkazib yuborilgan yangilanishlarni tuzatadi) va buyurtmasi qolmagan qatorlarni o'chiradi.
+     */
+    @Transactional
+    public void rebuildAggregates() {
+        int updated = metricsRepository.rebuildAggregates(LocalDateTime.now());
+        int deleted = metricsRepository.deleteWithoutOrders();
+        if (updated > 0 || deleted > 0) {
+            log.info("customer_metrics: {} ta qator yangilandi, {} ta o'chirildi", updated, deleted);
+        }
+    }
+
+    /**
+     * Vaqt o'tishi bilan segmentni qayta baholaydi (chaqiruvchi tranzaksiyasida, managed entity).
+     * @return segment o'zgargan bo'lsa true
+     */
+    public boolean resegment(CustomerMetrics metrics, LocalDateTime asOf) {
+        String segment = segmentOf(metrics.getOrderCount(), recencyDays(metrics.getLastOrderAt(), asOf));
+        if (segment.equals(metrics.getSegment())) {
+            return false;
+        }
+        metrics.setSegment(segment);
+        metrics.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    private CustomerRfmResponse.CustomerRfm toRfm(CustomerMetrics m, LocalDateTime now) {
+        return CustomerRfmResponse.CustomerRfm.builder()
+                .customerId(m.getCustomerId())
+                .name(m.getCustomer().getFullName())
+                .phone(m.getCustomer().getPhone())
+                .orderCount(m.getOrderCount())
+                .totalSpent(m.getTotalSpent())
+                .lastOrderAt(m.getLastOrderAt())
+                .recencyDays(recencyDays(m.getLastOrderAt(), now))
+                .segment(m.getSegment())
+                .segmentLabel(labelOf(m.getSegment()))
+                .build();
+    }
 
-        return CustomerRfmResponse.builder().segments(segments).customers(customers).build();
+    private Integer recencyDays(LocalDateTime lastOrderAt, LocalDateTime now) {
+        return lastOrderAt != null ? (int) ChronoUnit.DAYS.between(lastOrderAt, now) : null;
     }
 
+    /**
+     * Segment qoidalari. V60__customer_metrics.sql'dagi boshlang'ich to'ldirish (CASE) shu qoidalarni
+     * takrorlaydi — o'zgartirilsa, mavjud satrlar uchun resegment'ni ishga tushiring.
+     */
     private String segmentOf(long freq, Integer recencyDays) {
         int r = recencyDays != null ? recencyDays : Integer.MAX_VALUE;
         if (r > 365) return "LOST";
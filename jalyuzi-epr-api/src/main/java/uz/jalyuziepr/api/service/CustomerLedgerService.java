@@ -0,0 +1,85 @@
+package uz.jalyuziepr.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uz.jalyuziepr.api.entity.Customer;
+import uz.jalyuziepr.api.entity.CustomerLedgerEntry;
+import uz.jalyuziepr.api.entity.Debt;
+import uz.jalyuziepr.api.enums.LedgerEntryType;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.repository.CustomerLedgerRepository;
+import uz.jalyuziepr.api.repository.CustomerRepository;
+import uz.jalyuziepr.api.security.CustomUserDetails;
+
+import java.math.BigDecimal;
+
+/**
+ * Mijoz balansining yagona yozish nuqtasi.
+ *
+ * Har bir o'zgarish daftarga (customer_ledger_entries) yozuv qo'shadi va customers.balance ni
+ * {@code balance = balance + delta} bilan atomar o'zgartiradi — parallel to'lov va qarzlar
+ * bir-birining natijasini yo'qotmaydi. Ikkalasi chaqiruvchi tranzaksiyasida bajariladi.
+ * Daftar va debts.remaining_amount mosligini LedgerReconciliationJob tekshiradi.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerLedgerService {
+
+    private final CustomerLedgerRepository ledgerRepository;
+    private final CustomerRepository customerRepository;
+
+    /** Qarz ochildi: balans qarz summasiga kamayadi */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDebt(Customer customer, Debt debt, String referenceType, Long referenceId) {
+        post(customer, debt, LedgerEntryType.DEBT, debt.getOriginalAmount().negate(),
+                referenceType, referenceId, debt.getNotes());
+    }
+
+    /** Qarzga to'lov: balans to'lov summasiga oshadi */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Customer customer, Debt debt, BigDecimal amount, String referenceType, Long referenceId) {
+        post(customer, debt, LedgerEntryType.PAYMENT, amount, referenceType, referenceId, null);
+    }
+
+    /**
+     * Balansga yozuv qo'shadi va atomar delta qo'llaydi. Boshqariladigan {@code customer}
+     * nusxasidagi balans ham yangilanadi (faqat javob uchun — ustun entity orqali yozilmaydi).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(Customer customer, Debt debt, LedgerEntryType type, BigDecimal amount,
+                     String referenceType, Long referenceId, String notes) {
+        if (amount.signum() == 0) {
+            return;
+        }
+        ledgerRepository.save(CustomerLedgerEntry.builder()
+                .customerId(customer.getId())
+                .debtId(debt != null ? debt.getId() : null)
+                .entryType(type)
+                .amount(amount)
+                .referenceType(referenceType)
+                .referenceId(referenceId)
+                .notes(notes)
+                .createdBy(currentUserId())
+                .build());
+
+        if (customerRepository.applyBalanceDelta(customer.getId(), amount) == 0) {
+            throw new ResourceNotFoundException("Mijoz", "id", customer.getId());
+        }
+        customer.setBalance(customer.getBalance().add(amount));
+        log.debug("Balans daftari: mijoz={} {} {}", customer.getId(), type, amount);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+}
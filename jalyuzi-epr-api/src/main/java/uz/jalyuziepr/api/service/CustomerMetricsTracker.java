@@ -0,0 +1,61 @@
+package uz.jalyuziepr.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Buyurtmasi o'zgargan mijozlarni tranzaksiya davomida yig'adi va commit'dan keyin
+ * ularning customer_metrics qatorlarini bir marta qayta hisoblatadi.
+ * Rollback bo'lsa hech narsa qilinmaydi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerMetricsTracker {
+
+    private final CustomerInsightsService customerInsightsService;
+
+    /** Buyurtma yaratildi, holati yoki to'langan summasi o'zgardi */
+    public void markChanged(Long customerId) {
+        if (customerId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(Set.of(customerId));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> ids = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CustomerMetricsTracker.this);
+                    if (status == STATUS_COMMITTED) {
+                        refresh(ids);
+                    }
+                }
+            });
+            pending = ids;
+        }
+        pending.add(customerId);
+    }
+
+    private void refresh(Set<Long> customerIds) {
+        try {
+            customerInsightsService.refresh(List.copyOf(customerIds));
+        } catch (Exception e) {
+            // Kunlik CustomerMetricsJob agregatlarni to'liq qayta yozib tuzatadi
+            log.warn("customer_metrics yangilanmadi {}: {}", customerIds, e.getMessage());
+        }
+    }
+}
@@ -10,6 +10,7 @@ import uz.jalyuziepr.api.dto.request.CustomerRequest;
 import uz.jalyuziepr.api.dto.response.CustomerResponse;
 import uz.jalyuziepr.api.entity.Customer;
 import uz.jalyuziepr.api.entity.User;
+import uz.jalyuziepr.api.enums.LedgerEntryType;
 import uz.jalyuziepr.api.exception.BadRequestException;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.CustomerRepository;
@@ -27,6 +28,7 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
     private final StaffNotificationService notificationService;
+    private final CustomerLedgerService customerLedgerService;
 
     public Page<CustomerResponse> getAllCustomers(Pageable pageable) {
         return customerRepository.findByActiveTrue(pageable)
@@ -106,8 +108,7 @@ public class CustomerService {
     public void updateBalance(Long customerId, BigDecimal amount) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Mijoz", "id", customerId));
-        customer.setBalance(customer.getBalance().add(amount));
-        customerRepository.save(customer);
+        customerLedgerService.post(customer, null, LedgerEntryType.ADJUSTMENT, amount, null, null, null);
     }
 
     private void mapRequestToCustomer(CustomerRequest request, Customer customer) {
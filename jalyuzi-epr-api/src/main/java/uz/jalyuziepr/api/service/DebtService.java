@@ -17,7 +17,6 @@ import uz.jalyuziepr.api.enums.DebtStatus;
 import uz.jalyuziepr.api.enums.PaymentType;
 import uz.jalyuziepr.api.exception.BadRequestException;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
-import uz.jalyuziepr.api.repository.CustomerRepository;
 import uz.jalyuziepr.api.repository.DebtRepository;
 import uz.jalyuziepr.api.repository.PaymentRepository;
 import uz.jalyuziepr.api.repository.UserRepository;
@@ -35,10 +34,10 @@ public class DebtService {
 
     private final DebtRepository debtRepository;
     private final PaymentRepository paymentRepository;
-    private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
     private final StaffNotificationService staffNotificationService;
     private final NotificationService customerNotificationService;
+    private final CustomerLedgerService customerLedgerService;
 
     public Page<DebtResponse> getAllDebts(DebtStatus status, Pageable pageable) {
         Page<Debt> debts;
@@ -122,7 +121,7 @@ public class DebtService {
                 .paymentDate(LocalDateTime.now())
                 .receivedBy(currentUser)
                 .build();
-        paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
 
         // Update debt
         BigDecimal newRemainingAmount = remainingAmount.subtract(paymentAmount);
@@ -132,9 +131,8 @@ public class DebtService {
             debt.setStatus(DebtStatus.PAID);
         }
 
-        // Update customer balance
-        customer.setBalance(customer.getBalance().add(paymentAmount));
-        customerRepository.save(customer);
+        // Update customer balance (daftar yozuvi + atomar delta)
+        customerLedgerService.recordPayment(customer, debt, paymentAmount, "PAYMENT", savedPayment.getId());
 
         // Send notification about payment received
         String formattedAmount = String.format("%,.0f", paymentAmount);
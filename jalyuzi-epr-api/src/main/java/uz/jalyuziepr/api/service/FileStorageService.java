@@ -1,6 +1,7 @@
 package uz.jalyuziepr.api.service;
 
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -8,10 +9,12 @@ import org.springframework.web.multipart.MultipartFile;
 import uz.jalyuziepr.api.exception.BadRequestException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 
@@ -21,19 +24,26 @@ import java.util.UUID;
  * (interfacega o'zgartirish).
  *
  * Saqlash strukturasi:
- *   {upload-dir}/{category}/{YYYY-MM-DD}/{uuid}.{ext}
+ *   {upload-dir}/{category}/{YYYY-MM-DD}/{random-32hex}.{ext}
  * Public URL:
- *   {publicUrlPrefix}/{category}/{YYYY-MM-DD}/{uuid}.{ext}
+ *   {publicUrlPrefix}/{category}/{YYYY-MM-DD}/{random-32hex}.{ext}
+ *
+ * Har bir yuklash o'z noyob nomini oladi va fayl hech qachon qayta yozilmaydi, shuning uchun
+ * brauzer va CDN uni muddatsiz keshlay oladi (FileController: immutable Cache-Control, ETag = nom).
+ * Nom kontent xeshi emas: bir xil baytlar ikki marta yuklansa ikkita fayl bo'ladi va bittasini
+ * o'chirish ({@link #delete}) boshqa mahsulot/buyurtma rasmiga tegmaydi.
+ * Rasmlar uchun ImageVariantService yonida {@code _thumb.jpg} / {@code _medium.jpg} variantlarini yaratadi.
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class FileStorageService {
 
     private static final Set<String> ALLOWED_IMAGE_TYPES = Set.of(
             "image/jpeg", "image/jpg", "image/png", "image/webp", "image/heic", "image/heif"
     );
 
-    private static final List<String> ALLOWED_EXTENSIONS = List.of(
+    static final List<String> ALLOWED_EXTENSIONS = List.of(
             ".jpg", ".jpeg", ".png", ".webp", ".heic", ".heif"
     );
 
@@ -46,14 +56,22 @@ public class FileStorageService {
     @Value("${app.storage.public-url-prefix:/api/files}")
     private String publicUrlPrefix;
 
+    @Value("${app.storage.document-dir:./documents}")
+    private String documentDir;
+
+    private final ImageVariantService imageVariantService;
+
     private Path root;
+    private Path documentRoot;
 
     @PostConstruct
     public void init() {
         try {
             root = Paths.get(uploadDir).toAbsolutePath().normalize();
             Files.createDirectories(root);
-            log.info("File storage initialized at {}", root);
+            documentRoot = Paths.get(documentDir).toAbsolutePath().normalize();
+            Files.createDirectories(documentRoot);
+            log.info("File storage initialized at {} (documents: {})", root, documentRoot);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to initialize upload directory: " + uploadDir, e);
         }
@@ -68,17 +86,26 @@ public class FileStorageService {
      */
     public String saveImage(MultipartFile file, String category) {
         validateImage(file);
+        validatePixelCount(file);
 
         try {
-            String ext = extractExtension(file.getOriginalFilename());
+            String ext = extractExtension(file.getOriginalFilename()).toLowerCase(Locale.ROOT);
             String dateDir = LocalDate.now().format(DATE_DIR);
-            String filename = UUID.randomUUID() + ext;
 
             Path dir = root.resolve(category).resolve(dateDir);
             Files.createDirectories(dir);
 
+            // Avval vaqtinchalik faylga, so'ng noyob nom bilan joyiga — chala fayl berilmaydi
+            String stem = UUID.randomUUID().toString().replace("-", "");
+            Path temp = dir.resolve("." + stem + ".upload");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String filename = stem + ext;
             Path target = dir.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            imageVariantService.scheduleVariants(target);
 
             String relativePath = category + "/" + dateDir + "/" + filename;
             String publicUrl = publicUrlPrefix + "/" + relativePath;
@@ -103,13 +130,66 @@ public class FileStorageService {
         return target;
     }
 
+    /**
+     * FileController uchun: berilishi kerak bo'lgan fayl. Rasm varianti so'ralsa va u hali
+     * yaratilmagan bo'lsa shu yerda yaratiladi (yoki asl fayl qaytadi).
+     *
+     * @return mavjud oddiy fayl yoki null (topilmadi, ildizdan tashqarida, vaqtinchalik fayl)
+     */
+    public Path resolveForServing(String publicPath) {
+        Path target;
+        try {
+            target = resolveByPublicUrl(publicPath);
+        } catch (BadRequestException | InvalidPathException e) {
+            return null;
+        }
+        if (target.equals(root) || target.getFileName().toString().startsWith(".")) {
+            return null;
+        }
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+        return imageVariantService.resolveVariant(target);
+    }
+
+    /**
+     * Ichki hujjat (PDF keshi) yo'li: {document-dir}/{relative}. Bu katalog public URL'ga
+     * ega emas — fayllar faqat ruxsat tekshiruvidan o'tgan controller orqali beriladi.
+     */
+    public Path resolveDocument(String relativePath) {
+        Path target = documentRoot.resolve(relativePath).normalize();
+        if (!target.startsWith(documentRoot) || target.equals(documentRoot)) {
+            throw new BadRequestException("Noto'g'ri hujjat yo'li");
+        }
+        return target;
+    }
+
+    /**
+     * Hujjatni yozadi: avval vaqtinchalik faylga, so'ng atomar ko'chirish — parallel o'quvchi
+     * hech qachon chala faylni ko'rmaydi.
+     */
+    public Path storeDocument(String relativePath, byte[] content) throws IOException {
+        Path target = resolveDocument(relativePath);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".doc-", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
     public boolean delete(String publicUrl) {
         if (publicUrl == null || !publicUrl.startsWith(publicUrlPrefix + "/")) {
             return false;
         }
         String relative = publicUrl.substring(publicUrlPrefix.length() + 1);
         try {
-            return Files.deleteIfExists(resolveByPublicUrl(relative));
+            Path target = resolveByPublicUrl(relative);
+            imageVariantService.deleteVariants(target);
+            return Files.deleteIfExists(target);
         } catch (IOException e) {
             log.warn("Failed to delete file {}: {}", publicUrl, e.getMessage());
             return false;
@@ -133,6 +213,18 @@ public class FileStorageService {
         }
     }
 
+    /** Faqat sarlavha o'qiladi — katta o'lcham e'lon qilgan kichik fayl dekodlanmasdan rad etiladi */
+    private void validatePixelCount(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            if (imageVariantService.exceedsPixelLimit(in)) {
+                throw new BadRequestException("Rasm o'lchami juda katta (" + imageVariantService.maxMegapixels()
+                        + " megapikseldan oshmasligi kerak)");
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Rasmni o'qib bo'lmadi: " + e.getMessage());
+        }
+    }
+
     private String extractExtension(String filename) {
         if (filename == null) return ".jpg";
         int idx = filename.lastIndexOf('.');
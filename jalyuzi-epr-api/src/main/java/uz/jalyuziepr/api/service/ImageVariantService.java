@@ -0,0 +1,402 @@
+package uz.jalyuziepr.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.jalyuziepr.api.config.ImagePipelineConfig;
+import uz.jalyuziepr.api.util.ImageVariants;
+import uz.jalyuziepr.api.util.ImageVariants.Variant;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Yuklangan rasmlardan kichraytirilgan variantlar (thumbnail, medium) yaratadi.
+ *
+ * Yuklashda variantlar alohida oqimlar havzasida (so'rov oqimidan tashqarida) yaratiladi;
+ * navbat to'lgan yoki eski (variantsiz) rasmlar uchun variant birinchi so'ralganda
+ * {@link #resolveVariant} orqali yaratiladi. Bir vaqtda dekodlanadigan rasmlar soni
+ * {@code worker-threads} bilan cheklangan — 10 MB li fotosurat xotirada ~100 MB egallaydi.
+ *
+ * Variantlar progressive JPEG (metadata'siz, EXIF orientatsiyasi qo'llangan); HEIC kabi
+ * ImageIO o'qiy olmaydigan formatlar uchun variant yaratilmaydi va asl fayl beriladi.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    // Saqlash nomlari: noyob 32 hex (eski yuklamalarda kontent xeshi) yoki eski UUID
+    private static final Pattern STORED_STEM =
+            Pattern.compile("[0-9a-f]{32}|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final ImagePipelineConfig config;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore decodePermits;
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, config.getWorkerThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        decodePermits = new Semaphore(threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /** Asl rasm uchun barcha variantlarni fonda yaratadi */
+    public void scheduleVariants(Path original) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    decodePermits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    generate(original, Variant.values());
+                } finally {
+                    decodePermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("app.images.variants", "outcome", "rejected").increment();
+            log.debug("Variant navbati to'la, {} so'ralganda yaratiladi", original.getFileName());
+        }
+    }
+
+    /**
+     * So'ralgan variant fayli. Yo'q bo'lsa asl fayl topilib variant shu yerning o'zida yaratiladi.
+     * Dekodlash havzasi band bo'lsa so'rov oqimi kutmaydi: variant fonga navbatga qo'yiladi va asl
+     * fayl qaytariladi; format qo'llab-quvvatlanmasa ham asl fayl. Bunday javob variant URL ostida
+     * uzoq keshlanmasligi kerak — FileController qaytgan nomni so'ralgani bilan solishtiradi.
+     *
+     * @return berilishi kerak bo'lgan fayl yoki null (variant nomi emas / asl fayl yo'q)
+     */
+    public Path resolveVariant(Path variantPath) {
+        String name = variantPath.getFileName().toString();
+        Variant variant = ImageVariants.parse(name);
+        if (variant == null) {
+            return null;
+        }
+        if (Files.isRegularFile(variantPath)) {
+            return variantPath;
+        }
+        Path original = findOriginal(variantPath.getParent(), ImageVariants.originalStem(name, variant));
+        if (original == null) {
+            return null;
+        }
+        if (!decodePermits.tryAcquire()) {
+            meterRegistry.counter("app.images.variants", "outcome", "busy").increment();
+            scheduleVariants(original);
+            return original;
+        }
+        try {
+            return generate(original, variant) && Files.isRegularFile(variantPath) ? variantPath : original;
+        } finally {
+            decodePermits.release();
+        }
+    }
+
+    /** Asl fayl bilan birga uning variantlarini ham o'chiradi */
+    public void deleteVariants(Path original) {
+        String name = original.getFileName().toString();
+        for (Variant variant : Variant.values()) {
+            try {
+                Files.deleteIfExists(original.resolveSibling(ImageVariants.variantName(name, variant)));
+            } catch (IOException e) {
+                log.warn("Variantni o'chirib bo'lmadi {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    // ==================== YARATISH ====================
+
+    private boolean generate(Path original, Variant... variants) {
+        long started = System.nanoTime();
+        BufferedImage source;
+        try (InputStream in = Files.newInputStream(original)) {
+            if (exceedsPixelLimit(in)) {
+                meterRegistry.counter("app.images.variants", "outcome", "too_large").increment();
+                log.warn("Rasm piksel chegarasidan katta, variant yaratilmaydi: {}", original.getFileName());
+                return false;
+            }
+            source = ImageIO.read(original.toFile());
+        } catch (IOException | RuntimeException e) {
+            source = null;
+        }
+        if (source == null) {
+            meterRegistry.counter("app.images.variants", "outcome", "unsupported").increment();
+            log.debug("Rasmni o'qib bo'lmadi (variant yaratilmaydi): {}", original.getFileName());
+            return false;
+        }
+
+        try {
+            BufferedImage oriented = applyOrientation(toRgb(source), readExifOrientation(original));
+            source = null;
+            String name = original.getFileName().toString();
+            for (Variant variant : variants) {
+                Path target = original.resolveSibling(ImageVariants.variantName(name, variant));
+                if (Files.isRegularFile(target)) {
+                    continue;
+                }
+                int maxSide = variant == Variant.THUMBNAIL ? config.getThumbnailSize() : config.getMediumSize();
+                writeJpeg(scale(oriented, maxSide), target);
+                meterRegistry.counter("app.images.variants", "outcome", "generated", "variant", variant.suffix()).increment();
+            }
+            meterRegistry.timer("app.images.variants.duration").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            meterRegistry.counter("app.images.variants", "outcome", "failed").increment();
+            log.warn("Variant yaratib bo'lmadi {}: {}", original.getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Rasm sarlavhasidagi kenglik × balandlik {@code max-megapixels} dan oshadimi. Piksellar
+     * dekodlanmaydi (faqat ImageReader.getWidth/getHeight); ImageIO o'qiy olmaydigan format
+     * (HEIC) uchun false — uni baribir dekodlamaymiz.
+     */
+    public boolean exceedsPixelLimit(InputStream input) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+            if (in == null) {
+                return false;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return false;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                return pixels > (long) config.getMaxMegapixels() * 1_000_000L;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public int maxMegapixels() {
+        return config.getMaxMegapixels();
+    }
+
+    /**
+     * Asl faylni ma'lum kengaytmalar bo'yicha tekshiradi. Nom URL'dan keladi (ommaviy /files/**),
+     * shuning uchun faqat saqlash nomlari alifbosi qabul qilinadi va glob ishlatilmaydi —
+     * aks holda {@code *_thumb.jpg} kabi so'rov papkadagi begona rasmlarni ochib berardi.
+     */
+    private Path findOriginal(Path dir, String stem) {
+        if (dir == null || !STORED_STEM.matcher(stem).matches()) {
+            return null;
+        }
+        for (String ext : FileStorageService.ALLOWED_EXTENSIONS) {
+            // Eski yuklashlarda kengaytma registri saqlangan (.JPG)
+            for (String candidateExt : new String[]{ext, ext.toUpperCase(Locale.ROOT)}) {
+                Path candidate = dir.resolve(stem + candidateExt);
+                if (Files.isRegularFile(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.max(0.1f, Math.min(1f, config.getQuality())));
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Uzun tomoni {@code maxSide} gacha; kichik rasmlar kattalashtirilmaydi. Bosqichma-bosqich (sifat uchun) */
+    private static BufferedImage scale(BufferedImage src, int maxSide) {
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(src.getWidth(), src.getHeight()));
+        int targetW = Math.max(1, (int) Math.round(src.getWidth() * ratio));
+        int targetH = Math.max(1, (int) Math.round(src.getHeight() * ratio));
+
+        BufferedImage current = src;
+        while (current.getWidth() / 2 >= targetW && current.getHeight() / 2 >= targetH) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetW || current.getHeight() != targetH) {
+            current = resize(current, targetW, targetH);
+        }
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage src, int width, int height) {
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /** JPEG shaffoflikni saqlamaydi — PNG/WebP oq fonga joylanadi */
+    private static BufferedImage toRgb(BufferedImage src) {
+        if (src.getType() == BufferedImage.TYPE_INT_RGB) {
+            return src;
+        }
+        BufferedImage out = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, src.getWidth(), src.getHeight());
+            g.drawImage(src, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    // ==================== EXIF ORIENTATSIYA ====================
+
+    /** Telefon suratlari ko'pincha EXIF orientatsiyasi bilan saqlanadi: 3 — 180°, 6 — 90°, 8 — 270° */
+    private static BufferedImage applyOrientation(BufferedImage src, int orientation) {
+        int quarterTurns = switch (orientation) {
+            case 3 -> 2;
+            case 6 -> 1;
+            case 8 -> 3;
+            default -> 0;
+        };
+        if (quarterTurns == 0) {
+            return src;
+        }
+        int w = src.getWidth();
+        int h = src.getHeight();
+        boolean swap = quarterTurns % 2 == 1;
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        AffineTransform transform = new AffineTransform();
+        switch (quarterTurns) {
+            case 1 -> transform.translate(h, 0);
+            case 2 -> transform.translate(w, h);
+            default -> transform.translate(0, w);
+        }
+        transform.quadrantRotate(quarterTurns);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.drawImage(src, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /** JPEG APP1 (Exif) segmentidan Orientation (0x0112) tegini o'qiydi; topilmasa 1 */
+    private static int readExifOrientation(Path file) {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(raw)) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (marker != 0xFFE1) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                byte[] segment = in.readNBytes(length);
+                return orientationFromExif(segment);
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private static int orientationFromExif(byte[] seg) {
+        // "Exif\0\0" + TIFF sarlavhasi
+        if (seg.length < 14 || seg[0] != 'E' || seg[1] != 'x' || seg[2] != 'i' || seg[3] != 'f') {
+            return 1;
+        }
+        int tiff = 6;
+        boolean little = seg[tiff] == 'I';
+        int ifd = tiff + readInt(seg, tiff + 4, little);
+        int entries = readShort(seg, ifd, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > seg.length) {
+                break;
+            }
+            if (readShort(seg, entry, little) == 0x0112) {
+                return readShort(seg, entry + 8, little);
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] b, int off, boolean little) {
+        return little
+                ? (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8
+                : (b[off] & 0xFF) << 8 | (b[off + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] b, int off, boolean little) {
+        return little
+                ? readShort(b, off, true) | readShort(b, off + 2, true) << 16
+                : readShort(b, off, false) << 16 | readShort(b, off + 2, false);
+    }
+}
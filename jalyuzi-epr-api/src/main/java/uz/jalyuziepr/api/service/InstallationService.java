@@ -35,11 +35,13 @@ public class InstallationService {
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public Page<InstallationResponse> getAllInstallations(Pageable pageable) {
         return installationRepository.findAll(pageable)
                 .map(InstallationResponse::from);
     }
 
+    @Transactional(readOnly = true)
     public Page<InstallationResponse> getInstallationsWithFilters(
             Long technicianId, InstallationStatus status,
             LocalDate startDate, LocalDate endDate, Pageable pageable) {
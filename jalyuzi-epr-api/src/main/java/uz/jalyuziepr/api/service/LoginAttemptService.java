@@ -25,29 +25,38 @@ public class LoginAttemptService {
 
     private final LoginAttemptRepository loginAttemptRepository;
     private final UserRepository userRepository;
-    private final UserAgentParser userAgentParser;
+    private final UserAgentDictionary userAgentDictionary;
 
     // Lockout configuration
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCKOUT_DURATION_MINUTES = 30;
 
     /**
-     * Log a successful login attempt
+     * Log a successful login attempt.
+     * User and device info are taken from the just-created session (no second lookup).
      */
     @Transactional
     public void logSuccessfulAttempt(String username, String ipAddress, String userAgent, Session session) {
         try {
-            User user = userRepository.findByUsername(username).orElse(null);
-            UserAgentParser.DeviceInfo deviceInfo = userAgentParser.parse(userAgent);
-
-            LoginAttempt attempt = LoginAttempt.builder()
-                    .user(user)
+            LoginAttempt.LoginAttemptBuilder builder = LoginAttempt.builder();
+            if (session != null) {
+                builder.user(session.getUser())
+                        .userAgentId(session.getUserAgentId())
+                        .deviceType(session.getDeviceType())
+                        .browser(session.getBrowser())
+                        .os(session.getOs());
+            } else {
+                UserAgentDictionary.Entry agent = userAgentDictionary.resolve(userAgent);
+                builder.user(userRepository.findByUsername(username).orElse(null))
+                        .userAgentId(agent.id())
+                        .deviceType(agent.deviceInfo().getDeviceType())
+                        .browser(agent.deviceInfo().getBrowser())
+                        .os(agent.deviceInfo().getOs());
+            }
+
+            LoginAttempt attempt = builder
                     .username(username)
                     .ipAddress(ipAddress)
-                    .userAgent(userAgent)
-                    .deviceType(deviceInfo.getDeviceType())
-                    .browser(deviceInfo.getBrowser())
-                    .os(deviceInfo.getOs())
                     .status(LoginAttempt.LoginStatus.SUCCESS)
                     .session(session)
                     .build();
@@ -69,16 +78,32 @@ public class LoginAttemptService {
             String userAgent,
             LoginAttempt.FailureReason reason,
             String message
+    ) {
+        logFailedAttempt(userRepository.findByUsername(username).orElse(null),
+                username, ipAddress, userAgent, reason, message);
+    }
+
+    /**
+     * Log a failed login attempt when the caller has already looked up the user (may be null)
+     */
+    @Transactional
+    public void logFailedAttempt(
+            User user,
+            String username,
+            String ipAddress,
+            String userAgent,
+            LoginAttempt.FailureReason reason,
+            String message
     ) {
         try {
-            User user = userRepository.findByUsername(username).orElse(null);
-            UserAgentParser.DeviceInfo deviceInfo = userAgentParser.parse(userAgent);
+            UserAgentDictionary.Entry agent = userAgentDictionary.resolve(userAgent);
+            UserAgentParser.DeviceInfo deviceInfo = agent.deviceInfo();
 
             LoginAttempt attempt = LoginAttempt.builder()
                     .user(user)
                     .username(username)
                     .ipAddress(ipAddress)
-                    .userAgent(userAgent)
+                    .userAgentId(agent.id())
                     .deviceType(deviceInfo.getDeviceType())
                     .browser(deviceInfo.getBrowser())
                     .os(deviceInfo.getOs())
@@ -0,0 +1,209 @@
+package uz.jalyuziepr.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.jalyuziepr.api.config.NotificationFanoutConfig;
+import uz.jalyuziepr.api.dto.response.StaffNotificationResponse;
+import uz.jalyuziepr.api.dto.websocket.StaffNotificationDigestMessage;
+import uz.jalyuziepr.api.entity.StaffNotification;
+import uz.jalyuziepr.api.enums.StaffNotificationType;
+import uz.jalyuziepr.api.repository.StaffNotificationRepository;
+import uz.jalyuziepr.api.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Xodimlar bildirishnomalarini saqlash va yig'ib yuborish bosqichi.
+ *
+ * Bildirishnoma chaqiruvchi tranzaksiyasida saqlanadi (AuditEntityListener audit yozuvi bilan),
+ * shuning uchun u biznes o'zgarishi bilan birga commit yoki rollback bo'ladi. Faqat WebSocket
+ * yuborish commit'dan keyin navbatga tushadi: NotificationFanoutScheduler har {@code window-ms} da
+ * navbatni bo'shatib, bir xil tur va qabul qiluvchi bo'yicha guruhlaydi — kichik guruhlar avvalgidek
+ * alohida, katta guruhlar bitta digest xabar sifatida yuboriladi. Shu tariqa bitta sex ishga
+ * tushirish yoki kunlik qarz tekshiruvi brauzerlarni o'nlab xabar bilan to'ldirmaydi.
+ *
+ * Navbat xotirada: jarayon oyna ichida to'xtasa, faqat real-time xabar yo'qoladi — bildirishnoma
+ * bazada qoladi va ro'yxat/o'qilmaganlar soni orqali ko'rinadi (to'xtashda {@link #shutdown}
+ * oxirgi marta bo'shatadi).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationFanout {
+
+    private static final String STAFF_TOPIC = "/topic/staff/notifications";
+    private static final String USER_QUEUE = "/queue/notifications";
+    private static final int DIGEST_MESSAGE_LIMIT = 1000;
+
+    private final NotificationFanoutConfig config;
+    private final StaffNotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<StaffNotification> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Bildirishnomani joriy tranzaksiyada saqlaydi va commit'dan keyin yuborish navbatiga qo'yadi.
+     * userId null — barcha xodimlar uchun.
+     */
+    @Transactional
+    public void submit(Long userId, String title, String message, StaffNotificationType type,
+                       String referenceType, Long referenceId) {
+        StaffNotification notification = StaffNotification.builder()
+                .user(userId != null ? userRepository.getReferenceById(userId) : null)
+                .title(title)
+                .message(message)
+                .notificationType(type)
+                .referenceType(referenceType)
+                .referenceId(referenceId)
+                .isRead(false)
+                .build();
+        StaffNotification saved = notificationRepository.save(notification);
+        meterRegistry.counter("app.notifications.fanout", "outcome", "stored").increment();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(saved);
+            }
+        });
+    }
+
+    /**
+     * Navbatdagi barcha bildirishnomalarni yuboradi. Bir vaqtda faqat bitta oqim bo'shatadi.
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<StaffNotification> batch = new ArrayList<>();
+            StaffNotification next;
+            while ((next = pending.poll()) != null) {
+                batch.add(next);
+            }
+            if (!batch.isEmpty()) {
+                process(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void enqueue(StaffNotification notification) {
+        pending.add(notification);
+        if (!config.isEnabled()) {
+            flush();
+        }
+    }
+
+    private void process(List<StaffNotification> batch) {
+        // Tartib saqlanadi: guruh birinchi bildirishnoma kelgan o'rinda
+        Map<GroupKey, List<StaffNotification>> groups = new LinkedHashMap<>();
+        for (StaffNotification notification : batch) {
+            Long userId = notification.getUser() != null ? notification.getUser().getId() : null;
+            groups.computeIfAbsent(new GroupKey(userId, notification.getNotificationType()), k -> new ArrayList<>())
+                    .add(notification);
+        }
+
+        int threshold = config.isEnabled() ? Math.max(2, config.getDigestThreshold()) : Integer.MAX_VALUE;
+        groups.forEach((key, items) -> {
+            if (items.size() >= threshold) {
+                sendDigest(key, items);
+            } else {
+                items.forEach(item -> sendSingle(key.userId(), item));
+            }
+        });
+    }
+
+    private void sendSingle(Long userId, StaffNotification notification) {
+        if (userId == null) {
+            notificationDispatcher.notifyAllStaff(notification);
+        } else {
+            notificationDispatcher.notifyStaff(userId, notification);
+        }
+        meterRegistry.counter("app.notifications.fanout", "outcome", "single").increment();
+    }
+
+    private void sendDigest(GroupKey key, List<StaffNotification> items) {
+        StaffNotificationDigestMessage digest = buildDigest(key.type(), items);
+        try {
+            if (key.userId() == null) {
+                messagingTemplate.convertAndSend(STAFF_TOPIC, digest);
+            } else {
+                messagingTemplate.convertAndSendToUser(key.userId().toString(), USER_QUEUE, digest);
+            }
+            log.debug("Digest yuborildi: {} ta {} (user={})", items.size(), key.type(), key.userId());
+        } catch (Exception e) {
+            log.error("Bildirishnoma digest'ini yuborib bo'lmadi: {}", e.getMessage(), e);
+        }
+        meterRegistry.counter("app.notifications.fanout", "outcome", "digest").increment();
+        meterRegistry.counter("app.notifications.fanout", "outcome", "coalesced").increment(items.size());
+    }
+
+    private StaffNotificationDigestMessage buildDigest(StaffNotificationType type, List<StaffNotification> items) {
+        int count = items.size();
+        int previewSize = Math.max(1, config.getDigestPreviewSize());
+        // Eng yangilari birinchi — REST ro'yxati bilan bir xil tartib
+        List<StaffNotificationResponse> preview = new ArrayList<>(Math.min(previewSize, count));
+        for (int i = count - 1; i >= 0 && preview.size() < previewSize; i--) {
+            preview.add(StaffNotificationResponse.from(items.get(i)));
+        }
+
+        String firstTitle = items.get(0).getTitle();
+        boolean sameTitle = items.stream().allMatch(n -> Objects.equals(n.getTitle(), firstTitle));
+        String title = sameTitle
+                ? String.format("%s (%d ta)", firstTitle, count)
+                : String.format("%d ta yangi bildirishnoma", count);
+
+        StringBuilder message = new StringBuilder();
+        for (StaffNotificationResponse item : preview) {
+            String line = sameTitle ? item.getMessage() : item.getTitle() + ": " + item.getMessage();
+            if (message.length() + line.length() + 2 > DIGEST_MESSAGE_LIMIT) {
+                break;
+            }
+            if (message.length() > 0) {
+                message.append("; ");
+            }
+            message.append(line);
+        }
+        if (count > preview.size()) {
+            message.append(String.format(" va yana %d ta", count - preview.size()));
+        }
+
+        return StaffNotificationDigestMessage.builder()
+                .type(type)
+                .count(count)
+                .title(title)
+                .message(message.toString())
+                .unreadDelta(count)
+                .items(preview)
+                .createdAt(items.get(count - 1).getCreatedAt())
+                .build();
+    }
+
+    private record GroupKey(Long userId, StaffNotificationType type) {
+    }
+}
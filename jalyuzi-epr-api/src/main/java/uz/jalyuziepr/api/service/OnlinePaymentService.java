@@ -38,6 +38,7 @@ public class OnlinePaymentService {
     private final OrderRepository orderRepository;
     private final OrderPaymentRepository orderPaymentRepository;
     private final PaymentScheduleService paymentScheduleService;
+    private final CustomerMetricsTracker customerMetricsTracker;
 
     @Value("${payment.click.secret-key:}")
     private String clickSecretKey;
@@ -227,6 +228,9 @@ public class OnlinePaymentService {
         order.setPaidAmount(newPaid);
         order.setRemainingAmount(order.getTotalAmount().subtract(newPaid).max(BigDecimal.ZERO));
         orderRepository.save(order);
+        if (order.getCustomer() != null) {
+            customerMetricsTracker.markChanged(order.getCustomer().getId());
+        }
 
         // Schedule yangilash
         try {
@@ -0,0 +1,131 @@
+package uz.jalyuziepr.api.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.jalyuziepr.api.entity.Order;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.monitoring.RequestSqlStats;
+import uz.jalyuziepr.api.repository.OrderRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Buyurtma agregatini foydalanish holatiga mos reja bo'yicha yuklaydi.
+ *
+ * Ildiz (customer, manager, measurer, installer, createdBy bilan) bitta so'rovda, rejaga kirgan
+ * har bir kolleksiya esa alohida {@code WHERE o.id IN (...)} so'rovida shu persistence context'dagi
+ * Order'lar ustiga yuklanadi. Uchta kolleksiyani bitta JOIN FETCH bilan olish
+ * items × payments × history qatorlarini qaytarardi; bu yerda so'rovlar soni rejaga qarab
+ * o'zgarmas. Rejadan tashqaridagi lazy bog'lanishlar (sale, debt va h.k.) kerak bo'lib qolsa,
+ * {@code hibernate.default_batch_fetch_size} ularni IN partiyalarida yuklaydi.
+ *
+ * Har yuklashdagi SQL soni ({@link RequestSqlStats}; HTTP so'rovdan tashqarida — masalan, @Async
+ * hujjat tayyorlashda — yuklash davomiga yoqiladi) {@code app.order.load.statements{plan}} metrikasiga yoziladi va
+ * reja byudjetidan oshsa ogohlantiriladi (N+1 regressiyasi belgisi). Byudjet faqat o'qish
+ * tranzaksiyasiga tegishli: yozish tranzaksiyasida AuditEntityListener {@code @PostLoad}
+ * snapshot'i (Order.items, User.roles) qo'shimcha so'rov yuboradi. Byudjetlar embedded Postgres'da
+ * o'lchangan sonlar; {@code OrderAggregateLoaderStatementCountTest} ularni aniq tenglik bilan tekshiradi.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderAggregateLoader {
+
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Yuklash rejalari. Ro'yxat sahifalari bu yerdan o'tmaydi: ular
+     * {@link OrderRepository#ORDER_LIST_SELECT} proyeksiyasi bilan bitta so'rovda (+ COUNT) o'qiladi.
+     */
+    public enum Plan {
+        /** Buyurtma tafsiloti, mijoz portali va status o'tishlari (OrderResponse.from): 4 so'rov */
+        DETAIL(true, true, true, 4),
+        /** Ommaviy kuzatuv sahifasi: mahsulotlar va status tarixi, to'lovlarsiz — 3 so'rov */
+        TRACKING(true, false, true, 3),
+        /** PDF hujjatlar va qayta o'lchov: faqat mahsulotlar — 2 so'rov */
+        DOCUMENT(true, false, false, 2);
+
+        private final boolean items;
+        private final boolean payments;
+        private final boolean statusHistory;
+        private final int expectedStatements;
+
+        Plan(boolean items, boolean payments, boolean statusHistory, int expectedStatements) {
+            this.items = items;
+            this.payments = payments;
+            this.statusHistory = statusHistory;
+            this.expectedStatements = expectedStatements;
+        }
+
+        public int getExpectedStatements() {
+            return expectedStatements;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Order load(Long orderId, Plan plan) {
+        return measured(plan, () -> {
+            Order order = orderRepository.findRootById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Buyurtma", "id", orderId));
+            fetchCollections(order, plan);
+            return order;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Order> findByTrackingCode(String code, Plan plan) {
+        return measured(plan, () -> {
+            Optional<Order> order = orderRepository.findRootByTrackingCode(code);
+            order.ifPresent(o -> fetchCollections(o, plan));
+            return order;
+        });
+    }
+
+    private void fetchCollections(Order order, Plan plan) {
+        List<Long> ids = List.of(order.getId());
+        if (plan.items) {
+            orderRepository.fetchItems(ids);
+        }
+        if (plan.payments) {
+            orderRepository.fetchPayments(ids);
+        }
+        if (plan.statusHistory) {
+            orderRepository.fetchStatusHistory(ids);
+        }
+    }
+
+    private <T> T measured(Plan plan, Supplier<T> load) {
+        boolean ownStats = RequestSqlStats.current() == null;
+        if (ownStats) {
+            RequestSqlStats.begin();
+        }
+        RequestSqlStats stats = RequestSqlStats.current();
+        long before = stats.getStatements();
+        try {
+            return load.get();
+        } finally {
+            long statements = stats.getStatements() - before;
+            if (ownStats) {
+                RequestSqlStats.end();
+            }
+            DistributionSummary.builder("app.order.load.statements")
+                    .description("Buyurtma agregatini yuklashdagi SQL soni")
+                    .tag("plan", plan.name())
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > plan.getExpectedStatements()
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                log.warn("Buyurtma yuklash rejasi {}: {} ta SQL (kutilgan <= {})",
+                        plan, statements, plan.getExpectedStatements());
+            }
+        }
+    }
+}
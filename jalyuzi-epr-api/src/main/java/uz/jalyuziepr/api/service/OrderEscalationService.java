@@ -79,7 +79,7 @@ public class OrderEscalationService {
         OrderEscalation saved = escalationRepository.save(escalation);
         log.info("Eskalatsiya yaratildi: order={}, reason={}, by={}", orderId, reason, saved.getCreatedByName());
 
-        // Barcha menejerlarga real-time ogohlantirish (createGlobalNotification ichida WebSocket broadcast bor)
+        // Barcha menejerlarga ogohlantirish: shu tranzaksiyada saqlanadi, commit'dan keyin NotificationFanout WebSocket orqali yuboradi
         String who = saved.getCreatedByName() != null ? saved.getCreatedByName() : "O'rnatuvchi";
         String msg = order.getOrderNumber() + ": " + reason.getLabel() + " — " + who;
         if (saved.getDescription() != null) {
@@ -7,6 +7,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uz.jalyuziepr.api.dto.request.BulkRemeasureRequest;
+import uz.jalyuziepr.api.dto.response.BulkRemeasureQuoteResponse;
 import uz.jalyuziepr.api.dto.response.OrderItemRevisionResponse;
 import uz.jalyuziepr.api.dto.response.RemeasureQuoteResponse;
 import uz.jalyuziepr.api.entity.Order;
@@ -26,14 +28,23 @@ import uz.jalyuziepr.api.security.CustomUserDetails;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Joyida qayta o'lchov + narx qayta-hisoblash (menejer tasdig'i bilan).
  *  - O'rnatuvchi yangi o'lcham kiritadi -> onlik narx kotirovkasi (quote)
  *  - "Menejerga yuborish" -> PENDING revision + barcha menejerlarga real-time xabar
  *  - Menejer tasdiqlasa -> buyurtma mahsuloti o'lchami/narxi va buyurtma jamilari yangilanadi
+ *  - Ko'p derazali xonadon uchun *Batch variantlari: bitta so'rov, bitta jamilar hisobi, bitta xabar
  */
 @Service
 @RequiredArgsConstructor
@@ -42,6 +53,7 @@ public class OrderItemRevisionService {
 
     private final OrderItemRevisionRepository revisionRepository;
     private final OrderRepository orderRepository;
+    private final OrderAggregateLoader orderAggregateLoader;
     private final OrderPriceCalculationService priceService;
     private final StaffNotificationService staffNotificationService;
 
@@ -60,6 +72,35 @@ public class OrderItemRevisionService {
         return computeQuote(item, widthMm, heightMm);
     }
 
+    /**
+     * Ko'p mahsulotli kotirovka (saqlanmaydi): buyurtma bir marta yuklanadi, har bir qator narxi
+     * va chegirmali buyurtma jamisi o'zgarishlar qo'llangandek bir marta hisoblanadi.
+     */
+    @Transactional(readOnly = true)
+    public BulkRemeasureQuoteResponse quoteBatch(Long orderId, List<BulkRemeasureRequest.Item> changes) {
+        Order order = loadOrder(orderId);
+        assertRevisable(order);
+        authorizeInstaller(order, currentUser());
+        List<PricedChange> priced = priceChanges(order, changes);
+
+        Map<Long, OrderItem> replaced = new HashMap<>();
+        priced.forEach(c -> replaced.put(c.item().getId(), c.repriced()));
+        List<OrderItem> projected = order.getItems().stream()
+                .map(i -> replaced.getOrDefault(i.getId(), i))
+                .toList();
+        var totals = priceService.calculateOrderTotals(
+                projected, order.getDiscountAmount(), order.getDiscountPercent());
+
+        BigDecimal oldTotal = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+        return BulkRemeasureQuoteResponse.builder()
+                .orderId(order.getId())
+                .items(priced.stream().map(PricedChange::quote).toList())
+                .oldTotalAmount(oldTotal)
+                .newTotalAmount(totals.totalAmount())
+                .delta(totals.totalAmount().subtract(oldTotal))
+                .build();
+    }
+
     /**
      * Qayta o'lchov so'rovini yaratish (menejer tasdig'iga yuborish).
      */
@@ -74,26 +115,7 @@ public class OrderItemRevisionService {
         authorizeInstaller(order, me);
 
         RemeasureQuoteResponse q = computeQuote(item, widthMm, heightMm);
-
-        OrderItemRevision rev = OrderItemRevision.builder()
-                .orderId(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .orderItemId(item.getId())
-                .productName(item.getProduct() != null ? item.getProduct().getName() : null)
-                .roomName(item.getRoomName())
-                .oldWidthMm(q.getOldWidthMm())
-                .oldHeightMm(q.getOldHeightMm())
-                .oldTotalPrice(q.getOldTotalPrice())
-                .newWidthMm(q.getNewWidthMm())
-                .newHeightMm(q.getNewHeightMm())
-                .newTotalPrice(q.getNewTotalPrice())
-                .delta(q.getDelta())
-                .status(RevisionStatus.PENDING)
-                .note(note != null && !note.isBlank() ? note.trim() : null)
-                .requestedBy(me != null ? me.getId() : null)
-                .requestedByName(me != null ? me.getFullName() : null)
-                .createdAt(LocalDateTime.now())
-                .build();
+        OrderItemRevision rev = buildRevision(order, item, q, note, me);
 
         OrderItemRevision saved = revisionRepository.save(rev);
         log.info("Qayta o'lchov so'rovi: order={}, item={}, delta={}", orderId, itemId, saved.getDelta());
@@ -110,48 +132,95 @@ public class OrderItemRevisionService {
         return OrderItemRevisionResponse.from(saved);
     }
 
+    /**
+     * Bir nechta qayta o'lchov so'rovini bitta tranzaksiyada yaratadi: buyurtma bir marta
+     * yuklanadi, barcha so'rovlar bitta INSERT partiyasida saqlanadi va menejerlarga bitta
+     * umumlashtirilgan xabar yuboriladi.
+     */
+    @Transactional
+    public List<OrderItemRevisionResponse> requestRevisionBatch(Long orderId, List<BulkRemeasureRequest.Item> changes,
+                                                                String note) {
+        Order order = loadOrder(orderId);
+        assertRevisable(order);
+        CustomUserDetails me = currentUser();
+        authorizeInstaller(order, me);
+
+        List<OrderItemRevision> revisions = priceChanges(order, changes).stream()
+                .map(c -> buildRevision(order, c.item(), c.quote(), note, me))
+                .toList();
+        List<OrderItemRevision> saved = revisionRepository.saveAll(revisions);
+
+        BigDecimal totalDelta = sumDelta(saved);
+        log.info("Qayta o'lchov so'rovlari: order={}, items={}, delta={}", orderId, saved.size(), totalDelta);
+
+        staffNotificationService.createGlobalNotification(
+                "📐 Qayta o'lchov so'rovi",
+                order.getOrderNumber() + ": " + describe(saved) + " — " + formatDelta(totalDelta),
+                StaffNotificationType.WARNING,
+                "REVISION",
+                orderId);
+
+        return saved.stream().map(OrderItemRevisionResponse::from).toList();
+    }
+
     /**
      * Tasdiqlash — yangi o'lcham/narx buyurtmaga qo'llanadi va jamilar qayta hisoblanadi.
      */
     @Transactional
     public OrderItemRevisionResponse approve(Long revisionId, String note) {
-        OrderItemRevision rev = revisionRepository.findById(revisionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Qayta o'lchov", "id", revisionId));
-        if (rev.getStatus() != RevisionStatus.PENDING) {
-            throw new BadRequestException("Bu so'rov allaqachon ko'rib chiqilgan");
-        }
-
-        Order order = loadOrder(rev.getOrderId());
-        assertRevisable(order);
-        OrderItem item = findItem(order, rev.getOrderItemId());
+        return approveBatch(List.of(revisionId), note).get(0);
+    }
 
-        // Yangi o'lchamni qo'llaymiz va mahsulot narxini qayta hisoblaymiz
-        item.setWidthMm(rev.getNewWidthMm());
-        item.setHeightMm(rev.getNewHeightMm());
-        priceService.calculateItemPrice(item, item.getProduct());
+    /**
+     * Bir nechta so'rovni tasdiqlash. So'rovlar buyurtma bo'yicha guruhlanadi: har bir buyurtma
+     * bir marta yuklanadi, barcha o'lchamlar qo'llangach jamilar bir marta qayta hisoblanadi va
+     * buyurtma bir marta saqlanadi (bitta audit yozuvi). O'rnatuvchiga har buyurtma uchun bitta xabar.
+     * Bir qatorga bir nechta so'rov bo'lsa faqat eng oxirgisi qo'llanadi (APPROVED), oldingilari
+     * SUPERSEDED bo'ladi.
+     */
+    @Transactional
+    public List<OrderItemRevisionResponse> approveBatch(List<Long> revisionIds, String note) {
+        List<OrderItemRevision> revisions = loadPending(revisionIds);
 
-        // Buyurtma jamilarini qayta hisoblash (OrderService.submitMeasurements bilan bir xil naqsh)
-        var totals = priceService.calculateOrderTotals(
-                order.getItems(), order.getDiscountAmount(), order.getDiscountPercent());
-        order.setSubtotal(totals.subtotal());
-        order.setTotalAmount(totals.totalAmount());
-        order.setRemainingAmount(totals.totalAmount().subtract(order.getPaidAmount()));
-        order.setCostTotal(totals.costTotal());
-        orderRepository.save(order);
+        Map<Long, List<OrderItemRevision>> byOrder = new LinkedHashMap<>();
+        for (OrderItemRevision rev : revisions) {
+            byOrder.computeIfAbsent(rev.getOrderId(), k -> new ArrayList<>()).add(rev);
+        }
 
         CustomUserDetails me = currentUser();
-        rev.setStatus(RevisionStatus.APPROVED);
-        rev.setDecidedBy(me != null ? me.getId() : null);
-        rev.setDecidedByName(me != null ? me.getFullName() : null);
-        rev.setDecisionNote(note != null && !note.isBlank() ? note.trim() : null);
-        rev.setDecidedAt(LocalDateTime.now());
-        OrderItemRevision saved = revisionRepository.save(rev);
-
-        notifyRequester(saved, "✅ Qayta o'lchov tasdiqlandi",
-                saved.getOrderNumber() + ": yangi narx qabul qilindi (" + formatDelta(saved.getDelta()) + ")");
+        Map<Long, List<OrderItemRevision>> effectiveByOrder = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<OrderItemRevision>> group : byOrder.entrySet()) {
+            Order order = loadOrder(group.getKey());
+            assertRevisable(order);
+            List<OrderItemRevision> effective = latestPerItem(group.getValue());
+            applyRevisions(order, effective);
+            Map<Long, OrderItemRevision> latestByItem = new HashMap<>();
+            effective.forEach(rev -> latestByItem.put(rev.getOrderItemId(), rev));
+            for (OrderItemRevision rev : group.getValue()) {
+                OrderItemRevision latest = latestByItem.get(rev.getOrderItemId());
+                if (latest == rev) {
+                    decide(rev, RevisionStatus.APPROVED, note, me);
+                } else {
+                    decide(rev, RevisionStatus.SUPERSEDED,
+                            "Shu qator uchun keyingi so'rov (#" + latest.getId() + ") qo'llandi", me);
+                }
+            }
+            effectiveByOrder.put(group.getKey(), effective);
+        }
+        List<OrderItemRevision> saved = revisionRepository.saveAll(revisions);
+
+        for (List<OrderItemRevision> effective : effectiveByOrder.values()) {
+            OrderItemRevision first = effective.get(0);
+            String message = effective.size() == 1
+                    ? first.getOrderNumber() + ": yangi narx qabul qilindi (" + formatDelta(effective.get(0).getDelta()) + ")"
+                    : first.getOrderNumber() + ": " + describe(effective) + " bo'yicha yangi narx qabul qilindi ("
+                            + formatDelta(sumDelta(effective)) + ")";
+            notifyRequester(first, "✅ Qayta o'lchov tasdiqlandi", message);
+            log.info("Qayta o'lchov tasdiqlandi: ids={}, order={}",
+                    effective.stream().map(OrderItemRevision::getId).toList(), first.getOrderId());
+        }
 
-        log.info("Qayta o'lchov tasdiqlandi: id={}, order={}", revisionId, order.getId());
-        return OrderItemRevisionResponse.from(saved);
+        return saved.stream().map(OrderItemRevisionResponse::from).toList();
     }
 
     /**
@@ -165,12 +234,7 @@ public class OrderItemRevisionService {
             throw new BadRequestException("Bu so'rov allaqachon ko'rib chiqilgan");
         }
 
-        CustomUserDetails me = currentUser();
-        rev.setStatus(RevisionStatus.REJECTED);
-        rev.setDecidedBy(me != null ? me.getId() : null);
-        rev.setDecidedByName(me != null ? me.getFullName() : null);
-        rev.setDecisionNote(note != null && !note.isBlank() ? note.trim() : null);
-        rev.setDecidedAt(LocalDateTime.now());
+        decide(rev, RevisionStatus.REJECTED, note, currentUser());
         OrderItemRevision saved = revisionRepository.save(rev);
 
         notifyRequester(saved, "❌ Qayta o'lchov rad etildi",
@@ -202,7 +266,139 @@ public class OrderItemRevisionService {
 
     // ===== Yordamchilar =====
 
+    /** Tekshirilgan o'zgarish: buyurtmadagi qator, yangi o'lchamda hisoblangan nusxasi va kotirovka */
+    private record PricedChange(OrderItem item, OrderItem repriced, RemeasureQuoteResponse quote) {
+    }
+
+    private List<PricedChange> priceChanges(Order order, List<BulkRemeasureRequest.Item> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new BadRequestException("Kamida bitta o'lchov bo'lishi kerak");
+        }
+        Map<Long, OrderItem> items = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            items.put(item.getId(), item);
+        }
+        Set<Long> seen = new HashSet<>();
+        List<PricedChange> result = new ArrayList<>(changes.size());
+        for (BulkRemeasureRequest.Item change : changes) {
+            validateDimensions(change.getWidthMm(), change.getHeightMm());
+            if (!seen.add(change.getItemId())) {
+                throw new BadRequestException("Mahsulot qatori takrorlangan: " + change.getItemId());
+            }
+            OrderItem item = items.get(change.getItemId());
+            if (item == null) {
+                throw new ResourceNotFoundException("OrderItem", "id", change.getItemId());
+            }
+            OrderItem repriced = priceAt(item, change.getWidthMm(), change.getHeightMm());
+            result.add(new PricedChange(item, repriced, toQuote(item, repriced)));
+        }
+        return result;
+    }
+
+    private OrderItemRevision buildRevision(Order order, OrderItem item, RemeasureQuoteResponse q,
+                                            String note, CustomUserDetails me) {
+        return OrderItemRevision.builder()
+                .orderId(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .orderItemId(item.getId())
+                .productName(item.getProduct() != null ? item.getProduct().getName() : null)
+                .roomName(item.getRoomName())
+                .oldWidthMm(q.getOldWidthMm())
+                .oldHeightMm(q.getOldHeightMm())
+                .oldTotalPrice(q.getOldTotalPrice())
+                .newWidthMm(q.getNewWidthMm())
+                .newHeightMm(q.getNewHeightMm())
+                .newTotalPrice(q.getNewTotalPrice())
+                .delta(q.getDelta())
+                .status(RevisionStatus.PENDING)
+                .note(note != null && !note.isBlank() ? note.trim() : null)
+                .requestedBy(me != null ? me.getId() : null)
+                .requestedByName(me != null ? me.getFullName() : null)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private List<OrderItemRevision> loadPending(List<Long> revisionIds) {
+        if (revisionIds == null || revisionIds.isEmpty()) {
+            throw new BadRequestException("Kamida bitta so'rov tanlanishi kerak");
+        }
+        Set<Long> ids = new LinkedHashSet<>(revisionIds);
+        List<OrderItemRevision> revisions = new ArrayList<>(revisionRepository.findAllById(ids));
+        if (revisions.size() != ids.size()) {
+            Set<Long> found = new HashSet<>();
+            revisions.forEach(r -> found.add(r.getId()));
+            Long missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ResourceNotFoundException("Qayta o'lchov", "id", missing);
+        }
+        for (OrderItemRevision rev : revisions) {
+            if (rev.getStatus() != RevisionStatus.PENDING) {
+                throw new BadRequestException("Bu so'rov allaqachon ko'rib chiqilgan");
+            }
+        }
+        // Bir qatorga bir nechta so'rov bo'lsa, eng oxirgisi ustun bo'lsin
+        revisions.sort(Comparator.comparing(OrderItemRevision::getCreatedAt)
+                .thenComparing(OrderItemRevision::getId));
+        return revisions;
+    }
+
+    /**
+     * Yangi o'lchamlarni qo'llaydi va buyurtma jamilarini bir marta qayta hisoblaydi
+     * (OrderService.submitMeasurements bilan bir xil naqsh)
+     */
+    private void applyRevisions(Order order, List<OrderItemRevision> revisions) {
+        for (OrderItemRevision rev : revisions) {
+            OrderItem item = findItem(order, rev.getOrderItemId());
+            item.setWidthMm(rev.getNewWidthMm());
+            item.setHeightMm(rev.getNewHeightMm());
+            priceService.calculateItemPrice(item, item.getProduct());
+        }
+
+        var totals = priceService.calculateOrderTotals(
+                order.getItems(), order.getDiscountAmount(), order.getDiscountPercent());
+        order.setSubtotal(totals.subtotal());
+        order.setTotalAmount(totals.totalAmount());
+        order.setRemainingAmount(totals.totalAmount().subtract(order.getPaidAmount()));
+        order.setCostTotal(totals.costTotal());
+        orderRepository.save(order);
+    }
+
+    private void decide(OrderItemRevision rev, RevisionStatus status, String note, CustomUserDetails me) {
+        rev.setStatus(status);
+        rev.setDecidedBy(me != null ? me.getId() : null);
+        rev.setDecidedByName(me != null ? me.getFullName() : null);
+        rev.setDecisionNote(note != null && !note.isBlank() ? note.trim() : null);
+        rev.setDecidedAt(LocalDateTime.now());
+    }
+
+    /** Har bir qator uchun oxirgi so'rov (loadPending tartibi — createdAt bo'yicha) */
+    private List<OrderItemRevision> latestPerItem(List<OrderItemRevision> revisions) {
+        Map<Long, OrderItemRevision> latest = new LinkedHashMap<>();
+        for (OrderItemRevision rev : revisions) {
+            latest.remove(rev.getOrderItemId());
+            latest.put(rev.getOrderItemId(), rev);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private BigDecimal sumDelta(List<OrderItemRevision> revisions) {
+        return revisions.stream()
+                .map(r -> r.getDelta() != null ? r.getDelta() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /** Xabar matni uchun: bitta bo'lsa mahsulot nomi, aks holda "N ta mahsulot" */
+    private String describe(List<OrderItemRevision> revisions) {
+        return revisions.size() == 1
+                ? String.valueOf(revisions.get(0).getProductName())
+                : revisions.size() + " ta mahsulot";
+    }
+
     private RemeasureQuoteResponse computeQuote(OrderItem item, Integer newWidth, Integer newHeight) {
+        return toQuote(item, priceAt(item, newWidth, newHeight));
+    }
+
+    /** Qatorning yangi o'lchamdagi hisoblangan nusxasi (asl qator o'zgarmaydi) */
+    private OrderItem priceAt(OrderItem item, Integer newWidth, Integer newHeight) {
         Product product = item.getProduct();
         OrderItem tmp = OrderItem.builder()
                 .product(product)
@@ -213,25 +409,28 @@ public class OrderItemRevisionService {
                 .heightMm(newHeight)
                 .build();
         priceService.calculateItemPrice(tmp, product);
+        return tmp;
+    }
 
+    private RemeasureQuoteResponse toQuote(OrderItem item, OrderItem repriced) {
         BigDecimal oldTotal = item.getTotalPrice() != null ? item.getTotalPrice() : BigDecimal.ZERO;
-        BigDecimal newTotal = tmp.getTotalPrice() != null ? tmp.getTotalPrice() : BigDecimal.ZERO;
+        BigDecimal newTotal = repriced.getTotalPrice() != null ? repriced.getTotalPrice() : BigDecimal.ZERO;
         return RemeasureQuoteResponse.builder()
+                .orderItemId(item.getId())
                 .oldWidthMm(item.getWidthMm())
                 .oldHeightMm(item.getHeightMm())
                 .oldTotalPrice(oldTotal)
-                .newWidthMm(newWidth)
-                .newHeightMm(newHeight)
-                .newCalculatedSqm(tmp.getCalculatedSqm())
-                .newUnitPrice(tmp.getUnitPrice())
+                .newWidthMm(repriced.getWidthMm())
+                .newHeightMm(repriced.getHeightMm())
+                .newCalculatedSqm(repriced.getCalculatedSqm())
+                .newUnitPrice(repriced.getUnitPrice())
                 .newTotalPrice(newTotal)
                 .delta(newTotal.subtract(oldTotal))
                 .build();
     }
 
     private Order loadOrder(Long orderId) {
-        return orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        return orderAggregateLoader.load(orderId, OrderAggregateLoader.Plan.DOCUMENT);
     }
 
     private OrderItem findItem(Order order, Long itemId) {
@@ -3,6 +3,7 @@ package uz.jalyuziepr.api.service;
 import org.springframework.stereotype.Service;
 import uz.jalyuziepr.api.entity.OrderItem;
 import uz.jalyuziepr.api.entity.Product;
+import uz.jalyuziepr.api.util.PriceMath;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -18,8 +19,16 @@ public class OrderPriceCalculationService {
         BigDecimal unitPrice;
         BigDecimal calculatedSqm = null;
 
-        if (item.getWidthMm() != null && item.getHeightMm() != null && product.getPricePerSquareMeter() != null) {
-            // Kvadrat metr bo'yicha hisoblash
+        if (item.getWidthMm() != null && item.getHeightMm() != null
+                && PriceMath.isMinorExact(product.getPricePerSquareMeter())) {
+            // Kvadrat metr bo'yicha hisoblash — tiyinda, BigDecimal zanjirisiz (natija bir xil)
+            long sqmUnits = PriceMath.squareMeterUnits(item.getWidthMm(), item.getHeightMm());
+            long unitMinor = PriceMath.areaPrice(PriceMath.toMinor(product.getPricePerSquareMeter()),
+                    sqmUnits, PriceMath.MONEY_SCALE, RoundingMode.HALF_UP);
+            calculatedSqm = BigDecimal.valueOf(sqmUnits, PriceMath.AREA_SCALE);
+            unitPrice = BigDecimal.valueOf(unitMinor, PriceMath.MONEY_SCALE);
+        } else if (item.getWidthMm() != null && item.getHeightMm() != null && product.getPricePerSquareMeter() != null) {
+            // Tiyinda ifodalanmaydigan narx (masalan saqlanmagan, 2 xonadan ortiq kasrli)
             calculatedSqm = BigDecimal.valueOf(item.getWidthMm())
                     .multiply(BigDecimal.valueOf(item.getHeightMm()))
                     .divide(BigDecimal.valueOf(1_000_000), 4, RoundingMode.HALF_UP);
@@ -3,6 +3,7 @@ package uz.jalyuziepr.api.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uz.jalyuziepr.api.dto.request.*;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.OrderResponse;
 import uz.jalyuziepr.api.dto.response.OrderStatsResponse;
 import uz.jalyuziepr.api.entity.*;
@@ -17,8 +19,12 @@ import uz.jalyuziepr.api.enums.*;
 import uz.jalyuziepr.api.exception.BadRequestException;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.*;
+import uz.jalyuziepr.api.repository.projection.OrderListView;
 import uz.jalyuziepr.api.security.CustomUserDetails;
-import uz.jalyuziepr.api.service.export.OrderDocumentService;
+import uz.jalyuziepr.api.service.export.OrderDocumentCache;
+import uz.jalyuziepr.api.service.outbox.OutboxPayload;
+import uz.jalyuziepr.api.service.outbox.OutboxService;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -48,34 +54,64 @@ public class OrderService {
     private final SettingsService settingsService;
     private final ProductionService productionService;
     private final PaymentScheduleService paymentScheduleService;
-    private final OrderDocumentService orderDocumentService;
-    private final TelegramService telegramService;
+    private final OutboxService outboxService;
     private final TelegramPhoneLinkRepository telegramPhoneLinkRepository;
     private final OrderTrackingService orderTrackingService;
+    private final CustomerMetricsTracker customerMetricsTracker;
+    private final CustomerLedgerService customerLedgerService;
+    private final OrderDocumentCache orderDocumentCache;
+    private final OrderAggregateLoader orderAggregateLoader;
 
     // ==================== QUERY ====================
 
     @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrders(OrderStatus status, String search, Pageable pageable) {
         if (search != null && !search.isBlank()) {
-            return orderRepository.searchOrders(search.trim(), pageable).map(OrderResponse::fromList);
+            return orderRepository.searchOrderList(search.trim(), pageable).map(OrderResponse::fromList);
         }
         if (status != null) {
-            return orderRepository.findByStatus(status, pageable).map(OrderResponse::fromList);
+            return orderRepository.findOrderListByStatus(status, pageable).map(OrderResponse::fromList);
         }
-        return orderRepository.findAll(pageable).map(OrderResponse::fromList);
+        return orderRepository.findOrderList(pageable).map(OrderResponse::fromList);
+    }
+
+    /**
+     * Cursor rejimidagi ro'yxat (createdAt DESC, id DESC). Jami son faqat {@code withTotal} bo'lsa hisoblanadi.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderResponse> getOrdersCursor(OrderStatus status, String search,
+                                                              String cursor, int limit, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        String term = search != null && !search.isBlank() ? search.trim() : null;
+
+        List<OrderListView> rows;
+        Long total = null;
+        if (term != null) {
+            rows = orderRepository.searchOrderListAfter(term, after.at(), after.id(), fetch);
+            if (withTotal) total = orderRepository.countSearchOrderList(term);
+        } else if (status != null) {
+            rows = orderRepository.findOrderListByStatusAfter(status, after.at(), after.id(), fetch);
+            if (withTotal) total = orderRepository.countByStatus(status);
+        } else {
+            rows = orderRepository.findOrderListAfter(after.at(), after.id(), fetch);
+            if (withTotal) total = orderRepository.count();
+        }
+        return CursorPagedResponse.of(rows, limit,
+                v -> new KeysetCursor(v.getCreatedAt(), v.getId()),
+                page -> page.stream().map(OrderResponse::fromList).toList(),
+                total);
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findByIdWithAllDetails(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Buyurtma", "id", id));
+        Order order = orderAggregateLoader.load(id, OrderAggregateLoader.Plan.DETAIL);
         return OrderResponse.from(order);
     }
 
     @Transactional(readOnly = true)
     public Page<OrderResponse> getCustomerOrders(Long customerId, Pageable pageable) {
-        return orderRepository.findByCustomerId(customerId, pageable).map(OrderResponse::fromList);
+        return orderRepository.findOrderListByCustomerId(customerId, pageable).map(OrderResponse::fromList);
     }
 
     /**
@@ -84,8 +120,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderResponse getOrderByIdForCustomer(Long orderId, Long customerId) {
-        Order order = orderRepository.findByIdWithAllDetails(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Buyurtma", "id", orderId));
+        Order order = orderAggregateLoader.load(orderId, OrderAggregateLoader.Plan.DETAIL);
 
         if (order.getCustomer() == null || !order.getCustomer().getId().equals(customerId)) {
             throw new ResourceNotFoundException("Buyurtma", "id", orderId);
@@ -94,6 +129,17 @@ public class OrderService {
         return OrderResponse.fromForCustomer(order);
     }
 
+    /**
+     * Mijoz portali uchun keshdagi hujjat (faqat o'z buyurtmasi; buyurtma grafi yuklanmaydi)
+     */
+    public OrderDocumentCache.CachedDocument getDocumentForCustomer(Long orderId, Long customerId, String typeCode) {
+        OrderDocumentType type = OrderDocumentType.fromCode(typeCode);
+        if (type == null || !orderRepository.existsByIdAndCustomerId(orderId, customerId)) {
+            throw new ResourceNotFoundException("Buyurtma hujjati", "id", orderId);
+        }
+        return orderDocumentCache.get(orderId, type);
+    }
+
     @Transactional(readOnly = true)
     public List<OrderResponse> getInstallerOrders(Long installerId) {
         List<OrderStatus> activeStatuses = List.of(
@@ -102,7 +148,7 @@ public class OrderService {
                 OrderStatus.ORNATISH_BAJARILDI,
                 OrderStatus.TOLOV_KUTILMOQDA
         );
-        return orderRepository.findByInstallerIdAndStatusIn(installerId, activeStatuses).stream()
+        return orderRepository.findOrderListByInstallerIdAndStatusIn(installerId, activeStatuses).stream()
                 .map(OrderResponse::fromList)
                 .toList();
     }
@@ -125,9 +171,9 @@ public class OrderService {
             if (!INSTALLATION_PHASE_STATUSES.contains(status)) {
                 throw new BadRequestException("Bu status o'rnatish bosqichiga tegishli emas");
             }
-            return orderRepository.findByStatus(status, pageable).map(OrderResponse::fromList);
+            return orderRepository.findOrderListByStatus(status, pageable).map(OrderResponse::fromList);
         }
-        return orderRepository.findByStatusIn(INSTALLATION_PHASE_STATUSES, pageable).map(OrderResponse::fromList);
+        return orderRepository.findOrderListByStatusIn(INSTALLATION_PHASE_STATUSES, pageable).map(OrderResponse::fromList);
     }
 
     @Transactional(readOnly = true)
@@ -215,6 +261,7 @@ public class OrderService {
         addStatusHistory(order, null, OrderStatus.YANGI, currentUser, "Buyurtma yaratildi");
 
         Order saved = orderRepository.save(order);
+        customerMetricsTracker.markChanged(customer.getId());
 
         // Notification
         staffNotificationService.notifyNewOrder(
@@ -299,6 +346,7 @@ public class OrderService {
                 "Onlayn buyurtmadan aylantirildi: " + sale.getInvoiceNumber());
 
         Order saved = orderRepository.save(order);
+        customerMetricsTracker.markChanged(customer.getId());
 
         staffNotificationService.notifyNewOrder(
                 saved.getOrderNumber(), customer.getFullName(), saved.getId());
@@ -428,15 +476,12 @@ public class OrderService {
         }
 
         // "Jalyuzimni kuzat" — zaklad qabul qilinib, ishlab chiqarish boshlangani uchun
-        // mijozга kuzatuv havolasini yuboramiz (asosiy kanal — Telegram; commit'dan keyin, tashqi chaqiruv).
-        // chatId'ni hozir, mijoz hali managed holatda, hisoblab olamiz.
-        final Long trackChatId = resolveCustomerChatId(saved.getCustomer());
-        final String trackPhone = saved.getCustomer() != null ? saved.getCustomer().getPhone() : null;
-        final String trackOrderNumber = saved.getOrderNumber();
-        final Long trackOrderId = saved.getId();
-        final String trackCode = saved.getTrackingCode();
-        registerAfterCommit(() ->
-                orderTrackingService.sendTrackingLink(trackChatId, trackPhone, trackOrderNumber, trackOrderId, trackCode));
+        // mijozга kuzatuv havolasini yuboramiz (asosiy kanal — Telegram). Xabar shu tranzaksiyada
+        // outbox'ga yoziladi — to'lov rollback bo'lsa xabar ham ketmaydi; yuborishni dispetcher bajaradi.
+        orderTrackingService.queueTrackingLink(
+                resolveCustomerChatId(saved.getCustomer()),
+                saved.getCustomer() != null ? saved.getCustomer().getPhone() : null,
+                saved.getOrderNumber(), saved.getId(), saved.getTrackingCode());
 
         return OrderResponse.from(saved);
     }
@@ -553,7 +598,8 @@ public class OrderService {
         }
 
         changeStatus(order, OrderStatus.ORNATISH_BAJARILDI, currentUser, notes);
-        Order saved = orderRepository.save(order);
+        // flush — yangi status tarixi yozuvi ID oladi (akt kaliti shu o'tishga bog'lanadi)
+        Order saved = orderRepository.saveAndFlush(order);
 
         // Notify manager
         staffNotificationService.createGlobalNotification(
@@ -562,14 +608,11 @@ public class OrderService {
                         order.getOrderNumber()),
                 StaffNotificationType.SUCCESS, "ORDER", saved.getId());
 
-        // Telegram kvitansiyani tranzaksiyadan TASHQARIda — commit'dan keyin yuboramiz.
-        // Tashqi (sekin) HTTP so'rovi DB ulanishi/tranzaksiyasini ushlab turmasligi kerak.
-        // chatId'ni hozir, mijoz hali managed holatda, hisoblab olamiz.
-        final Long chatId = resolveCustomerChatId(saved.getCustomer());
-        final Long savedId = saved.getId();
-        final String orderNumber = saved.getOrderNumber();
-        final BigDecimal remaining = saved.getRemainingAmount();
-        registerAfterCommit(() -> sendCompletionReceipt(savedId, orderNumber, remaining, chatId));
+        // Telegram kvitansiya outbox orqali: PDF generatsiyasi va tashqi (sekin) HTTP so'rovi
+        // dispetcher pul'ida bajariladi, DB ulanishi/tranzaksiyasini ushlab turmaydi.
+        queueCompletionReceipt(saved.getId(), saved.getOrderNumber(), saved.getRemainingAmount(),
+                resolveCustomerChatId(saved.getCustomer()),
+                latestStatusHistoryId(saved, OrderStatus.ORNATISH_BAJARILDI));
 
         return OrderResponse.from(saved);
     }
@@ -593,34 +636,28 @@ public class OrderService {
 
     /**
      * Yakunlangan o'rnatish uchun imzolangan akt-kvitansiyani (PDF) mijozning
-     * Telegram'iga yuboradi. Telegram nosozligi o'rnatishni yakunlashga to'sqinlik
-     * qilmasligi kerak — shuning uchun barcha xatolar yutiladi va menejerga
-     * ogohlantirish yuboriladi.
+     * Telegram'iga yuborishni navbatga qo'yadi. PDF hujjat keshidan olinadi (status
+     * o'zgarganda oldindan tayyorlanadi); barcha urinishlar muvaffaqiyatsiz bo'lsa menejerga ogohlantirish yuboriladi.
+     * Kalit status tarixi yozuviga bog'langan: buyurtma qayta ochilib yana yakunlansa, yangi akt ham yuboriladi.
      */
-    private void sendCompletionReceipt(Long orderId, String orderNumber, BigDecimal remaining, Long chatId) {
-        try {
-            if (chatId == null) {
-                log.info("Buyurtma {} uchun mijoz Telegram'ga ulanmagan — kvitansiya yuborilmadi", orderNumber);
-                staffNotificationService.createGlobalNotification(
-                        "Telegram kvitansiya yuborilmadi",
-                        String.format("Buyurtma %s: mijoz Telegram'ga ulanmagan, aktni qo'lda yuboring", orderNumber),
-                        StaffNotificationType.WARNING, "ORDER", orderId);
-                return;
-            }
-
-            byte[] pdf = orderDocumentService.generateInstallationAct(orderId);
-            boolean sent = telegramService.sendDocument(
-                    chatId, pdf, "akt-" + orderNumber + ".pdf", buildReceiptCaption(orderNumber, remaining));
-
-            if (!sent) {
-                staffNotificationService.createGlobalNotification(
-                        "Telegram kvitansiya yuborilmadi",
-                        String.format("Buyurtma %s: Telegram'ga aktni yuborib bo'lmadi", orderNumber),
-                        StaffNotificationType.WARNING, "ORDER", orderId);
-            }
-        } catch (Exception e) {
-            log.warn("Buyurtma {} uchun Telegram kvitansiyani yuborishda xatolik: {}", orderNumber, e.getMessage());
+    private void queueCompletionReceipt(Long orderId, String orderNumber, BigDecimal remaining, Long chatId,
+                                        Long statusHistoryId) {
+        if (chatId == null) {
+            log.info("Buyurtma {} uchun mijoz Telegram'ga ulanmagan — kvitansiya yuborilmadi", orderNumber);
+            staffNotificationService.createGlobalNotification(
+                    "Telegram kvitansiya yuborilmadi",
+                    String.format("Buyurtma %s: mijoz Telegram'ga ulanmagan, aktni qo'lda yuboring", orderNumber),
+                    StaffNotificationType.WARNING, "ORDER", orderId);
+            return;
         }
+
+        Map<String, Object> payload = OutboxPayload.withStaffWarning(
+                OutboxPayload.telegramDocument(chatId, orderId, "akt-" + orderNumber + ".pdf",
+                        buildReceiptCaption(orderNumber, remaining)),
+                "Telegram kvitansiya yuborilmadi",
+                String.format("Buyurtma %s: Telegram'ga aktni yuborib bo'lmadi", orderNumber));
+        outboxService.enqueue(OutboxChannel.TELEGRAM, OutboxMessageType.INSTALLATION_ACT,
+                "INSTALLATION_ACT:" + orderId + ":" + statusHistoryId, "ORDER", orderId, payload);
     }
 
     /**
@@ -707,8 +744,7 @@ public class OrderService {
         payment.setConfirmedBy(currentUser);
         orderPaymentRepository.save(payment);
 
-        return OrderResponse.from(orderRepository.findByIdWithAllDetails(payment.getOrder().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Buyurtma topilmadi")));
+        return OrderResponse.from(orderAggregateLoader.load(payment.getOrder().getId(), OrderAggregateLoader.Plan.DETAIL));
     }
 
     @Transactional
@@ -767,10 +803,8 @@ public class OrderService {
             Debt savedDebt = debtRepository.save(debt);
             order.setDebt(savedDebt);
 
-            // Update customer balance
-            Customer customer = order.getCustomer();
-            customer.setBalance(customer.getBalance().subtract(order.getRemainingAmount()));
-            customerRepository.save(customer);
+            // Update customer balance (daftar yozuvi + atomar delta)
+            customerLedgerService.recordDebt(order.getCustomer(), savedDebt, "ORDER", order.getId());
         }
 
         changeStatus(order, OrderStatus.QARZGA_OTKAZILDI, currentUser, notes);
@@ -924,8 +958,7 @@ public class OrderService {
     // ==================== HELPERS ====================
 
     private Order getOrderEntity(Long orderId) {
-        return orderRepository.findByIdWithAllDetails(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Buyurtma", "id", orderId));
+        return orderAggregateLoader.load(orderId, OrderAggregateLoader.Plan.DETAIL);
     }
 
     private void validateTransition(Order order, OrderStatus target) {
@@ -940,10 +973,27 @@ public class OrderService {
         OrderStatus oldStatus = order.getStatus();
         order.setStatus(newStatus);
         addStatusHistory(order, oldStatus, newStatus, changedBy, notes);
+        if (order.getCustomer() != null) {
+            customerMetricsTracker.markChanged(order.getCustomer().getId());
+        }
 
         // "Jalyuzimni kuzat" treker — mijoz sahifasiga real-vaqt push (commit'dan keyin)
         final String trackingCode = order.getTrackingCode();
         registerAfterCommit(() -> orderTrackingService.broadcastUpdate(trackingCode, newStatus));
+
+        // Shu statusda kerak bo'ladigan hujjatlar (faktura, akt, garantiya) fonda tayyorlanadi
+        if (!OrderDocumentType.prerenderedOn(newStatus).isEmpty()) {
+            final Long orderId = order.getId();
+            registerAfterCommit(() -> orderDocumentCache.prerender(orderId, newStatus));
+        }
+    }
+
+    private static Long latestStatusHistoryId(Order order, OrderStatus status) {
+        return order.getStatusHistory().stream()
+                .filter(h -> h.getToStatus() == status && h.getId() != null)
+                .map(OrderStatusHistory::getId)
+                .max(Long::compare)
+                .orElse(null);
     }
 
     private void addStatusHistory(Order order, OrderStatus from, OrderStatus to, User changedBy, String notes) {
@@ -975,6 +1025,9 @@ public class OrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         order.setPaidAmount(totalPaid);
         order.setRemainingAmount(order.getTotalAmount().subtract(totalPaid).max(BigDecimal.ZERO));
+        if (order.getCustomer() != null) {
+            customerMetricsTracker.markChanged(order.getCustomer().getId());
+        }
     }
 
     private Sale createSaleFromOrder(Order order, User currentUser) {
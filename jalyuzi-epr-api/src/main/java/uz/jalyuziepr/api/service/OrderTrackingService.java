@@ -9,11 +9,16 @@ import org.springframework.transaction.annotation.Transactional;
 import uz.jalyuziepr.api.dto.response.OrderTrackingResponse;
 import uz.jalyuziepr.api.entity.Order;
 import uz.jalyuziepr.api.enums.OrderStatus;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.enums.OutboxMessageType;
 import uz.jalyuziepr.api.enums.StaffNotificationType;
 import uz.jalyuziepr.api.exception.BadRequestException;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.OrderRepository;
+import uz.jalyuziepr.api.service.outbox.OutboxPayload;
+import uz.jalyuziepr.api.service.outbox.OutboxService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import java.security.SecureRandom;
@@ -22,7 +27,7 @@ import java.util.Map;
 /**
  * "Jalyuzimni kuzat" — ommaviy buyurtma kuzatuvi xizmati.
  * Kod generatsiyasi, ommaviy o'qish (auth'siz), real-vaqt STOMP push va
- * mijozga kuzatuv havolasini SMS/Telegram orqali yuborishni boshqaradi.
+ * mijozga kuzatuv havolasini SMS/Telegram orqali yuborishni (outbox navbati orqali) boshqaradi.
  */
 @Slf4j
 @Service
@@ -35,10 +40,12 @@ public class OrderTrackingService {
     private static final SecureRandom RANDOM = new SecureRandom();
 
     private final OrderRepository orderRepository;
+    private final OrderAggregateLoader orderAggregateLoader;
     private final SimpMessagingTemplate messagingTemplate;
-    private final SmsService smsService;
     private final TelegramService telegramService;
     private final StaffNotificationService staffNotificationService;
+    private final OutboxService outboxService;
+    private final TrackingViewCache trackingViewCache;
 
     @Value("${app.public-base-url:https://kanjaltib.uz}")
     private String publicBaseUrl;
@@ -53,7 +60,7 @@ public class OrderTrackingService {
      */
     @Transactional(readOnly = true)
     public OrderTrackingResponse getByCode(String code) {
-        Order order = orderRepository.findByTrackingCodeWithDetails(normalize(code))
+        Order order = orderAggregateLoader.findByTrackingCode(normalize(code), OrderAggregateLoader.Plan.TRACKING)
                 .orElseThrow(() -> new ResourceNotFoundException("Kuzatuv", "kod", code));
         OrderTrackingResponse resp = OrderTrackingResponse.from(order);
         // Telegram'da obuna bo'lish deep-link'i (bot yoqilgan va username sozlangan bo'lsa)
@@ -76,7 +83,7 @@ public class OrderTrackingService {
         if (rating == null || rating < 1 || rating > 5) {
             throw new BadRequestException("Baho 1 dan 5 gacha bo'lishi kerak");
         }
-        Order order = orderRepository.findByTrackingCodeWithDetails(normalize(code))
+        Order order = orderAggregateLoader.findByTrackingCode(normalize(code), OrderAggregateLoader.Plan.TRACKING)
                 .orElseThrow(() -> new ResourceNotFoundException("Kuzatuv", "kod", code));
         if (order.getStatus() == null
                 || order.getStatus() == OrderStatus.BEKOR_QILINDI
@@ -87,6 +94,7 @@ public class OrderTrackingService {
         order.setReviewComment(comment != null && !comment.isBlank() ? comment.trim() : null);
         order.setReviewSubmittedAt(LocalDateTime.now());
         orderRepository.save(order);
+        trackingViewCache.evict(order.getTrackingCode());
         log.info("Mijoz bahosi qabul qilindi: buyurtma {}, baho {}", order.getOrderNumber(), rating);
 
         OrderTrackingResponse resp = OrderTrackingResponse.from(order);
@@ -112,13 +120,14 @@ public class OrderTrackingService {
 
     /**
      * Status o'zgarishini ochiq kuzatuv topic'iga e'lon qiladi.
-     * Mijoz sahifasi xabar olgach to'liq holatni qayta yuklaydi.
-     * Tashqi/WS nosozligi buyurtma oqimiga ta'sir qilmasligi kerak — xatolar yutiladi.
+     * Mijoz sahifasi xabar olgach to'liq holatni qayta yuklaydi — shuning uchun kuzatuv keshi
+     * push'dan oldin tozalanadi. Tashqi/WS nosozligi buyurtma oqimiga ta'sir qilmasligi kerak — xatolar yutiladi.
      */
     public void broadcastUpdate(String trackingCode, OrderStatus status) {
         if (trackingCode == null || trackingCode.isBlank()) {
             return;
         }
+        trackingViewCache.evict(trackingCode);
         try {
             messagingTemplate.convertAndSend(
                     "/topic/track/" + trackingCode,
@@ -133,88 +142,83 @@ public class OrderTrackingService {
     }
 
     /**
-     * Mijozга kuzatuv havolasini yuboradi.
+     * Mijozга kuzatuv havolasini outbox navbatiga qo'yadi — joriy (buyurtma) tranzaksiyasi
+     * ichida chaqiriladi, yuborishni OutboxDispatcher bajaradi.
      * Asosiy kanal — Telegram (bepul, inline tugma bilan). Mijoz botga ulanmagan bo'lsa
      * va SMS zaxirasi yoqilgan bo'lsa — SMS; aks holda menejerга "qo'lda ulashing"
-     * ogohlantirishi yuboriladi. Eslatma: kuzatuv sahifasi oddiy web — uni ochish uchun
-     * Telegram shart emas; bu yerda Telegram faqat HAVOLANI yetkazish kanali.
-     * Xatolar yutiladi — bildirishnoma nosozligi buyurtma jarayoniga ta'sir qilmasligi kerak.
+     * ogohlantirishi yuboriladi. Telegram qayta urinishlardan keyin ham yetkazilmasa,
+     * xuddi shu zaxira (SMS yoki ogohlantirish) ishlaydi. Eslatma: kuzatuv sahifasi oddiy
+     * web — uni ochish uchun Telegram shart emas; bu yerda Telegram faqat HAVOLANI yetkazish kanali.
      */
-    public void sendTrackingLink(Long chatId, String phone, String orderNumber, Long orderId, String trackingCode) {
+    public void queueTrackingLink(Long chatId, String phone, String orderNumber, Long orderId, String trackingCode) {
         if (trackingCode == null || trackingCode.isBlank()) {
             return;
         }
-        try {
-            String url = buildTrackingUrl(trackingCode);
-
-            // 1) Asosiy kanal — Telegram (bepul)
-            if (chatId != null && telegramService.isEnabled()) {
-                String text = "🪟 <b>Buyurtmangiz ishlab chiqarishga qabul qilindi!</b>\n\n"
+        String url = buildTrackingUrl(trackingCode);
+        queueCustomerMessage(OutboxMessageType.TRACKING_LINK, "TRACKING_LINK:" + orderId, orderId, chatId, phone,
+                "🪟 <b>Buyurtmangiz ishlab chiqarishga qabul qilindi!</b>\n\n"
                         + "Buyurtma: <b>" + orderNumber + "</b>\n\n"
-                        + "Holatini real vaqtda shu yerda kuzating 👇";
-                Map<String, Object> markup = telegramService.inlineUrlButton("📦 Buyurtmani kuzatish", url);
-                if (telegramService.sendMessage(chatId, text, markup)) {
-                    return;
-                }
-                log.warn("Telegram orqali kuzatuv havolasi yuborilmadi (buyurtma {})", orderNumber);
-            }
-
-            // 2) Zaxira — SMS (faqat sozlamada yoqilgan bo'lsa; Eskiz pullik)
-            if (smsFallbackEnabled && phone != null && !phone.isBlank()) {
-                String sms = "Hurmatli mijoz! " + orderNumber
-                        + " buyurtmangiz ishlab chiqarishga qabul qilindi. Kuzating: " + url;
-                smsService.sendNotification(phone, sms);
-                return;
-            }
-
-            // 3) Avtomatik yetkazib bo'lmadi — menejer havolani qo'lda ulashsin
-            staffNotificationService.createGlobalNotification(
-                    "Kuzatuv havolasi yuborilmadi",
-                    "Buyurtma " + orderNumber + ": mijoz Telegram'ga ulanmagan. "
-                            + "Kuzatuv havolasini qo'lda ulashing.",
-                    StaffNotificationType.WARNING, "ORDER", orderId);
-        } catch (Exception e) {
-            log.warn("Kuzatuv havolasini yuborishda xatolik (buyurtma {}): {}", orderNumber, e.getMessage());
-        }
+                        + "Holatini real vaqtda shu yerda kuzating 👇",
+                "📦 Buyurtmani kuzatish", url,
+                "Hurmatli mijoz! " + orderNumber
+                        + " buyurtmangiz ishlab chiqarishga qabul qilindi. Kuzating: " + url,
+                "Kuzatuv havolasi yuborilmadi",
+                "Buyurtma " + orderNumber + ": mijoz Telegram'ga ulanmagan. "
+                        + "Kuzatuv havolasini qo'lda ulashing.");
     }
 
     /**
      * "O'lchovdan keyin" — narx tasdiqlangan, zaklad to'lanmagan mijozga
      * eslatma (win-back). Asosiy kanal Telegram; sozlamada yoqilgan bo'lsa SMS zaxira.
+     * Kalit kunlik — scheduler bir kunda qayta ishga tushsa ham eslatma takrorlanmaydi.
      */
-    public void sendQuoteFollowup(Long chatId, String phone, String orderNumber, Long orderId, String trackingCode) {
+    public void queueQuoteFollowup(Long chatId, String phone, String orderNumber, Long orderId, String trackingCode) {
         if (trackingCode == null || trackingCode.isBlank()) {
             return;
         }
-        try {
-            String url = buildTrackingUrl(trackingCode);
-
-            if (chatId != null && telegramService.isEnabled()) {
-                String text = "💡 <b>Buyurtmangizni rasmiylashtiramizmi?</b>\n\n"
+        String url = buildTrackingUrl(trackingCode);
+        queueCustomerMessage(OutboxMessageType.QUOTE_FOLLOWUP,
+                "QUOTE_FOLLOWUP:" + orderId + ":" + LocalDate.now(), orderId, chatId, phone,
+                "💡 <b>Buyurtmangizni rasmiylashtiramizmi?</b>\n\n"
                         + "Buyurtma: <b>" + orderNumber + "</b>\n"
                         + "Narx tasdiqlandi. Zaklad to'lab rasmiylashtirsangiz, biz ishlab "
-                        + "chiqarishni boshlaymiz.\n\nTafsilotlar 👇";
-                Map<String, Object> markup = telegramService.inlineUrlButton("📦 Buyurtmani ko'rish", url);
-                if (telegramService.sendMessage(chatId, text, markup)) {
-                    return;
-                }
-                log.warn("Telegram orqali zaklad follow-up yuborilmadi (buyurtma {})", orderNumber);
-            }
+                        + "chiqarishni boshlaymiz.\n\nTafsilotlar 👇",
+                "📦 Buyurtmani ko'rish", url,
+                "Hurmatli mijoz! " + orderNumber
+                        + " buyurtmangiz narxi tasdiqlandi. Zaklad to'lab rasmiylashtiring: " + url,
+                "Zaklad follow-up yuborilmadi",
+                "Buyurtma " + orderNumber + ": mijoz Telegram'ga ulanmagan. Qo'lda bog'laning.");
+    }
 
-            if (smsFallbackEnabled && phone != null && !phone.isBlank()) {
-                String sms = "Hurmatli mijoz! " + orderNumber
-                        + " buyurtmangiz narxi tasdiqlandi. Zaklad to'lab rasmiylashtiring: " + url;
-                smsService.sendNotification(phone, sms);
-                return;
+    /**
+     * Kanal tanlash: Telegram (SMS zaxirasi bilan) → SMS → darhol xodimlarga ogohlantirish.
+     * Ogohlantirish payload'ga ham yoziladi — xabar DEAD bo'lsa OutboxService uni yuboradi.
+     */
+    private void queueCustomerMessage(OutboxMessageType type, String key, Long orderId, Long chatId, String phone,
+                                      String telegramText, String buttonText, String url, String smsText,
+                                      String warningTitle, String warningMessage) {
+        boolean smsPossible = smsFallbackEnabled && phone != null && !phone.isBlank();
+
+        if (chatId != null && telegramService.isEnabled()) {
+            Map<String, Object> payload = OutboxPayload.telegramText(chatId, telegramText, buttonText, url);
+            if (smsPossible) {
+                OutboxPayload.withSmsFallback(payload, phone, smsText);
             }
+            OutboxPayload.withStaffWarning(payload, warningTitle, warningMessage);
+            outboxService.enqueue(OutboxChannel.TELEGRAM, type, key, "ORDER", orderId, payload);
+            return;
+        }
 
-            staffNotificationService.createGlobalNotification(
-                    "Zaklad follow-up yuborilmadi",
-                    "Buyurtma " + orderNumber + ": mijoz Telegram'ga ulanmagan. Qo'lda bog'laning.",
-                    StaffNotificationType.WARNING, "ORDER", orderId);
-        } catch (Exception e) {
-            log.warn("Zaklad follow-up yuborishda xatolik (buyurtma {}): {}", orderNumber, e.getMessage());
+        if (smsPossible) {
+            Map<String, Object> payload = OutboxPayload.withStaffWarning(
+                    OutboxPayload.sms(phone, smsText), warningTitle, warningMessage);
+            outboxService.enqueue(OutboxChannel.SMS, type, key, "ORDER", orderId, payload);
+            return;
         }
+
+        // Avtomatik yetkazib bo'lmaydi — menejer havolani qo'lda ulashsin
+        staffNotificationService.createGlobalNotification(
+                warningTitle, warningMessage, StaffNotificationType.WARNING, "ORDER", orderId);
     }
 
     public String buildTrackingUrl(String trackingCode) {
@@ -232,7 +236,7 @@ public class OrderTrackingService {
         return sb.toString();
     }
 
-    private String normalize(String code) {
+    static String normalize(String code) {
         return code == null ? null : code.trim().toUpperCase();
     }
 }
@@ -175,37 +175,33 @@ public class PaymentScheduleService {
     // ==================== SCHEDULED JOBS ====================
 
     /**
-     * Kunlik vazifa: muddati o'tgan schedule'larni OVERDUE deb belgilash va menejerga eslatma.
-     * DebtReminderScheduler kabi @Scheduled bilan ishlatiladi.
+     * Kunlik vazifa: muddati o'tgan schedule'larni OVERDUE deb belgilash.
+     * PaymentScheduleReminderJob tomonidan chunk'lardan oldin chaqiriladi.
      */
     @Transactional
-    public int markOverdueAndNotify() {
-        LocalDate today = LocalDate.now();
+    public int markOverdue(LocalDate today) {
         int marked = scheduleRepository.markOverdueBefore(today);
         if (marked > 0) {
             log.info("Marked {} payment schedules as OVERDUE", marked);
         }
-
-        // Bugun due bo'lganlarga eslatma
-        List<PaymentSchedule> remindersDue = scheduleRepository.findRemindersDueOn(today);
-        for (PaymentSchedule ps : remindersDue) {
-            try {
-                String customerName = ps.getOrder().getCustomer() != null
-                        ? ps.getOrder().getCustomer().getFullName() : "—";
-                staffNotificationService.notifyPaymentReceived(
-                        customerName + " (" + ps.getLabel() + ")",
-                        ps.getAmount().toPlainString(),
-                        ps.getOrder().getId()
-                );
-                ps.setReminderSentAt(LocalDateTime.now());
-            } catch (Exception e) {
-                log.warn("Reminder send failed for payment schedule {}: {}", ps.getId(), e.getMessage());
-            }
-        }
-
         return marked;
     }
 
+    /**
+     * Bugun due bo'lgan bo'lak uchun menejerga eslatma (order va mijoz fetch join bilan yuklangan bo'lishi kerak).
+     * Chaqiruvchi tranzaksiyasida reminderSentAt belgilanadi — takroriy eslatma yuborilmaydi.
+     */
+    public void sendDueReminder(PaymentSchedule ps) {
+        String customerName = ps.getOrder().getCustomer() != null
+                ? ps.getOrder().getCustomer().getFullName() : "—";
+        staffNotificationService.notifyPaymentReceived(
+                customerName + " (" + ps.getLabel() + ")",
+                ps.getAmount().toPlainString(),
+                ps.getOrder().getId()
+        );
+        ps.setReminderSentAt(LocalDateTime.now());
+    }
+
     // ==================== UPDATE / DELETE ====================
 
     @Transactional
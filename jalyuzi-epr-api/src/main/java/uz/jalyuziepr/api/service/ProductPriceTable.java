@@ -0,0 +1,180 @@
+package uz.jalyuziepr.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.Product;
+import uz.jalyuziepr.api.enums.BlindMaterial;
+import uz.jalyuziepr.api.enums.BlindType;
+import uz.jalyuziepr.api.enums.ControlType;
+import uz.jalyuziepr.api.exception.BadRequestException;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.repository.ProductRepository;
+import uz.jalyuziepr.api.util.PriceMath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Faol mahsulotlarning xotiradagi narx jadvali — do'kon kalkulyatori har bir o'lcham
+ * o'zgarishida bazaga bormasligi uchun.
+ *
+ * Yangilanish: ProductService mahsulot saqlangandan keyin (commit'dan so'ng) {@link #refresh}
+ * chaqiradi; boshqa yo'llar bilan o'zgargan narxlar uchun ProductPriceTableScheduler
+ * jadvalni davriy ravishda to'liq qayta yuklaydi. To'liq yuklash o'qigan snapshot undan keyin
+ * kelgan {@link #refresh} natijasini almashtirib yubormasligi uchun yuklash davomida kelgan
+ * refresh'lar eslab qolinadi va yangi jadval o'rnatilgach qayta bajariladi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductPriceTable {
+
+    private final ProductRepository productRepository;
+
+    private volatile Map<Long, PriceEntry> entries = new ConcurrentHashMap<>();
+
+    /** To'liq yuklash davom etmoqda — shu orada kelgan refresh'lar {@link #refreshedDuringReload}'ga yoziladi */
+    private volatile boolean reloading;
+    private final Set<Long> refreshedDuringReload = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Narx hisoblash uchun kerakli mahsulot ma'lumotlari. Pul qiymatlari tiyinda;
+     * m² narxi yoki o'rnatish narxi bo'lmasa null.
+     */
+    public record PriceEntry(
+            Long productId,
+            String name,
+            Long pricePerSqmMinor,
+            long sellingPriceMinor,
+            Long installationPriceMinor,
+            Integer minWidth,
+            Integer maxWidth,
+            Integer minHeight,
+            Integer maxHeight,
+            BlindType blindType,
+            BlindMaterial material,
+            ControlType controlType) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        reloading = true;
+        try {
+            List<Product> products = productRepository.findByActiveTrue();
+            Map<Long, PriceEntry> fresh = new ConcurrentHashMap<>(products.size() * 2);
+            for (Product product : products) {
+                PriceEntry entry = toEntry(product);
+                if (entry != null) {
+                    fresh.put(product.getId(), entry);
+                }
+            }
+            entries = fresh;
+            log.debug("Narx jadvali yuklandi: {} ta mahsulot", fresh.size());
+        } finally {
+            reloading = false;
+            // Snapshot o'qilayotganda commit qilingan o'zgarishlar — yangi jadvalga qayta o'qiladi
+            List<Long> pending = new ArrayList<>(refreshedDuringReload);
+            refreshedDuringReload.removeAll(pending);
+            pending.forEach(this::load);
+        }
+    }
+
+    /** Bitta mahsulotni bazadan qayta o'qiydi (faolligini yo'qotgan bo'lsa jadvaldan chiqariladi) */
+    public void refresh(Long productId) {
+        if (reloading) {
+            refreshedDuringReload.add(productId);
+        }
+        load(productId);
+    }
+
+    private void load(Long productId) {
+        productRepository.findById(productId)
+                .filter(p -> Boolean.TRUE.equals(p.getActive()))
+                .map(this::toEntry)
+                .ifPresentOrElse(
+                        entry -> entries.put(productId, entry),
+                        () -> entries.remove(productId));
+    }
+
+    /**
+     * Jadvaldan o'qiydi; topilmasa (nofaol yoki hali yuklanmagan mahsulot) bazaga murojaat qiladi.
+     * Nofaol mahsulotlar keshlanmaydi — ular uchun ham narx avvalgidek hisoblanadi.
+     */
+    public PriceEntry get(Long productId) {
+        return getAll(List.of(productId)).get(productId);
+    }
+
+    /**
+     * Bir nechta mahsulot narxi. Takroriy id'lar bir marta olinadi; jadvalda yo'qlari bitta
+     * {@code findAllById} bilan o'qiladi, shuning uchun ommaviy batch so'rovi nechta noma'lum id
+     * yuborsa ham bazaga bittadan ortiq murojaat qilmaydi.
+     */
+    public Map<Long, PriceEntry> getAll(Collection<Long> productIds) {
+        Map<Long, PriceEntry> result = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long productId : productIds) {
+            PriceEntry entry = entries.get(productId);
+            if (entry != null) {
+                result.put(productId, entry);
+            } else {
+                misses.add(productId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(misses).forEach(p -> products.put(p.getId(), p));
+        for (Long productId : misses) {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ResourceNotFoundException("Mahsulot", "id", productId);
+            }
+            PriceEntry entry = toEntry(product);
+            if (entry == null) {
+                throw new BadRequestException("Mahsulot narxini hisoblab bo'lmaydi: " + productId);
+            }
+            if (Boolean.TRUE.equals(product.getActive())) {
+                entries.put(productId, entry);
+            }
+            result.put(productId, entry);
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private PriceEntry toEntry(Product product) {
+        if (!PriceMath.isMinorExact(product.getSellingPrice())
+                || (product.getPricePerSquareMeter() != null && !PriceMath.isMinorExact(product.getPricePerSquareMeter()))
+                || (product.getInstallationPrice() != null && !PriceMath.isMinorExact(product.getInstallationPrice()))) {
+            log.warn("Mahsulot {} narxi tiyinda ifodalanmaydi — narx jadvaliga kiritilmadi", product.getId());
+            return null;
+        }
+        return new PriceEntry(
+                product.getId(),
+                product.getName(),
+                product.getPricePerSquareMeter() != null ? PriceMath.toMinor(product.getPricePerSquareMeter()) : null,
+                PriceMath.toMinor(product.getSellingPrice()),
+                product.getInstallationPrice() != null ? PriceMath.toMinor(product.getInstallationPrice()) : null,
+                product.getMinWidth(),
+                product.getMaxWidth(),
+                product.getMinHeight(),
+                product.getMaxHeight(),
+                product.getBlindType(),
+                product.getMaterial(),
+                product.getControlType());
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uz.jalyuziepr.api.dto.request.ProductRequest;
 import uz.jalyuziepr.api.dto.response.PriceCalculationResponse;
 import uz.jalyuziepr.api.dto.response.ProductResponse;
@@ -48,17 +50,21 @@ public class ProductService {
     private final AttributeFamilyRepository attributeFamilyRepository;
     private final AttributeSchemaResolver schemaResolver;
     private final AttributeValueValidator attributeValueValidator;
+    private final ProductPriceTable productPriceTable;
 
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         return productRepository.findByActiveTrue(pageable)
                 .map(ProductResponse::from);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String search, Pageable pageable) {
         return productRepository.searchProducts(search, pageable)
                 .map(ProductResponse::from);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsWithFilters(
             Long brandId, Long categoryId, BlindType blindType,
             BlindMaterial material, ControlType controlType,
@@ -90,6 +96,7 @@ public class ProductService {
         product.setCreatedBy(getCurrentUser());
 
         Product savedProduct = productRepository.save(product);
+        refreshPriceTableAfterCommit(savedProduct.getId());
         return ProductResponse.from(savedProduct);
     }
 
@@ -105,6 +112,7 @@ public class ProductService {
 
         mapRequestToProduct(request, product);
         Product savedProduct = productRepository.save(product);
+        refreshPriceTableAfterCommit(id);
         return ProductResponse.from(savedProduct);
     }
 
@@ -114,6 +122,24 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Mahsulot", "id", id));
         product.setActive(false);
         productRepository.save(product);
+        refreshPriceTableAfterCommit(id);
+    }
+
+    /**
+     * Narx jadvali bazadagi (commit qilingan, scale 2 ga yaxlitlangan) qiymatlardan qurilishi uchun
+     * yangilash tranzaksiya yakunlangandan keyin bajariladi.
+     */
+    private void refreshPriceTableAfterCommit(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productPriceTable.refresh(productId);
+                }
+            });
+        } else {
+            productPriceTable.refresh(productId);
+        }
     }
 
     public List<ProductResponse> getLowStockProducts() {
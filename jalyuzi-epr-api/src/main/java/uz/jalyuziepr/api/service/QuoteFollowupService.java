@@ -52,7 +52,7 @@ public class QuoteFollowupService {
                 Long chatId = resolveChatId(c);
                 String phone = c != null ? c.getPhone() : null;
 
-                orderTrackingService.sendQuoteFollowup(
+                orderTrackingService.queueQuoteFollowup(
                         chatId, phone, o.getOrderNumber(), o.getId(), o.getTrackingCode());
 
                 o.setQuoteFollowupSentAt(LocalDateTime.now());
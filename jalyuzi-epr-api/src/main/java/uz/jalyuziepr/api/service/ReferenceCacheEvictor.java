@@ -0,0 +1,67 @@
+package uz.jalyuziepr.api.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.jalyuziepr.api.entity.Category;
+
+/**
+ * Hibernate ikkinchi darajali keshini Hibernate o'zi tozalay olmaydigan holatlar uchun qo'lda
+ * tozalash.
+ *
+ * Teskari tomondagi kolleksiyalar (masalan Category.children — mappedBy "parent") bola
+ * tomonida parent o'zgarganda keshdan chiqarilmaydi, shuning uchun admin servislari ularni shu
+ * yerda tashlaydi: darhol va tranzaksiya tugagach yana bir marta, oraliqda eski holat qayta
+ * keshlanib qolmasligi uchun. Bazaga Hibernate'dan tashqarida yozilganda butun region yoki
+ * butun kesh /actuator/l2cache orqali tozalanadi.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceCacheEvictor {
+
+    private static final String CATEGORY_CHILDREN = Category.class.getName() + ".children";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /** Berilgan kategoriyalarning bolalar ro'yxati keshini tashlaydi (null'lar e'tiborsiz) */
+    public void evictCategoryChildren(Long... parentIds) {
+        for (Long parentId : parentIds) {
+            if (parentId != null) {
+                evictNowAndAfterCompletion(() -> cache().evictCollectionData(CATEGORY_CHILDREN, parentId));
+            }
+        }
+    }
+
+    /** @return region mavjud bo'lsa va tozalangan bo'lsa true */
+    public boolean evictRegion(String region) {
+        if (cache().getRegion(region) == null) {
+            return false;
+        }
+        cache().evictRegion(region);
+        return true;
+    }
+
+    public void evictAll() {
+        cache().evictAllRegions();
+    }
+
+    private void evictNowAndAfterCompletion(Runnable evict) {
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private CacheImplementor cache() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+    }
+}
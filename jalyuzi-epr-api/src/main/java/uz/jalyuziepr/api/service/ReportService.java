@@ -1,6 +1,7 @@
 package uz.jalyuziepr.api.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import uz.jalyuziepr.api.dto.response.DebtsReportResponse;
 import uz.jalyuziepr.api.dto.response.SalesReportResponse;
@@ -30,6 +31,7 @@ public class ReportService {
     private final StockMovementRepository stockMovementRepository;
     private final DebtRepository debtRepository;
     private final PaymentRepository paymentRepository;
+    private final CustomerRepository customerRepository;
 
     public SalesReportResponse getSalesReport(LocalDate startDate, LocalDate endDate) {
         LocalDateTime start = startDate.atStartOfDay();
@@ -387,39 +389,32 @@ public class ReportService {
                 .build();
     }
 
+    /**
+     * Eng katta qarzdorlar materiallashtirilgan balansdan (customers.balance, idx_customers_debtors) olinadi;
+     * qarzlar soni faqat shu mijozlar uchun faol qarzlardan sanaladi.
+     */
     private List<DebtsReportResponse.CustomerDebtSummary> getTopDebtors(List<Debt> activeDebts, List<Debt> overdueDebts) {
-        Map<Long, DebtorAggregator> debtorMap = new HashMap<>();
-        Set<Long> overdueCustomerIds = overdueDebts.stream()
-                .map(d -> d.getCustomer().getId())
-                .collect(Collectors.toSet());
-
+        List<Customer> debtors = customerRepository.findTopDebtors(PageRequest.of(0, 10));
+        if (debtors.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> debtsCount = new HashMap<>();
         for (Debt debt : activeDebts) {
-            Long customerId = debt.getCustomer().getId();
-            DebtorAggregator agg = debtorMap.computeIfAbsent(customerId, k -> {
-                DebtorAggregator a = new DebtorAggregator();
-                a.customerId = customerId;
-                a.customerName = debt.getCustomer().getFullName();
-                a.customerPhone = debt.getCustomer().getPhone();
-                return a;
-            });
-            agg.totalDebt = agg.totalDebt.add(debt.getRemainingAmount());
-            agg.debtsCount++;
-            if (overdueCustomerIds.contains(customerId) && debt.getDueDate() != null &&
-                debt.getDueDate().isBefore(LocalDate.now())) {
-                agg.overdueCount++;
-            }
+            debtsCount.merge(debt.getCustomer().getId(), 1, Integer::sum);
+        }
+        Map<Long, Integer> overdueCount = new HashMap<>();
+        for (Debt debt : overdueDebts) {
+            overdueCount.merge(debt.getCustomer().getId(), 1, Integer::sum);
         }
 
-        return debtorMap.values().stream()
-                .sorted((a, b) -> b.totalDebt.compareTo(a.totalDebt))
-                .limit(10)
-                .map(a -> DebtsReportResponse.CustomerDebtSummary.builder()
-                        .customerId(a.customerId)
-                        .customerName(a.customerName)
-                        .customerPhone(a.customerPhone)
-                        .totalDebt(a.totalDebt)
-                        .debtsCount(a.debtsCount)
-                        .overdueCount(a.overdueCount)
+        return debtors.stream()
+                .map(c -> DebtsReportResponse.CustomerDebtSummary.builder()
+                        .customerId(c.getId())
+                        .customerName(c.getFullName())
+                        .customerPhone(c.getPhone())
+                        .totalDebt(c.getBalance().negate())
+                        .debtsCount(debtsCount.getOrDefault(c.getId(), 0))
+                        .overdueCount(overdueCount.getOrDefault(c.getId(), 0))
                         .build())
                 .collect(Collectors.toList());
     }
@@ -492,15 +487,6 @@ public class ReportService {
                 .collect(Collectors.toList());
     }
 
-    private static class DebtorAggregator {
-        Long customerId;
-        String customerName;
-        String customerPhone;
-        BigDecimal totalDebt = BigDecimal.ZERO;
-        int debtsCount = 0;
-        int overdueCount = 0;
-    }
-
     private static class PaymentAggregator {
         long count = 0;
         BigDecimal amount = BigDecimal.ZERO;
@@ -2,12 +2,16 @@ package uz.jalyuziepr.api.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.jalyuziepr.api.dto.request.SaleItemRequest;
 import uz.jalyuziepr.api.dto.request.SaleRequest;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
+import uz.jalyuziepr.api.dto.response.SaleItemResponse;
 import uz.jalyuziepr.api.dto.response.SaleResponse;
 import uz.jalyuziepr.api.entity.*;
 import uz.jalyuziepr.api.enums.*;
@@ -15,7 +19,9 @@ import uz.jalyuziepr.api.exception.BadRequestException;
 import uz.jalyuziepr.api.exception.InsufficientStockException;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.*;
+import uz.jalyuziepr.api.repository.projection.SaleListView;
 import uz.jalyuziepr.api.security.CustomUserDetails;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -23,7 +29,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +39,7 @@ import java.util.stream.Collectors;
 public class SaleService {
 
     private final SaleRepository saleRepository;
+    private final SaleItemRepository saleItemRepository;
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
@@ -40,9 +49,11 @@ public class SaleService {
     private final InstallationRepository installationRepository;
     private final StaffNotificationService staffNotificationService;
     private final NotificationService customerNotificationService;
+    private final CustomerLedgerService customerLedgerService;
     private final SettingsService settingsService;
     private final EmployeeRepository employeeRepository;
 
+    @Transactional(readOnly = true)
     public Page<SaleResponse> getAllSales(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         LocalDate effectiveStart = startDate;
         LocalDate effectiveEnd = endDate;
@@ -58,12 +69,39 @@ public class SaleService {
         if (effectiveStart != null && effectiveEnd != null) {
             LocalDateTime start = effectiveStart.atStartOfDay();
             LocalDateTime end = effectiveEnd.atTime(LocalTime.MAX);
-            return saleRepository.findBySaleDateBetween(start, end, pageable)
-                    .map(SaleResponse::from);
+            return toSaleListPage(saleRepository.findSaleListBySaleDateBetween(start, end, pageable));
         }
 
-        return saleRepository.findAll(pageable)
-                .map(SaleResponse::from);
+        return toSaleListPage(saleRepository.findSaleList(pageable));
+    }
+
+    /**
+     * Cursor rejimidagi sotuvlar ro'yxati. Kalit — (saleDate, id): ro'yxat sotuv sanasi bo'yicha
+     * tartiblanadi va sale_date indeksidan foydalanadi.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<SaleResponse> getSalesCursor(LocalDate startDate, LocalDate endDate,
+                                                            String cursor, int limit, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        LocalDate effectiveStart = startDate != null ? startDate : endDate;
+        LocalDate effectiveEnd = endDate != null ? endDate : startDate;
+
+        List<SaleListView> rows;
+        Long total = null;
+        if (effectiveStart != null) {
+            LocalDateTime start = effectiveStart.atStartOfDay();
+            LocalDateTime end = effectiveEnd.atTime(LocalTime.MAX);
+            rows = saleRepository.findSaleListBySaleDateBetweenAfter(start, end, after.at(), after.id(), fetch);
+            if (withTotal) total = saleRepository.countBySaleDateBetween(start, end);
+        } else {
+            rows = saleRepository.findSaleListAfter(after.at(), after.id(), fetch);
+            if (withTotal) total = saleRepository.count();
+        }
+        return CursorPagedResponse.of(rows, limit,
+                v -> new KeysetCursor(v.getSaleDate(), v.getId()),
+                this::toSaleList,
+                total);
     }
 
     public SaleResponse getSaleById(Long id) {
@@ -79,8 +117,28 @@ public class SaleService {
     public List<SaleResponse> getTodaySales() {
         LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
         LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
-        return saleRepository.findTodaySales(startOfDay, endOfDay).stream()
-                .map(SaleResponse::from)
+        return toSaleList(saleRepository.findTodaySaleList(startOfDay, endOfDay));
+    }
+
+    private Page<SaleResponse> toSaleListPage(Page<SaleListView> page) {
+        List<SaleResponse> content = toSaleList(page.getContent());
+        return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Sarlavha proyeksiyalarini elementlar bilan birlashtiradi: sahifadagi barcha
+     * sotuvlar elementlari bitta IN so'rov bilan yuklanadi (har sotuvga alohida emas).
+     */
+    private List<SaleResponse> toSaleList(List<SaleListView> views) {
+        if (views.isEmpty()) {
+            return List.of();
+        }
+        List<Long> saleIds = views.stream().map(SaleListView::getId).toList();
+        Map<Long, List<SaleItemResponse>> itemsBySale = saleItemRepository.findBySaleIdInWithProduct(saleIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getSale().getId(),
+                        Collectors.mapping(SaleItemResponse::from, Collectors.toList())));
+        return views.stream()
+                .map(view -> SaleResponse.fromList(view, itemsBySale.getOrDefault(view.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
@@ -279,11 +337,10 @@ public class SaleService {
                     .dueDate(LocalDate.now().plusDays(dueDays))
                     .status(DebtStatus.ACTIVE)
                     .build();
-            debtRepository.save(debt);
+            Debt savedDebt = debtRepository.save(debt);
 
-            // Update customer balance
-            customer.setBalance(customer.getBalance().subtract(debtAmount));
-            customerRepository.save(customer);
+            // Update customer balance (daftar yozuvi + atomar delta)
+            customerLedgerService.recordDebt(customer, savedDebt, "SALE", savedSale.getId());
         }
 
         // O'rnatish yaratish (agar o'rnatish ma'lumotlari berilgan bo'lsa)
@@ -360,9 +417,8 @@ public class SaleService {
 
         // Cancel related debts
         if (sale.getCustomer() != null && sale.getDebtAmount().compareTo(BigDecimal.ZERO) > 0) {
-            Customer customer = sale.getCustomer();
-            customer.setBalance(customer.getBalance().add(sale.getDebtAmount()));
-            customerRepository.save(customer);
+            customerLedgerService.post(sale.getCustomer(), null, LedgerEntryType.SALE_CANCEL, sale.getDebtAmount(),
+                    "SALE", sale.getId(), "Sotuv bekor qilindi: " + sale.getInvoiceNumber());
         }
 
         sale.setStatus(SaleStatus.CANCELLED);
@@ -26,17 +26,17 @@ import java.util.Optional;
 public class SessionService {
 
     private final SessionRepository sessionRepository;
-    private final UserAgentParser userAgentParser;
+    private final UserAgentDictionary userAgentDictionary;
     private final NotificationDispatcher notificationDispatcher;
 
     // Constructor with @Lazy to break circular dependency
     public SessionService(
             SessionRepository sessionRepository,
-            UserAgentParser userAgentParser,
+            UserAgentDictionary userAgentDictionary,
             @Lazy NotificationDispatcher notificationDispatcher
     ) {
         this.sessionRepository = sessionRepository;
-        this.userAgentParser = userAgentParser;
+        this.userAgentDictionary = userAgentDictionary;
         this.notificationDispatcher = notificationDispatcher;
     }
 
@@ -46,14 +46,15 @@ public class SessionService {
     @Transactional
     public Session createSession(User user, String token, String refreshToken, String ipAddress, String userAgent, LocalDateTime expiresAt) {
         String tokenHash = hashToken(token);
-        UserAgentParser.DeviceInfo deviceInfo = userAgentParser.parse(userAgent);
+        UserAgentDictionary.Entry agent = userAgentDictionary.resolve(userAgent);
+        UserAgentParser.DeviceInfo deviceInfo = agent.deviceInfo();
 
         Session session = Session.builder()
                 .user(user)
                 .tokenHash(tokenHash)
                 .refreshTokenHash(refreshToken != null ? hashToken(refreshToken) : null)
                 .ipAddress(ipAddress)
-                .userAgent(userAgent)
+                .userAgentId(agent.id())
                 .deviceType(deviceInfo.getDeviceType())
                 .browser(deviceInfo.getBrowser())
                 .os(deviceInfo.getOs())
@@ -16,6 +16,8 @@ import uz.jalyuziepr.api.exception.BadRequestException;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.*;
 import uz.jalyuziepr.api.security.JwtTokenProvider;
+import uz.jalyuziepr.api.util.ImageVariants;
+import uz.jalyuziepr.api.util.PriceMath;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -40,6 +42,7 @@ public class ShopService {
     private final SmsService smsService;
     private final JwtTokenProvider jwtTokenProvider;
     private final PaymentMethodService paymentMethodService;
+    private final ProductPriceTable productPriceTable;
 
     // ==================== KATALOG ====================
 
@@ -170,75 +173,92 @@ public class ShopService {
     // ==================== NARX HISOBLASH ====================
 
     /**
-     * Narx hisoblash
+     * Narx hisoblash — xotiradagi narx jadvalidan, bazaga murojaatsiz
      */
     public ShopPriceCalculateResponse calculatePrice(ShopPriceCalculateRequest request) {
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Mahsulot", "id", request.getProductId()));
+        return quote(productPriceTable.get(request.getProductId()), request);
+    }
 
+    /**
+     * Bir nechta mahsulot/o'lcham kombinatsiyasi uchun narx (kalkulyator jadvali).
+     * Natijalar so'rov tartibida qaytariladi.
+     */
+    public List<ShopPriceCalculateResponse> calculatePrices(List<ShopPriceCalculateRequest> requests) {
+        Map<Long, ProductPriceTable.PriceEntry> products = productPriceTable.getAll(
+                requests.stream().map(ShopPriceCalculateRequest::getProductId).toList());
+        List<ShopPriceCalculateResponse> result = new ArrayList<>(requests.size());
+        for (ShopPriceCalculateRequest request : requests) {
+            result.add(quote(products.get(request.getProductId()), request));
+        }
+        return result;
+    }
+
+    /**
+     * Summalar tiyinda (long) hisoblanadi; javobdagi BigDecimal'lar avvalgi hisob-kitob bilan
+     * bir xil qiymat va scale'ga ega (m² narxi — butun so'mga UP, qolganlari — scale 2).
+     */
+    private ShopPriceCalculateResponse quote(ProductPriceTable.PriceEntry product, ShopPriceCalculateRequest request) {
         // O'lcham tekshirish
         boolean validDimensions = true;
         String dimensionError = null;
 
-        if (product.getMinWidth() != null && request.getWidth() < product.getMinWidth()) {
+        if (product.minWidth() != null && request.getWidth() < product.minWidth()) {
             validDimensions = false;
-            dimensionError = "Kenglik minimal " + product.getMinWidth() + " mm bo'lishi kerak";
-        } else if (product.getMaxWidth() != null && request.getWidth() > product.getMaxWidth()) {
+            dimensionError = "Kenglik minimal " + product.minWidth() + " mm bo'lishi kerak";
+        } else if (product.maxWidth() != null && request.getWidth() > product.maxWidth()) {
             validDimensions = false;
-            dimensionError = "Kenglik maksimal " + product.getMaxWidth() + " mm bo'lishi mumkin";
-        } else if (product.getMinHeight() != null && request.getHeight() < product.getMinHeight()) {
+            dimensionError = "Kenglik maksimal " + product.maxWidth() + " mm bo'lishi mumkin";
+        } else if (product.minHeight() != null && request.getHeight() < product.minHeight()) {
             validDimensions = false;
-            dimensionError = "Balandlik minimal " + product.getMinHeight() + " mm bo'lishi kerak";
-        } else if (product.getMaxHeight() != null && request.getHeight() > product.getMaxHeight()) {
+            dimensionError = "Balandlik minimal " + product.minHeight() + " mm bo'lishi kerak";
+        } else if (product.maxHeight() != null && request.getHeight() > product.maxHeight()) {
             validDimensions = false;
-            dimensionError = "Balandlik maksimal " + product.getMaxHeight() + " mm bo'lishi mumkin";
+            dimensionError = "Balandlik maksimal " + product.maxHeight() + " mm bo'lishi mumkin";
         }
 
-        // Kvadrat metr hisoblash
-        BigDecimal squareMeters = BigDecimal.valueOf(request.getWidth())
-                .multiply(BigDecimal.valueOf(request.getHeight()))
-                .divide(BigDecimal.valueOf(1_000_000), 4, RoundingMode.HALF_UP);
+        // Kvadrat metr hisoblash (scale 4)
+        long sqmUnits = PriceMath.squareMeterUnits(request.getWidth(), request.getHeight());
 
         // Mahsulot narxi
-        BigDecimal productPrice;
-        if (product.getPricePerSquareMeter() != null) {
-            productPrice = product.getPricePerSquareMeter()
-                    .multiply(squareMeters)
-                    .setScale(0, RoundingMode.UP);
+        long productMinor;
+        int productScale;
+        if (product.pricePerSqmMinor() != null) {
+            productMinor = PriceMath.areaPrice(product.pricePerSqmMinor(), sqmUnits, 0, RoundingMode.UP) * 100;
+            productScale = 0;
         } else {
-            productPrice = product.getSellingPrice();
+            productMinor = product.sellingPriceMinor();
+            productScale = PriceMath.MONEY_SCALE;
         }
 
         // O'rnatish narxi
-        BigDecimal installationPrice = BigDecimal.ZERO;
-        if (request.isWithInstallation() && product.getInstallationPrice() != null) {
-            installationPrice = product.getInstallationPrice();
+        long installationMinor = 0;
+        int installationScale = 0;
+        if (request.isWithInstallation() && product.installationPriceMinor() != null) {
+            installationMinor = product.installationPriceMinor();
+            installationScale = PriceMath.MONEY_SCALE;
         }
-
-        // Bir dona jami
-        BigDecimal unitTotal = productPrice.add(installationPrice);
+        int totalScale = Math.max(productScale, installationScale);
 
         // Miqdor bo'yicha
         int quantity = request.getQuantity() != null ? request.getQuantity() : 1;
-        BigDecimal subtotal = productPrice.multiply(BigDecimal.valueOf(quantity));
-        BigDecimal installationTotal = installationPrice.multiply(BigDecimal.valueOf(quantity));
-        BigDecimal grandTotal = subtotal.add(installationTotal);
+        long subtotalMinor = productMinor * quantity;
+        long installationTotalMinor = installationMinor * quantity;
 
         return ShopPriceCalculateResponse.builder()
                 .width(request.getWidth())
                 .height(request.getHeight())
-                .squareMeters(squareMeters)
-                .productPrice(productPrice)
-                .installationPrice(installationPrice)
-                .unitTotal(unitTotal)
+                .squareMeters(BigDecimal.valueOf(sqmUnits, PriceMath.AREA_SCALE))
+                .productPrice(PriceMath.toDecimal(productMinor, productScale))
+                .installationPrice(PriceMath.toDecimal(installationMinor, installationScale))
+                .unitTotal(PriceMath.toDecimal(productMinor + installationMinor, totalScale))
                 .quantity(quantity)
-                .subtotal(subtotal)
-                .installationTotal(installationTotal)
-                .grandTotal(grandTotal)
-                .productName(product.getName())
-                .blindTypeName(product.getBlindType() != null ? product.getBlindType().getDisplayName() : null)
-                .materialName(product.getMaterial() != null ? product.getMaterial().getDisplayName() : null)
-                .controlTypeName(product.getControlType() != null ? product.getControlType().getDisplayName() : null)
+                .subtotal(PriceMath.toDecimal(subtotalMinor, productScale))
+                .installationTotal(PriceMath.toDecimal(installationTotalMinor, installationScale))
+                .grandTotal(PriceMath.toDecimal(subtotalMinor + installationTotalMinor, totalScale))
+                .productName(product.name())
+                .blindTypeName(product.blindType() != null ? product.blindType().getDisplayName() : null)
+                .materialName(product.material() != null ? product.material().getDisplayName() : null)
+                .controlTypeName(product.controlType() != null ? product.controlType().getDisplayName() : null)
                 .validDimensions(validDimensions)
                 .dimensionError(dimensionError)
                 .build();
@@ -499,6 +519,7 @@ public class ShopService {
                         .totalPrice(item.getTotalPrice())
                         .notes(null)
                         .imageUrl(item.getProduct().getImageUrl())
+                        .thumbnailUrl(ImageVariants.thumbnailUrl(item.getProduct().getImageUrl()))
                         .build())
                 .collect(Collectors.toList());
 
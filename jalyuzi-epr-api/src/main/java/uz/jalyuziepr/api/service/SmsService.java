@@ -8,12 +8,15 @@ import org.springframework.http.*;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
+import uz.jalyuziepr.api.config.RateLimitConfig;
 import uz.jalyuziepr.api.config.SmsConfig;
 import uz.jalyuziepr.api.entity.SmsVerification;
 import uz.jalyuziepr.api.entity.TelegramPhoneLink;
+import uz.jalyuziepr.api.ratelimit.RateLimiter;
 import uz.jalyuziepr.api.repository.SmsVerificationRepository;
 import uz.jalyuziepr.api.repository.TelegramPhoneLinkRepository;
 
@@ -34,6 +37,9 @@ public class SmsService {
     private final SmsVerificationRepository smsVerificationRepository;
     private final TelegramPhoneLinkRepository telegramPhoneLinkRepository;
     private final TelegramService telegramService;
+    private final RateLimiter rateLimiter;
+    private final RateLimitConfig rateLimitConfig;
+    private final TransactionTemplate transactionTemplate;
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -41,19 +47,25 @@ public class SmsService {
     private LocalDateTime tokenExpiresAt = null;
 
     /**
-     * Tasdiqlash kodini yaratish va yuborish
+     * Tasdiqlash kodini yaratish va yuborish.
+     * Tranzaksiyasiz: limit tekshiruvlari (JDBC backend'da alohida ulanish oladi) ochiq
+     * tranzaksiya ulanishini ushlab turmasligi uchun — bazaga yozish qisqa tranzaksiyada.
      */
-    @Transactional
     public void sendVerificationCode(String phone) {
-        // Rate limiting: so'nggi 1 daqiqada yuborilgan kodlar
-        LocalDateTime oneMinuteAgo = LocalDateTime.now().minusSeconds(smsConfig.getVerification().getResendDelaySeconds());
-        long recentCount = smsVerificationRepository.countRecentByPhone(phone, oneMinuteAgo);
+        // Telefon bo'yicha soatlik chegara (IP bo'yicha — RateLimitInterceptor, sms-send guruhi)
+        rateLimiter.check("sms-phone", phone, rateLimitConfig.getSmsPerPhone());
 
-        if (recentCount > 0) {
-            throw new IllegalStateException("Iltimos, " + smsConfig.getVerification().getResendDelaySeconds() + " soniya kutib turing");
-        }
+        String code = transactionTemplate.execute(status -> {
+            // Rate limiting: so'nggi 1 daqiqada yuborilgan kodlar
+            LocalDateTime oneMinuteAgo = LocalDateTime.now().minusSeconds(smsConfig.getVerification().getResendDelaySeconds());
+            long recentCount = smsVerificationRepository.countRecentByPhone(phone, oneMinuteAgo);
+
+            if (recentCount > 0) {
+                throw new IllegalStateException("Iltimos, " + smsConfig.getVerification().getResendDelaySeconds() + " soniya kutib turing");
+            }
 
-        String code = generateAndStoreCode(phone);
+            return generateAndStoreCode(phone);
+        });
 
         // Agar foydalanuvchi Telegram orqali bog'langan bo'lsa — Telegram'ga yuborish
         Optional<TelegramPhoneLink> link = telegramPhoneLinkRepository.findByPhone(phone);
@@ -71,7 +83,8 @@ public class SmsService {
             log.warn("Telegram xatolik, SMS'ga fallback: {}", phone);
         }
 
-        // SMS yuborish (fallback)
+        // SMS yuborish (fallback) — Eskiz pullik, barcha telefonlarga jami chegara
+        rateLimiter.check("sms-global", "*", rateLimitConfig.getSmsGlobal());
         String message = "Jalyuzi do'konida tasdiqlash kodingiz: " + code + ". Kod "
                 + smsConfig.getVerification().getExpirationMinutes() + " daqiqa amal qiladi.";
 
@@ -178,14 +191,28 @@ public class SmsService {
                 .isPresent();
     }
 
+    /**
+     * Telegram'ga urinmasdan to'g'ridan-to'g'ri SMS (outbox dispetcheri uchun).
+     * Xatoni tashlamaydi — natija qayta urinish qarori uchun qaytariladi.
+     */
+    public boolean sendSmsDirect(String phone, String message) {
+        try {
+            return sendSms(phone, message);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     /**
      * SMS yuborish (Eskiz.uz API)
+     *
+     * @return provayder qabul qilgan bo'lsa (yoki test rejimida) true
      */
-    private void sendSms(String phone, String message) {
+    private boolean sendSms(String phone, String message) {
         if (!smsConfig.getEskiz().isEnabled()) {
             // Test rejimi - faqat log
             log.info("SMS (test rejimi): {} -> {}", phone, message);
-            return;
+            return true;
         }
 
         try {
@@ -210,9 +237,10 @@ public class SmsService {
 
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("SMS yuborildi: {}", phone);
-            } else {
-                log.error("SMS yuborishda xatolik: {} - {}", phone, response.getBody());
+                return true;
             }
+            log.error("SMS yuborishda xatolik: {} - {}", phone, response.getBody());
+            return false;
         } catch (Exception e) {
             log.error("SMS yuborishda xatolik: {}", e.getMessage());
             throw new RuntimeException("SMS yuborishda xatolik yuz berdi");
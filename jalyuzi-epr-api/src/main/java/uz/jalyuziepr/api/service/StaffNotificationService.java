@@ -6,13 +6,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.StaffNotificationResponse;
 import uz.jalyuziepr.api.entity.StaffNotification;
-import uz.jalyuziepr.api.entity.User;
 import uz.jalyuziepr.api.enums.StaffNotificationType;
 import uz.jalyuziepr.api.exception.ResourceNotFoundException;
 import uz.jalyuziepr.api.repository.StaffNotificationRepository;
 import uz.jalyuziepr.api.repository.UserRepository;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,7 +25,7 @@ public class StaffNotificationService {
 
     private final StaffNotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationFanout notificationFanout;
 
     /**
      * Foydalanuvchi uchun bildirishnomalarni olish
@@ -45,6 +46,22 @@ public class StaffNotificationService {
                 .map(StaffNotificationResponse::from);
     }
 
+    /**
+     * Cursor rejimidagi ro'yxat (tur ixtiyoriy). Jami son faqat {@code withTotal} bo'lsa hisoblanadi.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<StaffNotificationResponse> getNotificationsCursor(
+            Long userId, StaffNotificationType type, String cursor, int limit, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<StaffNotification> rows = notificationRepository.findByUserIdOrGlobalAfter(
+                userId, type != null ? type.name() : null, after.at(), after.id(), limit + 1);
+        Long total = withTotal ? notificationRepository.countByUserIdOrGlobal(userId, type) : null;
+        return CursorPagedResponse.of(rows, limit,
+                n -> new KeysetCursor(n.getCreatedAt(), n.getId()),
+                page -> page.stream().map(StaffNotificationResponse::from).toList(),
+                total);
+    }
+
     /**
      * O'qilmagan bildirishnomalar soni
      */
@@ -94,39 +111,25 @@ public class StaffNotificationService {
     }
 
     /**
-     * Yangi bildirishnoma yaratish (barcha xodimlar uchun)
+     * Yangi bildirishnoma yaratish (barcha xodimlar uchun).
+     * Chaqiruvchi tranzaksiyasida saqlanadi; WebSocket xabari commit'dan keyin NotificationFanout orqali yuboriladi.
      */
     @Transactional
-    public StaffNotification createGlobalNotification(
+    public void createGlobalNotification(
             String title,
             String message,
             StaffNotificationType type,
             String referenceType,
             Long referenceId) {
 
-        StaffNotification notification = StaffNotification.builder()
-                .user(null) // global
-                .title(title)
-                .message(message)
-                .notificationType(type)
-                .referenceType(referenceType)
-                .referenceId(referenceId)
-                .isRead(false)
-                .build();
-
-        StaffNotification saved = notificationRepository.save(notification);
-
-        // WebSocket orqali real-time yuborish
-        notificationDispatcher.notifyAllStaff(saved);
-
-        return saved;
+        notificationFanout.submit(null, title, message, type, referenceType, referenceId);
     }
 
     /**
      * Yangi bildirishnoma yaratish (ma'lum foydalanuvchi uchun)
      */
     @Transactional
-    public StaffNotification createNotificationForUser(
+    public void createNotificationForUser(
             Long userId,
             String title,
             String message,
@@ -134,25 +137,11 @@ public class StaffNotificationService {
             String referenceType,
             Long referenceId) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Foydalanuvchi topilmadi"));
-
-        StaffNotification notification = StaffNotification.builder()
-                .user(user)
-                .title(title)
-                .message(message)
-                .notificationType(type)
-                .referenceType(referenceType)
-                .referenceId(referenceId)
-                .isRead(false)
-                .build();
-
-        StaffNotification saved = notificationRepository.save(notification);
-
-        // WebSocket orqali real-time yuborish (faqat shu foydalanuvchiga)
-        notificationDispatcher.notifyStaff(userId, saved);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Foydalanuvchi topilmadi");
+        }
 
-        return saved;
+        notificationFanout.submit(userId, title, message, type, referenceType, referenceId);
     }
 
     /**
@@ -2,11 +2,13 @@ package uz.jalyuziepr.api.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.jalyuziepr.api.dto.request.StockAdjustmentRequest;
+import uz.jalyuziepr.api.dto.response.CursorPagedResponse;
 import uz.jalyuziepr.api.dto.response.StockMovementResponse;
 import uz.jalyuziepr.api.entity.Product;
 import uz.jalyuziepr.api.entity.StockMovement;
@@ -18,12 +20,14 @@ import uz.jalyuziepr.api.repository.ProductRepository;
 import uz.jalyuziepr.api.repository.StockMovementRepository;
 import uz.jalyuziepr.api.repository.UserRepository;
 import uz.jalyuziepr.api.security.CustomUserDetails;
+import uz.jalyuziepr.api.util.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -45,6 +49,25 @@ public class StockMovementService {
                 .map(StockMovementResponse::from);
     }
 
+    /**
+     * Cursor rejimidagi harakatlar ro'yxati (filtrlar ixtiyoriy), chuqur sahifalarda ham OFFSET'siz
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<StockMovementResponse> getMovementsCursor(
+            Long productId, MovementType movementType, String referenceType,
+            String cursor, int limit, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<StockMovement> rows = stockMovementRepository.findWithFiltersAfter(
+                productId, movementType, referenceType, after.at(), after.id(), PageRequest.ofSize(limit + 1));
+        Long total = withTotal
+                ? stockMovementRepository.countWithFilters(productId, movementType, referenceType)
+                : null;
+        return CursorPagedResponse.of(rows, limit,
+                m -> new KeysetCursor(m.getCreatedAt(), m.getId()),
+                page -> page.stream().map(StockMovementResponse::from).toList(),
+                total);
+    }
+
     public Page<StockMovementResponse> getProductMovements(Long productId, Pageable pageable) {
         return stockMovementRepository.findByProductId(productId, pageable)
                 .map(StockMovementResponse::from);
@@ -241,7 +241,7 @@ public class TelegramBotService {
      * ALMASHTIRMAYMIZ (boshqa odam kanalni o'zlashtirmasligi uchun).
      */
     private void handleTrackSubscribe(Long chatId, String code) {
-        Optional<Order> orderOpt = orderRepository.findByTrackingCodeWithDetails(
+        Optional<Order> orderOpt = orderRepository.findRootByTrackingCode(
                 code == null ? null : code.trim().toUpperCase());
         if (orderOpt.isEmpty()) {
             telegramService.sendMessage(chatId,
@@ -0,0 +1,105 @@
+package uz.jalyuziepr.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import uz.jalyuziepr.api.config.TrackingViewConfig;
+import uz.jalyuziepr.api.dto.response.OrderTrackingResponse;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Ommaviy kuzatuv sahifasi keshi: kuzatuv kodi → tayyor {@link OrderTrackingResponse} va uning ETag'i.
+ *
+ * Havolalar Telegram'da ulashiladi va tez-tez yangilanadi; keshdan berilgan ko'rish (yoki
+ * If-None-Match bilan 304) bazaga murojaat qilmaydi. Status o'zgarganda yozuv
+ * {@link OrderTrackingService#broadcastUpdate} ichida push'dan OLDIN tashlanadi — push olgan sahifa
+ * qayta yuklanganda yangi holatni ko'radi. Statusdan tashqari o'zgarishlar (to'lov, sanalar) va
+ * boshqa replikalardagi nusxalar {@code app.tracking.view.ttl} bilan cheklanadi.
+ */
+@Slf4j
+@Component
+public class TrackingViewCache {
+
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+    private final TrackingViewConfig config;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TrackingViewCache(TrackingViewConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("app.tracking.view").tag("result", "hit")
+                .description("Kuzatuv sahifasi keshi").register(meterRegistry);
+        this.misses = Counter.builder("app.tracking.view").tag("result", "miss")
+                .description("Kuzatuv sahifasi keshi").register(meterRegistry);
+    }
+
+    /**
+     * @param etag kuchli ETag (qo'shtirnoq bilan); javobni serializatsiya qilib bo'lmasa null
+     */
+    public record View(OrderTrackingResponse response, String etag, long expiresAtNanos) {
+    }
+
+    /**
+     * Keshdagi ko'rinish yoki {@code loader} bilan yangisi. Topilmagan kod (loader istisnosi)
+     * keshlanmaydi.
+     */
+    public View get(String code, Function<String, OrderTrackingResponse> loader) {
+        String key = OrderTrackingService.normalize(code);
+        long now = System.nanoTime();
+        View cached = views.get(key);
+        if (cached != null && cached.expiresAtNanos() - now > 0) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        OrderTrackingResponse response = loader.apply(key);
+        View view = new View(response, etagOf(response), now + config.getTtl().toNanos());
+        if (views.size() >= config.getMaxEntries()) {
+            views.values().removeIf(v -> v.expiresAtNanos() - now <= 0);
+        }
+        if (views.size() < config.getMaxEntries()) {
+            views.put(key, view);
+        }
+        return view;
+    }
+
+    /**
+     * Kod bo'yicha yozuvni tashlaydi — darhol va tranzaksiya tugagach yana bir marta, oraliqda
+     * eski holat qayta keshlanib qolmasligi uchun.
+     */
+    public void evict(String code) {
+        if (code == null) {
+            return;
+        }
+        String key = OrderTrackingService.normalize(code);
+        views.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    views.remove(key);
+                }
+            });
+        }
+    }
+
+    private String etagOf(OrderTrackingResponse response) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(response)) + "\"";
+        } catch (JsonProcessingException e) {
+            log.warn("Kuzatuv javobi ETag'ini hisoblab bo'lmadi: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package uz.jalyuziepr.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.entity.UserAgent;
+import uz.jalyuziepr.api.repository.UserAgentRepository;
+import uz.jalyuziepr.api.util.UserAgentParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * User-Agent satrlarini user_agents jadvaliga "intern" qiladi: satr → (id, tahlil natijasi).
+ *
+ * Xotiradagi xaritada topilsa bazaga ham, UserAgentParser'ga ham murojaat yo'q. Topilmasa
+ * lug'atdan o'qiladi yoki {@code INSERT ... ON CONFLICT DO NOTHING RETURNING id} bilan qo'shiladi —
+ * chaqiruvchining o'z tranzaksiyasi va ulanishida (REQUIRES_NEW ikkinchi pul ulanishini talab
+ * qilib, kirish/audit yuklamasida Hikari'ni tugatardi). Shuning uchun id xaritaga faqat commit'dan
+ * keyin tushadi: tranzaksiya bekor qilinsa, qo'shilgan qator ham, keshdagi id ham qolmaydi.
+ *
+ * Satr mijozdan keladi: boshqaruv belgilari olib tashlanadi, bo'shliqlar siqiladi va
+ * {@link #MAX_LENGTH} gacha qisqartiriladi. Hech narsa bog'lanmagan va uzoq ko'rinmagan qatorlar
+ * {@link #purgeUnreferenced} bilan o'chiriladi. Keshga tushadigan har bir id'ning
+ * {@code last_seen_at} i {@link #TOUCH_INTERVAL} dan eski bo'lsa yozuvchi tranzaksiyada yangilanadi
+ * (qator qulfi bilan) — tozalash qulflangan yoki yaqinda ko'ringan qatorga tegmaydi, shuning uchun
+ * hech bir replika keshidagi id o'chib ketmaydi.
+ */
+@Slf4j
+@Component
+public class UserAgentDictionary {
+
+    // Haqiqiy brauzer satrlari 300 belgidan oshmaydi; uzunroq qismi tahlilga ham kerak emas
+    static final int MAX_LENGTH = 512;
+    private static final int MAX_CACHED = 10_000;
+    private static final long CACHE_TTL = TimeUnit.HOURS.toNanos(1);
+    // last_seen_at shundan eski bo'lsagina yangilanadi (har keshlashda UPDATE bo'lmasin)
+    private static final String TOUCH_INTERVAL = "10 minutes";
+    // Tozalash chegarasi kamida shuncha eski: kesh muddati + TOUCH_INTERVAL dan ancha katta
+    private static final long MIN_IDLE_HOURS = 24;
+    private static final Pattern CONTROL_CHARS = Pattern.compile("\\p{Cntrl}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s{2,}");
+
+    /** Lug'at yozuvi; bo'sh User-Agent uchun id null */
+    public record Entry(Long id, UserAgentParser.DeviceInfo deviceInfo) {
+    }
+
+    private record Cached(Entry entry, long expiresAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserAgentRepository userAgentRepository;
+    private final UserAgentParser userAgentParser;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Cached> entries = new ConcurrentHashMap<>();
+
+    public UserAgentDictionary(JdbcTemplate jdbcTemplate,
+                               UserAgentRepository userAgentRepository,
+                               UserAgentParser userAgentParser,
+                               TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userAgentRepository = userAgentRepository;
+        this.userAgentParser = userAgentParser;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Entry resolve(String userAgent) {
+        String ua = normalize(userAgent);
+        if (ua == null) {
+            return new Entry(null, userAgentParser.parse(null));
+        }
+        Cached cached = entries.get(ua);
+        if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+            return cached.entry();
+        }
+
+        Entry entry = load(ua);
+        // Faqat o'qish tranzaksiyasi last_seen_at ni yangilay olmaydi — bunday id keshlanmaydi
+        if (entry.id() == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return entry;
+        }
+        Runnable remember = () -> {
+            if (entries.size() >= MAX_CACHED) {
+                entries.clear();
+            }
+            entries.put(ua, new Cached(entry, System.nanoTime() + CACHE_TTL));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember.run();
+                }
+            });
+        } else {
+            remember.run();
+        }
+        return entry;
+    }
+
+    /**
+     * Hech bir audit_logs / login_attempts / sessions yozuvi bog'lanmagan va {@code olderThan}
+     * dan (kamida {@link #MIN_IDLE_HOURS} soatdan) beri ko'rinmagan qatorlarni partiyalab o'chiradi.
+     * Har partiya alohida tranzaksiyada: qatorlar {@code FOR UPDATE SKIP LOCKED} bilan olinadi
+     * (hozir resolve yoki FK tekshiruvi ushlab turgan qator o'tkazib yuboriladi), o'chirishdan oldin
+     * shu replika keshidan chiqariladi.
+     *
+     * @return o'chirilgan qatorlar soni
+     */
+    public int purgeUnreferenced(LocalDateTime olderThan, int batchSize) {
+        LocalDateTime minIdle = LocalDateTime.now().minusHours(MIN_IDLE_HOURS);
+        LocalDateTime cutoff = olderThan.isBefore(minIdle) ? olderThan : minIdle;
+        int total = 0;
+        int selected;
+        do {
+            int[] batch = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList("""
+                        SELECT ua.id FROM user_agents ua
+                        WHERE ua.last_seen_at < ?
+                          AND NOT EXISTS (SELECT 1 FROM audit_logs a WHERE a.user_agent_id = ua.id)
+                          AND NOT EXISTS (SELECT 1 FROM login_attempts l WHERE l.user_agent_id = ua.id)
+                          AND NOT EXISTS (SELECT 1 FROM sessions s WHERE s.user_agent_id = ua.id)
+                        ORDER BY ua.id
+                        LIMIT ?
+                        FOR UPDATE OF ua SKIP LOCKED
+                        """, Long.class, cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return new int[]{0, 0};
+                }
+                Set<Long> doomed = new HashSet<>(ids);
+                entries.values().removeIf(c -> doomed.contains(c.entry().id()));
+                int deleted = jdbcTemplate.update("DELETE FROM user_agents WHERE id = ANY(?)",
+                        (Object) ids.toArray(new Long[0]));
+                return new int[]{ids.size(), deleted};
+            });
+            selected = batch[0];
+            total += batch[1];
+        } while (selected == batchSize);
+        return total;
+    }
+
+    /** Boshqaruv belgilarisiz, siqilgan va qisqartirilgan satr; bo'sh bo'lsa null */
+    static String normalize(String userAgent) {
+        if (userAgent == null) {
+            return null;
+        }
+        String ua = WHITESPACE.matcher(CONTROL_CHARS.matcher(userAgent).replaceAll(" ")).replaceAll(" ").trim();
+        if (ua.isEmpty()) {
+            return null;
+        }
+        return ua.length() > MAX_LENGTH ? ua.substring(0, MAX_LENGTH) : ua;
+    }
+
+    /** Lug'at id'si bo'yicha proksi (SELECT'siz) — AuditLog.userAgentRef uchun */
+    public UserAgent reference(Entry entry) {
+        return entry != null && entry.id() != null ? userAgentRepository.getReferenceById(entry.id()) : null;
+    }
+
+    private Entry load(String ua) {
+        String hash = sha256(ua);
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Qator qulfi tranzaksiya oxirigacha: parallel tozalash uni o'tkazib yuboradi; tozalash
+            // birinchi qulflagan bo'lsa, kutib 0 qator yangilanadi va quyida yangi qator qo'shiladi
+            jdbcTemplate.update("UPDATE user_agents SET last_seen_at = now() WHERE ua_hash = ?"
+                    + " AND last_seen_at < now() - INTERVAL '" + TOUCH_INTERVAL + "'", hash);
+        }
+        List<Entry> found = jdbcTemplate.query(
+                "SELECT id, device_type, browser, os FROM user_agents WHERE ua_hash = ?",
+                (rs, i) -> new Entry(rs.getLong("id"), rs.getString("device_type") == null ? null
+                        : UserAgentParser.DeviceInfo.builder()
+                                .deviceType(rs.getString("device_type"))
+                                .browser(rs.getString("browser"))
+                                .os(rs.getString("os"))
+                                .build()),
+                hash);
+        UserAgentParser.DeviceInfo parsed = userAgentParser.parse(ua);
+        // Faqat o'qish tranzaksiyasida yozib bo'lmaydi: topilgan id yoki bog'lanishsiz tahlil
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (!found.isEmpty()) {
+            Entry existing = found.get(0);
+            if (existing.deviceInfo() != null) {
+                return existing;
+            }
+            if (readOnly) {
+                return new Entry(existing.id(), parsed);
+            }
+            // Tahlil ustunlari bo'sh qolgan yozuv — to'ldirib qo'yiladi
+            jdbcTemplate.update("UPDATE user_agents SET device_type = ?, browser = ?, os = ? WHERE id = ?",
+                    parsed.getDeviceType(), parsed.getBrowser(), parsed.getOs(), existing.id());
+            return new Entry(existing.id(), parsed);
+        }
+
+        if (readOnly) {
+            return new Entry(null, parsed);
+        }
+        List<Long> inserted = jdbcTemplate.queryForList("""
+                INSERT INTO user_agents (ua_hash, user_agent, device_type, browser, os)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (ua_hash) DO NOTHING
+                RETURNING id
+                """, Long.class, hash, ua, parsed.getDeviceType(), parsed.getBrowser(), parsed.getOs());
+        Long id = !inserted.isEmpty() ? inserted.get(0)
+                // Parallel so'rov bizdan oldin qo'shgan
+                : jdbcTemplate.queryForObject("SELECT id FROM user_agents WHERE ua_hash = ?", Long.class, hash);
+        log.debug("User-Agent lug'atiga qo'shildi: id={} {}", id, parsed);
+        return new Entry(id, parsed);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package uz.jalyuziepr.api.service;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.jalyuziepr.api.entity.User;
+import uz.jalyuziepr.api.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Foydalanuvchi id → username keshi: audit yozuvlari nomni har safar bazadan o'qimaydi.
+ *
+ * Xarita bean'ga tegishli va har bir yozuv {@link #TTL} dan keyin eskiradi. Foydalanuvchi shu
+ * replikada o'zgarganda yoki o'chirilganda yozuv {@link Listener} orqali darhol va tranzaksiya
+ * tugagach yana bir marta tashlanadi; boshqa replikalar yangi nomni TTL tugagach ko'radi
+ * (ehcache.xml'dagi "security" regionlari bilan bir xil yondashuv).
+ */
+@Component
+@RequiredArgsConstructor
+public class UsernameCache {
+
+    static final Duration TTL = Duration.ofMinutes(10);
+
+    private record Cached(String username, long expiresAtNanos) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    private final Map<Long, Cached> usernames = new ConcurrentHashMap<>();
+
+    private final UserRepository userRepository;
+
+    /** Username yoki foydalanuvchi topilmasa null */
+    public String get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        Cached cached = usernames.get(userId);
+        if (cached != null && !cached.isExpired()) {
+            return cached.username();
+        }
+        String username = userRepository.findUsernameById(userId).orElse(null);
+        if (username != null) {
+            usernames.put(userId, new Cached(username, System.nanoTime() + TTL.toNanos()));
+        } else {
+            usernames.remove(userId);
+        }
+        return username;
+    }
+
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        usernames.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    usernames.remove(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * User entity'siga ulanadi: @EntityListeners({..., UsernameCache.Listener.class}).
+     * JPA listener'i Spring'dan tashqarida yaratilishi mumkin, shuning uchun kesh bean'i
+     * AuditEntityListener'dagidek statik init orqali beriladi.
+     */
+    @Component
+    public static class Listener {
+
+        private static UsernameCache cache;
+
+        @Autowired
+        public void init(UsernameCache usernameCache) {
+            Listener.cache = usernameCache;
+        }
+
+        @PostUpdate
+        @PostRemove
+        public void onUserChanged(User user) {
+            if (cache != null) {
+                cache.evict(user.getId());
+            }
+        }
+    }
+}
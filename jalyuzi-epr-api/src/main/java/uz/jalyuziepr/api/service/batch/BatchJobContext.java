@@ -0,0 +1,12 @@
+package uz.jalyuziepr.api.service.batch;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Bitta ishning o'zgarmas parametrlari. Davom ettirilganda ham {@code startedAt} birinchi
+ * boshlangan vaqt bo'lib qoladi — vaqtga bog'liq filtrlar (masalan, "24 soatdan eski")
+ * uzilishdan keyin ham bir xil natija beradi.
+ */
+public record BatchJobContext(String jobName, LocalDate runDate, LocalDateTime startedAt) {
+}
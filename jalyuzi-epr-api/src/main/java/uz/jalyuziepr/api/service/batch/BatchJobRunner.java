@@ -0,0 +1,155 @@
+package uz.jalyuziepr.api.service.batch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.BatchJobConfig;
+import uz.jalyuziepr.api.entity.BatchJobRun;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kunlik fon vazifalarini bajaruvchi:
+ *   - replikalararo lock (batch_job_locks) — vazifa bir vaqtda faqat bitta nusxada ishlaydi;
+ *   - keyset chunk'lar, har biri alohida tranzaksiyada, checkpoint bilan birga commit qilinadi;
+ *     chunk'dagi biror yozuv xato bersa chunk rollback qilinadi va yozuvma-yozuv (har biri o'z
+ *     tranzaksiyasida) qayta bajariladi — xato bergan yozuv o'tkazib yuboriladi, qolganlari saqlanadi;
+ *   - bir ish kuni uchun bitta checkpoint — tugagan ish qayta ishga tushmaydi, uzilgani
+ *     {@link #resumeUnfinished()} orqali oxirgi commit qilingan chunk'dan davom etadi;
+ *   - metrikalar: app.batch.job.duration (job, outcome) va app.batch.job.items (job, outcome).
+ */
+@Slf4j
+@Component
+public class BatchJobRunner {
+
+    private final BatchJobStore store;
+    private final BatchJobConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ChunkedJob<?>> jobs = new HashMap<>();
+    private final String owner;
+
+    public BatchJobRunner(BatchJobStore store,
+                          BatchJobConfig config,
+                          MeterRegistry meterRegistry,
+                          List<ChunkedJob<?>> jobList) {
+        this.store = store;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        for (ChunkedJob<?> job : jobList) {
+            if (jobs.put(job.name(), job) != null) {
+                throw new IllegalStateException("Batch job nomi takrorlangan: " + job.name());
+            }
+        }
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /** Vazifani bugungi sana uchun ishga tushiradi (yoki davom ettiradi) */
+    public void run(String jobName) {
+        ChunkedJob<?> job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("Noma'lum batch job: " + jobName);
+        }
+        run(job, LocalDate.now());
+    }
+
+    /**
+     * Tugallanmagan ishlarni o'z ish kuni bilan davom ettiradi — egasi to'xtagan (lease tugagan)
+     * yoki xato bilan to'xtagan ishlar, qaysi sanaga tegishli bo'lishidan qat'i nazar
+     * (masalan, 23:50 da boshlanib yarim tundan keyin uzilgan ish).
+     */
+    public void resumeUnfinished() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(config.getLockLeaseSeconds());
+        for (BatchJobRun unfinished : store.findUnfinished(staleBefore, config.getMaxAttempts())) {
+            ChunkedJob<?> job = jobs.get(unfinished.getJobName());
+            if (job != null) {
+                run(job, unfinished.getRunDate());
+            }
+        }
+    }
+
+    private <T> void run(ChunkedJob<T> job, LocalDate runDate) {
+        String name = job.name();
+        if (!store.tryLock(name, owner, config.getLockLeaseSeconds())) {
+            log.debug("Batch job {} boshqa nusxada ishlamoqda — o'tkazib yuborildi", name);
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "completed";
+        BatchJobRun run = null;
+        try {
+            run = store.start(name, runDate, owner, config.getMaxAttempts());
+            if (run == null) {
+                outcome = "skipped";
+                return;
+            }
+            BatchJobContext context = new BatchJobContext(name, runDate, run.getStartedAt());
+            log.info("Batch job {} boshlandi ({}, urinish {})", name, runDate, run.getAttempts());
+
+            store.prepare(job, context);
+
+            int chunkSize = Math.max(1, config.getChunkSize());
+            int processed = 0;
+            int failed = 0;
+            BatchJobStore.ChunkResult chunk;
+            do {
+                try {
+                    chunk = store.processChunk(job, context, run.getId(), chunkSize, owner, config.getLockLeaseSeconds());
+                } catch (BatchJobStore.ItemFailedException e) {
+                    log.warn("Batch job {}: chunk rollback qilindi ({}), yozuvma-yozuv qayta bajariladi",
+                            name, e.getMessage());
+                    chunk = processOneByOne(job, context, run.getId(), chunkSize);
+                }
+                processed += chunk.processed();
+                failed += chunk.failed();
+                meterRegistry.counter("app.batch.job.items", "job", name, "outcome", "processed").increment(chunk.processed());
+                meterRegistry.counter("app.batch.job.items", "job", name, "outcome", "failed").increment(chunk.failed());
+            } while (!chunk.last());
+
+            store.complete(run.getId());
+            log.info("Batch job {} tugadi: {} ta qayta ishlandi, {} ta xato", name, processed, failed);
+        } catch (Exception e) {
+            outcome = "failed";
+            log.error("Batch job {} xato bilan to'xtadi: {}", name, e.getMessage(), e);
+            if (run != null) {
+                store.fail(run.getId(), e);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("app.batch.job.duration", "job", name, "outcome", outcome));
+            store.unlock(name, owner);
+        }
+    }
+
+    /** Rollback qilingan chunk'ni bitta yozuvli chunk'lar bilan qayta bajaradi */
+    private <T> BatchJobStore.ChunkResult processOneByOne(ChunkedJob<T> job, BatchJobContext context,
+                                                          Long runId, int chunkSize) {
+        int read = 0;
+        int processed = 0;
+        int failed = 0;
+        while (read < chunkSize) {
+            BatchJobStore.ChunkResult one;
+            try {
+                one = store.processChunk(job, context, runId, 1, owner, config.getLockLeaseSeconds());
+            } catch (BatchJobStore.ItemFailedException e) {
+                log.error("Batch job {}: yozuv {} qayta ishlanmadi: {}",
+                        job.name(), e.getItemId(), e.getCause().getMessage(), e.getCause());
+                store.skipItem(runId, e.getItemId());
+                one = new BatchJobStore.ChunkResult(1, 0, 1, false);
+            }
+            if (one.read() == 0) {
+                return new BatchJobStore.ChunkResult(read, processed, failed, true);
+            }
+            read += one.read();
+            processed += one.processed();
+            failed += one.failed();
+        }
+        return new BatchJobStore.ChunkResult(read, processed, failed, false);
+    }
+}
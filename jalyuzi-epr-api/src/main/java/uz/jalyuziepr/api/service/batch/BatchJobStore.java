@@ -0,0 +1,171 @@
+package uz.jalyuziepr.api.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uz.jalyuziepr.api.entity.BatchJobRun;
+import uz.jalyuziepr.api.enums.BatchJobRunStatus;
+import uz.jalyuziepr.api.repository.BatchJobRunRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * BatchJobRunner'ning tranzaksion qadamlari: lock, checkpoint va chunk bajarilishi.
+ * Har bir metod o'z tranzaksiyasida ishlaydi — chunk commit bo'lsa checkpoint ham commit bo'ladi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchJobStore {
+
+    private static final int ERROR_MAX_LENGTH = 1000;
+
+    private final BatchJobRunRepository runRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryLock(String jobName, String owner, int leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        return runRepository.tryLock(jobName, owner, now, now.plusSeconds(leaseSeconds)) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void unlock(String jobName, String owner) {
+        runRepository.unlock(jobName, owner, LocalDateTime.now());
+    }
+
+    /**
+     * Bugungi ishni boshlaydi yoki uzilgan joyidan davom ettiradi.
+     * null — ish allaqachon tugagan yoki urinishlar limiti tugagan.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BatchJobRun start(String jobName, LocalDate runDate, String owner, int maxAttempts) {
+        BatchJobRun run = runRepository.findByJobNameAndRunDate(jobName, runDate).orElse(null);
+        if (run == null) {
+            return runRepository.save(BatchJobRun.builder()
+                    .jobName(jobName)
+                    .runDate(runDate)
+                    .owner(owner)
+                    .build());
+        }
+        if (run.getStatus() == BatchJobRunStatus.COMPLETED) {
+            return null;
+        }
+        if (run.getAttempts() >= maxAttempts) {
+            log.warn("Batch job {} ({}) urinishlar limiti tugadi: {}", jobName, runDate, run.getAttempts());
+            return null;
+        }
+        log.info("Batch job {} ({}) davom ettirilmoqda: lastId={}, qayta ishlangan={}",
+                jobName, runDate, run.getLastId(), run.getProcessedCount());
+        run.setAttempts(run.getAttempts() + 1);
+        run.setStatus(BatchJobRunStatus.RUNNING);
+        run.setOwner(owner);
+        run.setLastError(null);
+        run.setUpdatedAt(LocalDateTime.now());
+        return runRepository.save(run);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public <T> void prepare(ChunkedJob<T> job, BatchJobContext context) {
+        job.prepare(context);
+    }
+
+    /**
+     * Bitta chunk: o'qish → har bir yozuvni qayta ishlash → checkpoint. Hammasi bitta tranzaksiyada,
+     * shuning uchun commit'dan oldin uzilsa chunk to'liq qayta bajariladi.
+     *
+     * Yozuv xatosi shu yerda yutib yuborilmaydi: xato bergan @Transactional servis (yoki DB xatosi)
+     * umumiy tranzaksiyani rollback-only qilgan bo'ladi va chunk commit'i baribir yiqiladi.
+     * Buning o'rniga {@link ItemFailedException} tashlanadi — chunk to'liq rollback bo'ladi,
+     * BatchJobRunner uni yozuvma-yozuv qayta bajaradi va xato bergan yozuvni {@link #skipItem}
+     * bilan o'tkazib yuboradi.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public <T> ChunkResult processChunk(ChunkedJob<T> job, BatchJobContext context, Long runId,
+                                        int chunkSize, String owner, int leaseSeconds) {
+        BatchJobRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Batch job checkpoint topilmadi: " + runId));
+
+        List<T> items = job.fetchChunk(context, run.getLastId(), chunkSize);
+        long lastId = run.getLastId();
+        for (T item : items) {
+            long id = job.idOf(item);
+            try {
+                job.process(context, item);
+            } catch (RuntimeException e) {
+                throw new ItemFailedException(id, e);
+            }
+            lastId = Math.max(lastId, id);
+        }
+
+        run.setLastId(lastId);
+        run.setProcessedCount(run.getProcessedCount() + items.size());
+        run.setUpdatedAt(LocalDateTime.now());
+
+        // Lease'ni uzaytiramiz; boshqa replika olib qo'ygan bo'lsa chunk rollback bo'ladi
+        LocalDateTime now = LocalDateTime.now();
+        if (runRepository.tryLock(job.name(), owner, now, now.plusSeconds(leaseSeconds)) != 1) {
+            throw new IllegalStateException("Batch job lock'i yo'qotildi: " + job.name());
+        }
+        return new ChunkResult(items.size(), items.size(), 0, items.size() < chunkSize);
+    }
+
+    /** Xato bergan yozuvni o'tkazib yuboradi: checkpoint undan keyinga suriladi, xato hisoblanadi */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void skipItem(Long runId, long itemId) {
+        runRepository.findById(runId).ifPresent(run -> {
+            run.setLastId(Math.max(run.getLastId(), itemId));
+            run.setFailedCount(run.getFailedCount() + 1);
+            run.setUpdatedAt(LocalDateTime.now());
+            runRepository.save(run);
+        });
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(Long runId) {
+        runRepository.findById(runId).ifPresent(run -> {
+            run.setStatus(BatchJobRunStatus.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            run.setUpdatedAt(run.getFinishedAt());
+            runRepository.save(run);
+        });
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void fail(Long runId, Exception error) {
+        runRepository.findById(runId).ifPresent(run -> {
+            String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+            run.setStatus(BatchJobRunStatus.FAILED);
+            run.setLastError(message.length() > ERROR_MAX_LENGTH ? message.substring(0, ERROR_MAX_LENGTH) : message);
+            run.setUpdatedAt(LocalDateTime.now());
+            runRepository.save(run);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<BatchJobRun> findUnfinished(LocalDateTime staleBefore, int maxAttempts) {
+        return runRepository.findUnfinished(staleBefore, maxAttempts);
+    }
+
+    /** Chunk natijasi; {@code last} — keyingi chunk bo'sh bo'ladi */
+    public record ChunkResult(int read, int processed, int failed, boolean last) {
+    }
+
+    /** Chunk ichidagi yozuv xatosi — chunk tranzaksiyasi rollback qilinadi */
+    public static class ItemFailedException extends RuntimeException {
+
+        private final long itemId;
+
+        public ItemFailedException(long itemId, RuntimeException cause) {
+            super("Yozuv " + itemId + " qayta ishlanmadi: " + cause.getMessage(), cause);
+            this.itemId = itemId;
+        }
+
+        public long getItemId() {
+            return itemId;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package uz.jalyuziepr.api.service.batch;
+
+import java.util.List;
+
+/**
+ * Keyset bo'yicha chunk'larga bo'lib bajariladigan kunlik fon vazifasi.
+ * {@link BatchJobRunner} har bir chunk'ni alohida tranzaksiyada o'qiydi va qayta ishlaydi,
+ * so'ng checkpoint'ni (oxirgi id) shu tranzaksiyada yozadi.
+ *
+ * @param <T> qayta ishlanadigan yozuv (odatda entity, bog'liqliklari fetch join bilan)
+ */
+public interface ChunkedJob<T> {
+
+    /** Vazifaning barqaror nomi — checkpoint, lock va metrika kaliti */
+    String name();
+
+    /**
+     * Chunk'lardan oldin har bir urinishda bir marta, alohida tranzaksiyada chaqiriladi
+     * (masalan, ommaviy UPDATE). Qayta chaqirilganda xavfsiz (idempotent) bo'lishi shart.
+     */
+    default void prepare(BatchJobContext context) {
+    }
+
+    /**
+     * {@code id > afterId} bo'lgan keyingi yozuvlar, id bo'yicha o'sish tartibida, ko'pi bilan
+     * {@code limit} ta. Yozuv ichida ishlatiladigan bog'liqliklar fetch join bilan yuklansin.
+     */
+    List<T> fetchChunk(BatchJobContext context, long afterId, int limit);
+
+    long idOf(T item);
+
+    /**
+     * Bitta yozuvni chunk tranzaksiyasi ichida qayta ishlaydi. Xato tashlansa butun chunk rollback
+     * bo'ladi va {@link BatchJobRunner} shu oraliqni bittadan (har yozuv o'z tranzaksiyasida) qayta
+     * bajaradi; yana xato bergan yozuv o'tkazib yuboriladi va xato sifatida hisoblanadi. Shuning
+     * uchun metod qayta chaqirilganda xavfsiz bo'lishi va xatoni ushlab qolmasligi kerak.
+     */
+    void process(BatchJobContext context, T item);
+}
@@ -0,0 +1,50 @@
+package uz.jalyuziepr.api.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.CustomerMetrics;
+import uz.jalyuziepr.api.repository.CustomerMetricsRepository;
+import uz.jalyuziepr.api.service.CustomerInsightsService;
+
+import java.util.List;
+
+/**
+ * customer_metrics bo'yicha kunlik vazifa:
+ *   - agregatlarni buyurtmalardan qayta yozish (prepare) — o'tkazib yuborilgan yangilanishlarni tuzatadi;
+ *   - recency o'tishi bilan segmentlarni qayta baholash (chunk'lar)
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerMetricsJob implements ChunkedJob<CustomerMetrics> {
+
+    public static final String NAME = "customer-metrics";
+
+    private final CustomerMetricsRepository metricsRepository;
+    private final CustomerInsightsService customerInsightsService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void prepare(BatchJobContext context) {
+        customerInsightsService.rebuildAggregates();
+    }
+
+    @Override
+    public List<CustomerMetrics> fetchChunk(BatchJobContext context, long afterId, int limit) {
+        return metricsRepository.findChunk(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long idOf(CustomerMetrics metrics) {
+        return metrics.getCustomerId();
+    }
+
+    @Override
+    public void process(BatchJobContext context, CustomerMetrics metrics) {
+        customerInsightsService.resegment(metrics, context.startedAt());
+    }
+}
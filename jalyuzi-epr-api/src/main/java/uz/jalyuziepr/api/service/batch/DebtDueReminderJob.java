@@ -0,0 +1,51 @@
+package uz.jalyuziepr.api.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.Debt;
+import uz.jalyuziepr.api.repository.DebtRepository;
+import uz.jalyuziepr.api.service.StaffNotificationService;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Muddati 3 kun ichida tugaydigan qarzlar uchun xodimlarga eslatma
+ */
+@Component
+@RequiredArgsConstructor
+public class DebtDueReminderJob implements ChunkedJob<Debt> {
+
+    public static final String NAME = "debt-due-reminder";
+    private static final int DAYS_AHEAD = 3;
+
+    private final DebtRepository debtRepository;
+    private final StaffNotificationService notificationService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<Debt> fetchChunk(BatchJobContext context, long afterId, int limit) {
+        return debtRepository.findUpcomingDueChunk(context.runDate(), context.runDate().plusDays(DAYS_AHEAD),
+                afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long idOf(Debt debt) {
+        return debt.getId();
+    }
+
+    @Override
+    public void process(BatchJobContext context, Debt debt) {
+        long daysLeft = ChronoUnit.DAYS.between(context.runDate(), debt.getDueDate());
+        notificationService.notifyDebtReminder(
+                debt.getCustomer().getFullName(),
+                String.format("%,.0f", debt.getRemainingAmount()),
+                (int) daysLeft,
+                debt.getId());
+    }
+}
@@ -0,0 +1,93 @@
+package uz.jalyuziepr.api.service.batch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.repository.CustomerLedgerRepository;
+import uz.jalyuziepr.api.repository.projection.LedgerCheckView;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balans daftarini tekshirish: har bir mijoz uchun customers.balance daftar yig'indisiga,
+ * har bir qarzning remaining_amount i shu qarz yozuvlariga mos kelishi kerak.
+ *
+ * Nomuvofiqliklar tuzatilmaydi — log va metrikalar orqali xabar qilinadi:
+ *   - app.ledger.reconcile{outcome=ok|balance_drift|debt_drift} — tekshirilgan mijozlar;
+ *   - app.ledger.drift.customers / app.ledger.drift.amount — joriy ishdagi nomuvofiq mijozlar
+ *     soni va farqlar yig'indisi (har urinish boshida nolga qaytadi).
+ */
+@Slf4j
+@Component
+public class LedgerReconciliationJob implements ChunkedJob<LedgerCheckView> {
+
+    public static final String NAME = "ledger-reconciliation";
+
+    private final CustomerLedgerRepository ledgerRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong driftedCustomers = new AtomicLong();
+    // Tiyinda — gauge uchun
+    private final AtomicLong driftAmountMinor = new AtomicLong();
+
+    public LedgerReconciliationJob(CustomerLedgerRepository ledgerRepository, MeterRegistry meterRegistry) {
+        this.ledgerRepository = ledgerRepository;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("app.ledger.drift.customers", driftedCustomers, AtomicLong::get)
+                .description("Balansi yoki qarzlari daftarga mos kelmaydigan mijozlar (oxirgi tekshiruv)")
+                .register(meterRegistry);
+        Gauge.builder("app.ledger.drift.amount", driftAmountMinor, v -> v.get() / 100.0)
+                .description("Nomuvofiqliklarning mutlaq yig'indisi, so'm (oxirgi tekshiruv)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void prepare(BatchJobContext context) {
+        driftedCustomers.set(0);
+        driftAmountMinor.set(0);
+    }
+
+    @Override
+    public List<LedgerCheckView> fetchChunk(BatchJobContext context, long afterId, int limit) {
+        return ledgerRepository.findCheckChunk(afterId, limit);
+    }
+
+    @Override
+    public long idOf(LedgerCheckView row) {
+        return row.getCustomerId();
+    }
+
+    @Override
+    public void process(BatchJobContext context, LedgerCheckView row) {
+        BigDecimal balanceDrift = row.getBalance().subtract(row.getLedgerBalance());
+        boolean balanceOk = balanceDrift.signum() == 0;
+        boolean debtsOk = row.getDriftedDebts() == 0;
+
+        if (balanceOk && debtsOk) {
+            meterRegistry.counter("app.ledger.reconcile", "outcome", "ok").increment();
+            return;
+        }
+
+        BigDecimal drift = balanceDrift.abs().add(row.getDebtDrift());
+        driftedCustomers.incrementAndGet();
+        driftAmountMinor.addAndGet(drift.movePointRight(2).longValue());
+        if (!balanceOk) {
+            meterRegistry.counter("app.ledger.reconcile", "outcome", "balance_drift").increment();
+            log.warn("Balans daftarga mos emas: mijoz={} ({}), balans={}, daftar={}",
+                    row.getCustomerId(), row.getCustomerName(), row.getBalance(), row.getLedgerBalance());
+        }
+        if (!debtsOk) {
+            meterRegistry.counter("app.ledger.reconcile", "outcome", "debt_drift").increment();
+            log.warn("Qarz qoldiqlari daftarga mos emas: mijoz={} ({}), qarzlar={}, farq={}",
+                    row.getCustomerId(), row.getCustomerName(), row.getDriftedDebts(), row.getDebtDrift());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package uz.jalyuziepr.api.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.Debt;
+import uz.jalyuziepr.api.enums.StaffNotificationType;
+import uz.jalyuziepr.api.repository.DebtRepository;
+import uz.jalyuziepr.api.service.StaffNotificationService;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Muddati o'tgan qarzlar uchun kunlik ogohlantirish
+ */
+@Component
+@RequiredArgsConstructor
+public class OverdueDebtWarningJob implements ChunkedJob<Debt> {
+
+    public static final String NAME = "debt-overdue-warning";
+
+    private final DebtRepository debtRepository;
+    private final StaffNotificationService notificationService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<Debt> fetchChunk(BatchJobContext context, long afterId, int limit) {
+        return debtRepository.findOverdueChunk(context.runDate(), afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long idOf(Debt debt) {
+        return debt.getId();
+    }
+
+    @Override
+    public void process(BatchJobContext context, Debt debt) {
+        long daysOverdue = ChronoUnit.DAYS.between(debt.getDueDate(), context.runDate());
+        notificationService.createGlobalNotification(
+                "Muddati o'tgan qarz!",
+                String.format("%s ning qarzi %s so'm. Muddati %d kun oldin o'tgan!",
+                        debt.getCustomer().getFullName(),
+                        String.format("%,.0f", debt.getRemainingAmount()),
+                        daysOverdue),
+                StaffNotificationType.WARNING,
+                "DEBT",
+                debt.getId());
+    }
+}
@@ -0,0 +1,50 @@
+package uz.jalyuziepr.api.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.PaymentSchedule;
+import uz.jalyuziepr.api.repository.PaymentScheduleRepository;
+import uz.jalyuziepr.api.service.PaymentScheduleService;
+
+import java.util.List;
+
+/**
+ * To'lov jadvali bo'yicha kunlik vazifa:
+ *   - muddati o'tgan bo'laklarni OVERDUE deb belgilash (prepare, ommaviy UPDATE);
+ *   - bugun due bo'lganlar uchun xodimlarga eslatma (chunk'lar, reminderSentAt belgilanadi)
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentScheduleReminderJob implements ChunkedJob<PaymentSchedule> {
+
+    public static final String NAME = "payment-schedule-reminder";
+
+    private final PaymentScheduleRepository scheduleRepository;
+    private final PaymentScheduleService paymentScheduleService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void prepare(BatchJobContext context) {
+        paymentScheduleService.markOverdue(context.runDate());
+    }
+
+    @Override
+    public List<PaymentSchedule> fetchChunk(BatchJobContext context, long afterId, int limit) {
+        return scheduleRepository.findRemindersDueChunk(context.runDate(), afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long idOf(PaymentSchedule schedule) {
+        return schedule.getId();
+    }
+
+    @Override
+    public void process(BatchJobContext context, PaymentSchedule schedule) {
+        paymentScheduleService.sendDueReminder(schedule);
+    }
+}
@@ -0,0 +1,71 @@
+package uz.jalyuziepr.api.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.WarrantyClaim;
+import uz.jalyuziepr.api.enums.StaffNotificationType;
+import uz.jalyuziepr.api.enums.WarrantyClaimStatus;
+import uz.jalyuziepr.api.repository.WarrantyClaimRepository;
+import uz.jalyuziepr.api.service.StaffNotificationService;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Kafolat shikoyatlari uchun SLA monitoring:
+ *   - 24 soat ichida hech kim ko'rmagan NEW shikoyatlarga eslatma
+ *   - 3 kundan ortiq IN_PROGRESS va tashrif belgilanmagan shikoyatlarga eslatma
+ * Filtrlar bazada; vaqt chegaralari ish boshlangan vaqtdan hisoblanadi.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarrantySlaJob implements ChunkedJob<WarrantyClaim> {
+
+    public static final String NAME = "warranty-sla";
+    private static final int NEW_SLA_HOURS = 24;
+    private static final int IN_PROGRESS_SLA_DAYS = 3;
+
+    private final WarrantyClaimRepository claimRepository;
+    private final StaffNotificationService notificationService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<WarrantyClaim> fetchChunk(BatchJobContext context, long afterId, int limit) {
+        return claimRepository.findSlaBreachChunk(
+                WarrantyClaimStatus.NEW, context.startedAt().minusHours(NEW_SLA_HOURS),
+                WarrantyClaimStatus.IN_PROGRESS, context.startedAt().minusDays(IN_PROGRESS_SLA_DAYS),
+                afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long idOf(WarrantyClaim claim) {
+        return claim.getId();
+    }
+
+    @Override
+    public void process(BatchJobContext context, WarrantyClaim claim) {
+        if (claim.getStatus() == WarrantyClaimStatus.NEW) {
+            long hoursOld = ChronoUnit.HOURS.between(claim.getCreatedAt(), context.startedAt());
+            notificationService.createGlobalNotification(
+                    "Kafolat shikoyati e'tibordan tashqarida",
+                    String.format("%s — %d soatdan ortiq vaqt NEW holatda turibdi: %s",
+                            claim.getClaimNumber(), hoursOld,
+                            claim.getIssueType().getDisplayName()),
+                    StaffNotificationType.WARNING,
+                    "WARRANTY", claim.getId());
+        } else {
+            long daysOld = ChronoUnit.DAYS.between(claim.getCreatedAt(), context.startedAt());
+            notificationService.createGlobalNotification(
+                    "Kafolat shikoyati 3 kundan beri jarayonda",
+                    String.format("%s — %d kun jarayonda, tashrif belgilanmagan",
+                            claim.getClaimNumber(), daysOld),
+                    StaffNotificationType.WARNING,
+                    "WARRANTY", claim.getId());
+        }
+    }
+}
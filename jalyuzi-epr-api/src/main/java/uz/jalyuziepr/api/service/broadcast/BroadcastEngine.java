@@ -0,0 +1,163 @@
+package uz.jalyuziepr.api.service.broadcast;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.BroadcastConfig;
+import uz.jalyuziepr.api.entity.BroadcastCampaign;
+import uz.jalyuziepr.api.entity.BroadcastRecipient;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.BroadcastStatus;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.enums.OutboxMessageType;
+import uz.jalyuziepr.api.repository.BroadcastCampaignRepository;
+import uz.jalyuziepr.api.service.outbox.DeliveryResult;
+import uz.jalyuziepr.api.service.outbox.MessageGateway;
+import uz.jalyuziepr.api.service.outbox.OutboxPayload;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ommaviy tarqatish dvigateli. Har tikda (BroadcastScheduler) ishlayotgan kampaniyalardan
+ * qabul qiluvchilarni xotiradagi navbat bo'shagan qadar qulflab oladi va parallel ishchilarga
+ * beradi. Tezlikni {@link MessageGateway} ichidagi provayder rate limiter belgilaydi —
+ * ishchilar soni faqat kechikishni yashirish uchun.
+ *
+ * Pauza/bekor qilish tik oralig'ida (pollIntervalMs) kuchga kiradi: kampaniya RUNNING
+ * bo'lmay qolsa, navbatdagi yozuvlar yuborilmasdan qaytariladi.
+ */
+@Slf4j
+@Component
+public class BroadcastEngine {
+
+    private final BroadcastService broadcastService;
+    private final BroadcastCampaignRepository campaignRepository;
+    private final BroadcastConfig broadcastConfig;
+    private final MessageGateway messageGateway;
+    private final ExecutorService workers;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /** Ishlayotgan kampaniyalar (har tikda bazadan yangilanadi) */
+    private volatile Map<Long, CampaignContent> running = Map.of();
+
+    /** Ishchi uchun kerakli kampaniya matnlari — SMS matni bir marta hisoblanadi */
+    private record CampaignContent(String telegramText, String smsText, String buttonText, String buttonUrl) {
+
+        static CampaignContent of(BroadcastCampaign c) {
+            String sms = c.getSmsText();
+            if (sms == null) {
+                sms = c.getTelegramText().replaceAll("<[^>]+>", "").trim();
+                if (c.getButtonUrl() != null) {
+                    sms = sms + " " + c.getButtonUrl();
+                }
+            }
+            return new CampaignContent(c.getTelegramText(), sms, c.getButtonText(), c.getButtonUrl());
+        }
+    }
+
+    public BroadcastEngine(BroadcastService broadcastService,
+                           BroadcastCampaignRepository campaignRepository,
+                           BroadcastConfig broadcastConfig,
+                           MessageGateway messageGateway) {
+        this.broadcastService = broadcastService;
+        this.campaignRepository = campaignRepository;
+        this.broadcastConfig = broadcastConfig;
+        this.messageGateway = messageGateway;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, broadcastConfig.getWorkers()), runnable -> {
+            Thread thread = new Thread(runnable, "broadcast-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void tick() {
+        List<BroadcastCampaign> campaigns =
+                campaignRepository.findByStatusInOrderByStartedAtAsc(List.of(BroadcastStatus.RUNNING));
+        Map<Long, CampaignContent> snapshot = new HashMap<>();
+        for (BroadcastCampaign c : campaigns) {
+            snapshot.put(c.getId(), CampaignContent.of(c));
+        }
+        running = snapshot;
+        if (campaigns.isEmpty()) {
+            return;
+        }
+
+        // Navbatdagi bo'sh joy kampaniyalar orasida teng bo'linadi (eski kampaniya yangisini bo'g'ib qo'ymaydi)
+        int room = broadcastConfig.getQueueCapacity() - queued.get();
+        int share = Math.max(1, room / campaigns.size());
+        for (BroadcastCampaign campaign : campaigns) {
+            if (room <= 0) {
+                break;
+            }
+            List<BroadcastRecipient> claimed = broadcastService.claimDue(campaign.getId(), Math.min(share, room));
+            if (claimed.isEmpty()) {
+                broadcastService.completeIfDone(campaign.getId());
+                continue;
+            }
+            room -= claimed.size();
+            for (BroadcastRecipient recipient : claimed) {
+                queued.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        process(recipient);
+                    } catch (Exception e) {
+                        log.error("Broadcast ishchi xatosi (recipient {}): {}", recipient.getId(), e.getMessage(), e);
+                    } finally {
+                        queued.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void process(BroadcastRecipient recipient) {
+        CampaignContent content = running.get(recipient.getCampaignId());
+        if (content == null) {
+            // Kampaniya to'xtatilgan yoki bekor qilingan
+            broadcastService.release(recipient.getId());
+            return;
+        }
+        DeliveryResult result = messageGateway.deliver(toMessage(recipient, content));
+        broadcastService.recordResult(recipient, result);
+    }
+
+    private OutboxMessage toMessage(BroadcastRecipient recipient, CampaignContent content) {
+        Map<String, Object> payload = recipient.getChannel() == OutboxChannel.TELEGRAM
+                ? OutboxPayload.telegramText(recipient.getChatId(), content.telegramText(),
+                        content.buttonText(), content.buttonUrl())
+                : OutboxPayload.sms(recipient.getPhone(), content.smsText());
+        return OutboxMessage.builder()
+                .channel(recipient.getChannel())
+                .messageType(OutboxMessageType.BROADCAST)
+                .entityType("BROADCAST")
+                .entityId(recipient.getCampaignId())
+                .payload(payload)
+                .maxAttempts(broadcastConfig.getMaxAttempts())
+                .build();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = Map.of();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package uz.jalyuziepr.api.service.broadcast;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.jalyuziepr.api.config.BroadcastConfig;
+import uz.jalyuziepr.api.dto.request.BroadcastCampaignRequest;
+import uz.jalyuziepr.api.dto.response.BroadcastCampaignResponse;
+import uz.jalyuziepr.api.dto.response.BroadcastReportResponse;
+import uz.jalyuziepr.api.entity.BroadcastCampaign;
+import uz.jalyuziepr.api.entity.BroadcastRecipient;
+import uz.jalyuziepr.api.enums.BroadcastAudience;
+import uz.jalyuziepr.api.enums.BroadcastRecipientStatus;
+import uz.jalyuziepr.api.enums.BroadcastStatus;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.exception.BadRequestException;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.repository.BroadcastCampaignRepository;
+import uz.jalyuziepr.api.repository.BroadcastRecipientRepository;
+import uz.jalyuziepr.api.repository.CustomerRepository;
+import uz.jalyuziepr.api.repository.DebtRepository;
+import uz.jalyuziepr.api.repository.PaymentScheduleRepository;
+import uz.jalyuziepr.api.security.CustomUserDetails;
+import uz.jalyuziepr.api.service.CustomerInsightsService;
+import uz.jalyuziepr.api.service.TelegramService;
+import uz.jalyuziepr.api.service.outbox.DeliveryResult;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ommaviy tarqatish kampaniyalari: auditoriyani yozish, holat boshqaruvi
+ * (boshlash / pauza / davom ettirish / bekor qilish), progress va throughput hisoboti.
+ * Yuborishni {@link BroadcastEngine} bajaradi; uning tranzaksiyali qadamlari
+ * (claim, natija, qaytarish) ham shu yerda.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastService {
+
+    private static final int INSERT_CHUNK_SIZE = 5_000;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final Set<BroadcastRecipientStatus> OPEN_STATUSES =
+            Set.of(BroadcastRecipientStatus.PENDING, BroadcastRecipientStatus.SENDING);
+
+    private final BroadcastCampaignRepository campaignRepository;
+    private final BroadcastRecipientRepository recipientRepository;
+    private final CustomerRepository customerRepository;
+    private final DebtRepository debtRepository;
+    private final PaymentScheduleRepository paymentScheduleRepository;
+    private final CustomerInsightsService customerInsightsService;
+    private final TelegramService telegramService;
+    private final BroadcastConfig broadcastConfig;
+
+    // ==================== KAMPANIYA ====================
+
+    /**
+     * Kampaniya yaratadi va auditoriyani qabul qiluvchilar jadvaliga yozadi.
+     * Kanal har bir mijoz uchun shu paytda tanlanadi: Telegram (ulangan bo'lsa), aks holda
+     * SMS (zaxira yoqilgan bo'lsa), aks holda SKIPPED.
+     */
+    @Transactional
+    public BroadcastCampaignResponse create(BroadcastCampaignRequest request) {
+        List<Long> customerIds = resolveAudience(request.getAudience(), request.getSegment(), request.getDueWithinDays());
+        if (customerIds.isEmpty()) {
+            throw new BadRequestException("Tanlangan auditoriyada mijoz yo'q");
+        }
+        if (customerIds.size() > broadcastConfig.getMaxAudienceSize()) {
+            throw new BadRequestException("Auditoriya juda katta: " + customerIds.size()
+                    + " (maksimal " + broadcastConfig.getMaxAudienceSize() + ")");
+        }
+
+        CustomUserDetails me = currentUser();
+        BroadcastCampaign campaign = campaignRepository.save(BroadcastCampaign.builder()
+                .name(request.getName().trim())
+                .audience(request.getAudience())
+                .segment(request.getAudience() == BroadcastAudience.RFM_SEGMENT ? request.getSegment() : null)
+                .dueWithinDays(request.getAudience() == BroadcastAudience.DUE_SCHEDULES
+                        ? dueWithinDays(request.getDueWithinDays()) : null)
+                .telegramText(request.getTelegramText())
+                .smsText(blankToNull(request.getSmsText()))
+                .buttonText(blankToNull(request.getButtonText()))
+                .buttonUrl(blankToNull(request.getButtonUrl()))
+                .smsFallback(Boolean.TRUE.equals(request.getSmsFallback()))
+                .createdBy(me != null ? me.getId() : null)
+                .createdByName(me != null ? me.getFullName() : null)
+                .build());
+
+        boolean telegramEnabled = telegramService.isEnabled();
+        int inserted = 0;
+        for (int from = 0; from < customerIds.size(); from += INSERT_CHUNK_SIZE) {
+            List<Long> chunk = customerIds.subList(from, Math.min(from + INSERT_CHUNK_SIZE, customerIds.size()));
+            inserted += recipientRepository.insertAudience(
+                    campaign.getId(), chunk, telegramEnabled, campaign.getSmsFallback());
+        }
+        campaign.setTotalRecipients(inserted);
+
+        if (Boolean.TRUE.equals(request.getStartImmediately())) {
+            campaign.setStatus(BroadcastStatus.RUNNING);
+            campaign.setStartedAt(LocalDateTime.now());
+        }
+        log.info("Kampaniya yaratildi: id={}, auditoriya={}, qabul qiluvchilar={}, by={}",
+                campaign.getId(), campaign.getAudience(), inserted, campaign.getCreatedByName());
+        return toResponse(campaign);
+    }
+
+    /** Auditoriya hajmi — kampaniya yaratishdan oldin ko'rish uchun */
+    @Transactional(readOnly = true)
+    public int previewAudience(BroadcastAudience audience, String segment, Integer dueWithinDays) {
+        return resolveAudience(audience, segment, dueWithinDays).size();
+    }
+
+    @Transactional
+    public BroadcastCampaignResponse start(Long id) {
+        BroadcastCampaign campaign = findCampaign(id);
+        requireStatus(campaign, BroadcastStatus.DRAFT, "Faqat qoralama kampaniyani boshlash mumkin");
+        campaign.setStatus(BroadcastStatus.RUNNING);
+        campaign.setStartedAt(LocalDateTime.now());
+        return toResponse(campaign);
+    }
+
+    /** Pauza — ishchilar navbatdagi xabarlarni qaytaradi; allaqachon yuborilayotganlar tugaydi */
+    @Transactional
+    public BroadcastCampaignResponse pause(Long id) {
+        BroadcastCampaign campaign = findCampaign(id);
+        requireStatus(campaign, BroadcastStatus.RUNNING, "Faqat yuborilayotgan kampaniyani to'xtatish mumkin");
+        campaign.setStatus(BroadcastStatus.PAUSED);
+        campaign.setPausedAt(LocalDateTime.now());
+        return toResponse(campaign);
+    }
+
+    @Transactional
+    public BroadcastCampaignResponse resume(Long id) {
+        BroadcastCampaign campaign = findCampaign(id);
+        requireStatus(campaign, BroadcastStatus.PAUSED, "Faqat to'xtatilgan kampaniyani davom ettirish mumkin");
+        campaign.setStatus(BroadcastStatus.RUNNING);
+        campaign.setPausedAt(null);
+        return toResponse(campaign);
+    }
+
+    @Transactional
+    public BroadcastCampaignResponse cancel(Long id) {
+        BroadcastCampaign campaign = findCampaign(id);
+        if (campaign.getStatus() == BroadcastStatus.COMPLETED || campaign.getStatus() == BroadcastStatus.CANCELLED) {
+            throw new BadRequestException("Kampaniya allaqachon yakunlangan");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        campaign.setStatus(BroadcastStatus.CANCELLED);
+        campaign.setCompletedAt(now);
+        int skipped = recipientRepository.skipRemaining(id, "Kampaniya bekor qilindi", now);
+        log.info("Kampaniya bekor qilindi: id={}, o'tkazib yuborilgan={}", id, skipped);
+        return toResponse(campaign);
+    }
+
+    @Transactional(readOnly = true)
+    public BroadcastCampaignResponse get(Long id) {
+        return toResponse(findCampaign(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BroadcastCampaignResponse> list(BroadcastStatus status, Pageable pageable) {
+        Page<BroadcastCampaign> page = status != null
+                ? campaignRepository.findByStatus(status, pageable)
+                : campaignRepository.findAll(pageable);
+
+        // Progress — sahifadagi barcha kampaniyalar uchun bitta GROUP BY so'rovi
+        Map<Long, Map<BroadcastRecipientStatus, Long>> counts = new HashMap<>();
+        List<Long> ids = page.getContent().stream().map(BroadcastCampaign::getId).toList();
+        if (!ids.isEmpty()) {
+            for (Object[] row : recipientRepository.countByCampaignAndStatus(ids)) {
+                counts.computeIfAbsent((Long) row[0], k -> new EnumMap<>(BroadcastRecipientStatus.class))
+                        .put((BroadcastRecipientStatus) row[1], (Long) row[2]);
+            }
+        }
+        return page.map(c -> BroadcastCampaignResponse.from(c, counts.getOrDefault(c.getId(), Map.of())));
+    }
+
+    @Transactional(readOnly = true)
+    public BroadcastReportResponse report(Long id) {
+        BroadcastCampaign campaign = findCampaign(id);
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (BroadcastRecipientStatus s : BroadcastRecipientStatus.values()) {
+            byStatus.put(s.name(), 0L);
+        }
+        for (Object[] row : recipientRepository.countByStatus(id)) {
+            byStatus.put(((BroadcastRecipientStatus) row[0]).name(), (Long) row[1]);
+        }
+
+        Map<String, Map<String, Long>> byChannel = new LinkedHashMap<>();
+        for (Object[] row : recipientRepository.countByChannelAndStatus(id)) {
+            byChannel.computeIfAbsent(((OutboxChannel) row[0]).name(), k -> new LinkedHashMap<>())
+                    .put(((BroadcastRecipientStatus) row[1]).name(), (Long) row[2]);
+        }
+
+        List<BroadcastReportResponse.MinuteBucket> perMinute = new ArrayList<>();
+        long peak = 0;
+        for (Object[] row : recipientRepository.throughputByMinute(id)) {
+            long sent = ((Number) row[1]).longValue();
+            long failed = ((Number) row[2]).longValue();
+            peak = Math.max(peak, sent + failed);
+            perMinute.add(new BroadcastReportResponse.MinuteBucket(toLocalDateTime(row[0]), sent, failed));
+        }
+
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        List<Object[]> range = recipientRepository.processedRange(id);
+        if (!range.isEmpty() && range.get(0)[0] != null) {
+            first = (LocalDateTime) range.get(0)[0];
+            last = (LocalDateTime) range.get(0)[1];
+        }
+
+        long sent = byStatus.get(BroadcastRecipientStatus.SENT.name());
+        long failed = byStatus.get(BroadcastRecipientStatus.FAILED.name());
+        // Bitta xabar bo'lsa ham nolga bo'linmasligi uchun kamida 1 soniya
+        long elapsed = first != null ? Math.max(1, Duration.between(first, last).getSeconds()) : 0;
+
+        return BroadcastReportResponse.builder()
+                .campaignId(campaign.getId())
+                .name(campaign.getName())
+                .status(campaign.getStatus().name())
+                .totalRecipients(campaign.getTotalRecipients())
+                .byStatus(byStatus)
+                .byChannel(byChannel)
+                .startedAt(campaign.getStartedAt())
+                .completedAt(campaign.getCompletedAt())
+                .firstProcessedAt(first)
+                .lastProcessedAt(last)
+                .elapsedSeconds(elapsed)
+                .averagePerSecond(elapsed > 0 ? round2((double) (sent + failed) / elapsed) : 0)
+                .peakPerMinute(peak)
+                .successRate(sent + failed > 0 ? round2(sent * 100.0 / (sent + failed)) : 0)
+                .perMinute(perMinute)
+                .build();
+    }
+
+    // ==================== ENGINE QADAMLARI ====================
+
+    /** Navbatdagi qabul qiluvchilarni lease bilan SENDING holatiga o'tkazadi */
+    @Transactional
+    public List<BroadcastRecipient> claimDue(Long campaignId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BroadcastRecipient> batch = recipientRepository.lockDueBatch(campaignId, now, limit);
+        for (BroadcastRecipient recipient : batch) {
+            recipient.setStatus(BroadcastRecipientStatus.SENDING);
+            recipient.setLockedUntil(now.plusSeconds(broadcastConfig.getLeaseSeconds()));
+            recipient.setAttempts(recipient.getAttempts() + 1);
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void recordResult(BroadcastRecipient recipient, DeliveryResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (result.outcome()) {
+            case SENT -> recipientRepository.recordResult(recipient.getId(), BroadcastRecipientStatus.SENT,
+                    recipient.getNextAttemptAt(), null, now);
+            case RETRY -> {
+                if (recipient.getAttempts() < broadcastConfig.getMaxAttempts()) {
+                    LocalDateTime next = now.plusSeconds(
+                            (long) broadcastConfig.getRetryDelaySeconds() * recipient.getAttempts());
+                    recipientRepository.recordResult(recipient.getId(), BroadcastRecipientStatus.PENDING,
+                            next, truncate(result.error()), null);
+                } else {
+                    recipientRepository.recordResult(recipient.getId(), BroadcastRecipientStatus.FAILED,
+                            recipient.getNextAttemptAt(), truncate(result.error()), now);
+                }
+            }
+            // Provayder limiti: yuborilmagan — navbatga qaytadi, urinish hisoblanmaydi
+            case THROTTLED -> recipientRepository.release(recipient.getId());
+            case PERMANENT -> recipientRepository.recordResult(recipient.getId(), BroadcastRecipientStatus.FAILED,
+                    recipient.getNextAttemptAt(), truncate(result.error()), now);
+        }
+    }
+
+    @Transactional
+    public void release(Long recipientId) {
+        recipientRepository.release(recipientId);
+    }
+
+    /** Ochiq qabul qiluvchi qolmagan bo'lsa kampaniyani yakunlaydi */
+    @Transactional
+    public void completeIfDone(Long campaignId) {
+        if (recipientRepository.existsByCampaignIdAndStatusIn(campaignId, OPEN_STATUSES)) {
+            return;
+        }
+        campaignRepository.findById(campaignId)
+                .filter(c -> c.getStatus() == BroadcastStatus.RUNNING)
+                .ifPresent(c -> {
+                    c.setStatus(BroadcastStatus.COMPLETED);
+                    c.setCompletedAt(LocalDateTime.now());
+                    log.info("Kampaniya yakunlandi: id={}, nomi={}", c.getId(), c.getName());
+                });
+    }
+
+    // ==================== YORDAMCHI ====================
+
+    private List<Long> resolveAudience(BroadcastAudience audience, String segment, Integer dueWithinDays) {
+        if (audience == null) {
+            throw new BadRequestException("Auditoriya tanlanishi shart");
+        }
+        return switch (audience) {
+            case RFM_SEGMENT -> {
+                if (segment == null || !customerInsightsService.isKnownSegment(segment)) {
+                    throw new BadRequestException("Noma'lum RFM segmenti: " + segment);
+                }
+                yield customerInsightsService.findCustomerIdsBySegment(segment);
+            }
+            case DEBTORS -> debtRepository.findActiveDebtorCustomerIds();
+            case DUE_SCHEDULES -> paymentScheduleRepository.findCustomerIdsWithOpenItemsDueBy(
+                    LocalDate.now().plusDays(dueWithinDays(dueWithinDays)));
+            case ALL_CUSTOMERS -> customerRepository.findActiveIds();
+        };
+    }
+
+    private BroadcastCampaignResponse toResponse(BroadcastCampaign campaign) {
+        Map<BroadcastRecipientStatus, Long> counts = new EnumMap<>(BroadcastRecipientStatus.class);
+        if (campaign.getId() != null) {
+            for (Object[] row : recipientRepository.countByStatus(campaign.getId())) {
+                counts.put((BroadcastRecipientStatus) row[0], (Long) row[1]);
+            }
+        }
+        return BroadcastCampaignResponse.from(campaign, counts);
+    }
+
+    private BroadcastCampaign findCampaign(Long id) {
+        return campaignRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Kampaniya", "id", id));
+    }
+
+    private void requireStatus(BroadcastCampaign campaign, BroadcastStatus expected, String message) {
+        if (campaign.getStatus() != expected) {
+            throw new BadRequestException(message);
+        }
+    }
+
+    private int dueWithinDays(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private CustomUserDetails currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails cud) {
+            return cud;
+        }
+        return null;
+    }
+}
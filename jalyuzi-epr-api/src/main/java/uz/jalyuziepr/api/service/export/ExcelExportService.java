@@ -8,6 +8,7 @@ import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 import uz.jalyuziepr.api.annotation.ExportEntity;
+import uz.jalyuziepr.api.audit.AuditDiff;
 import uz.jalyuziepr.api.dto.response.AuditLogResponse;
 import uz.jalyuziepr.api.dto.response.LoginAttemptResponse;
 import uz.jalyuziepr.api.dto.response.UserActivityResponse;
@@ -40,7 +41,7 @@ public class ExcelExportService {
             SXSSFSheet sheet = workbook.createSheet("Audit Logs");
 
             // Track columns for auto-sizing (required for SXSSFWorkbook)
-            for (int i = 0; i < 7; i++) {
+            for (int i = 0; i < 8; i++) {
                 sheet.trackColumnForAutoSizing(i);
             }
 
@@ -57,21 +58,21 @@ public class ExcelExportService {
             Cell titleCell = titleRow.createCell(0);
             titleCell.setCellValue(reportTitle != null ? reportTitle : "Tizim Auditlari Hisoboti");
             titleCell.setCellStyle(titleStyle);
-            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 6));
+            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 7));
 
             // Metadata row
             Row metaRow = sheet.createRow(rowNum++);
             Cell metaCell = metaRow.createCell(0);
             metaCell.setCellValue("Sana: " + LocalDateTime.now().format(DATE_FORMATTER));
             metaCell.setCellStyle(dataStyle);
-            sheet.addMergedRegion(new CellRangeAddress(1, 1, 0, 6));
+            sheet.addMergedRegion(new CellRangeAddress(1, 1, 0, 7));
 
             // Empty row
             rowNum++;
 
             // Header row
             Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"ID", "Harakat", "Obyekt turi", "Obyekt ID", "Foydalanuvchi", "Sana", "IP manzil"};
+            String[] headers = {"ID", "Harakat", "Obyekt turi", "Obyekt ID", "Foydalanuvchi", "Sana", "IP manzil", "O'zgarishlar"};
             for (int i = 0; i < headers.length; i++) {
                 Cell cell = headerRow.createCell(i);
                 cell.setCellValue(headers[i]);
@@ -93,9 +94,10 @@ public class ExcelExportService {
                 dateCell.setCellStyle(dateStyle);
 
                 row.createCell(6).setCellValue(log.getIpAddress() != null ? log.getIpAddress() : "-");
+                row.createCell(7).setCellValue(AuditDiff.exportSummary(log.getAction(), log.getOldValue(), log.getNewValue()));
 
                 // Apply data style to all cells
-                for (int i = 0; i < 7; i++) {
+                for (int i = 0; i < 8; i++) {
                     if (i != 5) { // Skip date cell (already has style)
                         row.getCell(i).setCellStyle(dataStyle);
                     }
@@ -0,0 +1,173 @@
+package uz.jalyuziepr.api.service.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import uz.jalyuziepr.api.enums.OrderDocumentType;
+import uz.jalyuziepr.api.enums.OrderStatus;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.repository.OrderRepository;
+import uz.jalyuziepr.api.service.FileStorageService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Buyurtma hujjatlari (PDF) disk keshi.
+ *
+ * Fayl: {document-dir}/orders/{orderId}/{type}-{version}.pdf, bu yerda version —
+ * {@link OrderRepository#findDocumentVersion} (bitta yengil so'rov). Buyurtma o'zgarmaguncha
+ * hujjat qayta generatsiya qilinmaydi va buyurtma grafi yuklanmaydi; o'zgarsa yangi versiya
+ * nomi bilan yaratiladi. Eski versiyalar faqat {@link #STALE_GRACE} dan eski bo'lsa o'chiriladi —
+ * ularni hozirgina olgan so'rov (yoki boshqa replika) faylni oqim bilan berib ulgursin; qolganini
+ * {@link #sweepStale} tozalaydi. Fayl baribir yo'qolgan bo'lsa, bu kesh miss: qayta generatsiya.
+ * Buyurtma tegishli statusga o'tganda hujjatlar fonda oldindan tayyorlanadi ({@link #prerender}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderDocumentCache {
+
+    /** Eski versiya fayli shundan keyingina o'chiriladi */
+    static final Duration STALE_GRACE = Duration.ofMinutes(10);
+
+    private final OrderDocumentService orderDocumentService;
+    private final OrderRepository orderRepository;
+    private final FileStorageService fileStorageService;
+
+    /** Keshdagi hujjat; version ETag sifatida ishlatiladi */
+    public record CachedDocument(Path path, String version, long size) {
+    }
+
+    /**
+     * Joriy versiyadagi hujjat — keshda bo'lmasa shu yerda generatsiya qilinadi
+     */
+    public CachedDocument get(Long orderId, OrderDocumentType type) {
+        String version = orderRepository.findDocumentVersion(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        String dir = "orders/" + orderId;
+        String name = type.getCode() + "-" + version + ".pdf";
+        Path path = fileStorageService.resolveDocument(dir + "/" + name);
+        try {
+            try {
+                return new CachedDocument(path, version, Files.size(path));
+            } catch (NoSuchFileException e) {
+                // Keshda yo'q yoki tozalab yuborilgan — generatsiya qilinadi
+            }
+            path = fileStorageService.storeDocument(dir + "/" + name, render(orderId, type));
+            deleteStale(path.getParent(), type, name);
+            log.debug("Hujjat keshlandi: buyurtma={} {} v{}", orderId, type, version);
+            return new CachedDocument(path, version, Files.size(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Hujjatni keshlab bo'lmadi: " + dir + "/" + name, e);
+        }
+    }
+
+    /** Telegram va boshqa ichki iste'molchilar uchun hujjat baytlari */
+    public byte[] getBytes(Long orderId, OrderDocumentType type) {
+        try {
+            try {
+                return Files.readAllBytes(get(orderId, type).path());
+            } catch (NoSuchFileException e) {
+                // get() bilan o'qish orasida tozalangan — bir marta qayta urinish
+                return Files.readAllBytes(get(orderId, type).path());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Status bo'yicha kerakli hujjatlarni fonda tayyorlaydi (OrderService commit'dan keyin chaqiradi)
+     */
+    @Async
+    public void prerender(Long orderId, OrderStatus status) {
+        for (OrderDocumentType type : OrderDocumentType.prerenderedOn(status)) {
+            try {
+                get(orderId, type);
+            } catch (Exception e) {
+                log.warn("Hujjatni oldindan tayyorlab bo'lmadi: buyurtma={} {}: {}", orderId, type, e.getMessage());
+            }
+        }
+    }
+
+    private byte[] render(Long orderId, OrderDocumentType type) {
+        return switch (type) {
+            case INVOICE -> orderDocumentService.generateInvoice(orderId);
+            case ACT -> orderDocumentService.generateInstallationAct(orderId);
+            case WARRANTY -> orderDocumentService.generateWarranty(orderId);
+        };
+    }
+
+    /**
+     * Barcha buyurtma papkalarida har bir tur uchun eng yangi fayldan boshqa, {@link #STALE_GRACE}
+     * dan eski versiyalarni o'chiradi (OrderDocumentSweepScheduler chaqiradi)
+     *
+     * @return o'chirilgan fayllar soni
+     */
+    public int sweepStale() throws IOException {
+        Path root = fileStorageService.resolveDocument("orders");
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> orders = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : orders) {
+                for (OrderDocumentType type : OrderDocumentType.values()) {
+                    deleted += deleteStale(dir, type, null);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Shu turdagi eski versiyalarni o'chiradi: currentName (null bo'lsa — eng yangi fayl) qoladi,
+     * qolganlaridan faqat grace muddatidan eskilari o'chiriladi
+     */
+    private int deleteStale(Path dir, OrderDocumentType type, String currentName) throws IOException {
+        FileTime cutoff = FileTime.from(Instant.now().minus(STALE_GRACE));
+        Path keep = currentName != null ? dir.resolve(currentName) : null;
+        List<Path> candidates = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, type.getCode() + "-*.pdf")) {
+            for (Path file : files) {
+                candidates.add(file);
+            }
+        }
+        if (keep == null) {
+            keep = candidates.stream()
+                    .max(Comparator.comparing(OrderDocumentCache::lastModified))
+                    .orElse(null);
+        }
+        int deleted = 0;
+        for (Path file : candidates) {
+            if (file.equals(keep) || lastModified(file).compareTo(cutoff) > 0) {
+                continue;
+            }
+            if (Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /** Yo'qolgan fayl "hozir" deb qaraladi — o'chirishga nomzod bo'lmaydi */
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.from(Instant.now());
+        }
+    }
+}
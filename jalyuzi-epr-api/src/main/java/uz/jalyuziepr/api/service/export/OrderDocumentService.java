@@ -9,8 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import uz.jalyuziepr.api.entity.Order;
 import uz.jalyuziepr.api.entity.OrderItem;
-import uz.jalyuziepr.api.exception.ResourceNotFoundException;
-import uz.jalyuziepr.api.repository.OrderRepository;
+import uz.jalyuziepr.api.service.OrderAggregateLoader;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
@@ -32,20 +31,29 @@ import java.util.Locale;
 @Slf4j
 public class OrderDocumentService {
 
-    private final OrderRepository orderRepository;
+    private final OrderAggregateLoader orderAggregateLoader;
 
     private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
-    private static final Font TITLE = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLACK);
-    private static final Font H2 = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, Color.BLACK);
-    private static final Font BODY = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
-    private static final Font BODY_BOLD = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.BLACK);
-    private static final Font SMALL = FontFactory.getFont(FontFactory.HELVETICA, 8, Color.GRAY);
+    private static final Font TITLE = PdfFonts.bold(18, Color.BLACK);
+    private static final Font H2 = PdfFonts.bold(12, Color.BLACK);
+    private static final Font BODY = PdfFonts.regular(10, Color.BLACK);
+    private static final Font BODY_BOLD = PdfFonts.bold(10, Color.BLACK);
+    private static final Font SMALL = PdfFonts.regular(8, Color.GRAY);
+    private static final Font TOTAL = PdfFonts.bold(11, Color.WHITE);
 
     private static final Color HEADER_BG = new Color(15, 118, 110); // brand teal
     private static final Color ROW_ALT = new Color(248, 250, 252);
 
+    // Mahsulotlar jadvali shablonlari: sarlavha va kengliklar bir marta quriladi
+    private static final PdfTableTemplate ITEMS_TABLE = new PdfTableTemplate(
+            new String[]{"#", "Mahsulot", "Xona", "O'lcham (mm)", "Soni", "Narx"},
+            new float[]{0.5f, 3, 1.2f, 1, 1, 1.3f}, HEADER_BG, ROW_ALT);
+    private static final PdfTableTemplate ITEMS_TABLE_WITH_INSTALLATION = new PdfTableTemplate(
+            new String[]{"#", "Mahsulot", "Xona", "O'lcham (mm)", "Soni", "O'rnatish", "Narx"},
+            new float[]{0.5f, 2.5f, 1, 1, 0.7f, 1.3f, 1.3f}, HEADER_BG, ROW_ALT);
+
     public byte[] generateInvoice(Long orderId) {
         Order order = loadOrder(orderId);
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -200,8 +208,7 @@ public class OrderDocumentService {
     // ==================== HELPERS ====================
 
     private Order loadOrder(Long orderId) {
-        return orderRepository.findByIdWithAllDetails(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        return orderAggregateLoader.load(orderId, OrderAggregateLoader.Plan.DOCUMENT);
     }
 
     private void writeCompanyHeader(Document doc, String documentType, String orderNumber) throws DocumentException {
@@ -237,43 +244,29 @@ public class OrderDocumentService {
     }
 
     private void writeItemsTable(Document doc, Order order, boolean showInstallation) throws DocumentException {
-        int cols = showInstallation ? 7 : 6;
-        PdfPTable table = new PdfPTable(cols);
-        table.setWidthPercentage(100);
+        PdfTableTemplate template = showInstallation ? ITEMS_TABLE_WITH_INSTALLATION : ITEMS_TABLE;
+        PdfPTable table = template.newTable();
         table.setSpacingBefore(6);
         table.setSpacingAfter(12);
-        if (showInstallation) {
-            table.setWidths(new float[]{0.5f, 2.5f, 1, 1, 0.7f, 1.3f, 1.3f});
-        } else {
-            table.setWidths(new float[]{0.5f, 3, 1.2f, 1, 1, 1.3f});
-        }
-
-        // Headers
-        String[] headers = showInstallation
-                ? new String[]{"#", "Mahsulot", "Xona", "O'lcham (mm)", "Soni", "O'rnatish", "Narx"}
-                : new String[]{"#", "Mahsulot", "Xona", "O'lcham (mm)", "Soni", "Narx"};
-        for (String h : headers) {
-            table.addCell(headerCell(h));
-        }
 
         // Rows
-        int i = 1;
+        int row = 0;
         for (OrderItem item : order.getItems()) {
-            boolean alt = (i % 2 == 0);
-            table.addCell(bodyCell(String.valueOf(i++), alt, false));
-            table.addCell(bodyCell(safe(item.getProduct() != null ? item.getProduct().getName() : "—"), alt, false));
-            table.addCell(bodyCell(safe(item.getRoomName()), alt, false));
+            table.addCell(template.cell(String.valueOf(row + 1), row));
+            table.addCell(template.cell(safe(item.getProduct() != null ? item.getProduct().getName() : "—"), row));
+            table.addCell(template.cell(safe(item.getRoomName()), row));
             String size = (item.getWidthMm() != null ? item.getWidthMm() : 0) + " × " +
                     (item.getHeightMm() != null ? item.getHeightMm() : 0);
-            table.addCell(bodyCell(size, alt, false));
-            table.addCell(bodyCell(item.getQuantity() != null ? item.getQuantity().toString() : "—", alt, false));
+            table.addCell(template.cell(size, row));
+            table.addCell(template.cell(item.getQuantity() != null ? item.getQuantity().toString() : "—", row));
             if (showInstallation) {
                 String inst = item.getInstallationIncluded() != null && item.getInstallationIncluded()
                         ? money(item.getInstallationPrice())
                         : "—";
-                table.addCell(bodyCell(inst, alt, true));
+                table.addCell(moneyCell(template.cell(inst, row)));
             }
-            table.addCell(bodyCell(money(item.getTotalPrice()), alt, true));
+            table.addCell(moneyCell(template.cell(money(item.getTotalPrice()), row)));
+            row++;
         }
         doc.add(table);
     }
@@ -294,12 +287,12 @@ public class OrderDocumentService {
 
         PdfPCell lbl = totalsLabel("JAMI");
         lbl.setBackgroundColor(HEADER_BG);
-        lbl.setPhrase(new Phrase("JAMI", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.WHITE)));
+        lbl.setPhrase(new Phrase("JAMI", TOTAL));
         t.addCell(lbl);
 
         PdfPCell val = totalsValue(money(order.getTotalAmount()));
         val.setBackgroundColor(HEADER_BG);
-        val.setPhrase(new Phrase(money(order.getTotalAmount()), FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, Color.WHITE)));
+        val.setPhrase(new Phrase(money(order.getTotalAmount()), TOTAL));
         t.addCell(val);
 
         if (order.getPaidAmount() != null && order.getPaidAmount().compareTo(BigDecimal.ZERO) > 0) {
@@ -340,19 +333,8 @@ public class OrderDocumentService {
         return c;
     }
 
-    private PdfPCell headerCell(String text) {
-        PdfPCell c = new PdfPCell(new Phrase(text, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, Color.WHITE)));
-        c.setBackgroundColor(HEADER_BG);
-        c.setPadding(6);
-        c.setHorizontalAlignment(Element.ALIGN_CENTER);
-        return c;
-    }
-
-    private PdfPCell bodyCell(String text, boolean alt, boolean money) {
-        PdfPCell c = new PdfPCell(new Phrase(text, BODY));
-        c.setBackgroundColor(alt ? ROW_ALT : Color.WHITE);
-        c.setPadding(5);
-        c.setHorizontalAlignment(money ? Element.ALIGN_RIGHT : Element.ALIGN_LEFT);
+    private PdfPCell moneyCell(PdfPCell c) {
+        c.setHorizontalAlignment(Element.ALIGN_RIGHT);
         return c;
     }
 
@@ -1,21 +1,23 @@
 package uz.jalyuziepr.api.service.export;
 
-import com.lowagie.text.*;
-import com.lowagie.text.pdf.PdfPCell;
-import com.lowagie.text.pdf.PdfPTable;
-import com.lowagie.text.pdf.PdfWriter;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Rectangle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import uz.jalyuziepr.api.annotation.ExportEntity;
+import uz.jalyuziepr.api.audit.AuditDiff;
 import uz.jalyuziepr.api.dto.response.AuditLogResponse;
 import uz.jalyuziepr.api.dto.response.LoginAttemptResponse;
 import uz.jalyuziepr.api.dto.response.UserActivityResponse;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -25,9 +27,18 @@ import java.util.Map;
 public class PdfExportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
-    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLACK);
-    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, Color.WHITE);
-    private static final Font DATA_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
+    private static final Color HEADER_BG = new Color(0, 51, 102); // Dark blue
+    private static final Color GENERIC_HEADER_BG = new Color(41, 128, 185); // Blue header
+
+    private static final PdfTableTemplate AUDIT_TABLE = new PdfTableTemplate(
+            new String[]{"ID", "Harakat", "Obyekt turi", "Obyekt ID", "Foydalanuvchi", "Sana", "IP manzil", "O'zgarishlar"},
+            new float[]{1f, 1.5f, 1.5f, 1f, 1.5f, 2f, 1.5f, 5f}, HEADER_BG, null);
+    private static final PdfTableTemplate LOGIN_TABLE = new PdfTableTemplate(
+            new String[]{"ID", "Foydalanuvchi", "Holat", "Qurilma", "Brauzer", "Sana", "IP manzil"},
+            null, HEADER_BG, null);
+    private static final PdfTableTemplate ACTIVITY_TABLE = new PdfTableTemplate(
+            new String[]{"ID", "Harakat", "Obyekt", "ID", "Tavsifi", "Foydalanuvchi", "Sana", "Qurilma", "Brauzer", "IP"},
+            new float[]{1f, 2f, 2f, 1.5f, 4f, 2f, 3f, 2f, 2f, 2f}, HEADER_BG, null);
 
     /**
      * Export audit logs to PDF format
@@ -36,62 +47,38 @@ public class PdfExportService {
             List<AuditLogResponse> logs,
             String reportTitle
     ) throws DocumentException {
-        Document document = new Document(PageSize.A4.rotate()); // Landscape for more columns
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, out);
-
-        document.open();
-
-        // Title
-        Paragraph title = new Paragraph(
-                reportTitle != null ? reportTitle : "Tizim Auditlari Hisoboti",
-                TITLE_FONT
-        );
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(10);
-        document.add(title);
-
-        // Metadata
-        Paragraph metadata = new Paragraph(
-                "Sana: " + LocalDateTime.now().format(DATE_FORMATTER),
-                DATA_FONT
-        );
-        metadata.setAlignment(Element.ALIGN_CENTER);
-        metadata.setSpacingAfter(20);
-        document.add(metadata);
-
-        // Table
-        PdfPTable table = new PdfPTable(7);
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(10);
-
-        // Headers
-        addTableHeader(table, new String[]{"ID", "Harakat", "Obyekt turi", "Obyekt ID", "Foydalanuvchi", "Sana", "IP manzil"});
+        writeAuditLogs(logs.iterator(), reportTitle, out);
+        return out;
+    }
 
-        // Data
-        for (AuditLogResponse log : logs) {
-            addTableCell(table, String.valueOf(log.getId()));
-            addTableCell(table, translateAction(log.getAction()));
-            addTableCell(table, log.getEntityType());
-            addTableCell(table, String.valueOf(log.getEntityId()));
-            addTableCell(table, log.getUsername() != null ? log.getUsername() : "Sistema");
-            addTableCell(table, log.getCreatedAt().format(DATE_FORMATTER));
-            addTableCell(table, log.getIpAddress() != null ? log.getIpAddress() : "-");
+    /**
+     * Audit loglarni to'g'ridan-to'g'ri oqimga yozadi: qatorlar kelishi bilan sahifalar chiqariladi,
+     * butun ro'yxat ham, butun hujjat ham xotirada yig'ilmaydi.
+     *
+     * @return yozilgan qatorlar soni
+     */
+    public int writeAuditLogs(
+            Iterator<AuditLogResponse> logs,
+            String reportTitle,
+            OutputStream out
+    ) throws DocumentException {
+        PdfTableWriter writer = new PdfTableWriter(out, PageSize.A4.rotate(), AUDIT_TABLE,
+                reportTitle != null ? reportTitle : "Tizim Auditlari Hisoboti", metadataLine());
+        while (logs.hasNext()) {
+            AuditLogResponse log = logs.next();
+            writer.addRow(
+                    String.valueOf(log.getId()),
+                    translateAction(log.getAction()),
+                    log.getEntityType(),
+                    String.valueOf(log.getEntityId()),
+                    log.getUsername() != null ? log.getUsername() : "Sistema",
+                    log.getCreatedAt().format(DATE_FORMATTER),
+                    log.getIpAddress() != null ? log.getIpAddress() : "-",
+                    AuditDiff.exportSummary(log.getAction(), log.getOldValue(), log.getNewValue()));
         }
-
-        document.add(table);
-
-        // Footer
-        Paragraph footer = new Paragraph(
-                String.format("Jami: %d ta yozuv", logs.size()),
-                DATA_FONT
-        );
-        footer.setAlignment(Element.ALIGN_RIGHT);
-        footer.setSpacingBefore(20);
-        document.add(footer);
-
-        document.close();
-        return out;
+        writer.finish(String.format("Jami: %d ta yozuv", writer.getRowCount()));
+        return writer.getRowCount();
     }
 
     /**
@@ -101,61 +88,20 @@ public class PdfExportService {
             List<LoginAttemptResponse> attempts,
             String reportTitle
     ) throws DocumentException {
-        Document document = new Document(PageSize.A4.rotate()); // Landscape for more columns
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, out);
-
-        document.open();
-
-        // Title
-        Paragraph title = new Paragraph(
-                reportTitle != null ? reportTitle : "Kirish Tarixi Hisoboti",
-                TITLE_FONT
-        );
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(10);
-        document.add(title);
-
-        // Metadata
-        Paragraph metadata = new Paragraph(
-                "Sana: " + LocalDateTime.now().format(DATE_FORMATTER),
-                DATA_FONT
-        );
-        metadata.setAlignment(Element.ALIGN_CENTER);
-        metadata.setSpacingAfter(20);
-        document.add(metadata);
-
-        // Table
-        PdfPTable table = new PdfPTable(7);
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(10);
-
-        // Headers
-        addTableHeader(table, new String[]{"ID", "Foydalanuvchi", "Holat", "Qurilma", "Brauzer", "Sana", "IP manzil"});
-
-        // Data
+        PdfTableWriter writer = new PdfTableWriter(out, PageSize.A4.rotate(), LOGIN_TABLE,
+                reportTitle != null ? reportTitle : "Kirish Tarixi Hisoboti", metadataLine());
         for (LoginAttemptResponse attempt : attempts) {
-            addTableCell(table, String.valueOf(attempt.getId()));
-            addTableCell(table, attempt.getUsername());
-            addTableCell(table, "SUCCESS".equals(attempt.getStatus()) ? "Muvaffaqiyatli" : "Xato");
-            addTableCell(table, attempt.getDeviceType() != null ? attempt.getDeviceType() : "-");
-            addTableCell(table, attempt.getBrowser() != null ? attempt.getBrowser() : "-");
-            addTableCell(table, attempt.getCreatedAt().format(DATE_FORMATTER));
-            addTableCell(table, attempt.getIpAddress() != null ? attempt.getIpAddress() : "-");
+            writer.addRow(
+                    String.valueOf(attempt.getId()),
+                    attempt.getUsername(),
+                    "SUCCESS".equals(attempt.getStatus()) ? "Muvaffaqiyatli" : "Xato",
+                    attempt.getDeviceType() != null ? attempt.getDeviceType() : "-",
+                    attempt.getBrowser() != null ? attempt.getBrowser() : "-",
+                    attempt.getCreatedAt().format(DATE_FORMATTER),
+                    attempt.getIpAddress() != null ? attempt.getIpAddress() : "-");
         }
-
-        document.add(table);
-
-        // Footer
-        Paragraph footer = new Paragraph(
-                String.format("Jami: %d ta yozuv", attempts.size()),
-                DATA_FONT
-        );
-        footer.setAlignment(Element.ALIGN_RIGHT);
-        footer.setSpacingBefore(20);
-        document.add(footer);
-
-        document.close();
+        writer.finish(String.format("Jami: %d ta yozuv", writer.getRowCount()));
         return out;
     }
 
@@ -166,95 +112,28 @@ public class PdfExportService {
             List<UserActivityResponse> activities,
             String reportTitle
     ) throws DocumentException {
-        Document document = new Document(PageSize.A4.rotate()); // Landscape for more columns
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, out);
-
-        document.open();
-
-        // Title
-        Paragraph title = new Paragraph(
-                reportTitle != null ? reportTitle : "Foydalanuvchi Faoliyati Hisoboti",
-                TITLE_FONT
-        );
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(10);
-        document.add(title);
-
-        // Metadata
-        Paragraph metadata = new Paragraph(
-                "Sana: " + LocalDateTime.now().format(DATE_FORMATTER),
-                DATA_FONT
-        );
-        metadata.setAlignment(Element.ALIGN_CENTER);
-        metadata.setSpacingAfter(20);
-        document.add(metadata);
-
-        // Table with 10 columns
-        PdfPTable table = new PdfPTable(10);
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(10);
-
-        // Set relative column widths for better layout
-        try {
-            table.setWidths(new float[]{1f, 2f, 2f, 1.5f, 4f, 2f, 3f, 2f, 2f, 2f});
-        } catch (DocumentException e) {
-            log.error("Failed to set column widths: {}", e.getMessage());
-        }
-
-        // Headers
-        addTableHeader(table, new String[]{
-            "ID", "Harakat", "Obyekt", "ID",
-            "Tavsifi", "Foydalanuvchi", "Sana",
-            "Qurilma", "Brauzer", "IP"
-        });
-
-        // Data
+        PdfTableWriter writer = new PdfTableWriter(out, PageSize.A4.rotate(), ACTIVITY_TABLE,
+                reportTitle != null ? reportTitle : "Foydalanuvchi Faoliyati Hisoboti", metadataLine());
         for (UserActivityResponse activity : activities) {
-            addTableCell(table, String.valueOf(activity.getId()));
-            addTableCell(table, translateAction(activity.getAction()));
-            addTableCell(table, activity.getEntityType());
-            addTableCell(table, String.valueOf(activity.getEntityId()));
-            addTableCell(table, activity.getDescription());
-            addTableCell(table, activity.getUsername() != null ? activity.getUsername() : "-");
-            addTableCell(table, activity.getTimestamp().format(DATE_FORMATTER));
-            addTableCell(table, activity.getDeviceType() != null ? activity.getDeviceType() : "-");
-            addTableCell(table, activity.getBrowser() != null ? activity.getBrowser() : "-");
-            addTableCell(table, activity.getIpAddress() != null ? activity.getIpAddress() : "-");
+            writer.addRow(
+                    String.valueOf(activity.getId()),
+                    translateAction(activity.getAction()),
+                    activity.getEntityType(),
+                    String.valueOf(activity.getEntityId()),
+                    activity.getDescription(),
+                    activity.getUsername() != null ? activity.getUsername() : "-",
+                    activity.getTimestamp().format(DATE_FORMATTER),
+                    activity.getDeviceType() != null ? activity.getDeviceType() : "-",
+                    activity.getBrowser() != null ? activity.getBrowser() : "-",
+                    activity.getIpAddress() != null ? activity.getIpAddress() : "-");
         }
-
-        document.add(table);
-
-        // Footer
-        Paragraph footer = new Paragraph(
-                String.format("Jami: %d ta yozuv", activities.size()),
-                DATA_FONT
-        );
-        footer.setAlignment(Element.ALIGN_RIGHT);
-        footer.setSpacingBefore(20);
-        document.add(footer);
-
-        document.close();
+        writer.finish(String.format("Jami: %d ta yozuv", writer.getRowCount()));
         return out;
     }
 
-    private void addTableHeader(PdfPTable table, String[] headers) {
-        for (String header : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
-            cell.setBackgroundColor(new Color(0, 51, 102)); // Dark blue
-            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
-            cell.setPadding(8);
-            table.addCell(cell);
-        }
-    }
-
-    private void addTableCell(PdfPTable table, String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, DATA_FONT));
-        cell.setHorizontalAlignment(Element.ALIGN_LEFT);
-        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
-        cell.setPadding(5);
-        table.addCell(cell);
+    private String metadataLine() {
+        return "Sana: " + LocalDateTime.now().format(DATE_FORMATTER);
     }
 
     private String translateAction(String action) {
@@ -274,63 +153,42 @@ public class PdfExportService {
             List<ExportColumnConfig> columns,
             ExportEntity entityConfig,
             String title
+    ) throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeToPdf(rows, columns, entityConfig, title, out);
+        return out;
+    }
+
+    /**
+     * Generic eksportning oqimli varianti. Ustunlar har entity uchun har xil, shuning uchun
+     * shablon chaqiruv boshida bir marta quriladi va barcha qatorlar uchun ishlatiladi.
+     */
+    public void writeToPdf(
+            Iterable<Map<String, Object>> rows,
+            List<ExportColumnConfig> columns,
+            ExportEntity entityConfig,
+            String title,
+            OutputStream out
     ) throws DocumentException {
         // Determine orientation
         Rectangle pageSize = entityConfig != null && entityConfig.orientation() == ExportEntity.Orientation.LANDSCAPE
                 ? PageSize.A4.rotate()
                 : PageSize.A4;
 
-        Document document = new Document(pageSize);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        PdfWriter.getInstance(document, out);
-
-        document.open();
-
-        // Title
-        if (title != null && !title.isEmpty()) {
-            Paragraph titlePara = new Paragraph(title, TITLE_FONT);
-            titlePara.setAlignment(Element.ALIGN_CENTER);
-            titlePara.setSpacingAfter(15);
-            document.add(titlePara);
-        }
-
-        // Table
-        PdfPTable table = new PdfPTable(columns.size());
-        table.setWidthPercentage(100);
-        table.setSpacingBefore(10);
-
-        // Header row
-        for (ExportColumnConfig column : columns) {
-            PdfPCell headerCell = new PdfPCell(new Phrase(column.getHeader(), HEADER_FONT));
-            headerCell.setBackgroundColor(new Color(41, 128, 185)); // Blue header
-            headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            headerCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
-            headerCell.setPadding(8);
-            table.addCell(headerCell);
-        }
+        String[] headers = columns.stream().map(ExportColumnConfig::getHeader).toArray(String[]::new);
+        PdfTableTemplate template = new PdfTableTemplate(headers, null, GENERIC_HEADER_BG, null);
+        PdfTableWriter writer = new PdfTableWriter(out, pageSize, template, title, null);
 
-        // Data rows
+        String[] values = new String[headers.length];
         for (Map<String, Object> row : rows) {
-            for (ExportColumnConfig column : columns) {
-                Object value = row.get(column.getHeader());
-                String cellValue = value != null ? value.toString() : "";
-                addTableCell(table, cellValue);
+            for (int i = 0; i < headers.length; i++) {
+                Object value = row.get(headers[i]);
+                values[i] = value != null ? value.toString() : "";
             }
+            writer.addRow(values);
         }
 
-        document.add(table);
-
         // Footer with timestamp
-        Paragraph footer = new Paragraph(
-                "Yaratilgan: " + LocalDateTime.now().format(DATE_FORMATTER),
-                FontFactory.getFont(FontFactory.HELVETICA, 8, Color.GRAY)
-        );
-        footer.setAlignment(Element.ALIGN_RIGHT);
-        footer.setSpacingBefore(10);
-        document.add(footer);
-
-        document.close();
-
-        return out;
+        writer.finish("Yaratilgan: " + LocalDateTime.now().format(DATE_FORMATTER));
     }
 }
@@ -0,0 +1,55 @@
+package uz.jalyuziepr.api.service.export;
+
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Font;
+import com.lowagie.text.pdf.BaseFont;
+import lombok.extern.slf4j.Slf4j;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PDF eksport va hujjatlar uchun umumiy shriftlar.
+ *
+ * DejaVu Sans (lotin + kirill, o'zbekcha ʻ ʼ va №, × belgilari) classpath'dan bir marta
+ * o'qiladi va barcha hujjatlar uchun bitta BaseFont ishlatiladi. Identity-H bilan joylanadi:
+ * PDF'ga faqat hujjatda uchragan glyph'lar (subset) yoziladi. Resurs topilmasa Helvetica
+ * (faqat lotin) bilan ishlaydi.
+ */
+@Slf4j
+public final class PdfFonts {
+
+    private static final BaseFont REGULAR = load("fonts/DejaVuSans.ttf", BaseFont.HELVETICA);
+    private static final BaseFont BOLD = load("fonts/DejaVuSans-Bold.ttf", BaseFont.HELVETICA_BOLD);
+
+    private PdfFonts() {
+    }
+
+    public static Font regular(float size, Color color) {
+        return new Font(REGULAR, size, Font.NORMAL, color);
+    }
+
+    public static Font bold(float size, Color color) {
+        return new Font(BOLD, size, Font.NORMAL, color);
+    }
+
+    private static BaseFont load(String resource, String fallback) {
+        try (InputStream in = PdfFonts.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in != null) {
+                BaseFont font = BaseFont.createFont(resource, BaseFont.IDENTITY_H, BaseFont.EMBEDDED,
+                        true, in.readAllBytes(), null);
+                font.setSubset(true);
+                return font;
+            }
+            log.warn("PDF shrifti topilmadi: {} — {} ishlatiladi", resource, fallback);
+        } catch (IOException | DocumentException e) {
+            log.warn("PDF shriftini yuklab bo'lmadi: {} — {} ishlatiladi: {}", resource, fallback, e.getMessage());
+        }
+        try {
+            return BaseFont.createFont(fallback, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        } catch (IOException | DocumentException e) {
+            throw new IllegalStateException("PDF shriftini yuklab bo'lmadi: " + fallback, e);
+        }
+    }
+}
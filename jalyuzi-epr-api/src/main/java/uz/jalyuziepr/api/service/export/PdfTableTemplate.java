@@ -0,0 +1,76 @@
+package uz.jalyuziepr.api.service.export;
+
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+
+import java.awt.Color;
+
+/**
+ * Qayta ishlatiladigan jadval shabloni. Sarlavha qatori, ustun kengliklari va katak uslubi
+ * bir marta quriladi (odatda static final); har bir hujjat {@link #newTable()} bilan nusxa
+ * oladi. Sarlavha har sahifada takrorlanadi. Shablonning o'zi o'zgartirilmaydi — oqimlar
+ * orasida bo'lishish xavfsiz.
+ */
+public final class PdfTableTemplate {
+
+    private static final Font HEADER_FONT = PdfFonts.bold(10, Color.WHITE);
+    private static final Font DATA_FONT = PdfFonts.regular(9, Color.BLACK);
+
+    private final PdfPTable header;
+    private final PdfPCell dataCell;
+    private final PdfPCell altDataCell;
+
+    /**
+     * @param widths nisbiy ustun kengliklari (null — teng)
+     * @param altRowColor juft qatorlar foni (null — hammasi oq)
+     */
+    public PdfTableTemplate(String[] headers, float[] widths, Color headerColor, Color altRowColor) {
+        header = new PdfPTable(headers.length);
+        header.setWidthPercentage(100);
+        header.setSpacingBefore(10);
+        header.setHeaderRows(1);
+        if (widths != null) {
+            try {
+                header.setWidths(widths);
+            } catch (DocumentException e) {
+                throw new IllegalArgumentException("Ustun kengliklari soni sarlavhalarga mos emas", e);
+            }
+        }
+        for (String text : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(text, HEADER_FONT));
+            cell.setBackgroundColor(headerColor);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+            cell.setPadding(6);
+            header.addCell(cell);
+        }
+
+        dataCell = new PdfPCell();
+        dataCell.setHorizontalAlignment(Element.ALIGN_LEFT);
+        dataCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        dataCell.setPadding(4);
+        dataCell.setBackgroundColor(Color.WHITE);
+        altDataCell = new PdfPCell(dataCell);
+        altDataCell.setBackgroundColor(altRowColor != null ? altRowColor : Color.WHITE);
+    }
+
+    public int columns() {
+        return header.getNumberOfColumns();
+    }
+
+    /** Sarlavhasi tayyor yangi jadval */
+    public PdfPTable newTable() {
+        return new PdfPTable(header);
+    }
+
+    /** Uslubi tayyor ma'lumot katagi; {@code rowIndex} — qator tartibi (0 dan) */
+    public PdfPCell cell(String text, int rowIndex) {
+        PdfPCell cell = new PdfPCell(rowIndex % 2 == 1 ? altDataCell : dataCell);
+        cell.setPhrase(new Phrase(text != null ? text : "", DATA_FONT));
+        return cell;
+    }
+}
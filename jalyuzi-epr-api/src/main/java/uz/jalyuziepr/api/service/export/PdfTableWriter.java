@@ -0,0 +1,90 @@
+package uz.jalyuziepr.api.service.export;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.awt.Color;
+import java.io.OutputStream;
+
+/**
+ * Katta jadvalli hisobotni oqim bilan yozadi.
+ *
+ * Jadval "tugallanmagan" (LargeElement) sifatida har {@value #FLUSH_ROWS} qatorda Document'ga
+ * qo'shiladi: joylashtirilgan qatorlar jadvaldan o'chiriladi, to'lgan sahifalar esa darhol
+ * chiqish oqimiga yoziladi. Xotirada butun jadval emas, faqat joriy bo'lak turadi.
+ * Chiqish oqimi yopilmaydi — uni chaqiruvchi boshqaradi.
+ */
+public final class PdfTableWriter {
+
+    private static final int FLUSH_ROWS = 100;
+
+    private static final Font TITLE_FONT = PdfFonts.bold(18, Color.BLACK);
+    private static final Font META_FONT = PdfFonts.regular(10, Color.BLACK);
+
+    private final Document document;
+    private final PdfTableTemplate template;
+    private final PdfPTable table;
+    private int rowCount;
+    private int pending;
+
+    public PdfTableWriter(OutputStream out, Rectangle pageSize, PdfTableTemplate template,
+                          String title, String subtitle) throws DocumentException {
+        this.template = template;
+        this.document = new Document(pageSize);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+
+        if (title != null && !title.isEmpty()) {
+            Paragraph titlePara = new Paragraph(title, TITLE_FONT);
+            titlePara.setAlignment(Element.ALIGN_CENTER);
+            titlePara.setSpacingAfter(10);
+            document.add(titlePara);
+        }
+        if (subtitle != null) {
+            Paragraph meta = new Paragraph(subtitle, META_FONT);
+            meta.setAlignment(Element.ALIGN_CENTER);
+            meta.setSpacingAfter(10);
+            document.add(meta);
+        }
+
+        table = template.newTable();
+        table.setComplete(false);
+    }
+
+    public void addRow(String... values) throws DocumentException {
+        for (int i = 0; i < template.columns(); i++) {
+            table.addCell(template.cell(i < values.length ? values[i] : "", rowCount));
+        }
+        rowCount++;
+        if (++pending >= FLUSH_ROWS) {
+            document.add(table);
+            pending = 0;
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Qolgan qatorlarni va pastki yozuvni yozib hujjatni yopadi
+     */
+    public void finish(String footer) throws DocumentException {
+        table.setComplete(true);
+        document.add(table);
+        if (footer != null) {
+            Paragraph footerPara = new Paragraph(footer, META_FONT);
+            footerPara.setAlignment(Element.ALIGN_RIGHT);
+            footerPara.setSpacingBefore(20);
+            document.add(footerPara);
+        }
+        document.close();
+    }
+}
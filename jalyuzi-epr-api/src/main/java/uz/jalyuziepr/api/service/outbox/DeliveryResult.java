@@ -0,0 +1,29 @@
+package uz.jalyuziepr.api.service.outbox;
+
+/**
+ * Yetkazish natijasi: SENT, RETRY (vaqtinchalik xato — backoff bilan qayta urinish),
+ * THROTTLED (provayder limiti ruxsat bermadi — xabar yuborilmagan, urinish hisoblanmaydi)
+ * yoki PERMANENT (qayta urinish befoyda — darhol DEAD).
+ */
+public record DeliveryResult(Outcome outcome, String error) {
+
+    public enum Outcome {
+        SENT, RETRY, THROTTLED, PERMANENT
+    }
+
+    public static DeliveryResult sent() {
+        return new DeliveryResult(Outcome.SENT, null);
+    }
+
+    public static DeliveryResult retry(String error) {
+        return new DeliveryResult(Outcome.RETRY, error);
+    }
+
+    public static DeliveryResult throttled(String error) {
+        return new DeliveryResult(Outcome.THROTTLED, error);
+    }
+
+    public static DeliveryResult permanent(String error) {
+        return new DeliveryResult(Outcome.PERMANENT, error);
+    }
+}
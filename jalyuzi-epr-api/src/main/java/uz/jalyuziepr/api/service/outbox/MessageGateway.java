@@ -0,0 +1,80 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.OutboxConfig;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provayderga yetkazishning yagona nuqtasi: rate limiter → stub yoki haqiqiy yuboruvchi →
+ * natija. Xatolar DeliveryResult'ga aylantiriladi, metrika yoziladi.
+ * Outbox dispetcheri va ommaviy tarqatish (broadcast) shu orqali yuboradi.
+ */
+@Slf4j
+@Component
+public class MessageGateway {
+
+    private final OutboxConfig outboxConfig;
+    private final ProviderRateLimiter rateLimiter;
+    private final OutboxStubProvider stubProvider;
+    private final MeterRegistry meterRegistry;
+    private final Map<OutboxChannel, OutboxSender> senders = new EnumMap<>(OutboxChannel.class);
+
+    public MessageGateway(OutboxConfig outboxConfig,
+                          ProviderRateLimiter rateLimiter,
+                          OutboxStubProvider stubProvider,
+                          MeterRegistry meterRegistry,
+                          List<OutboxSender> senderList) {
+        this.outboxConfig = outboxConfig;
+        this.rateLimiter = rateLimiter;
+        this.stubProvider = stubProvider;
+        this.meterRegistry = meterRegistry;
+        for (OutboxSender sender : senderList) {
+            senders.put(sender.channel(), sender);
+        }
+    }
+
+    /**
+     * Xabarni yuboradi (saqlangan outbox yozuvi yoki broadcast uchun vaqtinchalik obyekt).
+     * Chaqiruvchi oqimni rate limiter ruxsatigacha bloklaydi.
+     */
+    public DeliveryResult deliver(OutboxMessage message) {
+        DeliveryResult result;
+        try {
+            if (!rateLimiter.acquire(message.getChannel(), recipientOf(message), outboxConfig.getRateLimitWaitMs())) {
+                result = DeliveryResult.throttled("Provayder limiti: ruxsat kutish muddati tugadi");
+            } else if (outboxConfig.isStubProvider()) {
+                result = stubProvider.send(message);
+            } else {
+                OutboxSender sender = senders.get(message.getChannel());
+                result = sender != null
+                        ? sender.send(message)
+                        : DeliveryResult.permanent("Kanal uchun yuboruvchi yo'q: " + message.getChannel());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = DeliveryResult.retry("Yuborish to'xtatildi");
+        } catch (Exception e) {
+            result = DeliveryResult.retry(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        meterRegistry.counter("app.outbox.delivery",
+                "channel", message.getChannel().name(),
+                "type", message.getMessageType().name(),
+                "outcome", result.outcome().name()).increment();
+        return result;
+    }
+
+    private String recipientOf(OutboxMessage message) {
+        return switch (message.getChannel()) {
+            case TELEGRAM -> OutboxPayload.getString(message.getPayload(), OutboxPayload.CHAT_ID);
+            case SMS -> OutboxPayload.getString(message.getPayload(), OutboxPayload.PHONE);
+        };
+    }
+}
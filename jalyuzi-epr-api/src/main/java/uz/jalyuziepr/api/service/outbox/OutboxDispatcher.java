@@ -0,0 +1,121 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.OutboxConfig;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbox dispetcheri: navbatdagi yozuvlarni qulflab oladi va har bir kanal uchun alohida
+ * pul'da yuboradi. Telegram/Eskiz API kechikishi HTTP so'rov yoki buyurtma tranzaksiyasini
+ * ushlab turmaydi; kanal bo'yicha parallellik {@code app.outbox.<kanal>.concurrency} bilan,
+ * tezlik esa {@link ProviderRateLimiter} bilan cheklangan.
+ *
+ * Yetkazish kafolati — at-least-once: yuborilgandan keyin natija yozilmay jarayon yiqilsa,
+ * lease tugagach xabar qayta yuboriladi.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final OutboxConfig outboxConfig;
+    private final MessageGateway messageGateway;
+    private final Map<OutboxChannel, ExecutorService> executors = new EnumMap<>(OutboxChannel.class);
+    private final Map<OutboxChannel, Semaphore> permits = new EnumMap<>(OutboxChannel.class);
+
+    public OutboxDispatcher(OutboxService outboxService,
+                            OutboxConfig outboxConfig,
+                            MessageGateway messageGateway) {
+        this.outboxService = outboxService;
+        this.outboxConfig = outboxConfig;
+        this.messageGateway = messageGateway;
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            int concurrency = Math.max(1, outboxConfig.channel(channel).getConcurrency());
+            permits.put(channel, new Semaphore(concurrency));
+            executors.put(channel, Executors.newFixedThreadPool(concurrency, threadFactory(channel)));
+        }
+    }
+
+    /** Barcha kanallar bo'yicha navbatdagi xabarlarni yuborishga beradi (OutboxDispatchScheduler chaqiradi) */
+    public void dispatchDue() {
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            try {
+                dispatchChannel(channel);
+            } catch (Exception e) {
+                log.error("Outbox dispetcher xatosi ({}): {}", channel, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void dispatchChannel(OutboxChannel channel) {
+        Semaphore semaphore = permits.get(channel);
+        // Faqat bo'sh ishchilar soniga teng yozuv olinadi — qolganlari boshqa replika uchun qulflanmaydi
+        int free = Math.min(semaphore.availablePermits(), outboxConfig.getBatchSize());
+        if (free <= 0) {
+            return;
+        }
+        List<OutboxMessage> claimed = outboxService.claimDue(channel, free);
+        for (OutboxMessage message : claimed) {
+            semaphore.acquireUninterruptibly();
+            try {
+                executors.get(channel).execute(() -> {
+                    try {
+                        deliver(message);
+                    } finally {
+                        semaphore.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                semaphore.release();
+                log.warn("Outbox xabari pul'ga berilmadi (id={}), lease tugagach qayta olinadi", message.getId());
+            }
+        }
+    }
+
+    private void deliver(OutboxMessage message) {
+        DeliveryResult result = messageGateway.deliver(message);
+        try {
+            outboxService.recordResult(message.getId(), result);
+        } catch (Exception e) {
+            log.error("Outbox natijasi saqlanmadi (id={}): {}", message.getId(), e.getMessage(), e);
+        }
+    }
+
+    private static ThreadFactory threadFactory(OutboxChannel channel) {
+        AtomicInteger counter = new AtomicInteger();
+        String prefix = "outbox-" + channel.name().toLowerCase() + "-";
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+        for (ExecutorService executor : executors.values()) {
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
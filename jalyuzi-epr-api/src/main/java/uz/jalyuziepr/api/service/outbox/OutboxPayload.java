@@ -0,0 +1,84 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Outbox payload kalitlari va yig'uvchilari. JSONB'dan o'qilganda sonlar Integer yoki Long
+ * bo'lib kelishi mumkin — shuning uchun {@link #getLong} Number orqali o'qiydi.
+ */
+public final class OutboxPayload {
+
+    public static final String CHAT_ID = "chatId";
+    public static final String TEXT = "text";
+    public static final String BUTTON_TEXT = "buttonText";
+    public static final String BUTTON_URL = "buttonUrl";
+    public static final String ORDER_ID = "orderId";
+    public static final String FILENAME = "filename";
+    public static final String CAPTION = "caption";
+    public static final String PHONE = "phone";
+
+    // DEAD holatidagi zaxira: avval SMS (agar berilgan bo'lsa), aks holda xodimlarga ogohlantirish
+    public static final String FALLBACK_SMS_PHONE = "fallbackSmsPhone";
+    public static final String FALLBACK_SMS_TEXT = "fallbackSmsText";
+    public static final String STAFF_WARNING_TITLE = "staffWarningTitle";
+    public static final String STAFF_WARNING_MESSAGE = "staffWarningMessage";
+
+    // Xodim DEAD xabarni necha marta qayta navbatga qo'ygani — zaxira SMS kaliti shunga bog'liq
+    public static final String RETRY_GENERATION = "retryGeneration";
+
+    private OutboxPayload() {
+    }
+
+    public static Map<String, Object> telegramText(Long chatId, String text, String buttonText, String buttonUrl) {
+        Map<String, Object> p = new HashMap<>();
+        p.put(CHAT_ID, chatId);
+        p.put(TEXT, text);
+        if (buttonUrl != null) {
+            p.put(BUTTON_TEXT, buttonText);
+            p.put(BUTTON_URL, buttonUrl);
+        }
+        return p;
+    }
+
+    public static Map<String, Object> telegramDocument(Long chatId, Long orderId, String filename, String caption) {
+        Map<String, Object> p = new HashMap<>();
+        p.put(CHAT_ID, chatId);
+        p.put(ORDER_ID, orderId);
+        p.put(FILENAME, filename);
+        p.put(CAPTION, caption);
+        return p;
+    }
+
+    public static Map<String, Object> sms(String phone, String text) {
+        Map<String, Object> p = new HashMap<>();
+        p.put(PHONE, phone);
+        p.put(TEXT, text);
+        return p;
+    }
+
+    public static Map<String, Object> withSmsFallback(Map<String, Object> payload, String phone, String text) {
+        payload.put(FALLBACK_SMS_PHONE, phone);
+        payload.put(FALLBACK_SMS_TEXT, text);
+        return payload;
+    }
+
+    public static Map<String, Object> withStaffWarning(Map<String, Object> payload, String title, String message) {
+        payload.put(STAFF_WARNING_TITLE, title);
+        payload.put(STAFF_WARNING_MESSAGE, message);
+        return payload;
+    }
+
+    public static String getString(Map<String, Object> payload, String key) {
+        Object value = payload != null ? payload.get(key) : null;
+        return value != null ? value.toString() : null;
+    }
+
+    public static Long getLong(Map<String, Object> payload, String key) {
+        Object value = payload != null ? payload.get(key) : null;
+        if (value instanceof Number n) {
+            return n.longValue();
+        }
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+
+/**
+ * Outbox kanal provayderi. Exception tashlamasligi kerak — natija {@link DeliveryResult} orqali.
+ */
+public interface OutboxSender {
+
+    OutboxChannel channel();
+
+    DeliveryResult send(OutboxMessage message);
+}
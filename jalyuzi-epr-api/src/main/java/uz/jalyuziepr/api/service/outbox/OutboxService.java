@@ -0,0 +1,252 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.jalyuziepr.api.config.OutboxConfig;
+import uz.jalyuziepr.api.dto.response.OutboxMessageResponse;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.enums.OutboxMessageType;
+import uz.jalyuziepr.api.enums.OutboxStatus;
+import uz.jalyuziepr.api.enums.StaffNotificationType;
+import uz.jalyuziepr.api.exception.BadRequestException;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.repository.OutboxMessageRepository;
+import uz.jalyuziepr.api.service.StaffNotificationService;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox: xabarni biznes tranzaksiyasi ichida navbatga qo'yish,
+ * dispetcher uchun yozuvlarni olish/natijani qayd etish va xodimlar paneli.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxConfig outboxConfig;
+    private final StaffNotificationService staffNotificationService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Joriy tranzaksiyada outbox yozuvini yaratadi — buyurtma o'zgarishi rollback bo'lsa,
+     * xabar ham yo'qoladi. Shu kalit bilan yozuv allaqachon bo'lsa hech narsa qilmaydi
+     * (INSERT ... ON CONFLICT DO NOTHING — tekshirish va yozish orasida poyga yo'q).
+     *
+     * @return yangi yozuv yaratilgan bo'lsa true
+     */
+    @Transactional
+    public boolean enqueue(OutboxChannel channel, OutboxMessageType type, String idempotencyKey,
+                           String entityType, Long entityId, Map<String, Object> payload) {
+        String payloadJson;
+        try {
+            payloadJson = objectMapper.writeValueAsString(payload != null ? payload : Map.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox payload'ini JSON'ga o'girib bo'lmadi: " + idempotencyKey, e);
+        }
+        int inserted = outboxMessageRepository.insertIfAbsent(idempotencyKey, channel.name(), type.name(),
+                payloadJson, entityType, entityId, outboxConfig.getMaxAttempts());
+        if (inserted == 0) {
+            log.debug("Outbox: kalit allaqachon mavjud, o'tkazib yuborildi: {}", idempotencyKey);
+            return false;
+        }
+        return true;
+    }
+
+    // ==================== DISPETCHER ====================
+
+    /**
+     * Kanal bo'yicha yuborishga tayyor yozuvlarni qulflab SENDING holatiga o'tkazadi
+     * (lease bilan). Urinishlar soni shu yerda oshiriladi — yuborish paytida jarayon
+     * yiqilsa ham urinish hisobga olinadi.
+     */
+    @Transactional
+    public List<OutboxMessage> claimDue(OutboxChannel channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxMessageRepository.lockDueBatch(channel.name(), now, limit);
+        for (OutboxMessage message : batch) {
+            message.setStatus(OutboxStatus.SENDING);
+            message.setLockedUntil(now.plusSeconds(outboxConfig.getLeaseSeconds()));
+            message.setAttempts(message.getAttempts() + 1);
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void recordResult(Long messageId, DeliveryResult result) {
+        OutboxMessage message = outboxMessageRepository.findById(messageId).orElse(null);
+        if (message == null || message.getStatus() != OutboxStatus.SENDING) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        message.setLockedUntil(null);
+
+        switch (result.outcome()) {
+            case SENT -> {
+                message.setStatus(OutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            }
+            case RETRY -> {
+                if (message.getAttempts() >= message.getMaxAttempts()) {
+                    markDead(message, result.error(), now);
+                } else {
+                    message.setStatus(OutboxStatus.PENDING);
+                    message.setNextAttemptAt(now.plusSeconds(backoffSeconds(message.getAttempts())));
+                    message.setLastError(truncate(result.error()));
+                }
+            }
+            case THROTTLED -> {
+                // Provayderga hech narsa yuborilmagan: claimDue oshirgan urinish qaytariladi,
+                // aks holda uzoq navbat xabarlarni limit tufayli DEAD'ga olib borardi
+                message.setStatus(OutboxStatus.PENDING);
+                message.setAttempts(Math.max(0, message.getAttempts() - 1));
+                message.setNextAttemptAt(now.plusSeconds(backoffSeconds(1)));
+                message.setLastError(truncate(result.error()));
+            }
+            case PERMANENT -> markDead(message, result.error(), now);
+        }
+    }
+
+    /** base × 2^(urinish-1), maxBackoff bilan cheklangan, ±20% jitter (replikalar bir vaqtda urinmasligi uchun) */
+    long backoffSeconds(int attempt) {
+        long base = outboxConfig.getBaseBackoffSeconds();
+        long delay = base << Math.min(attempt - 1, 20);
+        delay = Math.min(delay, outboxConfig.getMaxBackoffSeconds());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Math.max(1, Math.round(delay * jitter));
+    }
+
+    private void markDead(OutboxMessage message, String error, LocalDateTime now) {
+        message.setStatus(OutboxStatus.DEAD);
+        message.setDeadAt(now);
+        message.setLastError(truncate(error));
+        log.warn("Outbox xabari DEAD: id={}, key={}, urinishlar={}, xato={}",
+                message.getId(), message.getIdempotencyKey(), message.getAttempts(), error);
+        handleDeadLetter(message);
+    }
+
+    /**
+     * Zaxira: Telegram xabari uchun SMS zaxirasi berilgan bo'lsa — SMS navbatga qo'yiladi,
+     * aks holda (yoki SMS ham DEAD bo'lsa) xodimlarga ogohlantirish yuboriladi.
+     */
+    private void handleDeadLetter(OutboxMessage message) {
+        Map<String, Object> p = message.getPayload();
+        String fallbackPhone = OutboxPayload.getString(p, OutboxPayload.FALLBACK_SMS_PHONE);
+        String fallbackText = OutboxPayload.getString(p, OutboxPayload.FALLBACK_SMS_TEXT);
+        if (message.getChannel() != OutboxChannel.SMS && fallbackPhone != null && fallbackText != null) {
+            Map<String, Object> sms = OutboxPayload.sms(fallbackPhone, fallbackText);
+            if (p.containsKey(OutboxPayload.STAFF_WARNING_TITLE)) {
+                OutboxPayload.withStaffWarning(sms,
+                        OutboxPayload.getString(p, OutboxPayload.STAFF_WARNING_TITLE),
+                        OutboxPayload.getString(p, OutboxPayload.STAFF_WARNING_MESSAGE));
+            }
+            enqueue(OutboxChannel.SMS, message.getMessageType(), fallbackSmsKey(message),
+                    message.getEntityType(), message.getEntityId(), sms);
+            return;
+        }
+
+        String title = OutboxPayload.getString(p, OutboxPayload.STAFF_WARNING_TITLE);
+        if (title != null) {
+            try {
+                staffNotificationService.createGlobalNotification(
+                        title, OutboxPayload.getString(p, OutboxPayload.STAFF_WARNING_MESSAGE),
+                        StaffNotificationType.WARNING, message.getEntityType(), message.getEntityId());
+            } catch (Exception e) {
+                log.warn("Outbox DEAD ogohlantirishi yuborilmadi (id={}): {}", message.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Zaxira SMS kaliti. Qo'lda qayta yuborilgan xabar yana DEAD bo'lsa, oldingi zaxira yozuvi
+     * bilan bir xil kalit ON CONFLICT'da jimgina tashlab yuborilardi — shuning uchun har bir
+     * qayta yuborish avlodi o'z kalitini oladi.
+     */
+    private static String fallbackSmsKey(OutboxMessage message) {
+        Long generation = OutboxPayload.getLong(message.getPayload(), OutboxPayload.RETRY_GENERATION);
+        String key = message.getIdempotencyKey() + ":sms";
+        return generation != null && generation > 0 ? key + ":r" + generation : key;
+    }
+
+    @Transactional
+    public int purgeSent() {
+        return outboxMessageRepository.deleteSentBefore(
+                OutboxStatus.SENT, LocalDateTime.now().minusDays(outboxConfig.getRetentionDays()));
+    }
+
+    // ==================== XODIMLAR PANELI ====================
+
+    @Transactional(readOnly = true)
+    public Page<OutboxMessageResponse> getMessages(OutboxStatus status, OutboxChannel channel, Pageable pageable) {
+        OutboxStatus effective = status != null ? status : OutboxStatus.DEAD;
+        Page<OutboxMessage> page = channel != null
+                ? outboxMessageRepository.findByStatusAndChannel(effective, channel, pageable)
+                : outboxMessageRepository.findByStatus(effective, pageable);
+        return page.map(OutboxMessageResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OutboxMessageResponse> getEntityMessages(String entityType, Long entityId, Pageable pageable) {
+        return outboxMessageRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable)
+                .map(OutboxMessageResponse::from);
+    }
+
+    /** Kanal → status → soni */
+    @Transactional(readOnly = true)
+    public Map<OutboxChannel, Map<OutboxStatus, Long>> getStats() {
+        Map<OutboxChannel, Map<OutboxStatus, Long>> stats = new EnumMap<>(OutboxChannel.class);
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            Map<OutboxStatus, Long> byStatus = new EnumMap<>(OutboxStatus.class);
+            for (OutboxStatus status : OutboxStatus.values()) {
+                byStatus.put(status, 0L);
+            }
+            stats.put(channel, byStatus);
+        }
+        for (Object[] row : outboxMessageRepository.countByChannelAndStatus()) {
+            stats.get((OutboxChannel) row[0]).put((OutboxStatus) row[1], (Long) row[2]);
+        }
+        return stats;
+    }
+
+    /** DEAD xabarni qayta navbatga qo'yish (urinishlar hisoblagichi nollanadi, qayta yuborish avlodi oshadi) */
+    @Transactional
+    public OutboxMessageResponse retry(Long id) {
+        OutboxMessage message = outboxMessageRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Outbox xabari", "id", id));
+        if (message.getStatus() != OutboxStatus.DEAD) {
+            throw new BadRequestException("Faqat yetkazilmagan (DEAD) xabarni qayta yuborish mumkin");
+        }
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        message.setDeadAt(null);
+        Map<String, Object> payload = new HashMap<>(message.getPayload());
+        Long generation = OutboxPayload.getLong(payload, OutboxPayload.RETRY_GENERATION);
+        payload.put(OutboxPayload.RETRY_GENERATION, (generation != null ? generation : 0) + 1);
+        message.setPayload(payload);
+        return OutboxMessageResponse.from(outboxMessageRepository.save(message));
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
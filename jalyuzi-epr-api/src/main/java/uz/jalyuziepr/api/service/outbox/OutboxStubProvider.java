@@ -0,0 +1,51 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.OutboxConfig;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lokal/test provayder ({@code app.outbox.stub-provider=true}): Telegram/Eskiz'ga bormaydi,
+ * xabarni logga yozadi va oxirgi yetkazilganlarni xotirada saqlaydi.
+ * {@code stub-failure-rate} bilan retry va DEAD oqimlarini sinash mumkin.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxStubProvider {
+
+    private static final int HISTORY_LIMIT = 500;
+
+    private final OutboxConfig outboxConfig;
+    private final Deque<OutboxMessage> delivered = new ConcurrentLinkedDeque<>();
+
+    public DeliveryResult send(OutboxMessage message) {
+        if (outboxConfig.getStubFailureRate() > 0
+                && ThreadLocalRandom.current().nextDouble() < outboxConfig.getStubFailureRate()) {
+            return DeliveryResult.retry("Stub: sun'iy xatolik");
+        }
+        log.info("Outbox stub [{}] {} -> {}", message.getChannel(), message.getMessageType(), message.getPayload());
+        delivered.addFirst(message);
+        while (delivered.size() > HISTORY_LIMIT) {
+            delivered.pollLast();
+        }
+        return DeliveryResult.sent();
+    }
+
+    /** Oxirgi yetkazilgan xabarlar (yangisi birinchi) */
+    public List<OutboxMessage> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,95 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.config.OutboxConfig;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.util.TokenBucket;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provayder cheklovlari: kanal bo'yicha umumiy token bucket (Telegram ~30 xabar/s,
+ * Eskiz — tarifga qarab) va bitta qabul qiluvchiga xabarlar orasidagi minimal interval
+ * (Telegram bitta chatga ~1 xabar/s). Outbox dispetcheri ham, ommaviy tarqatish ham
+ * shu cheklovchidan o'tadi — ikkalasi birgalikda limitdan oshmaydi.
+ *
+ * Bucket'lar JVM xotirasida: har bir replika limitni alohida hisoblaydi, N ta replika
+ * provayderga jami N× tezlikda yuborishi mumkin. Bir nechta replikada ishlaganda
+ * {@code app.outbox.<kanal>.rate-per-second} va {@code burst} replikalar soniga bo'lib beriladi.
+ *
+ * Muddat ichida ruxsat berilmasa chaqiruvchi {@link DeliveryResult#throttled} qaytaradi —
+ * xabar urinish sarflamasdan qayta rejalashtiriladi.
+ */
+@Slf4j
+@Component
+public class ProviderRateLimiter {
+
+    private static final int RECIPIENT_CACHE_LIMIT = 50_000;
+
+    private final OutboxConfig outboxConfig;
+    private final Map<OutboxChannel, TokenBucket> buckets = new EnumMap<>(OutboxChannel.class);
+    private final Map<String, Long> nextAllowedByRecipient = new ConcurrentHashMap<>();
+
+    public ProviderRateLimiter(OutboxConfig outboxConfig) {
+        this.outboxConfig = outboxConfig;
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            OutboxConfig.Channel cfg = outboxConfig.channel(channel);
+            buckets.put(channel, new TokenBucket(cfg.getRatePerSecond(), cfg.getBurst()));
+        }
+    }
+
+    /**
+     * Kanal va qabul qiluvchi bo'yicha ruxsat kutadi.
+     *
+     * @param recipient chatId yoki telefon (null bo'lsa faqat umumiy limit)
+     * @return muddat ichida ruxsat olingan bo'lsa true
+     */
+    public boolean acquire(OutboxChannel channel, String recipient, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long intervalMs = outboxConfig.channel(channel).getPerRecipientIntervalMs();
+        if (recipient != null && intervalMs > 0) {
+            if (!reserveRecipientSlot(channel.name() + ":" + recipient, intervalMs, deadline)) {
+                return false;
+            }
+        }
+        long remaining = deadline - System.nanoTime();
+        return buckets.get(channel).acquire(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Qabul qiluvchi uchun navbatdagi vaqt oralig'ini band qiladi va shu vaqtgacha kutadi.
+     * Oraliq muddatdan keyin tushsa band qilinmaydi — aks holda vaqt tugagan har bir urinish
+     * keyingi oraliqni "yeb", qabul qiluvchining navbatini cheksiz surib yuborardi.
+     */
+    private boolean reserveRecipientSlot(String key, long intervalMs, long deadline) throws InterruptedException {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        long[] slot = new long[1];
+        boolean[] reserved = new boolean[1];
+        long now = System.nanoTime();
+        nextAllowedByRecipient.compute(key, (k, next) -> {
+            long start = next == null || next - now < 0 ? now : next;
+            if (start - deadline > 0) {
+                return next;
+            }
+            slot[0] = start;
+            reserved[0] = true;
+            return start + intervalNanos;
+        });
+        if (!reserved[0]) {
+            return false;
+        }
+        long wait = slot[0] - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        if (nextAllowedByRecipient.size() > RECIPIENT_CACHE_LIMIT) {
+            long cutoff = System.nanoTime();
+            nextAllowedByRecipient.values().removeIf(next -> next < cutoff);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.service.SmsService;
+
+/**
+ * SMS provayderi (Eskiz.uz) — Telegram'ga urinmasdan to'g'ridan-to'g'ri SMS.
+ */
+@Component
+@RequiredArgsConstructor
+public class SmsOutboxSender implements OutboxSender {
+
+    private final SmsService smsService;
+
+    @Override
+    public OutboxChannel channel() {
+        return OutboxChannel.SMS;
+    }
+
+    @Override
+    public DeliveryResult send(OutboxMessage message) {
+        String phone = OutboxPayload.getString(message.getPayload(), OutboxPayload.PHONE);
+        String text = OutboxPayload.getString(message.getPayload(), OutboxPayload.TEXT);
+        if (phone == null || phone.isBlank() || text == null || text.isBlank()) {
+            return DeliveryResult.permanent("Telefon yoki matn bo'sh");
+        }
+        return smsService.sendSmsDirect(phone, text)
+                ? DeliveryResult.sent()
+                : DeliveryResult.retry("Eskiz SMS yuborilmadi");
+    }
+}
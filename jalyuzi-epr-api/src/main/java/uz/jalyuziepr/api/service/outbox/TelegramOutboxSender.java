@@ -0,0 +1,62 @@
+package uz.jalyuziepr.api.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import uz.jalyuziepr.api.entity.OutboxMessage;
+import uz.jalyuziepr.api.enums.OrderDocumentType;
+import uz.jalyuziepr.api.enums.OutboxChannel;
+import uz.jalyuziepr.api.enums.OutboxMessageType;
+import uz.jalyuziepr.api.service.TelegramService;
+import uz.jalyuziepr.api.service.export.OrderDocumentCache;
+
+import java.util.Map;
+
+/**
+ * Telegram provayderi: matnli xabar (ixtiyoriy inline URL tugma bilan) yoki
+ * o'rnatish akti PDF'i — hujjat keshidan olinadi (payload'da faqat orderId).
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramOutboxSender implements OutboxSender {
+
+    private final TelegramService telegramService;
+    private final OrderDocumentCache orderDocumentCache;
+
+    @Override
+    public OutboxChannel channel() {
+        return OutboxChannel.TELEGRAM;
+    }
+
+    @Override
+    public DeliveryResult send(OutboxMessage message) {
+        if (!telegramService.isEnabled()) {
+            return DeliveryResult.permanent("Telegram bot o'chirilgan");
+        }
+        Map<String, Object> p = message.getPayload();
+        Long chatId = OutboxPayload.getLong(p, OutboxPayload.CHAT_ID);
+        if (chatId == null) {
+            return DeliveryResult.permanent("chatId ko'rsatilmagan");
+        }
+
+        if (message.getMessageType() == OutboxMessageType.INSTALLATION_ACT) {
+            Long orderId = OutboxPayload.getLong(p, OutboxPayload.ORDER_ID);
+            byte[] pdf;
+            try {
+                pdf = orderDocumentCache.getBytes(orderId, OrderDocumentType.ACT);
+            } catch (Exception e) {
+                return DeliveryResult.retry("Akt PDF yaratilmadi: " + e.getMessage());
+            }
+            boolean sent = telegramService.sendDocument(chatId, pdf,
+                    OutboxPayload.getString(p, OutboxPayload.FILENAME),
+                    OutboxPayload.getString(p, OutboxPayload.CAPTION));
+            return sent ? DeliveryResult.sent() : DeliveryResult.retry("Telegram sendDocument muvaffaqiyatsiz");
+        }
+
+        String buttonUrl = OutboxPayload.getString(p, OutboxPayload.BUTTON_URL);
+        Map<String, Object> markup = buttonUrl != null
+                ? telegramService.inlineUrlButton(OutboxPayload.getString(p, OutboxPayload.BUTTON_TEXT), buttonUrl)
+                : null;
+        boolean sent = telegramService.sendMessage(chatId, OutboxPayload.getString(p, OutboxPayload.TEXT), markup);
+        return sent ? DeliveryResult.sent() : DeliveryResult.retry("Telegram sendMessage muvaffaqiyatsiz");
+    }
+}
@@ -0,0 +1,103 @@
+package uz.jalyuziepr.api.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * So'rov yuborgan mijoz IP manzili: proksi ortida X-Forwarded-For (birinchi manzil),
+ * keyin X-Real-IP, bo'lmasa ulanish manzili.
+ */
+public final class ClientIp {
+
+    // IPv6 manzil va port uchun yetarli
+    private static final int MAX_LENGTH = 64;
+
+    private ClientIp() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Cheklovlar uchun manzil: mijoz soxtalashtira olmaydigan qiymat. Sarlavhalar faqat ulanish
+     * ishonchli proksidan ({@code trustedProxies}) kelganda o'qiladi — aks holda mijoz X-Real-IP'ni
+     * o'zi yozib har so'rovda boshqa IP bo'lib ko'rinardi. Proksi ortida: nginx X-Real-IP'ni o'zi
+     * ko'rgan ulanish manzili bilan almashtiradi; X-Forwarded-For o'ngdan o'qiladi va ishonchli
+     * proksi bo'lmagan birinchi element olinadi — chapdagilarni mijoz o'zgartirib limitdan qochishi mumkin.
+     */
+    public static String forRateLimit(HttpServletRequest request, List<IpRange> trustedProxies) {
+        String ip = request.getRemoteAddr();
+        if (isTrusted(ip, trustedProxies)) {
+            String xRealIp = request.getHeader("X-Real-IP");
+            String xForwardedFor = request.getHeader("X-Forwarded-For");
+            if (xRealIp != null && !xRealIp.isBlank()) {
+                ip = xRealIp;
+            } else if (xForwardedFor != null && !xForwardedFor.isBlank()) {
+                ip = firstUntrustedFromRight(xForwardedFor.split(","), trustedProxies);
+            }
+        }
+        ip = ip.trim();
+        return ip.length() > MAX_LENGTH ? ip.substring(0, MAX_LENGTH) : ip;
+    }
+
+    private static String firstUntrustedFromRight(String[] hops, List<IpRange> trustedProxies) {
+        for (int i = hops.length - 1; i > 0; i--) {
+            if (!isTrusted(hops[i].trim(), trustedProxies)) {
+                return hops[i];
+            }
+        }
+        return hops[0];
+    }
+
+    private static boolean isTrusted(String ip, List<IpRange> trustedProxies) {
+        InetAddress address = IpRange.parseLiteral(ip);
+        if (address == null) {
+            return false;
+        }
+        for (IpRange range : trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cheklov kaliti: IPv4 — manzilning o'zi, IPv6 — /64 tarmoq (birinchi 8 bayt).
+     * Manzil sifatida o'qib bo'lmasa satr o'zgarishsiz qaytadi.
+     */
+    public static String rateLimitKey(String ip) {
+        if (ip == null || ip.indexOf(':') < 0) {
+            return ip;
+        }
+        String literal = ip.startsWith("[") && ip.endsWith("]") ? ip.substring(1, ip.length() - 1) : ip;
+        int zone = literal.indexOf('%');
+        if (zone >= 0) {
+            literal = literal.substring(0, zone);
+        }
+        try {
+            // ':' bor satr IPv6 literal sifatida o'qiladi — DNS so'rovi yuborilmaydi
+            InetAddress address = InetAddress.getByName(literal);
+            if (address instanceof Inet4Address) {
+                return address.getHostAddress();
+            }
+            return HexFormat.of().formatHex(address.getAddress(), 0, 8) + "::/64";
+        } catch (UnknownHostException | IllegalArgumentException e) {
+            return ip;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package uz.jalyuziepr.api.util;
+
+import java.util.List;
+
+/**
+ * Rasm variantlari nomlash qoidasi: {@code {nom}.{ext}} asl fayl uchun
+ * {@code {nom}_thumb.jpg} va {@code {nom}_medium.jpg}. Variantlar asl fayl yonida saqlanadi.
+ * Tashqi (http...) URL'lar uchun variant yo'q — asl URL qaytariladi.
+ */
+public final class ImageVariants {
+
+    public enum Variant {
+        THUMBNAIL("thumb"),
+        MEDIUM("medium");
+
+        private final String suffix;
+
+        Variant(String suffix) {
+            this.suffix = suffix;
+        }
+
+        public String suffix() {
+            return suffix;
+        }
+    }
+
+    public static final String VARIANT_EXTENSION = ".jpg";
+
+    private ImageVariants() {
+    }
+
+    public static String thumbnailUrl(String url) {
+        return variantUrl(url, Variant.THUMBNAIL);
+    }
+
+    public static String mediumUrl(String url) {
+        return variantUrl(url, Variant.MEDIUM);
+    }
+
+    public static List<String> thumbnailUrls(List<String> urls) {
+        return urls != null ? urls.stream().map(ImageVariants::thumbnailUrl).toList() : null;
+    }
+
+    public static String variantUrl(String url, Variant variant) {
+        if (url == null || url.isBlank() || !url.startsWith("/")) {
+            return url;
+        }
+        return variantName(url, variant);
+    }
+
+    /** {@code a/b/abc.png} → {@code a/b/abc_thumb.jpg} (fayl nomi yoki yo'l uchun) */
+    public static String variantName(String name, Variant variant) {
+        int slash = name.lastIndexOf('/');
+        int dot = name.lastIndexOf('.');
+        String stem = dot > slash ? name.substring(0, dot) : name;
+        return stem + "_" + variant.suffix() + VARIANT_EXTENSION;
+    }
+
+    /** Fayl nomi variantmi ({@code _thumb.jpg} / {@code _medium.jpg}); bo'lmasa null */
+    public static Variant parse(String name) {
+        for (Variant variant : Variant.values()) {
+            if (name.endsWith("_" + variant.suffix() + VARIANT_EXTENSION)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    /** Variant nomidan asl fayl nomining kengaytmasiz qismi: {@code abc_thumb.jpg} → {@code abc} */
+    public static String originalStem(String variantName, Variant variant) {
+        return variantName.substring(0, variantName.length() - (variant.suffix().length() + 1 + VARIANT_EXTENSION.length()));
+    }
+}
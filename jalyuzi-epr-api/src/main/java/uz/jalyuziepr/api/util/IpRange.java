@@ -0,0 +1,85 @@
+package uz.jalyuziepr.api.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * IP tarmoq (CIDR), masalan {@code 10.0.0.0/8} yoki {@code fc00::/7}; prefiks berilmasa bitta manzil.
+ */
+public final class IpRange {
+
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6_LITERAL = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final byte[] network;
+    private final int prefixLength;
+
+    private IpRange(byte[] network, int prefixLength) {
+        this.network = network;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException manzil IP literal emas yoki prefiks noto'g'ri
+     */
+    public static IpRange parse(String cidr) {
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        InetAddress address = parseLiteral(slash >= 0 ? value.substring(0, slash) : value);
+        if (address == null) {
+            throw new IllegalArgumentException("IP tarmoq noto'g'ri: " + cidr);
+        }
+        byte[] bytes = address.getAddress();
+        int prefix = slash >= 0 ? Integer.parseInt(value.substring(slash + 1).trim()) : bytes.length * 8;
+        if (prefix < 0 || prefix > bytes.length * 8) {
+            throw new IllegalArgumentException("IP tarmoq prefiksi noto'g'ri: " + cidr);
+        }
+        return new IpRange(mask(bytes, prefix), prefix);
+    }
+
+    /**
+     * IP literal'ni o'qiydi; hostname yoki noto'g'ri satr uchun null. DNS so'rovi hech qachon
+     * yuborilmaydi — faqat raqamli IPv4 va ':' li IPv6 satrlar InetAddress'ga beriladi.
+     */
+    public static InetAddress parseLiteral(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        String literal = ip.trim();
+        if (literal.startsWith("[") && literal.endsWith("]")) {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+        int zone = literal.indexOf('%');
+        if (zone >= 0) {
+            literal = literal.substring(0, zone);
+        }
+        if (!IPV4_LITERAL.matcher(literal).matches() && !IPV6_LITERAL.matcher(literal).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(literal);
+        } catch (UnknownHostException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public boolean contains(InetAddress address) {
+        if (address == null) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        return bytes.length == network.length
+                && Arrays.equals(mask(bytes, prefixLength), network);
+    }
+
+    private static byte[] mask(byte[] bytes, int prefix) {
+        byte[] masked = bytes.clone();
+        for (int i = 0; i < masked.length; i++) {
+            int bits = Math.max(0, Math.min(8, prefix - i * 8));
+            masked[i] &= (byte) (0xFF << (8 - bits));
+        }
+        return masked;
+    }
+}
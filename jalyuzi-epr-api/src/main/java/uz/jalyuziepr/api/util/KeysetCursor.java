@@ -0,0 +1,57 @@
+package uz.jalyuziepr.api.util;
+
+import uz.jalyuziepr.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset (cursor) sahifalash kaliti: oxirgi qaytarilgan qatorning (vaqt, id) juftligi.
+ * Mijozga shaffof bo'lmagan base64url satr sifatida beriladi.
+ *
+ * Ro'yxatlar {@code (vaqt DESC, id DESC)} tartibida o'qiladi, keyingi sahifa sharti:
+ * {@code vaqt <= :at AND (vaqt < :at OR id < :id)} — birinchi qism indeks diapazonini beradi,
+ * shuning uchun chuqur sahifalar ham OFFSET'siz va COUNT(*)'siz o'qiladi.
+ */
+public record KeysetCursor(LocalDateTime at, long id) {
+
+    /** Birinchi sahifa: har qanday qatordan katta kalit */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    /** Bo'sh yoki null — birinchi sahifa; buzilgan satr — 400 */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Noto'g'ri cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = at.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Sahifa hajmini 1..{@link #MAX_SIZE} oralig'iga keltiradi */
+    public static int limit(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(MAX_SIZE, size));
+    }
+}
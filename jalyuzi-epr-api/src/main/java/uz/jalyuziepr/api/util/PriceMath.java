@@ -0,0 +1,77 @@
+package uz.jalyuziepr.api.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Narx arifmetikasi butun sonlarda (scaled long): pul — tiyin (scale 2), maydon — m² × 10^4 (scale 4).
+ * Natijalar avvalgi BigDecimal hisob-kitobi bilan bit-ma-bit bir xil:
+ * maydon {@code divide(1_000_000, 4, HALF_UP)}, narx esa UP (do'kon) yoki HALF_UP (buyurtma)
+ * bilan yaxlitlanadi.
+ */
+public final class PriceMath {
+
+    public static final int MONEY_SCALE = 2;
+    public static final int AREA_SCALE = 4;
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    private PriceMath() {
+    }
+
+    /** Kenglik × balandlik (mm) → m², scale 4, HALF_UP */
+    public static long squareMeterUnits(int widthMm, int heightMm) {
+        return divide((long) widthMm * heightMm, 100L, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * m² narxi (tiyin) × maydon (scale 4) → {@code targetScale} gacha yaxlitlangan summa.
+     * Faqat UP va HALF_UP qo'llab-quvvatlanadi; long to'lib ketsa BigDecimal'ga tushadi.
+     */
+    public static long areaPrice(long pricePerSqmMinor, long sqmUnits, int targetScale, RoundingMode mode) {
+        int drop = MONEY_SCALE + AREA_SCALE - targetScale;
+        try {
+            return divide(Math.multiplyExact(pricePerSqmMinor, sqmUnits), POW10[drop], mode);
+        } catch (ArithmeticException overflow) {
+            return BigDecimal.valueOf(pricePerSqmMinor, MONEY_SCALE)
+                    .multiply(BigDecimal.valueOf(sqmUnits, AREA_SCALE))
+                    .setScale(targetScale, mode)
+                    .unscaledValue()
+                    .longValueExact();
+        }
+    }
+
+    /** Summa tiyinda ifodalanadimi (2 xonadan ortiq kasr yo'q, long'ga sig'adi) */
+    public static boolean isMinorExact(BigDecimal value) {
+        return value != null
+                && value.stripTrailingZeros().scale() <= MONEY_SCALE
+                && value.precision() - value.scale() < 17;
+    }
+
+    /** BigDecimal → tiyin. {@link #isMinorExact} bilan tekshirilgan qiymatlar uchun */
+    public static long toMinor(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /** Tiyin → berilgan scale'dagi BigDecimal (scale 2 dan kichik bo'lsa qiymat butun bo'lishi shart) */
+    public static BigDecimal toDecimal(long minor, int scale) {
+        return BigDecimal.valueOf(minor, MONEY_SCALE).setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    private static long divide(long value, long divisor, RoundingMode mode) {
+        if (divisor == 1L) {
+            return value;
+        }
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder == 0) {
+            return quotient;
+        }
+        long sign = value < 0 ? -1L : 1L;
+        return switch (mode) {
+            case UP -> quotient + sign;
+            case HALF_UP -> remainder * 2 >= divisor ? quotient + sign : quotient;
+            default -> throw new IllegalArgumentException("Qo'llab-quvvatlanmaydigan yaxlitlash: " + mode);
+        };
+    }
+}
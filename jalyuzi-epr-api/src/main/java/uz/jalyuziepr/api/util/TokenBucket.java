@@ -0,0 +1,88 @@
+package uz.jalyuziepr.api.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oddiy token bucket: soniyasiga {@code ratePerSecond} token qo'shiladi, {@code burst} dan
+ * oshmaydi. Thread-safe; {@link #acquire} token bo'shaguncha (yoki muddat tugaguncha) kutadi.
+ */
+public final class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond musbat bo'lishi kerak");
+        }
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /** Token bo'lsa darhol oladi, aks holda false */
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Token bo'lsa darhol oladi.
+     *
+     * @return 0 — olindi; aks holda keyingi token paydo bo'lguncha nanosoniyalar
+     */
+    public synchronized long tryAcquireOrWaitNanos() {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / ratePerNano));
+    }
+
+    /** Bucket to'lgan — yangi yaratilgani bilan bir xil, xaritadan tashlasa bo'ladi */
+    public synchronized boolean isFull() {
+        refill(System.nanoTime());
+        return tokens >= capacity;
+    }
+
+    /**
+     * Token olinguncha kutadi.
+     *
+     * @return muddat ichida olingan bo'lsa true
+     */
+    public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / ratePerNano);
+                if (now + waitNanos > deadline) {
+                    return false;
+                }
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * ratePerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
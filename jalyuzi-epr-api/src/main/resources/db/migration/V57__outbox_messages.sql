@@ -0,0 +1,33 @@
+-- =====================================================
+-- V57: Transactional outbox — mijozga Telegram/SMS xabarlari
+-- Xabar buyurtma o'zgarishi bilan BIR tranzaksiyada yoziladi; fon dispetcheri
+-- uni qayta urinishlar (eksponensial backoff) bilan yuboradi. Urinishlar tugasa
+-- yozuv DEAD holatiga o'tadi va xodimlar panelida ko'rinadi.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id               BIGSERIAL PRIMARY KEY,
+    idempotency_key  VARCHAR(150) NOT NULL,
+    channel          VARCHAR(20)  NOT NULL,
+    message_type     VARCHAR(40)  NOT NULL,
+    status           VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    payload          JSONB        NOT NULL DEFAULT '{}'::jsonb,
+    entity_type      VARCHAR(50),
+    entity_id        BIGINT,
+    attempts         INTEGER      NOT NULL DEFAULT 0,
+    max_attempts     INTEGER      NOT NULL DEFAULT 8,
+    next_attempt_at  TIMESTAMP    NOT NULL DEFAULT now(),
+    locked_until     TIMESTAMP,
+    last_error       VARCHAR(1000),
+    created_at       TIMESTAMP    NOT NULL DEFAULT now(),
+    sent_at          TIMESTAMP,
+    dead_at          TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_outbox_messages_idempotency_key ON outbox_messages (idempotency_key);
+-- Dispetcher so'rovi: kanal bo'yicha navbatdagi (PENDING) va muddati o'tgan lease'li (SENDING) yozuvlar
+CREATE INDEX IF NOT EXISTS ix_outbox_messages_due
+    ON outbox_messages (channel, next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX IF NOT EXISTS ix_outbox_messages_status ON outbox_messages (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS ix_outbox_messages_entity ON outbox_messages (entity_type, entity_id);
@@ -0,0 +1,53 @@
+-- =====================================================
+-- V58: Ommaviy tarqatish (Telegram/SMS kampaniyalari)
+-- Auditoriya kampaniya yaratilganda broadcast_recipients'ga yoziladi (kanal shu
+-- paytda tanlanadi); BroadcastEngine ularni provayder limitlari doirasida
+-- parallel ishchilar bilan yuboradi. Pauza/davom ettirish — kampaniya statusi orqali.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS broadcast_campaigns (
+    id                BIGSERIAL PRIMARY KEY,
+    name              VARCHAR(200)  NOT NULL,
+    audience          VARCHAR(30)   NOT NULL,
+    segment           VARCHAR(30),
+    due_within_days   INTEGER,
+    telegram_text     TEXT          NOT NULL,
+    sms_text          VARCHAR(500),
+    button_text       VARCHAR(100),
+    button_url        VARCHAR(500),
+    sms_fallback      BOOLEAN       NOT NULL DEFAULT FALSE,
+    status            VARCHAR(20)   NOT NULL DEFAULT 'DRAFT',
+    total_recipients  INTEGER       NOT NULL DEFAULT 0,
+    created_by        BIGINT,
+    created_by_name   VARCHAR(150),
+    created_at        TIMESTAMP     NOT NULL DEFAULT now(),
+    started_at        TIMESTAMP,
+    paused_at         TIMESTAMP,
+    completed_at      TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS ix_broadcast_campaigns_status ON broadcast_campaigns (status, created_at DESC);
+
+CREATE TABLE IF NOT EXISTS broadcast_recipients (
+    id               BIGSERIAL PRIMARY KEY,
+    campaign_id      BIGINT        NOT NULL REFERENCES broadcast_campaigns(id) ON DELETE CASCADE,
+    customer_id      BIGINT        NOT NULL,
+    channel          VARCHAR(20),
+    chat_id          BIGINT,
+    phone            VARCHAR(20),
+    status           VARCHAR(20)   NOT NULL DEFAULT 'PENDING',
+    attempts         INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at  TIMESTAMP     NOT NULL DEFAULT now(),
+    locked_until     TIMESTAMP,
+    last_error       VARCHAR(500),
+    processed_at     TIMESTAMP,
+    CONSTRAINT ux_broadcast_recipients_customer UNIQUE (campaign_id, customer_id)
+);
+
+-- Ishchi so'rovi: kampaniya bo'yicha navbatdagi va lease muddati o'tgan yozuvlar
+CREATE INDEX IF NOT EXISTS ix_broadcast_recipients_due
+    ON broadcast_recipients (campaign_id, next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
+-- Progress va throughput hisoboti
+CREATE INDEX IF NOT EXISTS ix_broadcast_recipients_progress
+    ON broadcast_recipients (campaign_id, status, processed_at);
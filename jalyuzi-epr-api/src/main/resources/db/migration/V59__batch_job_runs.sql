@@ -0,0 +1,35 @@
+-- =====================================================
+-- V59: Kunlik fon vazifalari (batch job) uchun checkpoint va taqsimlangan lock
+-- batch_job_runs — har bir vazifaning har bir ish kuni uchun bitta yozuv; last_id
+-- keyset kursori bo'lib, uzilgan ish shu joydan davom ettiriladi.
+-- batch_job_locks — bir nechta replikada vazifa faqat bittasida ishlashi uchun lease.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS batch_job_runs (
+    id               BIGSERIAL PRIMARY KEY,
+    job_name         VARCHAR(100)  NOT NULL,
+    run_date         DATE          NOT NULL,
+    status           VARCHAR(20)   NOT NULL DEFAULT 'RUNNING',
+    last_id          BIGINT        NOT NULL DEFAULT 0,
+    processed_count  INTEGER       NOT NULL DEFAULT 0,
+    failed_count     INTEGER       NOT NULL DEFAULT 0,
+    attempts         INTEGER       NOT NULL DEFAULT 1,
+    owner            VARCHAR(150),
+    last_error       VARCHAR(1000),
+    started_at       TIMESTAMP     NOT NULL DEFAULT now(),
+    updated_at       TIMESTAMP     NOT NULL DEFAULT now(),
+    finished_at      TIMESTAMP,
+    CONSTRAINT uq_batch_job_runs_job_date UNIQUE (job_name, run_date)
+);
+
+CREATE INDEX IF NOT EXISTS ix_batch_job_runs_status ON batch_job_runs (status, run_date);
+
+CREATE TABLE IF NOT EXISTS batch_job_locks (
+    job_name      VARCHAR(100)  PRIMARY KEY,
+    locked_by     VARCHAR(150)  NOT NULL,
+    locked_until  TIMESTAMP     NOT NULL
+);
+
+COMMENT ON TABLE batch_job_runs IS 'Fon vazifalari checkpoint''i (keyset kursori, hisoblagichlar)';
+COMMENT ON COLUMN batch_job_runs.last_id IS 'Oxirgi muvaffaqiyatli commit qilingan chunk''dagi eng katta id';
+COMMENT ON TABLE batch_job_locks IS 'Fon vazifalari uchun replikalararo lock (lease)';
@@ -0,0 +1,43 @@
+-- =====================================================
+-- V60: Mijoz RFM ko'rsatkichlari (customer_metrics)
+-- Buyurtma yaratilganda, holati yoki to'lovi o'zgarganda shu mijoz qatori qayta
+-- hisoblanadi; kunlik vazifa recency bo'yicha segmentlarni yangilaydi.
+-- Bekor qilingan buyurtmalar hisobga olinmaydi; bunday buyurtmasi yo'q mijoz qatori yo'q.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS customer_metrics (
+    customer_id    BIGINT         PRIMARY KEY REFERENCES customers(id) ON DELETE CASCADE,
+    order_count    INTEGER        NOT NULL DEFAULT 0,
+    total_spent    DECIMAL(15,2)  NOT NULL DEFAULT 0,
+    last_order_at  TIMESTAMP,
+    segment        VARCHAR(20)    NOT NULL,
+    updated_at     TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS ix_customer_metrics_spent ON customer_metrics (total_spent DESC, customer_id);
+CREATE INDEX IF NOT EXISTS ix_customer_metrics_segment ON customer_metrics (segment, total_spent DESC, customer_id);
+
+-- Boshlang'ich to'ldirish (segment qoidalari CustomerInsightsService.segmentOf bilan bir xil)
+INSERT INTO customer_metrics (customer_id, order_count, total_spent, last_order_at, segment)
+SELECT a.customer_id, a.order_count, a.total_spent, a.last_order_at,
+       CASE
+           WHEN a.recency > 365 THEN 'LOST'
+           WHEN a.recency > 180 THEN CASE WHEN a.order_count >= 2 THEN 'AT_RISK' ELSE 'DORMANT' END
+           WHEN a.order_count >= 2 AND a.recency <= 90 THEN 'CHAMPION'
+           WHEN a.order_count >= 2 THEN 'LOYAL'
+           WHEN a.order_count = 1 AND a.recency <= 90 THEN 'NEW'
+           ELSE 'REGULAR'
+       END
+FROM (
+    SELECT o.customer_id,
+           COUNT(*)                          AS order_count,
+           COALESCE(SUM(o.paid_amount), 0)   AS total_spent,
+           MAX(o.created_at)                 AS last_order_at,
+           COALESCE(EXTRACT(DAY FROM now() - MAX(o.created_at))::int, 2147483647) AS recency
+    FROM orders o
+    WHERE o.status <> 'BEKOR_QILINDI'
+    GROUP BY o.customer_id
+) a
+ON CONFLICT (customer_id) DO NOTHING;
+
+COMMENT ON TABLE customer_metrics IS 'Mijoz RFM ko''rsatkichlari (buyurtmalar soni, to''langan summa, oxirgi buyurtma, segment)';
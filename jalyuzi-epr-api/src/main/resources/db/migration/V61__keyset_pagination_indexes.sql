@@ -0,0 +1,33 @@
+-- =====================================================
+-- V61: Keyset (cursor) sahifalash uchun indekslar
+-- Ro'yxatlar (vaqt DESC, id DESC) tartibida o'qiladi, keyingi sahifa sharti
+-- "vaqt <= :at AND (vaqt < :at OR id < :id)" shu indekslar bo'yicha diapazon skan.
+-- Bir ustunli vaqt/filtr indekslari yangi kompozit indekslarning prefiksi —
+-- ortiqcha yozishni kamaytirish uchun olib tashlanadi.
+-- =====================================================
+
+-- Buyurtmalar
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id ON orders(status, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_orders_created_at;
+DROP INDEX IF EXISTS idx_orders_status;
+
+-- Sotuvlar (kalit — sale_date)
+CREATE INDEX IF NOT EXISTS idx_sales_sale_date_id ON sales(sale_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_sales_date;
+
+-- Zaxira harakatlari
+CREATE INDEX IF NOT EXISTS idx_stock_movements_created_at_id ON stock_movements(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_stock_movements_product_created_at_id ON stock_movements(product_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_stock_movements_date;
+DROP INDEX IF EXISTS idx_stock_movements_product;
+
+-- Audit loglar
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at_id ON audit_logs(created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_audit_logs_created_at;
+
+-- Xodimlar bildirishnomalari (user_id = ? OR user_id IS NULL — ikkala tarmoq ham shu indeksdan)
+CREATE INDEX IF NOT EXISTS idx_staff_notifications_user_created_at_id ON staff_notifications(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_staff_notifications_created_at_id ON staff_notifications(created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_staff_notifications_created_at;
+DROP INDEX IF EXISTS idx_staff_notifications_user;
@@ -0,0 +1,52 @@
+-- =====================================================
+-- V62: Mijoz balansi va qarzlar daftari (ledger)
+-- customer_ledger_entries — faqat qo'shiladigan yozuvlar: har bir qarz, to'lov va tuzatish.
+-- amount — balansga ta'sir (qarz manfiy, to'lov musbat); customers.balance shu yozuvlar
+-- yig'indisining materiallashtirilgan qiymati va faqat atomar delta bilan yangilanadi.
+-- debt_id bo'lgan yozuvlar yig'indisining manfiysi debts.remaining_amount ga teng bo'lishi kerak —
+-- buni kunlik LedgerReconciliationJob tekshiradi.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS customer_ledger_entries (
+    id              BIGSERIAL PRIMARY KEY,
+    customer_id     BIGINT        NOT NULL REFERENCES customers(id),
+    debt_id         BIGINT        REFERENCES debts(id),
+    entry_type      VARCHAR(20)   NOT NULL,
+    amount          NUMERIC(15,2) NOT NULL,
+    reference_type  VARCHAR(30),
+    reference_id    BIGINT,
+    notes           VARCHAR(500),
+    created_by      BIGINT,
+    created_at      TIMESTAMP     NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_customer_ledger_customer ON customer_ledger_entries(customer_id, id);
+CREATE INDEX IF NOT EXISTS idx_customer_ledger_debt ON customer_ledger_entries(debt_id) WHERE debt_id IS NOT NULL;
+
+-- Boshlang'ich holat: mavjud qarzlar va ularga qilingan to'lovlar (yig'ma), so'ng balansning
+-- qarzlar bilan izohlanmaydigan qoldig'i — shunda daftar yig'indilari joriy qiymatlarga teng bo'ladi.
+INSERT INTO customer_ledger_entries (customer_id, debt_id, entry_type, amount, reference_type, reference_id, notes, created_at)
+SELECT d.customer_id, d.id, 'DEBT', -d.original_amount,
+       CASE WHEN d.sale_id IS NOT NULL THEN 'SALE' END, d.sale_id,
+       'Boshlang''ich holat (V62)', d.created_at
+FROM debts d;
+
+INSERT INTO customer_ledger_entries (customer_id, debt_id, entry_type, amount, notes, created_at)
+SELECT d.customer_id, d.id, 'PAYMENT', d.original_amount - d.remaining_amount,
+       'Boshlang''ich holat (V62): qarzga to''langan jami', COALESCE(d.updated_at, d.created_at)
+FROM debts d
+WHERE d.original_amount <> d.remaining_amount;
+
+INSERT INTO customer_ledger_entries (customer_id, entry_type, amount, notes)
+SELECT c.id, 'OPENING', c.balance - COALESCE(l.total, 0),
+       'Boshlang''ich holat (V62): qarzlar bilan izohlanmaydigan balans'
+FROM customers c
+LEFT JOIN (
+    SELECT customer_id, SUM(amount) AS total
+    FROM customer_ledger_entries
+    GROUP BY customer_id
+) l ON l.customer_id = c.id
+WHERE c.balance <> COALESCE(l.total, 0);
+
+-- Qarzli mijozlar ro'yxati va hisobotdagi eng katta qarzdorlar materiallashtirilgan balansdan o'qiladi
+CREATE INDEX IF NOT EXISTS idx_customers_debtors ON customers(balance) WHERE balance < 0;
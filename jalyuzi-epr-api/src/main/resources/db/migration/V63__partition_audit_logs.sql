@@ -0,0 +1,77 @@
+-- =====================================================
+-- V63: audit_logs — created_at bo'yicha oylik RANGE partitsiyalar
+-- Eski loglarni tozalash DELETE o'rniga butun partitsiyani olib tashlash
+-- (AuditPartitionService): jadval shishmaydi, WAL va uzoq qulflar yo'q.
+-- Sana oralig'i bilan so'rovlar faqat kerakli oylarni o'qiydi (partition pruning).
+-- Kelgusi oylar partitsiyalarini AuditPartitionScheduler oldindan yaratadi;
+-- DEFAULT partitsiya yo'q — u yangi partitsiya qo'shishni qimmatlashtiradi.
+-- =====================================================
+
+-- Oylik partitsiyani yaratadi (mavjud bo'lsa o'zgartirmaydi), nomini qaytaradi: audit_logs_pYYYYMM
+CREATE OR REPLACE FUNCTION audit_logs_ensure_partition(p_month DATE) RETURNS TEXT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'audit_logs_p' || to_char(date_trunc('month', p_month), 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_start, v_end);
+    END IF;
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 1. Eski jadval chetga, ID ketma-ketligi saqlanadi
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+-- 2. Partitsiyalangan jadval (PK partitsiya kalitini o'z ichiga olishi shart)
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    entity_type VARCHAR(100) NOT NULL,
+    entity_id BIGINT,
+    action VARCHAR(50) NOT NULL,
+    old_value JSONB,
+    new_value JSONB,
+    user_id BIGINT REFERENCES users(id),
+    username VARCHAR(100),
+    ip_address VARCHAR(50),
+    user_agent VARCHAR(500),
+    correlation_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- 3. Eng eski logdan joriy oy + 3 oygacha partitsiyalar
+DO $$
+DECLARE
+    v_month DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM audit_logs_legacy), CURRENT_DATE))::date;
+BEGIN
+    WHILE v_month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date LOOP
+        PERFORM audit_logs_ensure_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- 4. Ma'lumotlarni ko'chirish (ustun tartibi eski jadvalda boshqacha — V20 username'ni qayta qo'shgan)
+INSERT INTO audit_logs (id, entity_type, entity_id, action, old_value, new_value,
+                        user_id, username, ip_address, user_agent, correlation_id, created_at)
+SELECT id, entity_type, entity_id, action, old_value, new_value,
+       user_id, username, ip_address, user_agent, correlation_id, created_at
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+-- 5. Indekslar (ko'chirishdan keyin — tezroq; har bir partitsiyaga avtomatik tarqaladi)
+CREATE INDEX idx_audit_logs_created_at_id ON audit_logs(created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_entity ON audit_logs(entity_type, entity_id);
+CREATE INDEX idx_audit_logs_user_id ON audit_logs(user_id);
+CREATE INDEX idx_audit_logs_action ON audit_logs(action);
+CREATE INDEX idx_audit_logs_username ON audit_logs(username);
+CREATE INDEX idx_audit_logs_correlation_id ON audit_logs(correlation_id);
+
+COMMENT ON TABLE audit_logs IS 'Tracks all important changes in the system (monthly partitions on created_at)';
+COMMENT ON COLUMN audit_logs.correlation_id IS 'Groups related audit logs from a single operation (e.g., payment + debt update)';
@@ -0,0 +1,70 @@
+-- =====================================================
+-- V64: User-Agent lug'ati (user_agents)
+-- Har bir audit/kirish/sessiya yozuvi 500-1000 belgili User-Agent satrini takrorlab
+-- saqlardi; endi satr bir marta lug'atga yoziladi (SHA-256 xeshi bo'yicha yagona),
+-- yozuvlar esa unga user_agent_id orqali bog'lanadi. Tahlil natijasi (qurilma,
+-- brauzer, OT) ham lug'atda — UserAgentParser har so'rovda qayta chaqirilmaydi.
+-- =====================================================
+
+CREATE TABLE user_agents (
+    id BIGSERIAL PRIMARY KEY,
+    ua_hash VARCHAR(64) NOT NULL UNIQUE,
+    user_agent VARCHAR(1000) NOT NULL,
+    device_type VARCHAR(50),
+    browser VARCHAR(50),
+    os VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE user_agents IS 'Interned User-Agent strings with parsed device info';
+COMMENT ON COLUMN user_agents.ua_hash IS 'SHA-256 (hex) of the UTF-8 User-Agent string';
+
+ALTER TABLE audit_logs ADD COLUMN user_agent_id BIGINT REFERENCES user_agents(id);
+ALTER TABLE login_attempts ADD COLUMN user_agent_id BIGINT REFERENCES user_agents(id);
+ALTER TABLE sessions ADD COLUMN user_agent_id BIGINT REFERENCES user_agents(id);
+
+-- Mavjud sessiya va kirish urinishlaridagi satrlar lug'atga (tahlil natijasi o'sha yozuvdan).
+-- Satr UserAgentDictionary.normalize kabi tozalanadi (boshqaruv belgilari -> bo'sh joy, ketma-ket
+-- bo'sh joylar -> bitta, trim, 512 belgigacha) — aks holda keyingi yozuvda xuddi shu UA uchun
+-- ikkinchi lug'at qatori paydo bo'ladi.
+INSERT INTO user_agents (ua_hash, user_agent, device_type, browser, os)
+SELECT DISTINCT ON (ua_hash) encode(sha256(convert_to(ua, 'UTF8')), 'hex') AS ua_hash,
+       ua, device_type, browser, os
+FROM (
+    SELECT left(btrim(regexp_replace(regexp_replace(user_agent, '[\x01-\x1f\x7f]+', ' ', 'g'), ' {2,}', ' ', 'g')), 512) AS ua,
+           device_type, browser, os
+    FROM sessions
+    WHERE user_agent IS NOT NULL
+    UNION ALL
+    SELECT left(btrim(regexp_replace(regexp_replace(user_agent, '[\x01-\x1f\x7f]+', ' ', 'g'), ' {2,}', ' ', 'g')), 512),
+           device_type, browser, os
+    FROM login_attempts
+    WHERE user_agent IS NOT NULL
+) src
+WHERE ua <> ''
+ORDER BY ua_hash
+ON CONFLICT (ua_hash) DO NOTHING;
+
+UPDATE sessions s
+SET user_agent_id = ua.id
+FROM user_agents ua
+WHERE s.user_agent IS NOT NULL
+  AND ua.ua_hash = encode(sha256(convert_to(
+        left(btrim(regexp_replace(regexp_replace(s.user_agent, '[\x01-\x1f\x7f]+', ' ', 'g'), ' {2,}', ' ', 'g')), 512),
+        'UTF8')), 'hex');
+
+UPDATE login_attempts la
+SET user_agent_id = ua.id
+FROM user_agents ua
+WHERE la.user_agent IS NOT NULL
+  AND ua.ua_hash = encode(sha256(convert_to(
+        left(btrim(regexp_replace(regexp_replace(la.user_agent, '[\x01-\x1f\x7f]+', ' ', 'g'), ' {2,}', ' ', 'g')), 512),
+        'UTF8')), 'hex');
+
+-- Sessiya va kirish urinishlarida xom satr endi kerak emas (faqat tahlil ustunlari o'qiladi)
+ALTER TABLE sessions DROP COLUMN user_agent;
+ALTER TABLE login_attempts DROP COLUMN user_agent;
+
+-- audit_logs: eski yozuvlar satrni o'zida saqlab qoladi va partitsiyasi bilan birga
+-- muddati o'tib o'chadi — butun jadvalni qayta yozmaslik uchun to'ldirilmaydi.
+COMMENT ON COLUMN audit_logs.user_agent IS 'Legacy raw User-Agent (rows before V64); new rows use user_agent_id';
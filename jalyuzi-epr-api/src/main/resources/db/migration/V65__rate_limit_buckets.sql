@@ -0,0 +1,18 @@
+-- =====================================================
+-- V65: Umumiy rate limit bucket'lari (rate_limit_buckets)
+-- app.rate-limit.shared-backend=jdbc bo'lganda "shared: true" limitlar (SMS telefon/jami,
+-- send-code IP) replikalar bo'yicha shu jadvalda hisoblanadi. Har tekshiruv bitta UPSERT;
+-- bir kundan beri ishlatilmagan qatorlarni RateLimitCleanupScheduler o'chiradi.
+-- =====================================================
+
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    allowed BOOLEAN NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_updated_at ON rate_limit_buckets (updated_at);
+
+COMMENT ON TABLE rate_limit_buckets IS 'Shared token buckets for rate limiting (scope:key)';
+COMMENT ON COLUMN rate_limit_buckets.allowed IS 'Result of the last consume attempt (returned by the UPSERT)';
@@ -0,0 +1,15 @@
+-- =====================================================
+-- V66: user_agents bog'lanish indekslari
+-- UserAgentDictionary.purgeUnreferenced hech narsa bog'lanmagan lug'at qatorlarini
+-- NOT EXISTS bilan qidiradi; indekssiz har bir qator uchun audit_logs to'liq o'qilardi.
+-- audit_logs partitsiyalangan — indeks barcha partitsiyalarda (va yangilarida) yaratiladi.
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_agent_id
+    ON audit_logs (user_agent_id) WHERE user_agent_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_login_attempts_user_agent_id
+    ON login_attempts (user_agent_id) WHERE user_agent_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_sessions_user_agent_id
+    ON sessions (user_agent_id) WHERE user_agent_id IS NOT NULL;
@@ -0,0 +1,17 @@
+-- =====================================================
+-- V67: user_agents.last_seen_at
+-- UserAgentDictionary.purgeUnreferenced faqat uzoq vaqt ko'rinmagan qatorlarni o'chiradi:
+-- created_at bo'yicha tozalashda replika keshidagi (1 soat) yoki hozir resolve qilinayotgan
+-- id o'chib ketishi va keyingi audit/kirish/sessiya yozuvi FK xatosi bilan tushishi mumkin edi.
+-- last_seen_at keshga tushishdan oldin (eskirgan bo'lsa) yangilanadi.
+-- =====================================================
+
+ALTER TABLE user_agents ADD COLUMN last_seen_at TIMESTAMP;
+
+UPDATE user_agents SET last_seen_at = created_at;
+
+ALTER TABLE user_agents
+    ALTER COLUMN last_seen_at SET DEFAULT CURRENT_TIMESTAMP,
+    ALTER COLUMN last_seen_at SET NOT NULL;
+
+COMMENT ON COLUMN user_agents.last_seen_at IS 'Last dictionary lookup that could cache this id (refreshed at most every 10 minutes)';
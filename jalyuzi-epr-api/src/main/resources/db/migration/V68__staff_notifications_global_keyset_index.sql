@@ -0,0 +1,10 @@
+-- =====================================================
+-- V68: Umumiy (user_id IS NULL) bildirishnomalar uchun keyset indeksi
+-- Cursor ro'yxati shaxsiy va umumiy tarmoqlarni alohida o'qiydi
+-- (StaffNotificationRepository.findByUserIdOrGlobalAfter). "user_id IS NULL" sharti
+-- idx_staff_notifications_user_created_at_id tartibini bermaydi — Postgres tarmoqni to'liq
+-- o'qib saralardi; qisman indeks shu tarmoqni ham (created_at DESC, id DESC) tartibida beradi.
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_staff_notifications_global_created_at_id
+    ON staff_notifications (created_at DESC, id DESC) WHERE user_id IS NULL;
@@ -0,0 +1,117 @@
+package uz.jalyuziepr.api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.entity.Brand;
+import uz.jalyuziepr.api.entity.Category;
+import uz.jalyuziepr.api.support.EmbeddedPostgresTestConfig;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Native {@code @Modifying} so'rovlar query space'ini (jadvalini) e'lon qiladi: aks holda Hibernate
+ * har bajarilishda barcha entity, kolleksiya va query cache regionlarini tozalaydi va
+ * {@code reference.*} keshi issiq yo'llarda (daftar yozuvi, outbox) hech qachon to'lmaydi.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(EmbeddedPostgresTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NativeQuerySpacesCacheTest {
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Cache cache;
+    private Long brandId;
+    private Long categoryId;
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+
+        brandId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM brands", Long.class);
+        categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Long.class);
+        customerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+
+        tx.executeWithoutResult(status -> {
+            brandRepository.findById(brandId).orElseThrow();
+            categoryRepository.findById(categoryId).orElseThrow();
+        });
+        assertReferenceCached();
+    }
+
+    @Test
+    void balanceDeltaKeepsReferenceRegions() {
+        tx.executeWithoutResult(status -> customerRepository.applyBalanceDelta(customerId, BigDecimal.ZERO));
+
+        assertReferenceCached();
+    }
+
+    @Test
+    void outboxInsertKeepsReferenceRegions() {
+        tx.executeWithoutResult(status -> outboxMessageRepository.insertIfAbsent(
+                "test:native-spaces:" + System.nanoTime(), "SMS", "TEST", "{}", "Customer", customerId, 1));
+
+        assertReferenceCached();
+    }
+
+    /** Nazorat: query space'siz native UPDATE barcha regionlarni tozalaydi */
+    @Test
+    void unscopedNativeUpdateEvictsReferenceRegions() {
+        tx.executeWithoutResult(status -> entityManager
+                .createNativeQuery("UPDATE customers SET balance = balance WHERE id = :id")
+                .setParameter("id", customerId)
+                .executeUpdate());
+
+        assertThat(cache.containsEntity(Brand.class, brandId)).isFalse();
+        assertThat(cache.containsEntity(Category.class, categoryId)).isFalse();
+    }
+
+    private void assertReferenceCached() {
+        assertThat(cache.containsEntity(Brand.class, brandId)).isTrue();
+        assertThat(cache.containsEntity(Category.class, categoryId)).isTrue();
+    }
+}
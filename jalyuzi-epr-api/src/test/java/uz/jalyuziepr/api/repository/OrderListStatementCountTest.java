@@ -0,0 +1,109 @@
+package uz.jalyuziepr.api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import uz.jalyuziepr.api.dto.response.OrderResponse;
+import uz.jalyuziepr.api.enums.OrderStatus;
+import uz.jalyuziepr.api.support.EmbeddedPostgresTestConfig;
+import uz.jalyuziepr.api.support.SqlStatementCounter;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Buyurtmalar ro'yxati N+1 regressiyasi: OrderListView proyeksiyasi sahifani bitta SELECT'da
+ * (+ COUNT) qaytaradi, OrderResponse.fromList qo'shimcha so'rov yubormaydi.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(EmbeddedPostgresTestConfig.class)
+class OrderListStatementCountTest {
+
+    /** Sahifa SELECT'i + COUNT */
+    private static final int PAGE_STATEMENTS = 2;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allOrders() {
+        Page<OrderResponse> page = SqlStatementCounter.expectAtMost(PAGE_STATEMENTS,
+                () -> orderRepository.findOrderList(FIRST_PAGE).map(OrderResponse::fromList));
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent()).allSatisfy(order -> assertThat(order.getCustomerName()).isNotNull());
+    }
+
+    @Test
+    void ordersByStatus() {
+        OrderStatus status = OrderStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM orders GROUP BY status ORDER BY COUNT(*) DESC LIMIT 1", String.class));
+
+        Page<OrderResponse> page = SqlStatementCounter.expectAtMost(PAGE_STATEMENTS,
+                () -> orderRepository.findOrderListByStatus(status, FIRST_PAGE).map(OrderResponse::fromList));
+
+        assertThat(page.getContent()).isNotEmpty();
+    }
+
+    @Test
+    void installationPhaseOrders() {
+        List<OrderStatus> statuses = Arrays.asList(OrderStatus.values());
+
+        Page<OrderResponse> page = SqlStatementCounter.expectAtMost(PAGE_STATEMENTS,
+                () -> orderRepository.findOrderListByStatusIn(statuses, FIRST_PAGE).map(OrderResponse::fromList));
+
+        assertThat(page.getContent()).isNotEmpty();
+    }
+
+    @Test
+    void searchOrders() {
+        String orderNumber = jdbcTemplate.queryForObject(
+                "SELECT order_number FROM orders ORDER BY id LIMIT 1", String.class);
+
+        Page<OrderResponse> page = SqlStatementCounter.expectAtMost(PAGE_STATEMENTS,
+                () -> orderRepository.searchOrderList(orderNumber, FIRST_PAGE).map(OrderResponse::fromList));
+
+        assertThat(page.getContent()).extracting(OrderResponse::getOrderNumber).contains(orderNumber);
+    }
+
+    @Test
+    void customerOrders() {
+        Long customerId = jdbcTemplate.queryForObject(
+                "SELECT customer_id FROM orders WHERE customer_id IS NOT NULL ORDER BY id LIMIT 1", Long.class);
+
+        Page<OrderResponse> page = SqlStatementCounter.expectAtMost(PAGE_STATEMENTS,
+                () -> orderRepository.findOrderListByCustomerId(customerId, FIRST_PAGE).map(OrderResponse::fromList));
+
+        assertThat(page.getContent()).isNotEmpty();
+    }
+
+    @Test
+    void installerWorklist() {
+        Long installerId = jdbcTemplate.queryForObject(
+                "SELECT installer_id FROM orders WHERE installer_id IS NOT NULL ORDER BY id LIMIT 1", Long.class);
+        List<OrderStatus> statuses = Arrays.asList(OrderStatus.values());
+
+        List<OrderResponse> orders = SqlStatementCounter.expectAtMost(1,
+                () -> orderRepository.findOrderListByInstallerIdAndStatusIn(installerId, statuses).stream()
+                        .map(OrderResponse::fromList)
+                        .toList());
+
+        assertThat(orders).isNotEmpty();
+    }
+}
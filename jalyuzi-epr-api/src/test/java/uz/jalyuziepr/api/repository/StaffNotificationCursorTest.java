@@ -0,0 +1,101 @@
+package uz.jalyuziepr.api.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import uz.jalyuziepr.api.entity.StaffNotification;
+import uz.jalyuziepr.api.enums.StaffNotificationType;
+import uz.jalyuziepr.api.support.EmbeddedPostgresTestConfig;
+import uz.jalyuziepr.api.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shaxsiy va umumiy tarmoqlarni alohida o'qib birlashtiruvchi cursor so'rovi
+ * "user_id = ? OR user_id IS NULL" bilan bir xil qatorlarni bir xil tartibda beradi:
+ * bir xil vaqtli yozuvlar, boshqa foydalanuvchining yozuvlari va tur filtri bilan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(EmbeddedPostgresTestConfig.class)
+class StaffNotificationCursorTest {
+
+    private static final int PAGE = 3;
+
+    @Autowired
+    private StaffNotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        otherUserId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password, full_name, role) VALUES ('cursor-other', 'x', 'Other', 'SELLER') RETURNING id",
+                Long.class);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 15, 12, 0);
+        for (int i = 0; i < 12; i++) {
+            // Har ikki yozuv bir xil vaqtda — tartibni id hal qiladi
+            LocalDateTime at = base.minusMinutes(i / 2);
+            Long owner = switch (i % 3) {
+                case 0 -> userId;
+                case 1 -> null;
+                default -> otherUserId;
+            };
+            String type = i % 4 == 0 ? "WARNING" : "INFO";
+            jdbcTemplate.update("""
+                    INSERT INTO staff_notifications (user_id, title, message, notification_type, created_at)
+                    VALUES (?, 'cursor-test', 'cursor-test', ?, ?)
+                    """, owner, type, at);
+        }
+    }
+
+    @Test
+    void pagesMatchOrPredicate() {
+        assertThat(pageThrough(null)).containsExactlyElementsOf(expected(null)).isNotEmpty();
+    }
+
+    @Test
+    void pagesMatchOrPredicateWithType() {
+        assertThat(pageThrough(StaffNotificationType.WARNING))
+                .containsExactlyElementsOf(expected(StaffNotificationType.WARNING)).isNotEmpty();
+    }
+
+    private List<Long> pageThrough(StaffNotificationType type) {
+        List<Long> ids = new ArrayList<>();
+        KeysetCursor after = KeysetCursor.FIRST;
+        while (true) {
+            List<StaffNotification> rows = notificationRepository.findByUserIdOrGlobalAfter(
+                    userId, type != null ? type.name() : null, after.at(), after.id(), PAGE);
+            rows.forEach(n -> ids.add(n.getId()));
+            if (rows.size() < PAGE) {
+                return ids;
+            }
+            StaffNotification last = rows.get(rows.size() - 1);
+            after = new KeysetCursor(last.getCreatedAt(), last.getId());
+        }
+    }
+
+    private List<Long> expected(StaffNotificationType type) {
+        return jdbcTemplate.queryForList("""
+                SELECT id FROM staff_notifications
+                WHERE (user_id = ? OR user_id IS NULL)
+                  AND (CAST(? AS VARCHAR) IS NULL OR notification_type = ?)
+                ORDER BY created_at DESC, id DESC
+                """, Long.class, userId, type != null ? type.name() : null, type != null ? type.name() : null);
+    }
+}
@@ -0,0 +1,170 @@
+package uz.jalyuziepr.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.dto.response.InstallationResponse;
+import uz.jalyuziepr.api.dto.response.ProductResponse;
+import uz.jalyuziepr.api.dto.response.SaleResponse;
+import uz.jalyuziepr.api.repository.InstallationRepository;
+import uz.jalyuziepr.api.repository.ProductRepository;
+import uz.jalyuziepr.api.repository.SaleItemRepository;
+import uz.jalyuziepr.api.repository.SaleRepository;
+import uz.jalyuziepr.api.support.EmbeddedPostgresTestConfig;
+import uz.jalyuziepr.api.support.SqlStatementCounter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sotuvlar, mahsulotlar va o'rnatishlar ro'yxatlari N+1 regressiyasi: sahifa qatorlari soniga
+ * bog'liq bo'lmagan sondagi SQL bilan quriladi (servisdagi DTO xaritalash bilan birga).
+ * Servislar kabi o'qish tranzaksiyasida — yozish tranzaksiyasida AuditEntityListener
+ * {@code @PostLoad} snapshot'i (User.roles va h.k.) qo'shimcha so'rovlar yuboradi.
+ * Sahifa to'liq bo'lishi uchun kichik (Spring Data to'lmagan birinchi sahifada COUNT yubormaydi),
+ * shuning uchun soni aniq tekshiriladi; qiymatlar embedded Postgres'da o'lchangan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(EmbeddedPostgresTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListPageStatementCountTest {
+
+    /** Sarlavha proyeksiyasi + COUNT + sahifadagi barcha sotuvlar elementlari (bitta IN) */
+    private static final int SALE_PAGE_STATEMENTS = 3;
+
+    /** Mahsulotlar entity graph bilan + COUNT */
+    private static final int PRODUCT_PAGE_STATEMENTS = 2;
+
+    /** O'rnatishlar entity graph bilan + COUNT */
+    private static final int INSTALLATION_PAGE_STATEMENTS = 2;
+
+    private static final String ADDRESS = "list-statement-count-test";
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 2);
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private SaleItemRepository saleItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private SaleService saleService;
+    private ProductService productService;
+    private InstallationService installationService;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        saleService = new SaleService(saleRepository, saleItemRepository,
+                null, null, null, null, null, null, null, null, null, null, null, null);
+        productService = new ProductService(productRepository, null, null, null, null, null, null, null, null);
+        installationService = new InstallationService(installationRepository, null, null, null);
+    }
+
+    @Test
+    void salesList() {
+        Page<SaleResponse> page = SqlStatementCounter.expectExactly(SALE_PAGE_STATEMENTS,
+                () -> readOnly.execute(status -> saleService.getAllSales(null, null, FIRST_PAGE)));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isGreaterThan(2);
+        assertThat(page.getContent()).anySatisfy(sale -> assertThat(sale.getItems()).isNotEmpty());
+    }
+
+    @Test
+    void productsList() {
+        Page<ProductResponse> page = SqlStatementCounter.expectExactly(PRODUCT_PAGE_STATEMENTS,
+                () -> readOnly.execute(status -> productService.getAllProducts(FIRST_PAGE)));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isGreaterThan(2);
+        assertThat(page.getContent()).anySatisfy(product -> assertThat(product.getCategoryName()).isNotNull());
+    }
+
+    @Test
+    void productsSearch() {
+        Page<ProductResponse> page = SqlStatementCounter.expectExactly(PRODUCT_PAGE_STATEMENTS,
+                () -> readOnly.execute(status -> productService.searchProducts("jl-", FIRST_PAGE)));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isGreaterThan(2);
+        assertThat(page.getContent()).allSatisfy(product -> assertThat(product.getSku()).startsWithIgnoringCase("jl-"));
+    }
+
+    @Test
+    void installationsList() {
+        insertInstallations();
+
+        Page<InstallationResponse> page = SqlStatementCounter.expectExactly(INSTALLATION_PAGE_STATEMENTS,
+                () -> readOnly.execute(status -> installationService.getAllInstallations(PageRequest.of(0, 2, Sort.by("id")))));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isGreaterThan(2);
+        assertThat(page.getContent()).allSatisfy(installation -> {
+            assertThat(installation.getInvoiceNumber()).isNotNull();
+            assertThat(installation.getTechnicianName()).isNotNull();
+        });
+    }
+
+    @Test
+    void installationsWithFilters() {
+        insertInstallations();
+
+        Page<InstallationResponse> page = SqlStatementCounter.expectExactly(INSTALLATION_PAGE_STATEMENTS,
+                () -> readOnly.execute(status -> installationService.getInstallationsWithFilters(null, null,
+                        LocalDate.now().minusDays(30), null, FIRST_PAGE)));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isGreaterThan(2);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM installations WHERE address = ?", ADDRESS);
+    }
+
+    /** Demo ma'lumotlarda o'rnatish yo'q: turli sotuv, usta va yaratuvchi bilan bir nechtasi */
+    private void insertInstallations() {
+        List<Long> saleIds = jdbcTemplate.queryForList("SELECT id FROM sales ORDER BY id LIMIT 4", Long.class);
+        List<Long> employeeIds = jdbcTemplate.queryForList("SELECT id FROM employees ORDER BY id LIMIT 2", Long.class);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT 2", Long.class);
+        for (int i = 0; i < saleIds.size(); i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO installations (sale_id, technician_id, scheduled_date, status, address, created_by)
+                    VALUES (?, ?, CURRENT_DATE, 'SCHEDULED', ?, ?)
+                    """, saleIds.get(i), employeeIds.get(i % employeeIds.size()), ADDRESS, userIds.get(i % userIds.size()));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package uz.jalyuziepr.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.entity.Order;
+import uz.jalyuziepr.api.entity.OrderItem;
+import uz.jalyuziepr.api.entity.OrderPayment;
+import uz.jalyuziepr.api.entity.OrderStatusHistory;
+import uz.jalyuziepr.api.entity.User;
+import uz.jalyuziepr.api.support.EmbeddedPostgresTestConfig;
+import uz.jalyuziepr.api.support.SqlStatementCounter;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Har bir {@link OrderAggregateLoader.Plan} aynan o'z byudjetidagi SQL bilan yuklanadi: ildiz va
+ * rejadagi kolleksiyalar (ularning ichidagi product/collectedBy/changedBy ham) qo'shimcha
+ * so'rovsiz o'qiladi. Yuklash servisdagi kabi o'qish tranzaksiyasida bajariladi.
+ * Byudjetlar shu test o'lchagan sonlar: DETAIL 4, TRACKING 3, DOCUMENT 2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({EmbeddedPostgresTestConfig.class, OrderAggregateLoader.class,
+        OrderAggregateLoaderStatementCountTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderAggregateLoaderStatementCountTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private OrderAggregateLoader orderAggregateLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // V28 demo buyurtmalaridan uchala kolleksiyasi ham bo'sh bo'lmagani
+        orderId = jdbcTemplate.queryForObject("""
+                SELECT o.id FROM orders o
+                WHERE EXISTS (SELECT 1 FROM order_items i WHERE i.order_id = o.id)
+                  AND EXISTS (SELECT 1 FROM order_payments p WHERE p.order_id = o.id)
+                  AND EXISTS (SELECT 1 FROM order_status_history h WHERE h.order_id = o.id)
+                ORDER BY o.id LIMIT 1
+                """, Long.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(OrderAggregateLoader.Plan.class)
+    void loadsWithinPlanBudget(OrderAggregateLoader.Plan plan) {
+        Order order = readOnly.execute(status -> SqlStatementCounter.expectExactly(plan.getExpectedStatements(),
+                () -> touch(orderAggregateLoader.load(orderId, plan), plan)));
+
+        assertThat(order).isNotNull();
+        assertThat(order.getId()).isEqualTo(orderId);
+    }
+
+    /**
+     * Javob mapper'lari o'qiydigan bog'lanishlar: rejaga kirmagan kolleksiyaga tegilmaydi.
+     */
+    private static Order touch(Order order, OrderAggregateLoader.Plan plan) {
+        assertThat(order.getCustomer().getFullName()).isNotNull();
+        Stream.of(order.getCreatedBy(), order.getManager(), order.getInstaller())
+                .filter(user -> user != null)
+                .forEach(User::getFullName);
+        if (order.getMeasurer() != null) {
+            order.getMeasurer().getFullName();
+        }
+
+        switch (plan) {
+            case DETAIL -> {
+                touchItems(order);
+                touchPayments(order);
+                touchHistory(order);
+            }
+            case TRACKING -> {
+                touchItems(order);
+                touchHistory(order);
+            }
+            case DOCUMENT -> touchItems(order);
+        }
+        return order;
+    }
+
+    private static void touchItems(Order order) {
+        assertThat(order.getItems()).isNotEmpty();
+        for (OrderItem item : order.getItems()) {
+            if (item.getProduct() != null) {
+                item.getProduct().getName();
+            }
+        }
+    }
+
+    private static void touchPayments(Order order) {
+        assertThat(order.getPayments()).isNotEmpty();
+        for (OrderPayment payment : order.getPayments()) {
+            if (payment.getCollectedBy() != null) {
+                payment.getCollectedBy().getFullName();
+            }
+            if (payment.getConfirmedBy() != null) {
+                payment.getConfirmedBy().getFullName();
+            }
+        }
+    }
+
+    private static void touchHistory(Order order) {
+        assertThat(order.getStatusHistory()).isNotEmpty();
+        for (OrderStatusHistory history : order.getStatusHistory()) {
+            history.getChangedBy().getFullName();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package uz.jalyuziepr.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.jalyuziepr.api.dto.response.OrderItemRevisionResponse;
+import uz.jalyuziepr.api.entity.Order;
+import uz.jalyuziepr.api.entity.OrderItem;
+import uz.jalyuziepr.api.entity.OrderItemRevision;
+import uz.jalyuziepr.api.entity.Product;
+import uz.jalyuziepr.api.enums.OrderStatus;
+import uz.jalyuziepr.api.enums.RevisionStatus;
+import uz.jalyuziepr.api.repository.OrderItemRevisionRepository;
+import uz.jalyuziepr.api.repository.OrderRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bir qatorga bir nechta so'rov birga tasdiqlansa faqat eng oxirgisi qo'llanadi va APPROVED bo'ladi;
+ * oldingisi sababi bilan SUPERSEDED, xabar va jamilar faqat qo'llangan so'rov bo'yicha.
+ */
+class RevisionBatchApprovalTest {
+
+    private static final long ORDER_ID = 10L;
+    private static final long ITEM_ID = 100L;
+
+    private OrderItemRevisionRepository revisionRepository;
+    private StaffNotificationService staffNotificationService;
+    private OrderItemRevisionService service;
+    private Order order;
+    private OrderItem item;
+
+    @BeforeEach
+    void setUp() {
+        Product product = Product.builder()
+                .name("Rulonli jalyuzi")
+                .pricePerSquareMeter(new BigDecimal("100000.00"))
+                .sellingPrice(new BigDecimal("100000.00"))
+                .build();
+        item = OrderItem.builder()
+                .product(product)
+                .widthMm(1000)
+                .heightMm(1000)
+                .unitPrice(new BigDecimal("100000.00"))
+                .totalPrice(new BigDecimal("100000.00"))
+                .build();
+        item.setId(ITEM_ID);
+        order = Order.builder()
+                .orderNumber("ORD-1")
+                .status(OrderStatus.ORNATISH_JARAYONIDA)
+                .subtotal(new BigDecimal("100000.00"))
+                .totalAmount(new BigDecimal("100000.00"))
+                .build();
+        order.setId(ORDER_ID);
+        order.addItem(item);
+
+        revisionRepository = mock(OrderItemRevisionRepository.class);
+        when(revisionRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+        OrderAggregateLoader loader = mock(OrderAggregateLoader.class);
+        when(loader.load(ORDER_ID, OrderAggregateLoader.Plan.DOCUMENT)).thenReturn(order);
+        staffNotificationService = mock(StaffNotificationService.class);
+
+        service = new OrderItemRevisionService(revisionRepository, mock(OrderRepository.class), loader,
+                new OrderPriceCalculationService(), staffNotificationService);
+    }
+
+    @Test
+    void onlyLatestRevisionPerItemIsApproved() {
+        OrderItemRevision earlier = revision(1L, 1200, 1000, "20000.00", LocalDateTime.now().minusMinutes(5));
+        OrderItemRevision later = revision(2L, 1500, 1000, "50000.00", LocalDateTime.now());
+        when(revisionRepository.findAllById(any())).thenReturn(List.of(later, earlier));
+
+        List<OrderItemRevisionResponse> result = service.approveBatch(List.of(2L, 1L), "ok");
+
+        assertThat(result).hasSize(2);
+        assertThat(later.getStatus()).isEqualTo(RevisionStatus.APPROVED);
+        assertThat(later.getDecisionNote()).isEqualTo("ok");
+        assertThat(earlier.getStatus()).isEqualTo(RevisionStatus.SUPERSEDED);
+        assertThat(earlier.getDecisionNote()).contains("#2");
+        assertThat(earlier.getDecidedAt()).isNotNull();
+
+        assertThat(item.getWidthMm()).isEqualTo(1500);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("150000.00");
+        verify(staffNotificationService, times(1)).createNotificationForUser(
+                eq(7L), anyString(), contains("+50"), any(), anyString(), anyLong());
+    }
+
+    private static OrderItemRevision revision(Long id, int width, int height, String delta, LocalDateTime createdAt) {
+        OrderItemRevision rev = OrderItemRevision.builder()
+                .orderId(ORDER_ID)
+                .orderNumber("ORD-1")
+                .orderItemId(ITEM_ID)
+                .newWidthMm(width)
+                .newHeightMm(height)
+                .delta(new BigDecimal(delta))
+                .requestedBy(7L)
+                .createdAt(createdAt)
+                .build();
+        rev.setId(id);
+        return rev;
+    }
+}
@@ -0,0 +1,181 @@
+package uz.jalyuziepr.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.jalyuziepr.api.dto.shop.ShopPriceCalculateRequest;
+import uz.jalyuziepr.api.dto.shop.ShopPriceCalculateResponse;
+import uz.jalyuziepr.api.entity.Product;
+import uz.jalyuziepr.api.exception.BadRequestException;
+import uz.jalyuziepr.api.exception.ResourceNotFoundException;
+import uz.jalyuziepr.api.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tiyindagi (long) narx hisobi avvalgi BigDecimal hisob-kitobi bilan qiymat va scale bo'yicha
+ * bir xil; ommaviy batch so'rovi jadvalda yo'q mahsulotlarni bitta so'rovda o'qiydi.
+ */
+class ShopPriceQuoteTest {
+
+    private static final int[] SIZES = {100, 137, 333, 999, 1000, 1001, 1234, 2500, 3333, 4999, 5000};
+
+    private ProductRepository productRepository;
+    private ProductPriceTable productPriceTable;
+    private ShopService shopService;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        products = List.of(
+                product(1L, "125000.00", "150000.00", "50000.00"),
+                product(2L, "99999.99", "120000.00", "35000.50"),
+                product(3L, "87500.50", "90000.00", null),
+                product(4L, "0.01", "1.00", "0.99"),
+                product(5L, null, "245000.75", "40000.00"),
+                product(6L, null, "1999999.99", null));
+
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findByActiveTrue()).thenReturn(products);
+        productPriceTable = new ProductPriceTable(productRepository);
+        productPriceTable.reload();
+        shopService = new ShopService(productRepository, null, null, null, null, null, null, null, productPriceTable);
+    }
+
+    @Test
+    void longUnitQuotesMatchBigDecimalQuotes() {
+        for (Product product : products) {
+            for (int width : SIZES) {
+                for (int height : SIZES) {
+                    for (boolean withInstallation : new boolean[]{true, false}) {
+                        for (int quantity : new int[]{1, 3, 17}) {
+                            ShopPriceCalculateRequest request = ShopPriceCalculateRequest.builder()
+                                    .productId(product.getId())
+                                    .width(width)
+                                    .height(height)
+                                    .withInstallation(withInstallation)
+                                    .quantity(quantity)
+                                    .build();
+
+                            assertSameQuote(shopService.calculatePrice(request), bigDecimalQuote(product, request));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void batchLoadsMissingProductsWithOneQuery() {
+        Product inactive = product(7L, "50000.00", "60000.00", null);
+        inactive.setActive(false);
+        when(productRepository.findAllById(any())).thenReturn(List.of(inactive));
+
+        List<ShopPriceCalculateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(request(7L));
+            requests.add(request(1L));
+        }
+        List<ShopPriceCalculateResponse> quotes = shopService.calculatePrices(requests);
+
+        assertThat(quotes).hasSize(100);
+        verify(productRepository, times(1)).findAllById(Set.of(7L));
+    }
+
+    @Test
+    void batchRejectsUnknownProduct() {
+        when(productRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> shopService.calculatePrices(List.of(request(1L), request(404L))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void unrepresentablePriceIsBadRequest() {
+        Product fractional = product(8L, "12345.678", "100.00", null);
+        when(productRepository.findAllById(any())).thenReturn(List.of(fractional));
+
+        assertThatThrownBy(() -> shopService.calculatePrices(List.of(request(8L))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static void assertSameQuote(ShopPriceCalculateResponse actual, ShopPriceCalculateResponse expected) {
+        assertThat(actual.getSquareMeters()).isEqualTo(expected.getSquareMeters());
+        assertThat(actual.getProductPrice()).isEqualTo(expected.getProductPrice());
+        assertThat(actual.getInstallationPrice()).isEqualTo(expected.getInstallationPrice());
+        assertThat(actual.getUnitTotal()).isEqualTo(expected.getUnitTotal());
+        assertThat(actual.getSubtotal()).isEqualTo(expected.getSubtotal());
+        assertThat(actual.getInstallationTotal()).isEqualTo(expected.getInstallationTotal());
+        assertThat(actual.getGrandTotal()).isEqualTo(expected.getGrandTotal());
+        assertThat(actual.getQuantity()).isEqualTo(expected.getQuantity());
+    }
+
+    /** ShopService.calculatePrice'ning narx jadvalidan oldingi BigDecimal hisob-kitobi */
+    private static ShopPriceCalculateResponse bigDecimalQuote(Product product, ShopPriceCalculateRequest request) {
+        BigDecimal squareMeters = BigDecimal.valueOf(request.getWidth())
+                .multiply(BigDecimal.valueOf(request.getHeight()))
+                .divide(BigDecimal.valueOf(1_000_000), 4, RoundingMode.HALF_UP);
+
+        BigDecimal productPrice;
+        if (product.getPricePerSquareMeter() != null) {
+            productPrice = product.getPricePerSquareMeter()
+                    .multiply(squareMeters)
+                    .setScale(0, RoundingMode.UP);
+        } else {
+            productPrice = product.getSellingPrice();
+        }
+
+        BigDecimal installationPrice = BigDecimal.ZERO;
+        if (request.isWithInstallation() && product.getInstallationPrice() != null) {
+            installationPrice = product.getInstallationPrice();
+        }
+
+        int quantity = request.getQuantity() != null ? request.getQuantity() : 1;
+        BigDecimal subtotal = productPrice.multiply(BigDecimal.valueOf(quantity));
+        BigDecimal installationTotal = installationPrice.multiply(BigDecimal.valueOf(quantity));
+
+        return ShopPriceCalculateResponse.builder()
+                .squareMeters(squareMeters)
+                .productPrice(productPrice)
+                .installationPrice(installationPrice)
+                .unitTotal(productPrice.add(installationPrice))
+                .quantity(quantity)
+                .subtotal(subtotal)
+                .installationTotal(installationTotal)
+                .grandTotal(subtotal.add(installationTotal))
+                .build();
+    }
+
+    private static ShopPriceCalculateRequest request(Long productId) {
+        return ShopPriceCalculateRequest.builder()
+                .productId(productId)
+                .width(1200)
+                .height(1500)
+                .build();
+    }
+
+    /** Pul qiymatlari DECIMAL(15, 2) ustunidan o'qilgandek — scale 2 */
+    private static Product product(Long id, String pricePerSqm, String sellingPrice, String installationPrice) {
+        Product product = Product.builder()
+                .name("Mahsulot " + id)
+                .pricePerSquareMeter(pricePerSqm != null ? new BigDecimal(pricePerSqm) : null)
+                .sellingPrice(new BigDecimal(sellingPrice))
+                .installationPrice(installationPrice != null ? new BigDecimal(installationPrice) : null)
+                .active(true)
+                .build();
+        product.setId(id);
+        return product;
+    }
+}
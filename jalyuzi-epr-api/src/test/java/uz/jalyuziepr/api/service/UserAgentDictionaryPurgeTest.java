@@ -0,0 +1,115 @@
+package uz.jalyuziepr.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.jalyuziepr.api.repository.UserAgentRepository;
+import uz.jalyuziepr.api.support.EmbeddedPostgresTestConfig;
+import uz.jalyuziepr.api.util.UserAgentParser;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tozalash hozir resolve qilinayotgan (qator qulfi ostidagi) yoki yaqinda ko'ringan lug'at qatoriga
+ * tegmaydi, o'chirgan id'sini esa keshdan chiqaradi — keyingi resolve yangi qator oladi.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(EmbeddedPostgresTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserAgentDictionaryPurgeTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserAgentRepository userAgentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private UserAgentDictionary dictionary;
+    private String userAgent;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        dictionary = new UserAgentDictionary(jdbcTemplate, userAgentRepository, new UserAgentParser(), tx);
+        userAgent = "Mozilla/5.0 (purge-test " + System.nanoTime() + ") Chrome/126.0";
+    }
+
+    @Test
+    void purgeDeletesIdleRowAndEvictsCachedId() {
+        Long id = dictionary.resolve(userAgent).id();
+        makeIdle(id);
+
+        assertThat(dictionary.purgeUnreferenced(LocalDateTime.now().minusDays(30), 1000)).isPositive();
+        assertThat(exists(id)).isFalse();
+
+        Long again = dictionary.resolve(userAgent).id();
+        assertThat(again).isNotEqualTo(id);
+        assertThat(exists(again)).isTrue();
+    }
+
+    @Test
+    void purgeSkipsRowBeingResolved() throws Exception {
+        Long id = tx.execute(status -> dictionary.resolve(userAgent).id());
+        makeIdle(id);
+
+        // Boshqa replika (bo'sh kesh): resolve last_seen_at ni qator qulfi ostida yangilaydi
+        UserAgentDictionary replica = new UserAgentDictionary(jdbcTemplate, userAgentRepository, new UserAgentParser(), tx);
+        CountDownLatch resolved = new CountDownLatch(1);
+        CountDownLatch purged = new CountDownLatch(1);
+        CompletableFuture<Long> writer = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            Long resolvedId = replica.resolve(userAgent).id();
+            resolved.countDown();
+            await(purged);
+            return resolvedId;
+        }));
+        await(resolved);
+
+        dictionary.purgeUnreferenced(LocalDateTime.now().minusDays(30), 1000);
+        purged.countDown();
+
+        assertThat(writer.get(10, TimeUnit.SECONDS)).isEqualTo(id);
+        assertThat(exists(id)).isTrue();
+        // Commit'dan keyin qator yaqinda ko'ringan — keyingi tozalash ham tegmaydi
+        dictionary.purgeUnreferenced(LocalDateTime.now().minusDays(30), 1000);
+        assertThat(exists(id)).isTrue();
+    }
+
+    private void makeIdle(Long id) {
+        jdbcTemplate.update("UPDATE user_agents SET created_at = now() - INTERVAL '60 days',"
+                + " last_seen_at = now() - INTERVAL '60 days' WHERE id = ?", id);
+    }
+
+    private boolean exists(Long id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM user_agents WHERE id = ?)", Boolean.class, id));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package uz.jalyuziepr.api.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Testlar uchun embedded Postgres (Docker'siz, tasodifiy port). Flyway barcha migratsiyalarni
+ * qo'llaydi — sxema va V28 demo buyurtmalari prod bilan bir xil, shuning uchun SQL soni
+ * H2'dagidek taxminiy emas.
+ *
+ * <pre>
+ * &#64;DataJpaTest
+ * &#64;AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+ * &#64;ActiveProfiles("test")
+ * &#64;Import(EmbeddedPostgresTestConfig.class)
+ * </pre>
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class EmbeddedPostgresTestConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.builder()
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+    }
+
+    @Bean
+    public DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+        return embeddedPostgres.getPostgresDatabase();
+    }
+}
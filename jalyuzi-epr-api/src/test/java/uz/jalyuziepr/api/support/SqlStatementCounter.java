@@ -0,0 +1,71 @@
+package uz.jalyuziepr.api.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Joriy thread'da tayyorlangan SQL so'rovlar sonini hisoblovchi Hibernate StatementInspector.
+ * Faqat testlarda: {@code application-test.yml}'dagi
+ * {@code hibernate.session_factory.statement_inspector} orqali ro'yxatdan o'tkaziladi
+ * ({@code @ActiveProfiles("test")}).
+ *
+ * <p>Hisoblash faqat {@link #expectAtMost} / {@link #expectExactly} ichida yuradi — boshqa joylarda inspector SQL'ni
+ * o'zgartirmasdan qaytaradi.</p>
+ *
+ * <pre>
+ * Page&lt;OrderResponse&gt; page = SqlStatementCounter.expectAtMost(2,
+ *         () -&gt; orderRepository.findOrderList(PageRequest.of(0, 20)).map(OrderResponse::fromList));
+ * </pre>
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Amalni bajaradi va u {@code maxStatements} dan ko'p SQL so'rov yuborgan bo'lsa
+     * {@link AssertionError} tashlaydi.
+     */
+    public static <T> T expectAtMost(int maxStatements, Supplier<T> action) {
+        long[] counter = new long[1];
+        T result = count(counter, action);
+        if (counter[0] > maxStatements) {
+            throw new AssertionError(String.format(
+                    "Kutilgan SQL so'rovlar soni <= %d, bajarilgani: %d", maxStatements, counter[0]));
+        }
+        return result;
+    }
+
+    /**
+     * Amalni bajaradi va u aynan {@code statements} ta SQL so'rov yubormagan bo'lsa
+     * {@link AssertionError} tashlaydi. Byudjet o'lchangan qiymatga teng bo'lishi kerak bo'lgan joylar uchun:
+     * kamayish ham (byudjetni yangilash kerak) sezilib qoladi.
+     */
+    public static <T> T expectExactly(int statements, Supplier<T> action) {
+        long[] counter = new long[1];
+        T result = count(counter, action);
+        if (counter[0] != statements) {
+            throw new AssertionError(String.format(
+                    "Kutilgan SQL so'rovlar soni %d, bajarilgani: %d", statements, counter[0]));
+        }
+        return result;
+    }
+
+    private static <T> T count(long[] counter, Supplier<T> action) {
+        COUNTER.set(counter);
+        try {
+            return action.get();
+        } finally {
+            COUNTER.remove();
+        }
+    }
+}
@@ -47,6 +47,24 @@ export const customersApi = {
     return response.data.data;
   },
 
+  getRfmSegments: async (): Promise<RfmSegment[]> => {
+    const response = await api.get<ApiResponse<RfmSegment[]>>('/v1/customers/rfm-insights/segments');
+    return response.data.data;
+  },
+
+  getRfmCustomers: async (
+    params: { segment?: string | null; page?: number; size?: number } = {}
+  ): Promise<PagedResponse<RfmCustomer>> => {
+    const query = new URLSearchParams();
+    if (params.segment) query.append('segment', params.segment);
+    if (params.page !== undefined) query.append('page', params.page.toString());
+    if (params.size !== undefined) query.append('size', params.size.toString());
+    const response = await api.get<ApiResponse<PagedResponse<RfmCustomer>>>(
+      `/v1/customers/rfm-insights/customers?${query}`
+    );
+    return response.data.data;
+  },
+
   getById: async (id: number): Promise<Customer> => {
     const response = await api.get<ApiResponse<Customer>>(`/v1/customers/${id}`);
     return response.data.data;
@@ -1,6 +1,6 @@
 import api from './axios';
 
-export type RevisionStatus = 'PENDING' | 'APPROVED' | 'REJECTED';
+export type RevisionStatus = 'PENDING' | 'APPROVED' | 'REJECTED' | 'SUPERSEDED';
 
 export interface RemeasureQuote {
   oldWidthMm?: number;
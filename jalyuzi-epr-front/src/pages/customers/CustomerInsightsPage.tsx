@@ -1,7 +1,7 @@
-import { useCallback, useEffect, useMemo, useState } from 'react';
+import { useCallback, useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { ArrowLeft, RefreshCw, Phone, Users, PieChart } from 'lucide-react';
-import { customersApi, type RfmInsights } from '../../api/customers.api';
+import { customersApi, type RfmCustomer, type RfmSegment } from '../../api/customers.api';
 import { formatCurrency } from '../../config/constants';
 
 // Segment ranglari (DaisyUI sinflari)
@@ -19,33 +19,57 @@ function styleOf(segment: string) {
   return SEGMENT_STYLE[segment] || SEGMENT_STYLE.REGULAR;
 }
 
+const PAGE_SIZE = 50;
+
 export function CustomerInsightsPage() {
   const navigate = useNavigate();
-  const [data, setData] = useState<RfmInsights | null>(null);
+  const [segments, setSegments] = useState<RfmSegment[]>([]);
+  const [customers, setCustomers] = useState<RfmCustomer[]>([]);
+  const [totalCustomers, setTotalCustomers] = useState(0);
+  const [page, setPage] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [refreshing, setRefreshing] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [filter, setFilter] = useState<string | null>(null);
 
   const load = useCallback(async (initial = false) => {
     if (!initial) setRefreshing(true);
     try {
-      setData(await customersApi.getRfmInsights());
+      const [segmentList, firstPage] = await Promise.all([
+        customersApi.getRfmSegments(),
+        customersApi.getRfmCustomers({ segment: filter, page: 0, size: PAGE_SIZE }),
+      ]);
+      setSegments(segmentList);
+      setCustomers(firstPage.content);
+      setTotalCustomers(firstPage.totalElements);
+      setPage(0);
+      setHasMore(!firstPage.last);
     } catch (e) {
       console.error('RFM yuklashda xatolik', e);
     } finally {
       setLoading(false);
       setRefreshing(false);
     }
-  }, []);
+  }, [filter]);
 
   useEffect(() => {
     void load(true);
   }, [load]);
 
-  const filteredCustomers = useMemo(() => {
-    if (!data) return [];
-    return filter ? data.customers.filter((c) => c.segment === filter) : data.customers;
-  }, [data, filter]);
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const next = await customersApi.getRfmCustomers({ segment: filter, page: page + 1, size: PAGE_SIZE });
+      setCustomers((prev) => [...prev, ...next.content]);
+      setPage(next.page);
+      setHasMore(!next.last);
+    } catch (e) {
+      console.error('RFM yuklashda xatolik', e);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   if (loading) {
     return (
@@ -78,7 +102,7 @@ export function CustomerInsightsPage() {
 
       {/* Segment kartalari */}
       <div className="grid grid-cols-2 gap-3 sm:grid-cols-3 lg:grid-cols-4">
-        {data?.segments.map((s) => {
+        {segments.map((s) => {
           const st = styleOf(s.segment);
           const active = filter === s.segment;
           return (
@@ -106,8 +130,8 @@ export function CustomerInsightsPage() {
         <div className="flex items-center justify-between border-b border-base-200 p-4">
           <h3 className="flex items-center gap-2 font-semibold">
             <Users className="h-4 w-4" />
-            {filter ? data?.segments.find((s) => s.segment === filter)?.label : 'Barcha mijozlar'}
-            <span className="text-base-content/50">({filteredCustomers.length})</span>
+            {filter ? segments.find((s) => s.segment === filter)?.label : 'Barcha mijozlar'}
+            <span className="text-base-content/50">({totalCustomers})</span>
           </h3>
           {filter && (
             <button className="btn btn-ghost btn-xs" onClick={() => setFilter(null)}>
@@ -116,11 +140,11 @@ export function CustomerInsightsPage() {
           )}
         </div>
 
-        {filteredCustomers.length === 0 ? (
+        {customers.length === 0 ? (
           <p className="p-8 text-center text-base-content/50">Mijoz yo'q</p>
         ) : (
           <div className="divide-y divide-base-200">
-            {filteredCustomers.map((c) => {
+            {customers.map((c) => {
               const st = styleOf(c.segment);
               return (
                 <div key={c.customerId} className="flex items-center justify-between gap-3 p-3">
@@ -153,6 +177,15 @@ export function CustomerInsightsPage() {
             })}
           </div>
         )}
+
+        {hasMore && (
+          <div className="border-t border-base-200 p-3 text-center">
+            <button className="btn btn-ghost btn-sm" onClick={() => void loadMore()} disabled={loadingMore}>
+              {loadingMore && <span className="loading loading-spinner loading-xs" />}
+              Yana yuklash
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -13,6 +13,18 @@ export interface WebSocketNotification {
   referenceId?: number | null;
 }
 
+// Bir oynada yig'ilgan bir turdagi bildirishnomalar (backend NotificationFanout)
+export interface WebSocketNotificationDigest {
+  digest: true;
+  type: string;
+  count: number;
+  title: string;
+  message: string;
+  unreadDelta: number;
+  items: WebSocketNotification[];
+  createdAt: string;
+}
+
 // Permission update message turi
 export interface PermissionUpdateMessage {
   permissions: string[];
@@ -30,7 +42,7 @@ export interface SessionUpdateMessage {
   timestamp: number;
 }
 
-type NotificationCallback = (notification: WebSocketNotification) => void;
+type NotificationCallback = (notification: WebSocketNotification | WebSocketNotificationDigest) => void;
 type PermissionUpdateCallback = (data: PermissionUpdateMessage) => void;
 type SessionUpdateCallback = (data: SessionUpdateMessage) => void;
 type ConnectionStatusCallback = (connected: boolean) => void;
@@ -132,7 +144,7 @@ class WebSocketService {
    */
   private handleNotification(message: IMessage) {
     try {
-      const notification = JSON.parse(message.body) as WebSocketNotification;
+      const notification = JSON.parse(message.body) as WebSocketNotification | WebSocketNotificationDigest;
       this.notificationCallback?.(notification);
     } catch (error) {
       console.error('[WebSocket] Failed to parse notification:', error);
@@ -1,7 +1,7 @@
 import { create } from 'zustand';
 import toast from 'react-hot-toast';
 import { notificationsApi, type StaffNotification, type StaffNotificationType } from '../api/notifications.api';
-import { webSocketService, type WebSocketNotification, type PermissionUpdateMessage, type SessionUpdateMessage } from '../services/websocket';
+import { webSocketService, type WebSocketNotification, type WebSocketNotificationDigest, type PermissionUpdateMessage, type SessionUpdateMessage } from '../services/websocket';
 import { useAuthStore } from './authStore';
 
 // Frontend uchun notification type mapping
@@ -66,6 +66,7 @@ interface NotificationsState {
   setNotifications: (notifications: Notification[]) => void;
   setUnreadCount: (count: number) => void;
   addNotification: (notification: Notification) => void;
+  applyDigest: (digest: WebSocketNotificationDigest) => void;
 }
 
 // WebSocket'dan kelgan notification'ni map qilish
@@ -179,12 +180,29 @@ export const useNotificationsStore = create<NotificationsState>((set, get) => ({
     });
   },
 
+  // Digest: namunaviy bildirishnomalar ro'yxatga qo'shiladi, son esa unreadDelta bo'yicha oshiriladi
+  applyDigest: (digest) => {
+    const { notifications, unreadCount } = get();
+    const known = new Set(notifications.map((n) => n.id));
+    const fresh = digest.items
+      .filter((item) => !known.has(item.id))
+      .map(mapWebSocketNotification);
+    set({
+      notifications: [...fresh, ...notifications],
+      unreadCount: unreadCount + digest.unreadDelta,
+    });
+  },
+
   // WebSocket ulanishini boshlash
   connectWebSocket: (token) => {
     webSocketService.connect(
       token,
       // Notification callback
       (wsNotification) => {
+        if ('digest' in wsNotification && wsNotification.digest) {
+          get().applyDigest(wsNotification);
+          return;
+        }
         const notification = mapWebSocketNotification(wsNotification);
         get().addNotification(notification);
       },